@@ -0,0 +1,55 @@
+package com.increff.pos.benchmark;
+
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.model.form.ProductForm;
+import com.increff.pos.util.NormalizeUtil;
+import com.increff.pos.util.ValidationUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormBenchmark {
+
+    @Benchmark
+    public ProductForm normalizeProductForm() {
+        ProductForm form = productForm();
+        NormalizeUtil.normalizeProductForm(form);
+        return form;
+    }
+
+    @Benchmark
+    public String normalizeBarcode() {
+        return NormalizeUtil.normalizeBarcode("  ZARA-Shirt-0001 ");
+    }
+
+    @Benchmark
+    public ProductForm validateProductForm() throws ApiException {
+        ProductForm form = productForm();
+        ValidationUtil.validate(form);
+        return form;
+    }
+
+    private ProductForm productForm() {
+        ProductForm form = new ProductForm();
+        form.setBarcode("  ZARA-Shirt-0001 ");
+        form.setClientId(" C0001 ");
+        form.setName(" Classic White Cotton Shirt ");
+        form.setMrp(2499.0);
+        form.setImageUrl(" https://images.example.com/p/1.jpg ");
+        return form;
+    }
+}
@@ -0,0 +1,53 @@
+package com.increff.pos.benchmark;
+
+import com.increff.pos.db.InventoryPojo;
+import com.increff.pos.db.OrderItemPojo;
+import com.increff.pos.db.ProductPojo;
+import com.increff.pos.helper.OrderHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderHelperBenchmark {
+
+    @Param({ "10", "200" })
+    private int items;
+
+    private List<OrderItemPojo> orderItems;
+    private Map<String, InventoryPojo> inventoryMap;
+
+    @Setup
+    public void setUp() {
+        List<ProductPojo> products = SyntheticData.products(items, 10);
+        orderItems = SyntheticData.orderItems(1, items, products);
+        inventoryMap = SyntheticData.inventoryMap(products, 1000);
+    }
+
+    @Benchmark
+    public Map<String, Integer> prepareInventoryDeduct() {
+        return OrderHelper.prepareInventoryDeduct(orderItems, inventoryMap);
+    }
+
+    @Benchmark
+    public Map<String, Integer> prepareInventoryRestore() {
+        return OrderHelper.prepareInventoryRestore(orderItems, inventoryMap);
+    }
+}
@@ -0,0 +1,75 @@
+package com.increff.pos.benchmark;
+
+import com.increff.pos.api.ClientApi;
+import com.increff.pos.api.OrderApi;
+import com.increff.pos.api.OrderItemApi;
+import com.increff.pos.api.ProductApi;
+import com.increff.pos.db.ClientPojo;
+import com.increff.pos.db.OrderItemPojo;
+import com.increff.pos.db.OrderPojo;
+import com.increff.pos.db.ProductPojo;
+import com.increff.pos.flow.ReportFlow;
+import com.increff.pos.model.data.ClientSalesReportData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportFlowBenchmark {
+
+    private static final int CLIENTS = 50;
+    private static final int PRODUCTS = 2000;
+    private static final int ITEMS_PER_ORDER = 5;
+
+    @Param({ "1000", "20000" })
+    private int orders;
+
+    private ReportFlow reportFlow;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        List<ProductPojo> products = SyntheticData.products(PRODUCTS, CLIENTS);
+        List<OrderPojo> orderList = SyntheticData.orders(orders);
+        List<OrderItemPojo> items = SyntheticData.orderItems(orders, ITEMS_PER_ORDER, products);
+        Map<String, ClientPojo> clients = SyntheticData.clients(CLIENTS).stream()
+                .collect(Collectors.toMap(ClientPojo::getClientId, Function.identity()));
+
+        reportFlow = new ReportFlow();
+        inject("orderApi", SyntheticData.stub(OrderApi.class, Map.of("getWithFilters", args -> orderList)));
+        inject("orderItemApi", SyntheticData.stub(OrderItemApi.class, Map.of("getByOrderIds", args -> items)));
+        inject("productApi", SyntheticData.stub(ProductApi.class, Map.of("getByIds", args -> products)));
+        inject("clientApi", SyntheticData.stub(ClientApi.class,
+                Map.of("getCheckByClientId", args -> clients.get((String) args[0]))));
+    }
+
+    @Benchmark
+    public List<ClientSalesReportData> generateSalesReport() {
+        return reportFlow.generateSalesReport(null, null, null);
+    }
+
+    private void inject(String fieldName, Object value) throws ReflectiveOperationException {
+        Field field = ReportFlow.class.getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(reportFlow, value);
+    }
+}
@@ -0,0 +1,125 @@
+package com.increff.pos.benchmark;
+
+import com.increff.pos.db.ClientPojo;
+import com.increff.pos.db.InventoryPojo;
+import com.increff.pos.db.OrderItemPojo;
+import com.increff.pos.db.OrderPojo;
+import com.increff.pos.db.ProductPojo;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+public class SyntheticData {
+
+    public static List<ProductPojo> products(int count, int clients) {
+        List<ProductPojo> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ProductPojo product = new ProductPojo();
+            product.setId("P" + i);
+            product.setBarcode("bc-" + i);
+            product.setClientId("C" + (i % clients));
+            product.setName("product " + i);
+            product.setMrp(100.0 + i % 900);
+            products.add(product);
+        }
+        return products;
+    }
+
+    public static List<ClientPojo> clients(int count) {
+        List<ClientPojo> clients = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ClientPojo client = new ClientPojo();
+            client.setClientId("C" + i);
+            client.setName("client " + i);
+            clients.add(client);
+        }
+        return clients;
+    }
+
+    public static List<OrderPojo> orders(int count) {
+        List<OrderPojo> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            OrderPojo order = new OrderPojo();
+            order.setOrderId(orderId(i));
+            order.setStatus("INVOICED");
+            orders.add(order);
+        }
+        return orders;
+    }
+
+    public static List<OrderItemPojo> orderItems(int orders, int itemsPerOrder, List<ProductPojo> products) {
+        Random random = new Random(42);
+        List<OrderItemPojo> items = new ArrayList<>(orders * itemsPerOrder);
+        for (int o = 0; o < orders; o++) {
+            for (int i = 0; i < itemsPerOrder; i++) {
+                ProductPojo product = products.get(random.nextInt(products.size()));
+                OrderItemPojo item = new OrderItemPojo();
+                item.setOrderId(orderId(o));
+                item.setProductId(product.getId());
+                item.setBarcode(product.getBarcode());
+                item.setProductName(product.getName());
+                item.setQuantity(1 + random.nextInt(5));
+                item.setMrp(product.getMrp());
+                item.setLineTotal(item.getQuantity() * item.getMrp());
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    public static Map<String, InventoryPojo> inventoryMap(List<ProductPojo> products, int quantity) {
+        Map<String, InventoryPojo> inventoryMap = new HashMap<>();
+        for (ProductPojo product : products) {
+            InventoryPojo inventory = new InventoryPojo();
+            inventory.setProductId(product.getId());
+            inventory.setQuantity(quantity);
+            inventoryMap.put(product.getId(), inventory);
+        }
+        return inventoryMap;
+    }
+
+    public static String[] productTsvLines(int rows) {
+        String[] lines = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            lines[i] = " BC-" + i + "\tC" + (i % 50) + "\tProduct Name " + i + "\t" + (100 + i % 900) + ".50"
+                    + "\thttps://images.example.com/p/" + i + ".jpg ";
+        }
+        return lines;
+    }
+
+    public static String[] inventoryTsvLines(int rows) {
+        String[] lines = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            lines[i] = "BC-" + i + "\t" + (i % 1000);
+        }
+        return lines;
+    }
+
+    public static Map<String, ProductPojo> productsByBarcode(List<ProductPojo> products) {
+        Map<String, ProductPojo> productMap = new HashMap<>();
+        for (ProductPojo product : products) {
+            productMap.put(product.getBarcode(), product);
+        }
+        return productMap;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer == null) {
+                throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            }
+            return answer.apply(args);
+        });
+    }
+
+    private static String orderId(int index) {
+        return "ORD-" + String.format("%06d", index);
+    }
+}
@@ -0,0 +1,72 @@
+package com.increff.pos.benchmark;
+
+import com.increff.pos.db.InventoryPojo;
+import com.increff.pos.db.ProductPojo;
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.helper.InventoryHelper;
+import com.increff.pos.helper.ProductHelper;
+import com.increff.pos.util.TsvLineTokenizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TsvParseBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private String[] productLines;
+    private String[] inventoryLines;
+    private Map<String, Integer> productColumns;
+    private Map<String, ProductPojo> productsByBarcode;
+
+    @Setup
+    public void setUp() throws ApiException {
+        productLines = SyntheticData.productTsvLines(ROWS);
+        inventoryLines = SyntheticData.inventoryTsvLines(ROWS);
+        productColumns = ProductHelper.parseHeader("barcode\tclientId\tname\tmrp\timageUrl");
+        productsByBarcode = SyntheticData.productsByBarcode(SyntheticData.products(ROWS, 50));
+    }
+
+    @Benchmark
+    public void parseProduct(Blackhole blackhole) throws ApiException {
+        for (int i = 0; i < productLines.length; i++) {
+            blackhole.consume(ProductHelper.parseProduct(productLines[i], i + 2, productColumns));
+        }
+    }
+
+    @Benchmark
+    public void parseProductReusedTokenizer(Blackhole blackhole) throws ApiException {
+        TsvLineTokenizer tokenizer = new TsvLineTokenizer();
+        for (int i = 0; i < productLines.length; i++) {
+            ProductPojo product = ProductHelper.parseProduct(tokenizer.reset(productLines[i]), i + 2, productColumns);
+            blackhole.consume(product);
+        }
+    }
+
+    @Benchmark
+    public void parseInventory(Blackhole blackhole) throws ApiException {
+        TsvLineTokenizer tokenizer = new TsvLineTokenizer();
+        for (int i = 0; i < inventoryLines.length; i++) {
+            InventoryPojo inventory = InventoryHelper.parseInventory(tokenizer.reset(inventoryLines[i]), i + 2,
+                    productsByBarcode);
+            blackhole.consume(inventory);
+        }
+    }
+}
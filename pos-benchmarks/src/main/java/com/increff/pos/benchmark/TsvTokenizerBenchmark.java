@@ -0,0 +1,54 @@
+package com.increff.pos.benchmark;
+
+import com.increff.pos.util.TsvLineTokenizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TsvTokenizerBenchmark {
+
+    private static final int ROWS = 1_000_000;
+
+    private String[] lines;
+
+    @Setup
+    public void setUp() {
+        lines = SyntheticData.productTsvLines(ROWS);
+    }
+
+    @Benchmark
+    public long splitAndTrim() {
+        long checksum = 0;
+        for (String line : lines) {
+            String[] columns = line.split("\t");
+            checksum += columns[0].trim().toLowerCase().length() + Double.doubleToLongBits(Double.parseDouble(columns[3].trim()));
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public long tokenizer() {
+        TsvLineTokenizer tokenizer = new TsvLineTokenizer();
+        long checksum = 0;
+        for (String line : lines) {
+            tokenizer.reset(line);
+            checksum += tokenizer.getLowerCase(0).length() + Double.doubleToLongBits(tokenizer.getDouble(3));
+        }
+        return checksum;
+    }
+}
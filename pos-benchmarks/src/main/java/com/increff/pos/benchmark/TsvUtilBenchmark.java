@@ -0,0 +1,58 @@
+package com.increff.pos.benchmark;
+
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.util.TsvChunkReader;
+import com.increff.pos.util.TsvUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TsvUtilBenchmark {
+
+    // 4999 rows plus the header is the largest upload MAX_UPLOAD_ROWS accepts
+    @Param({ "100", "4999" })
+    private int rows;
+
+    private String content;
+    private String encoded;
+
+    @Setup
+    public void setUp() {
+        content = "barcode\tclientId\tname\tmrp\timageUrl\n" + String.join("\n", SyntheticData.productTsvLines(rows));
+        encoded = TsvUtil.encode(content);
+    }
+
+    @Benchmark
+    public String encode() {
+        return TsvUtil.encode(content);
+    }
+
+    @Benchmark
+    public String decode() throws ApiException {
+        return TsvUtil.decode(encoded);
+    }
+
+    @Benchmark
+    public int decodeAndRead() throws ApiException {
+        TsvChunkReader reader = new TsvChunkReader(new StringReader(TsvUtil.decode(encoded)), TsvUtil.MAX_UPLOAD_ROWS);
+        reader.readHeader();
+        return reader.nextChunk(TsvUtil.MAX_UPLOAD_ROWS).size();
+    }
+}
@@ -0,0 +1,66 @@
+package com.increff.pos.loadtest;
+
+import com.increff.pos.db.InventoryHoldPojo;
+import com.increff.pos.db.InventoryPojo;
+import com.increff.pos.db.OrderItemPojo;
+import com.increff.pos.db.OrderPojo;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class InventoryAuditor {
+
+    private final MongoOperations mongoOperations;
+
+    public InventoryAuditor(MongoOperations mongoOperations) {
+        this.mongoOperations = mongoOperations;
+    }
+
+    // Every product starts at the same quantity; whatever PLACED and INVOICED orders hold, plus what inventory_holds
+    // sets aside for UNFULFILLABLE orders, must be missing from stock
+    public AuditResult audit(int seededQuantity) {
+        List<String> committedOrderIds = mongoOperations.find(
+                        Query.query(Criteria.where("status").in("PLACED", "INVOICED")), OrderPojo.class)
+                .stream()
+                .map(OrderPojo::getOrderId)
+                .collect(Collectors.toList());
+
+        Map<String, Integer> deductedByProduct = new HashMap<>();
+        for (OrderItemPojo item : mongoOperations.find(
+                Query.query(Criteria.where("orderId").in(committedOrderIds)), OrderItemPojo.class)) {
+            deductedByProduct.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        for (InventoryHoldPojo hold : mongoOperations.findAll(InventoryHoldPojo.class)) {
+            hold.getQuantities().forEach((productId, quantity) ->
+                    deductedByProduct.merge(productId, quantity, Integer::sum));
+        }
+
+        int oversold = 0;
+        int drifted = 0;
+        for (InventoryPojo inventory : mongoOperations.findAll(InventoryPojo.class)) {
+            int quantity = inventory.getQuantity() != null ? inventory.getQuantity() : 0;
+            if (quantity < 0 || deductedByProduct.getOrDefault(inventory.getProductId(), 0) > seededQuantity) {
+                oversold++;
+            }
+            if (quantity != seededQuantity - deductedByProduct.getOrDefault(inventory.getProductId(), 0)) {
+                drifted++;
+            }
+        }
+        return new AuditResult(committedOrderIds.size(), oversold, drifted);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class AuditResult {
+        private final int committedOrders;
+        private final int oversoldProducts;
+        private final int driftedProducts;
+    }
+}
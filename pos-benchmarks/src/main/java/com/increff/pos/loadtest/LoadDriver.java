@@ -0,0 +1,160 @@
+package com.increff.pos.loadtest;
+
+import com.increff.pos.model.data.OrderData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class LoadDriver {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadDriver.class);
+
+    private final PosHttpClient client;
+    private final LoadTestConfig config;
+    private final List<String> barcodes;
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final Operation[] weightedOperations;
+
+    // Orders are taken out of a pool while one virtual user works on them, so no two users touch the same order
+    private final Queue<String> placedOrders = new ConcurrentLinkedQueue<>();
+    private final Queue<String> unfulfillableOrders = new ConcurrentLinkedQueue<>();
+
+    public LoadDriver(PosHttpClient client, LoadTestConfig config, List<String> barcodes) {
+        this.client = client;
+        this.config = config;
+        this.barcodes = barcodes;
+        List<Operation> weighted = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+            for (int i = 0; i < config.getMix().getOrDefault(operation, 0); i++) {
+                weighted.add(operation);
+            }
+        }
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("Operation mix has no positive weights");
+        }
+        this.weightedOperations = weighted.toArray(new Operation[0]);
+    }
+
+    public Map<Operation, OperationStats> run() throws InterruptedException {
+        long deadline = System.nanoTime() + config.getDurationSeconds() * 1_000_000_000L;
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.getUsers(); i++) {
+                users.submit(() -> userLoop(deadline));
+            }
+        }
+        return stats;
+    }
+
+    private void userLoop(long deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            Operation operation = weightedOperations[random.nextInt(weightedOperations.length)];
+            try {
+                execute(operation, random);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                stats.get(operation).record(0, 599);
+                logger.debug("{} failed: {}", operation, e.getMessage());
+            }
+        }
+    }
+
+    private void execute(Operation operation, ThreadLocalRandom random) throws IOException, InterruptedException {
+        switch (operation) {
+            case CREATE -> createOrder(random);
+            case UPDATE -> withOrder(operation, placedOrders, random,
+                    orderId -> client.put("/api/order/update/" + orderId, orderForm(random)));
+            case CANCEL -> withOrder(operation, random.nextBoolean() ? placedOrders : unfulfillableOrders, random,
+                    orderId -> client.post("/api/order/cancel/" + orderId, null));
+            case RETRY -> withOrder(operation, unfulfillableOrders, random,
+                    orderId -> client.post("/api/order/retry/" + orderId, null));
+            case INVOICE -> withOrder(operation, placedOrders, random,
+                    orderId -> client.post("/api/invoice/generate/" + orderId, null));
+            case REPORT -> {
+                String today = LocalDate.now(ZoneOffset.UTC).toString();
+                timed(operation, () -> client.get("/api/report/sales-report?fromDate=" + today + "&toDate=" + today));
+            }
+        }
+    }
+
+    private void createOrder(ThreadLocalRandom random) throws IOException, InterruptedException {
+        HttpResponse<String> response = timed(Operation.CREATE, () -> client.post("/api/order/create", orderForm(random)));
+        track(response);
+    }
+
+    private void withOrder(Operation operation, Queue<String> pool, ThreadLocalRandom random, OrderAction action)
+            throws IOException, InterruptedException {
+        String orderId = pool.poll();
+        if (orderId == null) {
+            createOrder(random);
+            return;
+        }
+        HttpResponse<String> response = timed(operation, () -> action.apply(orderId));
+        if (operation == Operation.UPDATE || operation == Operation.RETRY) {
+            track(response);
+        }
+    }
+
+    private void track(HttpResponse<String> response) throws IOException {
+        if (response.statusCode() / 100 != 2) {
+            return;
+        }
+        OrderData order = client.read(response.body(), OrderData.class);
+        if ("PLACED".equals(order.getStatus())) {
+            placedOrders.add(order.getOrderId());
+        } else if ("UNFULFILLABLE".equals(order.getStatus())) {
+            unfulfillableOrders.add(order.getOrderId());
+        }
+    }
+
+    private HttpResponse<String> timed(Operation operation, Call call) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response = call.execute();
+        stats.get(operation).record(System.nanoTime() - start, response.statusCode());
+        return response;
+    }
+
+    private Map<String, Object> orderForm(ThreadLocalRandom random) {
+        int lineCount = 1 + random.nextInt(config.getMaxLinesPerOrder());
+        Set<String> picked = new HashSet<>();
+        List<Map<String, Object>> lines = new ArrayList<>(lineCount);
+        while (lines.size() < lineCount && picked.size() < barcodes.size()) {
+            String barcode = barcodes.get(random.nextInt(barcodes.size()));
+            if (picked.add(barcode)) {
+                Map<String, Object> line = new HashMap<>();
+                line.put("barcode", barcode);
+                line.put("quantity", 1 + random.nextInt(config.getMaxQuantity()));
+                line.put("mrp", 100.0);
+                lines.add(line);
+            }
+        }
+        return Map.of("lines", lines);
+    }
+
+    private interface Call {
+        HttpResponse<String> execute() throws IOException, InterruptedException;
+    }
+
+    private interface OrderAction {
+        HttpResponse<String> apply(String orderId) throws IOException, InterruptedException;
+    }
+}
@@ -0,0 +1,82 @@
+package com.increff.pos.loadtest;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Getter
+public class LoadTestConfig {
+
+    private int clients = 10;
+    private int products = 1000;
+    private int inventory = 500;
+    private int users = 200;
+    private int durationSeconds = 60;
+    private int maxLinesPerOrder = 5;
+    private int maxQuantity = 5;
+    private boolean virtualThreads;
+    private String mongoUri;
+    private Path templates = Paths.get(".");
+    private final Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+
+    public LoadTestConfig() {
+        mix.put(Operation.CREATE, 55);
+        mix.put(Operation.UPDATE, 10);
+        mix.put(Operation.CANCEL, 5);
+        mix.put(Operation.RETRY, 10);
+        mix.put(Operation.INVOICE, 10);
+        mix.put(Operation.REPORT, 10);
+    }
+
+    // key=value pairs, e.g. "clients=20 products=5000 users=500 duration=120 mix=create:70,report:5"
+    public static LoadTestConfig parse(String... args) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (String arg : args) {
+            for (String pair : arg.trim().split("\\s+")) {
+                if (!pair.isEmpty()) {
+                    config.set(pair);
+                }
+            }
+        }
+        return config;
+    }
+
+    private void set(String pair) {
+        int eq = pair.indexOf('=');
+        if (eq <= 0) {
+            throw new IllegalArgumentException("Expected key=value but got: " + pair);
+        }
+        String key = pair.substring(0, eq);
+        String value = pair.substring(eq + 1);
+        switch (key) {
+            case "clients" -> clients = Integer.parseInt(value);
+            case "products" -> products = Integer.parseInt(value);
+            case "inventory" -> inventory = Integer.parseInt(value);
+            case "users" -> users = Integer.parseInt(value);
+            case "duration" -> durationSeconds = Integer.parseInt(value);
+            case "lines" -> maxLinesPerOrder = Integer.parseInt(value);
+            case "quantity" -> maxQuantity = Integer.parseInt(value);
+            case "threads" -> virtualThreads = "virtual".equalsIgnoreCase(value);
+            case "mongo" -> mongoUri = value;
+            case "templates" -> templates = Paths.get(value);
+            case "mix" -> {
+                for (String weight : value.split(",")) {
+                    String[] parts = weight.split(":");
+                    mix.put(Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown load test option: " + key);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "clients=" + clients + " products=" + products + " inventory=" + inventory + " users=" + users
+                + " duration=" + durationSeconds + "s lines<=" + maxLinesPerOrder + " quantity<=" + maxQuantity
+                + " mix=" + mix + " threads=" + (virtualThreads ? "virtual" : "platform")
+                + " mongo=" + (mongoUri != null ? mongoUri : "embedded");
+    }
+}
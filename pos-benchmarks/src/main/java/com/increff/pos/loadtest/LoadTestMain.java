@@ -0,0 +1,105 @@
+package com.increff.pos.loadtest;
+
+import com.increff.invoice.InvoiceApplication;
+import com.increff.pos.config.SpringConfig;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoOperations;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        System.out.println("Load test: " + config);
+
+        TransitionWalker.ReachedState<RunningMongodProcess> mongod = null;
+        String mongoUri = config.getMongoUri();
+        if (mongoUri == null) {
+            mongod = Mongod.instance().start(Version.Main.V6_0);
+            ServerAddress address = mongod.current().getServerAddress();
+            mongoUri = "mongodb://" + address.getHost() + ":" + address.getPort() + "/pos-loadtest";
+        }
+
+        Path invoiceDir = Files.createTempDirectory("pos-loadtest-invoices");
+        ConfigurableApplicationContext invoiceApp = null;
+        ConfigurableApplicationContext posServer = null;
+        int exitCode;
+        try {
+            invoiceApp = SpringApplication.run(InvoiceApplication.class,
+                    "--server.port=0",
+                    "--spring.data.mongodb.uri=" + mongoUri,
+                    "--invoice.storage.path=" + invoiceDir);
+            posServer = SpringApplication.run(SpringConfig.class,
+                    "--server.port=0",
+                    "--spring.data.mongodb.uri=" + mongoUri,
+                    "--invoice.service.url=http://localhost:" + port(invoiceApp),
+                    "--invoice.storage.path=" + invoiceDir,
+                    "--spring.threads.virtual.enabled=" + config.isVirtualThreads(),
+                    "--logging.level.root=WARN");
+
+            PosHttpClient client = new PosHttpClient("http://localhost:" + port(posServer));
+            client.login(posServer.getEnvironment().getProperty("supervisor.email"),
+                    posServer.getEnvironment().getProperty("supervisor.password"));
+
+            long seedStart = System.nanoTime();
+            List<String> barcodes = new StoreSeeder(client, config).seed();
+            System.out.printf("Seeded %d clients, %d products in %.1f s%n", config.getClients(), barcodes.size(),
+                    (System.nanoTime() - seedStart) / 1e9);
+
+            Map<Operation, OperationStats> stats = new LoadDriver(client, config, barcodes).run();
+            InventoryAuditor.AuditResult audit = new InventoryAuditor(posServer.getBean(MongoOperations.class))
+                    .audit(config.getInventory());
+
+            printReport(config, stats, audit);
+            exitCode = audit.getOversoldProducts() > 0 || audit.getDriftedProducts() > 0 ? 1 : 0;
+        } finally {
+            if (posServer != null) {
+                posServer.close();
+            }
+            if (invoiceApp != null) {
+                invoiceApp.close();
+            }
+            if (mongod != null) {
+                mongod.close();
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    private static void printReport(LoadTestConfig config, Map<Operation, OperationStats> stats,
+            InventoryAuditor.AuditResult audit) {
+        double seconds = config.getDurationSeconds();
+        System.out.println();
+        System.out.printf("%-8s %9s %9s %9s %9s %9s %9s %9s %9s %9s%n",
+                "op", "count", "ok", "rejected", "errors", "ops/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        long total = 0;
+        long errors = 0;
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            OperationStats op = entry.getValue();
+            total += op.count();
+            errors += op.failed();
+            System.out.printf("%-8s %9d %9d %9d %9d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    entry.getKey().name().toLowerCase(), op.count(), op.succeeded(), op.rejected(), op.failed(),
+                    op.count() / seconds, op.percentileMillis(50), op.percentileMillis(95),
+                    op.percentileMillis(99), op.maxMillis());
+        }
+        System.out.printf("%ntotal %d requests, %.1f ops/s, %d errors%n", total, total / seconds, errors);
+        System.out.printf("committed orders %d, oversold products %d, inventory drift %d%n",
+                audit.getCommittedOrders(), audit.getOversoldProducts(), audit.getDriftedProducts());
+    }
+}
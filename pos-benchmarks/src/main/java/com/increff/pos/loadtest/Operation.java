@@ -0,0 +1,10 @@
+package com.increff.pos.loadtest;
+
+public enum Operation {
+    CREATE,
+    UPDATE,
+    CANCEL,
+    RETRY,
+    INVOICE,
+    REPORT
+}
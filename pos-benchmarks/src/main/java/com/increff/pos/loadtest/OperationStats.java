@@ -0,0 +1,49 @@
+package com.increff.pos.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class OperationStats {
+
+    private final ConcurrentHistogram latencyMicros = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(5), 3);
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public void record(long elapsedNanos, int statusCode) {
+        latencyMicros.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), latencyMicros.getHighestTrackableValue()));
+        if (statusCode / 100 == 2) {
+            succeeded.increment();
+        } else if (statusCode / 100 == 4) {
+            rejected.increment();
+        } else {
+            failed.increment();
+        }
+    }
+
+    public long count() {
+        return latencyMicros.getTotalCount();
+    }
+
+    public long succeeded() {
+        return succeeded.sum();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    public long failed() {
+        return failed.sum();
+    }
+
+    public double percentileMillis(double percentile) {
+        return latencyMicros.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double maxMillis() {
+        return latencyMicros.getMaxValue() / 1000.0;
+    }
+}
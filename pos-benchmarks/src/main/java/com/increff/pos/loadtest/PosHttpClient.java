@@ -0,0 +1,106 @@
+package com.increff.pos.loadtest;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+public class PosHttpClient {
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final String baseUrl;
+    private String token;
+
+    public PosHttpClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public void login(String email, String password) throws IOException, InterruptedException {
+        HttpResponse<String> response = post("/api/auth/login", Map.of("email", email, "password", password));
+        checkOk(response, "login");
+        token = (String) readMap(response.body()).get("token");
+    }
+
+    public HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return send(request(path).GET().build());
+    }
+
+    public HttpResponse<String> post(String path, Object body) throws IOException, InterruptedException {
+        return send(jsonRequest(path).POST(bodyPublisher(body)).build());
+    }
+
+    public HttpResponse<String> put(String path, Object body) throws IOException, InterruptedException {
+        return send(jsonRequest(path).PUT(bodyPublisher(body)).build());
+    }
+
+    public HttpResponse<String> postText(String path, String body) throws IOException, InterruptedException {
+        return send(request(path)
+                .header("Content-Type", "text/plain")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+    }
+
+    public HttpResponse<String> send(String method, String pathAndQuery, String contentType, String body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder builder = request(pathAndQuery);
+        if (contentType != null) {
+            builder.header("Content-Type", contentType);
+        }
+        HttpRequest.BodyPublisher publisher = body != null
+                ? HttpRequest.BodyPublishers.ofString(body)
+                : HttpRequest.BodyPublishers.noBody();
+        return send(builder.method(method, publisher).build());
+    }
+
+    public <T> T read(String body, Class<T> type) throws IOException {
+        return objectMapper.readValue(body, type);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> readMap(String body) throws IOException {
+        return objectMapper.readValue(body, Map.class);
+    }
+
+    public static void checkOk(HttpResponse<String> response, String action) {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(action + " failed with HTTP " + response.statusCode() + ": " + response.body());
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(60));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpRequest.Builder jsonRequest(String path) {
+        return request(path).header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.BodyPublisher bodyPublisher(Object body) throws IOException {
+        if (body == null) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,97 @@
+package com.increff.pos.loadtest;
+
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.util.TsvUtil;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class StoreSeeder {
+
+    private static final String PRODUCT_TEMPLATE = "products-fashion-sample.tsv";
+    // Base64 uploads are capped at 5000 lines including the header
+    private static final int UPLOAD_BATCH = 4999;
+
+    private final PosHttpClient client;
+    private final LoadTestConfig config;
+
+    public StoreSeeder(PosHttpClient client, LoadTestConfig config) {
+        this.client = client;
+        this.config = config;
+    }
+
+    public List<String> seed() throws IOException, InterruptedException, ApiException {
+        List<String> clientIds = seedClients();
+        List<String[]> templates = readTemplates(config.getTemplates().resolve(PRODUCT_TEMPLATE));
+
+        List<String> barcodes = new ArrayList<>(config.getProducts());
+        List<String> productRows = new ArrayList<>(config.getProducts());
+        for (int i = 0; i < config.getProducts(); i++) {
+            String[] template = templates.get(i % templates.size());
+            String barcode = (template[0] + "-" + i).toLowerCase();
+            String imageUrl = template.length > 4 ? template[4] : "";
+            barcodes.add(barcode);
+            productRows.add(barcode + "\t" + clientIds.get(i % clientIds.size()) + "\t" + template[2] + " " + i
+                    + "\t" + template[3] + "\t" + imageUrl);
+        }
+        upload("/api/product/upload-products-tsv", "barcode\tclientId\tname\tmrp\timageUrl", productRows);
+
+        List<String> inventoryRows = new ArrayList<>(barcodes.size());
+        for (String barcode : barcodes) {
+            inventoryRows.add(barcode + "\t" + config.getInventory());
+        }
+        upload("/api/inventory/upload-inventory-tsv", "barcode\tquantity", inventoryRows);
+        return barcodes;
+    }
+
+    private List<String> seedClients() throws IOException, InterruptedException {
+        List<String> clientIds = new ArrayList<>(config.getClients());
+        for (int i = 1; i <= config.getClients(); i++) {
+            HttpResponse<String> response = client.post("/api/client/add", Map.of(
+                    "name", "load client " + i,
+                    "phone", String.format("9%09d", i),
+                    "email", "load-client-" + i + "@example.com"));
+            PosHttpClient.checkOk(response, "Adding client " + i);
+            clientIds.add((String) client.readMap(response.body()).get("clientId"));
+        }
+        return clientIds;
+    }
+
+    private void upload(String path, String header, List<String> rows)
+            throws IOException, InterruptedException, ApiException {
+        for (int from = 0; from < rows.size(); from += UPLOAD_BATCH) {
+            List<String> batch = rows.subList(from, Math.min(rows.size(), from + UPLOAD_BATCH));
+            String tsv = header + "\n" + String.join("\n", batch);
+            HttpResponse<String> response = client.postText(path, TsvUtil.encode(tsv));
+            PosHttpClient.checkOk(response, "Upload to " + path);
+
+            String[] results = TsvUtil.decode(response.body()).split("\n");
+            for (int i = 1; i < results.length; i++) {
+                String[] columns = results[i].split("\t");
+                if (columns.length > 1 && !"SUCCESS".equals(columns[1])) {
+                    throw new IllegalStateException("Seeding row failed on " + path + ": " + results[i]);
+                }
+            }
+        }
+    }
+
+    private static List<String[]> readTemplates(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            throw new IllegalStateException("Template not found: " + file.toAbsolutePath()
+                    + " (pass templates=<dir containing " + PRODUCT_TEMPLATE + ">)");
+        }
+        List<String> lines = Files.readAllLines(file);
+        List<String[]> templates = new ArrayList<>();
+        for (String line : lines.subList(1, lines.size())) {
+            if (!line.isBlank()) {
+                templates.add(line.split("\t"));
+            }
+        }
+        return templates;
+    }
+}
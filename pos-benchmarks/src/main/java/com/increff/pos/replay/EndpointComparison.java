@@ -0,0 +1,58 @@
+package com.increff.pos.replay;
+
+import org.HdrHistogram.ConcurrentHistogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class EndpointComparison {
+
+    private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final ConcurrentHistogram captured = new ConcurrentHistogram(MAX_MICROS, 3);
+    private final ConcurrentHistogram replayed = new ConcurrentHistogram(MAX_MICROS, 3);
+    private final LongAdder statusMismatches = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    public void record(double capturedMs, int capturedStatus, double replayedMs, int replayedStatus) {
+        captured.recordValue(toMicros(capturedMs));
+        replayed.recordValue(toMicros(replayedMs));
+        if (capturedStatus != replayedStatus) {
+            statusMismatches.increment();
+        }
+    }
+
+    public void recordError() {
+        errors.increment();
+    }
+
+    public long count() {
+        return replayed.getTotalCount();
+    }
+
+    public long statusMismatches() {
+        return statusMismatches.sum();
+    }
+
+    public long errors() {
+        return errors.sum();
+    }
+
+    public double capturedMillis(double percentile) {
+        return captured.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double replayedMillis(double percentile) {
+        return replayed.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public boolean isRegression(double tolerance, double minDeltaMs) {
+        double before = capturedMillis(95);
+        double after = replayedMillis(95);
+        return after > before * (1 + tolerance) && after - before > minDeltaMs;
+    }
+
+    private static long toMicros(double millis) {
+        return Math.min(MAX_MICROS, Math.max(0, Math.round(millis * 1000)));
+    }
+}
@@ -0,0 +1,96 @@
+package com.increff.pos.replay;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.increff.pos.loadtest.PosHttpClient;
+import com.increff.pos.model.data.CapturedExchangeData;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// file=<capture.jsonl> target=http://localhost:8080 speed=1 tolerance=0.2 min-delta-ms=5 email=... password=...
+public class ReplayMain {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        Path file = Paths.get(require(options, "file"));
+        double speed = Double.parseDouble(options.getOrDefault("speed", "1"));
+        double tolerance = Double.parseDouble(options.getOrDefault("tolerance", "0.2"));
+        double minDeltaMs = Double.parseDouble(options.getOrDefault("min-delta-ms", "5"));
+
+        List<CapturedExchangeData> exchanges = read(file);
+        System.out.printf("Replaying %d captured requests from %s at %s%n", exchanges.size(), file,
+                speed > 0 ? speed + "x" : "full speed (sequential)");
+
+        PosHttpClient client = new PosHttpClient(options.getOrDefault("target", "http://localhost:8080"));
+        client.login(options.getOrDefault("email", "supervisor@pos.com"), options.getOrDefault("password", "admin123"));
+        Map<String, EndpointComparison> endpoints = new TrafficReplayer(client, speed).replay(exchanges);
+
+        System.out.printf("%n%-45s %7s %7s %7s %9s %9s %9s %9s %9s %9s  %s%n", "endpoint", "count", "status", "errors",
+                "cap p50", "cap p95", "cap p99", "rep p50", "rep p95", "rep p99", "verdict");
+        int regressions = 0;
+        for (Map.Entry<String, EndpointComparison> entry : endpoints.entrySet()) {
+            EndpointComparison endpoint = entry.getValue();
+            boolean slower = endpoint.isRegression(tolerance, minDeltaMs);
+            boolean statusChanged = endpoint.statusMismatches() > 0 || endpoint.errors() > 0;
+            if (slower || statusChanged) {
+                regressions++;
+            }
+            System.out.printf("%-45s %7d %7d %7d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f  %s%n", entry.getKey(),
+                    endpoint.count(), endpoint.statusMismatches(), endpoint.errors(),
+                    endpoint.capturedMillis(50), endpoint.capturedMillis(95), endpoint.capturedMillis(99),
+                    endpoint.replayedMillis(50), endpoint.replayedMillis(95), endpoint.replayedMillis(99),
+                    slower ? "SLOWER" : statusChanged ? "STATUS" : "ok");
+        }
+        System.out.printf("%n%d of %d endpoints regressed (p95 tolerance %.0f%%, min delta %.1f ms)%n", regressions,
+                endpoints.size(), tolerance * 100, minDeltaMs);
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    private static List<CapturedExchangeData> read(Path file) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        List<CapturedExchangeData> exchanges = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    CapturedExchangeData exchange = objectMapper.readValue(line, CapturedExchangeData.class);
+                    if (!exchange.isTruncated()) {
+                        exchanges.add(exchange);
+                    }
+                }
+            }
+        }
+        exchanges.sort(Comparator.comparingLong(CapturedExchangeData::getTimestamp));
+        return exchanges;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            for (String pair : arg.trim().split("\\s+")) {
+                int eq = pair.indexOf('=');
+                if (eq > 0) {
+                    options.put(pair.substring(0, eq), pair.substring(eq + 1));
+                }
+            }
+        }
+        return options;
+    }
+
+    private static String require(Map<String, String> options, String key) {
+        String value = options.get(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing required option: " + key + "=<value>");
+        }
+        return value;
+    }
+}
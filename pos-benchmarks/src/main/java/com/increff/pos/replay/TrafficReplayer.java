@@ -0,0 +1,144 @@
+package com.increff.pos.replay;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.increff.pos.loadtest.PosHttpClient;
+import com.increff.pos.model.data.CapturedExchangeData;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+public class TrafficReplayer {
+
+    private static final Pattern ID_SEGMENT = Pattern.compile(".*\\d.*");
+    private static final String[] ID_FIELDS = { "orderId", "id", "clientId" };
+
+    private final PosHttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final double speed;
+    private final Map<String, EndpointComparison> endpoints = new ConcurrentHashMap<>();
+    // Ids created while replaying differ from the captured ones; later requests are rewritten to use the new ids
+    private final Map<String, String> replayedIds = new ConcurrentHashMap<>();
+
+    public TrafficReplayer(PosHttpClient client, double speed) {
+        this.client = client;
+        this.speed = speed;
+    }
+
+    public Map<String, EndpointComparison> replay(List<CapturedExchangeData> exchanges) throws InterruptedException {
+        if (exchanges.isEmpty()) {
+            return new TreeMap<>();
+        }
+        long firstTimestamp = exchanges.get(0).getTimestamp();
+        long start = System.nanoTime();
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (CapturedExchangeData exchange : exchanges) {
+                if (speed > 0) {
+                    long dueNanos = (long) ((exchange.getTimestamp() - firstTimestamp) * 1_000_000 / speed);
+                    long waitNanos = dueNanos - (System.nanoTime() - start);
+                    if (waitNanos > 0) {
+                        Thread.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+                    }
+                    senders.submit(() -> send(exchange));
+                } else {
+                    send(exchange);
+                }
+            }
+        }
+        return new TreeMap<>(endpoints);
+    }
+
+    public static String endpointKey(CapturedExchangeData exchange) {
+        StringBuilder key = new StringBuilder(exchange.getMethod()).append(' ');
+        for (String segment : exchange.getPath().split("/")) {
+            if (!segment.isEmpty()) {
+                key.append('/').append(ID_SEGMENT.matcher(segment).matches() ? "{id}" : segment);
+            }
+        }
+        return key.toString();
+    }
+
+    private void send(CapturedExchangeData exchange) {
+        EndpointComparison comparison = endpoints.computeIfAbsent(endpointKey(exchange), key -> new EndpointComparison());
+        try {
+            String path = rewritePath(exchange.getPath());
+            String pathAndQuery = exchange.getQuery() != null ? path + "?" + exchange.getQuery() : path;
+            String body = rewriteBody(exchange.getRequestBody());
+
+            long start = System.nanoTime();
+            HttpResponse<String> response = client.send(exchange.getMethod(), pathAndQuery, exchange.getContentType(), body);
+            double elapsedMs = (System.nanoTime() - start) / 1_000_000.0;
+
+            comparison.record(exchange.getDurationMs(), exchange.getStatus(), elapsedMs, response.statusCode());
+            if (response.statusCode() / 100 == 2) {
+                learnIds(exchange.getResponseBody(), response.body());
+            }
+        } catch (IOException e) {
+            comparison.recordError();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String rewritePath(String path) {
+        if (replayedIds.isEmpty()) {
+            return path;
+        }
+        String[] segments = path.split("/", -1);
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = replayedIds.getOrDefault(segments[i], segments[i]);
+        }
+        return String.join("/", segments);
+    }
+
+    private String rewriteBody(String body) throws IOException {
+        if (body == null || replayedIds.isEmpty() || body.isEmpty() || body.charAt(0) != '{') {
+            return body;
+        }
+        JsonNode node = objectMapper.readTree(body);
+        rewriteNode(node);
+        return objectMapper.writeValueAsString(node);
+    }
+
+    private void rewriteNode(JsonNode node) {
+        if (node.isArray()) {
+            node.forEach(this::rewriteNode);
+        } else if (node.isObject()) {
+            List<String> names = new ArrayList<>();
+            node.fieldNames().forEachRemaining(names::add);
+            for (String name : names) {
+                JsonNode value = node.get(name);
+                if (value.isTextual() && replayedIds.containsKey(value.asText())) {
+                    ((ObjectNode) node).put(name, replayedIds.get(value.asText()));
+                } else {
+                    rewriteNode(value);
+                }
+            }
+        }
+    }
+
+    private void learnIds(String capturedBody, String replayedBody) throws IOException {
+        if (capturedBody == null || replayedBody == null || !capturedBody.startsWith("{") || !replayedBody.startsWith("{")) {
+            return;
+        }
+        JsonNode captured = objectMapper.readTree(capturedBody);
+        JsonNode replayed = objectMapper.readTree(replayedBody);
+        for (String field : ID_FIELDS) {
+            JsonNode before = captured.get(field);
+            JsonNode after = replayed.get(field);
+            if (before != null && after != null && before.isTextual() && after.isTextual()
+                    && !before.asText().equals(after.asText())) {
+                replayedIds.put(before.asText(), after.asText());
+            }
+        }
+    }
+}
@@ -7,8 +7,8 @@ export const auditLogService = {
     return response.data;
   },
 
-  getAllList: async (): Promise<AuditLogData[]> => {
-    const response = await apiClient.get('/audit-log/get-all');
-    return response.data;
+  getAllList: async (size: number = 50, cursor?: string): Promise<AuditLogData[]> => {
+    const response = await apiClient.post('/audit-log/get-all', { size, cursor });
+    return response.data.items;
   },
 };
@@ -0,0 +1,13 @@
+package com.increff.pos.model.data;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class AuditLogPageData {
+    private List<AuditLogData> items;
+    private String nextCursor;
+}
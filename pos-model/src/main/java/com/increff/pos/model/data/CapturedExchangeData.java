@@ -0,0 +1,19 @@
+package com.increff.pos.model.data;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class CapturedExchangeData {
+    private long timestamp;
+    private String method;
+    private String path;
+    private String query;
+    private String contentType;
+    private String requestBody;
+    private boolean truncated;
+    private int status;
+    private String responseBody;
+    private double durationMs;
+}
@@ -0,0 +1,24 @@
+package com.increff.pos.model.data;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.ZonedDateTime;
+
+@Getter
+@Setter
+public class ImportJobData {
+    private String id;
+    private String type;
+    private String contentHash;
+    private String status;
+    private int chunkSize;
+    private int committedChunks;
+    private long processedRows;
+    private long successCount;
+    private long failedCount;
+    private long skippedCount;
+    private String errorMessage;
+    private ZonedDateTime createdAt;
+    private ZonedDateTime updatedAt;
+}
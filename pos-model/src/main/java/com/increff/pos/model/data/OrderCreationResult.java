@@ -11,4 +11,5 @@ public class OrderCreationResult {
     private String orderId;
     private boolean fulfillable;
     private List<UnfulfillableItemData> unfulfillableItems;
+    private String error;
 }
@@ -0,0 +1,15 @@
+package com.increff.pos.model.form;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import java.util.List;
+
+@Getter
+@Setter
+public class OrderBatchForm {
+    @NotNull(message = "Orders cannot be null")
+    @NotEmpty(message = "Orders cannot be empty")
+    private List<OrderForm> orders;
+}
@@ -5,14 +5,22 @@ import com.increff.pos.exception.ApiException;
 import com.increff.pos.model.form.PageForm;
 import org.springframework.data.domain.Page;
 
+import java.time.ZonedDateTime;
 import java.util.List;
 
 public interface AuditLogApi {
     AuditLogPojo add(AuditLogPojo auditLogPojo) throws ApiException;
 
+    List<AuditLogPojo> addBulk(List<AuditLogPojo> auditLogPojos);
+
     List<AuditLogPojo> getByOperatorEmail(String operatorEmail);
 
     Page<AuditLogPojo> getAll(PageForm form);
 
-    List<AuditLogPojo> getAll();
+    List<AuditLogPojo> getWindow(ZonedDateTime fromDate, ZonedDateTime toDate, ZonedDateTime cursorTimestamp,
+            String cursorId, int limit);
+
+    List<AuditLogPojo> getOlderThan(ZonedDateTime cutoff, int limit);
+
+    long deleteByIds(List<String> ids);
 }
@@ -27,6 +27,12 @@ public class AuditLogApiImpl implements AuditLogApi {
         return dao.save(auditLogPojo);
     }
 
+    @Override
+    @Transactional
+    public List<AuditLogPojo> addBulk(List<AuditLogPojo> auditLogPojos) {
+        return dao.insert(auditLogPojos);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<AuditLogPojo> getByOperatorEmail(String operatorEmail) {
@@ -43,7 +49,23 @@ public class AuditLogApiImpl implements AuditLogApi {
 
     @Override
     @Transactional(readOnly = true)
-    public List<AuditLogPojo> getAll() {
-        return dao.findAll(Sort.by(Sort.Direction.DESC, "timestamp"));
+    public List<AuditLogPojo> getWindow(ZonedDateTime fromDate, ZonedDateTime toDate,
+            ZonedDateTime cursorTimestamp, String cursorId, int limit) {
+        return dao.findWindow(fromDate, toDate, cursorTimestamp, cursorId, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AuditLogPojo> getOlderThan(ZonedDateTime cutoff, int limit) {
+        return dao.findOlderThan(cutoff, limit);
+    }
+
+    @Override
+    @Transactional
+    public long deleteByIds(List<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        return dao.deleteByIds(ids);
     }
 }
@@ -18,4 +18,6 @@ public interface ClientApi {
     java.util.Map<String, ClientPojo> getByClientIds(java.util.List<String> clientIds) throws ApiException;
 
     Page<ClientPojo> search(String clientId, String name, String email, int page, int size);
+
+    int refreshCache();
 }
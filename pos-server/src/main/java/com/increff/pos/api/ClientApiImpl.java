@@ -1,5 +1,6 @@
 package com.increff.pos.api;
 
+import com.increff.pos.cache.ClientCache;
 import com.increff.pos.dao.ClientDao;
 import com.increff.pos.db.ClientPojo;
 import com.increff.pos.exception.ApiException;
@@ -13,7 +14,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 @Service
 public class ClientApiImpl implements ClientApi {
@@ -22,6 +22,8 @@ public class ClientApiImpl implements ClientApi {
     private ClientDao dao;
     @Autowired
     private SequenceGenerator sequenceGenerator;
+    @Autowired
+    private ClientCache clientCache;
 
     @Override
     @Transactional(rollbackFor = ApiException.class)
@@ -30,12 +32,14 @@ public class ClientApiImpl implements ClientApi {
 
         long sequence = sequenceGenerator.getNextSequence("client");
         clientPojo.setClientId(String.format("C%04d", sequence));
-        return dao.save(clientPojo);
+        ClientPojo saved = dao.save(clientPojo);
+        clientCache.put(saved);
+        return saved;
     }
 
     @Override
     public ClientPojo getCheck(String id) throws ApiException {
-        ClientPojo clientPojo = dao.findById(id).orElse(null);
+        ClientPojo clientPojo = clientCache.getById(id);
         if (Objects.isNull(clientPojo)) {
             throw new ApiException("Client not found with id: " + id);
         }
@@ -44,7 +48,7 @@ public class ClientApiImpl implements ClientApi {
 
     @Override
     public ClientPojo getCheckByClientId(String clientId) throws ApiException {
-        ClientPojo clientPojo = dao.findByClientId(clientId);
+        ClientPojo clientPojo = clientCache.getByClientId(clientId);
         if (Objects.isNull(clientPojo)) {
             throw new ApiException("Client not found with clientId: " + clientId);
         }
@@ -60,7 +64,11 @@ public class ClientApiImpl implements ClientApi {
     @Override
     @Transactional(rollbackFor = ApiException.class)
     public ClientPojo update(String id, ClientPojo clientPojo) throws ApiException {
-        ClientPojo existing = getCheck(id);
+        // Read from Mongo rather than the cache so a failed save cannot leave a half-updated cached instance
+        ClientPojo existing = dao.findById(id).orElse(null);
+        if (Objects.isNull(existing)) {
+            throw new ApiException("Client not found with id: " + id);
+        }
 
         validateClientUniqueness(clientPojo, id);
 
@@ -68,7 +76,9 @@ public class ClientApiImpl implements ClientApi {
         existing.setPhone(clientPojo.getPhone());
         existing.setEmail(clientPojo.getEmail());
 
-        return dao.save(existing);
+        ClientPojo saved = dao.save(existing);
+        clientCache.put(saved);
+        return saved;
     }
 
     @Override
@@ -77,9 +87,12 @@ public class ClientApiImpl implements ClientApi {
         if (clientIds == null || clientIds.isEmpty()) {
             return Map.of();
         }
-        List<ClientPojo> clients = dao.findByClientIds(clientIds);
-        return clients.stream()
-                .collect(Collectors.toMap(ClientPojo::getClientId, c -> c));
+        return clientCache.getByClientIds(clientIds);
+    }
+
+    @Override
+    public int refreshCache() {
+        return clientCache.reload();
     }
 
     @Override
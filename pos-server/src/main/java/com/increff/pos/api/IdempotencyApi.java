@@ -0,0 +1,14 @@
+package com.increff.pos.api;
+
+import com.increff.pos.db.IdempotencyKeyPojo;
+import com.increff.pos.exception.ApiException;
+
+public interface IdempotencyApi {
+    IdempotencyKeyPojo begin(String key, String requestHash) throws ApiException;
+
+    void complete(IdempotencyKeyPojo entry, int responseStatus, String contentType, String responseBody);
+
+    void release(IdempotencyKeyPojo entry);
+
+    int extendLocks();
+}
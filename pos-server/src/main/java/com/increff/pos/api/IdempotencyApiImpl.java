@@ -0,0 +1,113 @@
+package com.increff.pos.api;
+
+import com.increff.pos.dao.IdempotencyKeyDao;
+import com.increff.pos.db.IdempotencyKeyPojo;
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.helper.IdempotencyHelper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class IdempotencyApiImpl implements IdempotencyApi {
+
+    @Autowired
+    private IdempotencyKeyDao dao;
+
+    @Value("${idempotency.ttl-hours:24}")
+    private long ttlHours = 24;
+
+    @Value("${idempotency.lock-timeout-ms:30000}")
+    private long lockTimeoutMs = 30000;
+
+    @Value("${idempotency.wait-timeout-ms:10000}")
+    private long waitTimeoutMs = 10000;
+
+    @Value("${idempotency.poll-interval-ms:25}")
+    private long pollIntervalMs = 25;
+
+    // Owners of the keys this node is executing, by entry id, so their locks can be extended while they run
+    private final Map<String, String> runningOwners = new ConcurrentHashMap<>();
+
+    // Returns either a COMPLETED entry to replay, or an IN_PROGRESS entry now owned by the caller. Once another
+    // request holds the key, the entry is only polled; the insert is tried again only after the key disappears.
+    @Override
+    public IdempotencyKeyPojo begin(String key, String requestHash) throws ApiException {
+        String owner = UUID.randomUUID().toString();
+        long deadline = System.currentTimeMillis() + waitTimeoutMs;
+        boolean insert = true;
+        while (true) {
+            ZonedDateTime now = ZonedDateTime.now();
+            if (insert) {
+                try {
+                    return running(dao.insert(IdempotencyHelper.createKey(key, requestHash, owner,
+                            now.plusNanos(lockTimeoutMs * 1_000_000), now.plusHours(ttlHours))));
+                } catch (DuplicateKeyException e) {
+                    // Fall through to inspect the entry that won the insert
+                }
+            }
+
+            IdempotencyKeyPojo existing = dao.findByKey(key);
+            insert = existing == null;
+            if (existing != null) {
+                if (!requestHash.equals(existing.getRequestHash())) {
+                    throw new ApiException("Idempotency-Key was already used for a different request");
+                }
+                if (IdempotencyHelper.isCompleted(existing)) {
+                    return existing;
+                }
+                IdempotencyKeyPojo claimed = dao.claimStale(existing.getId(), owner, now,
+                        now.plusNanos(lockTimeoutMs * 1_000_000));
+                if (claimed != null) {
+                    return running(claimed);
+                }
+            }
+
+            if (System.currentTimeMillis() >= deadline) {
+                throw new ApiException("A request with this Idempotency-Key is still in progress");
+            }
+            try {
+                Thread.sleep(pollIntervalMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ApiException("Interrupted while waiting for the original request");
+            }
+        }
+    }
+
+    // A request whose key was taken over after its lock timed out matches nothing here
+    @Override
+    public void complete(IdempotencyKeyPojo entry, int responseStatus, String contentType, String responseBody) {
+        runningOwners.remove(entry.getId(), entry.getOwner());
+        dao.complete(entry.getId(), entry.getOwner(), responseStatus, contentType, responseBody,
+                ZonedDateTime.now().plusHours(ttlHours));
+    }
+
+    @Override
+    public void release(IdempotencyKeyPojo entry) {
+        runningOwners.remove(entry.getId(), entry.getOwner());
+        dao.deleteOwned(entry.getId(), entry.getOwner());
+    }
+
+    // Heartbeat for requests still running here: a slow request keeps its key, while one whose node died stops being
+    // extended and is taken over lock-timeout-ms later
+    @Override
+    public int extendLocks() {
+        if (runningOwners.isEmpty()) {
+            return 0;
+        }
+        ZonedDateTime now = ZonedDateTime.now();
+        return dao.extendLocks(Map.copyOf(runningOwners), now, now.plusNanos(lockTimeoutMs * 1_000_000));
+    }
+
+    private IdempotencyKeyPojo running(IdempotencyKeyPojo entry) {
+        runningOwners.put(entry.getId(), entry.getOwner());
+        return entry;
+    }
+}
@@ -0,0 +1,17 @@
+package com.increff.pos.api;
+
+import com.increff.pos.db.ImportJobPojo;
+import com.increff.pos.exception.ApiException;
+
+public interface ImportJobApi {
+    ImportJobPojo start(String type, String contentHash, int chunkSize) throws ApiException;
+
+    ImportJobPojo getCheck(String id) throws ApiException;
+
+    void checkpoint(String id, int committedChunks, long processedRows, long successCount, long failedCount,
+            long skippedCount);
+
+    void complete(String id);
+
+    void fail(String id, String errorMessage);
+}
@@ -0,0 +1,73 @@
+package com.increff.pos.api;
+
+import com.increff.pos.dao.ImportJobDao;
+import com.increff.pos.db.ImportJobPojo;
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.helper.ImportJobHelper;
+import com.increff.pos.util.ImportJobStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+
+@Service
+public class ImportJobApiImpl implements ImportJobApi {
+
+    @Autowired
+    private ImportJobDao dao;
+
+    @Value("${upload.import.stale-after-seconds:300}")
+    private long staleAfterSeconds;
+
+    @Override
+    @Transactional(rollbackFor = ApiException.class)
+    public ImportJobPojo start(String type, String contentHash, int chunkSize) throws ApiException {
+        ImportJobPojo existing = dao.findByTypeAndContentHash(type, contentHash);
+        if (existing == null) {
+            try {
+                return dao.insert(ImportJobHelper.createJob(type, contentHash, chunkSize));
+            } catch (DuplicateKeyException e) {
+                throw new ApiException("An import of this file is already in progress");
+            }
+        }
+        if (ImportJobStatus.COMPLETED.getValue().equals(existing.getStatus())) {
+            return existing;
+        }
+
+        ImportJobPojo claimed = dao.claimResumable(existing.getId(),
+                ZonedDateTime.now().minusSeconds(staleAfterSeconds));
+        if (claimed == null) {
+            throw new ApiException("An import of this file is already in progress");
+        }
+        return claimed;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ImportJobPojo getCheck(String id) throws ApiException {
+        return dao.findById(id)
+                .orElseThrow(() -> new ApiException("Import job with ID " + id + " does not exist"));
+    }
+
+    @Override
+    @Transactional
+    public void checkpoint(String id, int committedChunks, long processedRows, long successCount,
+            long failedCount, long skippedCount) {
+        dao.updateProgress(id, committedChunks, processedRows, successCount, failedCount, skippedCount);
+    }
+
+    @Override
+    @Transactional
+    public void complete(String id) {
+        dao.updateStatus(id, ImportJobStatus.COMPLETED.getValue(), null);
+    }
+
+    @Override
+    @Transactional
+    public void fail(String id, String errorMessage) {
+        dao.updateStatus(id, ImportJobStatus.FAILED.getValue(), errorMessage);
+    }
+}
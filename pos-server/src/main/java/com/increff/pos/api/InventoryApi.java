@@ -10,6 +10,8 @@ public interface InventoryApi {
 
     List<InventoryPojo> addBulk(List<InventoryPojo> inventories) throws ApiException;
 
+    void addMissing(List<String> productIds);
+
     InventoryPojo getCheck(String id) throws ApiException;
 
     InventoryPojo getCheckByProductId(String productId) throws ApiException;
@@ -25,4 +27,8 @@ public interface InventoryApi {
     List<InventoryPojo> getByProductIds(List<String> productIds);
 
     void bulkUpdateQuantities(java.util.Map<String, Integer> productIdToQuantity);
+
+    java.util.Set<String> reserveBulk(java.util.Map<String, Integer> productIdToQuantity);
+
+    void releaseBulk(java.util.Map<String, Integer> productIdToQuantity);
 }
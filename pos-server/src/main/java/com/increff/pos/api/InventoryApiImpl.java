@@ -5,6 +5,7 @@ import com.increff.pos.dao.ProductDao;
 import com.increff.pos.db.InventoryPojo;
 import com.increff.pos.db.ProductPojo;
 import com.increff.pos.exception.ApiException;
+import com.increff.pos.ledger.InventoryLedger;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,7 +14,9 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,6 +26,9 @@ public class InventoryApiImpl implements InventoryApi {
     private InventoryDao inventoryDao;
     @Autowired
     private ProductDao productDao;
+    // Present only when inventory.ledger.enabled is set; quantities are then read from and written to memory
+    @Autowired(required = false)
+    private InventoryLedger inventoryLedger;
 
     @Override
     @Transactional(rollbackFor = ApiException.class)
@@ -39,7 +45,9 @@ public class InventoryApiImpl implements InventoryApi {
 
         validateInventoryLimit(inventoryPojo.getQuantity());
 
-        return inventoryDao.save(inventoryPojo);
+        InventoryPojo saved = inventoryDao.save(inventoryPojo);
+        register(saved);
+        return saved;
     }
 
     @Override
@@ -52,7 +60,22 @@ public class InventoryApiImpl implements InventoryApi {
         for (InventoryPojo inventory : inventories) {
             validateInventoryLimit(inventory.getQuantity());
         }
-        return inventoryDao.saveAll(inventories);
+        List<InventoryPojo> saved = inventoryDao.saveAll(inventories);
+        saved.forEach(this::register);
+        return saved;
+    }
+
+    // Gives products without an inventory row one at zero stock; existing rows are left alone
+    @Override
+    @Transactional(rollbackFor = ApiException.class)
+    public void addMissing(List<String> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        inventoryDao.insertMissing(productIds);
+        if (inventoryLedger != null) {
+            inventoryDao.findByProductIds(productIds).forEach(this::register);
+        }
     }
 
     @Override
@@ -62,7 +85,7 @@ public class InventoryApiImpl implements InventoryApi {
         if (Objects.isNull(inventoryPojo)) {
             throw new ApiException("Inventory not found with id: " + id);
         }
-        return inventoryPojo;
+        return withLedgerQuantity(inventoryPojo);
     }
 
     @Override
@@ -72,13 +95,14 @@ public class InventoryApiImpl implements InventoryApi {
         if (Objects.isNull(inventoryPojo)) {
             throw new ApiException("Inventory not found for productId: " + productId);
         }
-        return inventoryPojo;
+        return withLedgerQuantity(inventoryPojo);
     }
 
     @Override
     @Transactional(readOnly = true)
     public InventoryPojo getByProductId(String productId) {
-        return inventoryDao.findByProductId(productId);
+        InventoryPojo inventoryPojo = inventoryDao.findByProductId(productId);
+        return inventoryPojo == null ? null : withLedgerQuantity(inventoryPojo);
     }
 
     @Override
@@ -87,16 +111,24 @@ public class InventoryApiImpl implements InventoryApi {
         InventoryPojo existing = getCheck(id);
         validateInventoryLimit(inventoryPojo.getQuantity());
         existing.setQuantity(inventoryPojo.getQuantity());
+        if (inventoryLedger != null && inventoryLedger.set(Map.of(existing.getProductId(), existing.getQuantity()))
+                .isEmpty()) {
+            return existing;
+        }
         return inventoryDao.save(existing);
     }
 
     @Override
     @Transactional(rollbackFor = ApiException.class)
     public InventoryPojo updateByProductId(String productId, Integer quantity) throws ApiException {
+        if (inventoryLedger != null && inventoryLedger.adjust(Map.of(productId, quantity)).isEmpty()) {
+            return inventoryLedger.get(productId);
+        }
         InventoryPojo updated = inventoryDao.incrementQuantityByProductId(productId, quantity);
         if (updated == null) {
             throw new ApiException("Failed to update inventory for product " + productId);
         }
+        register(updated);
         return updated;
     }
 
@@ -112,42 +144,139 @@ public class InventoryApiImpl implements InventoryApi {
             quantityByProductId.put(inventoryPojo.getProductId(), inventoryPojo.getQuantity());
         }
 
+        List<InventoryPojo> updated = new ArrayList<>();
+        if (inventoryLedger != null) {
+            Set<String> missing = inventoryLedger.adjust(quantityByProductId);
+            for (String productId : quantityByProductId.keySet()) {
+                if (!missing.contains(productId)) {
+                    updated.add(inventoryLedger.get(productId));
+                }
+            }
+            quantityByProductId.keySet().retainAll(missing);
+            if (quantityByProductId.isEmpty()) {
+                return updated;
+            }
+        }
+
         List<String> productIds = new ArrayList<>(quantityByProductId.keySet());
 
-        List<InventoryPojo> existingInventories = inventoryDao.findByProductIds(productIds);
-        Map<String, InventoryPojo> existingByProductId = existingInventories.stream()
-                .collect(Collectors.toMap(InventoryPojo::getProductId, inv -> inv));
+        // Existing stock takes the quantities as $inc deltas, so concurrent uploads and order reservations are
+        // never overwritten by a read-modify-write
+        Set<String> existingProductIds = inventoryDao.findByProductIds(productIds).stream()
+                .map(InventoryPojo::getProductId)
+                .collect(Collectors.toSet());
 
-        List<InventoryPojo> toSave = new ArrayList<>();
+        Map<String, Integer> increments = new LinkedHashMap<>();
+        List<InventoryPojo> toInsert = new ArrayList<>();
         for (Map.Entry<String, Integer> entry : quantityByProductId.entrySet()) {
-            String productId = entry.getKey();
-            Integer quantityToAdd = entry.getValue();
-
-            InventoryPojo existing = existingByProductId.get(productId);
-            if (existing != null) {
-                existing.setQuantity(existing.getQuantity() + quantityToAdd);
-                toSave.add(existing);
+            if (existingProductIds.contains(entry.getKey())) {
+                increments.put(entry.getKey(), entry.getValue());
             } else {
                 InventoryPojo newInv = new InventoryPojo();
-                newInv.setProductId(productId);
-                newInv.setQuantity(quantityToAdd);
-                toSave.add(newInv);
+                newInv.setProductId(entry.getKey());
+                newInv.setQuantity(entry.getValue());
+                toInsert.add(newInv);
             }
         }
 
-        return inventoryDao.saveAll(toSave);
+        List<InventoryPojo> saved = new ArrayList<>();
+        if (!increments.isEmpty()) {
+            inventoryDao.incrementQuantities(increments);
+            saved.addAll(inventoryDao.findByProductIds(new ArrayList<>(increments.keySet())));
+        }
+        if (!toInsert.isEmpty()) {
+            saved.addAll(inventoryDao.saveAll(toInsert));
+        }
+        saved.forEach(this::register);
+        updated.addAll(saved);
+        return updated;
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<InventoryPojo> getByProductIds(List<String> productIds) {
-        return inventoryDao.findByProductIds(productIds);
+        if (inventoryLedger == null) {
+            return inventoryDao.findByProductIds(productIds);
+        }
+        List<InventoryPojo> inventories = new ArrayList<>(productIds.size());
+        List<String> missing = new ArrayList<>();
+        for (String productId : productIds) {
+            InventoryPojo inventory = inventoryLedger.get(productId);
+            if (inventory != null) {
+                inventories.add(inventory);
+            } else {
+                missing.add(productId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            inventories.addAll(inventoryDao.findByProductIds(missing));
+        }
+        return inventories;
     }
 
     @Override
     @Transactional(rollbackFor = ApiException.class)
     public void bulkUpdateQuantities(Map<String, Integer> productIdToQuantity) {
-        inventoryDao.bulkUpdateQuantities(productIdToQuantity);
+        if (inventoryLedger == null) {
+            inventoryDao.bulkUpdateQuantities(productIdToQuantity);
+            return;
+        }
+        Set<String> missing = inventoryLedger.set(productIdToQuantity);
+        if (!missing.isEmpty()) {
+            inventoryDao.bulkUpdateQuantities(select(productIdToQuantity, missing));
+        }
+    }
+
+    @Override
+    @Transactional
+    public Set<String> reserveBulk(Map<String, Integer> productIdToQuantity) {
+        if (productIdToQuantity.isEmpty()) {
+            return Set.of();
+        }
+        if (inventoryLedger != null) {
+            return inventoryLedger.reserve(productIdToQuantity);
+        }
+        return inventoryDao.reserveQuantities(productIdToQuantity);
+    }
+
+    @Override
+    @Transactional
+    public void releaseBulk(Map<String, Integer> productIdToQuantity) {
+        if (productIdToQuantity.isEmpty()) {
+            return;
+        }
+        if (inventoryLedger == null) {
+            inventoryDao.incrementQuantities(productIdToQuantity);
+            return;
+        }
+        Set<String> missing = inventoryLedger.adjust(productIdToQuantity);
+        if (!missing.isEmpty()) {
+            inventoryDao.incrementQuantities(select(productIdToQuantity, missing));
+        }
+    }
+
+    private void register(InventoryPojo inventoryPojo) {
+        if (inventoryLedger != null) {
+            inventoryLedger.register(inventoryPojo);
+        }
+    }
+
+    private InventoryPojo withLedgerQuantity(InventoryPojo inventoryPojo) {
+        if (inventoryLedger != null) {
+            Integer quantity = inventoryLedger.getQuantity(inventoryPojo.getProductId());
+            if (quantity != null) {
+                inventoryPojo.setQuantity(quantity);
+            }
+        }
+        return inventoryPojo;
+    }
+
+    private Map<String, Integer> select(Map<String, Integer> productIdToQuantity, Set<String> productIds) {
+        Map<String, Integer> selected = new HashMap<>();
+        for (String productId : productIds) {
+            selected.put(productId, productIdToQuantity.get(productId));
+        }
+        return selected;
     }
 
     private void validateInventoryLimit(Integer quantity) throws ApiException {
@@ -0,0 +1,23 @@
+package com.increff.pos.api;
+
+import com.increff.pos.db.InventoryHoldPojo;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+
+public interface InventoryHoldApi {
+    void hold(String orderId, Map<String, Integer> productIdToQuantity);
+
+    InventoryHoldPojo claim(String orderId);
+
+    List<InventoryHoldPojo> claimExpired(ZonedDateTime now, int limit);
+
+    boolean startRelease(InventoryHoldPojo claimed);
+
+    boolean convert(InventoryHoldPojo claimed);
+
+    boolean rehold(InventoryHoldPojo claimed, Map<String, Integer> productIdToQuantity);
+
+    boolean complete(InventoryHoldPojo claimed);
+}
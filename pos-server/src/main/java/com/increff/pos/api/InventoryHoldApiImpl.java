@@ -0,0 +1,101 @@
+package com.increff.pos.api;
+
+import com.increff.pos.dao.InventoryHoldDao;
+import com.increff.pos.db.InventoryHoldPojo;
+import com.increff.pos.util.InventoryHoldState;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+public class InventoryHoldApiImpl implements InventoryHoldApi {
+
+    @Autowired
+    private InventoryHoldDao dao;
+
+    @Value("${inventory.hold.ttl-minutes:15}")
+    private long ttlMinutes = 15;
+
+    @Value("${inventory.hold.claim-timeout-ms:60000}")
+    private long claimTimeoutMs = 60000;
+
+    @Override
+    public void hold(String orderId, Map<String, Integer> productIdToQuantity) {
+        if (productIdToQuantity.isEmpty()) {
+            return;
+        }
+        InventoryHoldPojo hold = new InventoryHoldPojo();
+        hold.setOrderId(orderId);
+        hold.setQuantities(productIdToQuantity);
+        hold.setExpiresAt(ZonedDateTime.now().plusMinutes(ttlMinutes));
+        dao.insert(hold);
+    }
+
+    // Returns the order's hold marked as claimed by the caller, or null. The stock stays held until the caller
+    // completes or re-holds the claim; a claim it never finishes is swept once it is older than the claim timeout.
+    @Override
+    public InventoryHoldPojo claim(String orderId) {
+        ZonedDateTime now = ZonedDateTime.now();
+        return dao.claimByOrderId(orderId, UUID.randomUUID().toString(), now, staleBefore(now));
+    }
+
+    @Override
+    public List<InventoryHoldPojo> claimExpired(ZonedDateTime now, int limit) {
+        String owner = UUID.randomUUID().toString();
+        List<InventoryHoldPojo> claimed = new ArrayList<>();
+        for (String id : dao.findExpiredIds(now, staleBefore(now), limit)) {
+            InventoryHoldPojo hold = dao.claimExpired(id, owner, now, staleBefore(now));
+            if (hold != null) {
+                claimed.add(hold);
+            }
+        }
+        return claimed;
+    }
+
+    // Must succeed before the held stock goes back to inventory; false means the claim was lost and whoever took it
+    // over returns the stock
+    @Override
+    public boolean startRelease(InventoryHoldPojo claimed) {
+        return mark(claimed, InventoryHoldState.RELEASING);
+    }
+
+    // Must succeed before an order uses or returns the held stock; false means the claim was lost and whoever took it
+    // over returns the stock
+    @Override
+    public boolean convert(InventoryHoldPojo claimed) {
+        return mark(claimed, InventoryHoldState.CONVERTED);
+    }
+
+    // False means the claim was lost: the hold is dropped by whoever took it over, so the caller still owns the stock
+    @Override
+    public boolean rehold(InventoryHoldPojo claimed, Map<String, Integer> productIdToQuantity) {
+        if (productIdToQuantity.isEmpty()) {
+            return complete(claimed);
+        }
+        return dao.replaceClaimed(claimed.getId(), claimed.getClaimedBy(), productIdToQuantity,
+                ZonedDateTime.now().plusMinutes(ttlMinutes));
+    }
+
+    @Override
+    public boolean complete(InventoryHoldPojo claimed) {
+        return dao.deleteClaimed(claimed.getId(), claimed.getClaimedBy());
+    }
+
+    private boolean mark(InventoryHoldPojo claimed, InventoryHoldState state) {
+        if (!dao.markClaimed(claimed.getId(), claimed.getClaimedBy(), state.getValue())) {
+            return false;
+        }
+        claimed.setState(state.getValue());
+        return true;
+    }
+
+    private ZonedDateTime staleBefore(ZonedDateTime now) {
+        return now.minusNanos(claimTimeoutMs * 1_000_000);
+    }
+}
@@ -12,6 +12,8 @@ import java.util.List;
 public interface OrderApi {
     OrderPojo add(OrderPojo orderPojo) throws ApiException;
 
+    List<OrderPojo> addBulk(List<OrderPojo> orderPojos);
+
     OrderPojo getCheck(String id) throws ApiException;
 
     OrderPojo getCheckByOrderId(String orderId) throws ApiException;
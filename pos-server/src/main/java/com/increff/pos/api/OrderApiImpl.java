@@ -30,6 +30,12 @@ public class OrderApiImpl implements OrderApi {
         return orderDao.save(orderPojo);
     }
 
+    @Override
+    @Transactional
+    public List<OrderPojo> addBulk(List<OrderPojo> orderPojos) {
+        return orderDao.insert(orderPojos);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public OrderPojo getCheck(String id) throws ApiException {
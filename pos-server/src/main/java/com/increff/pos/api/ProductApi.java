@@ -25,4 +25,6 @@ public interface ProductApi {
     List<String> getExistingBarcodes(List<String> barcodes);
 
     Map<String, ProductPojo> getByBarcodes(List<String> barcodes) throws ApiException;
+
+    Page<ProductPojo> search(String query, String clientId, int page, int size) throws ApiException;
 }
@@ -4,7 +4,9 @@ import com.increff.pos.dao.ProductDao;
 import com.increff.pos.db.ProductPojo;
 import com.increff.pos.exception.ApiException;
 import com.increff.pos.model.form.PageForm;
+import com.increff.pos.search.ProductSearchIndex;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -14,6 +16,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,16 +25,29 @@ public class ProductApiImpl implements ProductApi {
 
     @Autowired
     private ProductDao productDao;
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
 
     @Override
     public ProductPojo add(ProductPojo pojo) throws ApiException {
         validateBarcodeUniqueness(pojo.getBarcode(), null);
-        return productDao.save(pojo);
+        ProductPojo saved = productDao.save(pojo);
+        productSearchIndex.put(saved);
+        return saved;
     }
 
     @Override
     public List<ProductPojo> addBulk(List<ProductPojo> pojos) throws ApiException {
-        return productDao.saveAll(pojos);
+        List<ProductPojo> saved;
+        try {
+            saved = productDao.saveAll(pojos);
+        } catch (RuntimeException e) {
+            // Part of the batch may have been inserted before the failure; rebuild rather than guess which
+            productSearchIndex.invalidateAll();
+            throw e;
+        }
+        saved.forEach(productSearchIndex::put);
+        return saved;
     }
 
     @Override
@@ -61,7 +77,9 @@ public class ProductApiImpl implements ProductApi {
         existing.setName(pojo.getName());
         existing.setMrp(pojo.getMrp());
         existing.setImageUrl(pojo.getImageUrl());
-        return productDao.save(existing);
+        ProductPojo saved = productDao.save(existing);
+        productSearchIndex.put(saved);
+        return saved;
     }
 
     @Override
@@ -90,6 +108,25 @@ public class ProductApiImpl implements ProductApi {
                 .collect(Collectors.toMap(ProductPojo::getBarcode, p -> p));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ProductPojo> search(String query, String clientId, int page, int size) throws ApiException {
+        if (!productSearchIndex.isReady()) {
+            throw new ApiException("Product search is not available yet, please retry shortly");
+        }
+        Page<String> productIds = productSearchIndex.search(query, clientId, page, size);
+        if (productIds.getContent().isEmpty()) {
+            return new PageImpl<>(List.of(), productIds.getPageable(), productIds.getTotalElements());
+        }
+        Map<String, ProductPojo> productsById = productDao.findByIds(productIds.getContent()).stream()
+                .collect(Collectors.toMap(ProductPojo::getId, p -> p));
+        List<ProductPojo> ranked = productIds.getContent().stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new PageImpl<>(ranked, productIds.getPageable(), productIds.getTotalElements());
+    }
+
     private void validateBarcodeUniqueness(String barcode, String excludeId) throws ApiException {
         ProductPojo existing = productDao.findByBarcode(barcode).orElse(null);
 
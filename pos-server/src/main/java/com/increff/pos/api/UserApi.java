@@ -16,5 +16,7 @@ public interface UserApi {
 
     UserPojo getByEmail(String email);
 
+    UserPojo update(String id, UserPojo userPojo) throws ApiException;
+
     Page<UserPojo> getAll(PageForm form);
 }
\ No newline at end of file
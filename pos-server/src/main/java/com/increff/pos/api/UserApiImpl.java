@@ -1,5 +1,6 @@
 package com.increff.pos.api;
 
+import com.increff.pos.cache.AuthTokenCache;
 import com.increff.pos.dao.UserDao;
 import com.increff.pos.db.UserPojo;
 import com.increff.pos.exception.ApiException;
@@ -19,6 +20,8 @@ public class UserApiImpl implements UserApi {
 
     @Autowired
     private UserDao dao;
+    @Autowired
+    private AuthTokenCache authTokenCache;
 
     @Override
     @Transactional(rollbackFor = ApiException.class)
@@ -45,6 +48,17 @@ public class UserApiImpl implements UserApi {
         return dao.findByEmail(email);
     }
 
+    @Override
+    @Transactional(rollbackFor = ApiException.class)
+    public UserPojo update(String id, UserPojo userPojo) throws ApiException {
+        UserPojo existing = getCheck(id);
+        existing.setRole(userPojo.getRole());
+        existing.setPassword(userPojo.getPassword());
+        UserPojo saved = dao.save(existing);
+        authTokenCache.invalidateByEmail(saved.getEmail());
+        return saved;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<UserPojo> getAll(PageForm form) {
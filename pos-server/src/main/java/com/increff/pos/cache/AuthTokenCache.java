@@ -0,0 +1,87 @@
+package com.increff.pos.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.increff.pos.model.data.AuthData;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class AuthTokenCache implements CacheInvalidationListener {
+
+    private final Cache<String, AuthData> cache;
+    // Bumped before every invalidation, so a user read before one is never left cached after it
+    private final AtomicLong generation = new AtomicLong();
+
+    public AuthTokenCache(@Value("${auth.token-cache.max-size:10000}") long maxSize,
+            @Value("${auth.token-cache.ttl-seconds:60}") long ttlSeconds,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "authTokens");
+    }
+
+    public AuthData get(String token) {
+        return cache.getIfPresent(token);
+    }
+
+    public void put(String token, AuthData authData) {
+        cache.put(token, authData);
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    // For data read from Mongo at readGeneration. An invalidation that began since then may have run before this
+    // put, so the entry is dropped again; one that begins later removes the entry itself.
+    public void put(String token, AuthData authData, long readGeneration) {
+        cache.put(token, authData);
+        if (generation.get() != readGeneration) {
+            cache.invalidate(token);
+        }
+    }
+
+    public void invalidateByEmail(String email) {
+        if (email == null) {
+            return;
+        }
+        generation.incrementAndGet();
+        cache.asMap().values().removeIf(authData -> email.equalsIgnoreCase(authData.getEmail()));
+    }
+
+    @Override
+    public Set<String> collections() {
+        return Set.of("users");
+    }
+
+    // A user changed on another node; deletes carry no document, so every token is dropped then
+    @Override
+    public void onInvalidation(CacheInvalidationEvent event) {
+        String email = event.getDocument() != null ? event.getDocument().getString("email") : null;
+        if (email != null) {
+            invalidateByEmail(email);
+        } else {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public double hitRate() {
+        return cache.stats().hitRate();
+    }
+}
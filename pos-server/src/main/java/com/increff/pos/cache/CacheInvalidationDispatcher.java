@@ -0,0 +1,74 @@
+package com.increff.pos.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+@Component
+public class CacheInvalidationDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationDispatcher.class);
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<CacheInvalidationListener> listenerProvider;
+    private volatile Map<String, List<CacheInvalidationListener>> listenersByCollection;
+
+    public CacheInvalidationDispatcher(ObjectProvider<CacheInvalidationListener> listenerProvider,
+            MeterRegistry meterRegistry) {
+        this.listenerProvider = listenerProvider;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Set<String> collections() {
+        return new TreeSet<>(listeners().keySet());
+    }
+
+    public void dispatch(CacheInvalidationEvent event) {
+        List<CacheInvalidationListener> listeners = listeners().get(event.getCollection());
+        if (listeners == null) {
+            return;
+        }
+        for (CacheInvalidationListener listener : listeners) {
+            try {
+                listener.onInvalidation(event);
+            } catch (RuntimeException e) {
+                // Keeping a stale entry is worse than dropping everything the listener holds
+                logger.error("Cache invalidation failed for {} {}", event.getCollection(), event.getDocumentId(), e);
+                listener.invalidateAll();
+            }
+        }
+        meterRegistry.counter("cache.invalidation.events", "collection", event.getCollection()).increment();
+    }
+
+    public void invalidateAll() {
+        listeners().values().stream()
+                .flatMap(List::stream)
+                .distinct()
+                .forEach(CacheInvalidationListener::invalidateAll);
+        meterRegistry.counter("cache.invalidation.full").increment();
+    }
+
+    private Map<String, List<CacheInvalidationListener>> listeners() {
+        Map<String, List<CacheInvalidationListener>> current = listenersByCollection;
+        if (current == null) {
+            current = new HashMap<>();
+            for (CacheInvalidationListener listener : listenerProvider.orderedStream().collect(Collectors.toList())) {
+                for (String collection : listener.collections()) {
+                    current.computeIfAbsent(collection, key -> new ArrayList<>()).add(listener);
+                }
+            }
+            listenersByCollection = current;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,15 @@
+package com.increff.pos.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.bson.Document;
+
+@Getter
+@AllArgsConstructor
+public class CacheInvalidationEvent {
+    private final String collection;
+    private final String documentId;
+    private final String operation;
+    // Current state of the document, or null for deletes
+    private final Document document;
+}
@@ -0,0 +1,13 @@
+package com.increff.pos.cache;
+
+import java.util.Set;
+
+// Implemented by local caches that must drop entries when another node changes the documents behind them
+public interface CacheInvalidationListener {
+    Set<String> collections();
+
+    void onInvalidation(CacheInvalidationEvent event);
+
+    // Called when events may have been missed, e.g. after the change stream history was lost
+    void invalidateAll();
+}
@@ -0,0 +1,264 @@
+package com.increff.pos.cache;
+
+import com.increff.pos.dao.CacheResumeTokenDao;
+import com.increff.pos.db.CacheResumeTokenPojo;
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Turns writes made by any pos-server node into invalidation events for the local caches. Replica sets and sharded
+// clusters are followed through a change stream whose resume token is stored per node; a standalone server, which
+// has no change streams, is polled on updatedAt instead. Polling cannot see deletes.
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.enabled", havingValue = "true")
+public class ChangeStreamInvalidator implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeStreamInvalidator.class);
+
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+    private static final int INVALID_RESUME_TOKEN = 260;
+
+    private final MongoTemplate mongoTemplate;
+    private final CacheResumeTokenDao resumeTokenDao;
+    private final CacheInvalidationDispatcher dispatcher;
+    private final String mode;
+    private final String nodeId;
+    private final long tokenPersistIntervalMs;
+    private final long pollIntervalMs;
+    private final long pollOverlapMs;
+    private final long retryBackoffMs;
+
+    private volatile boolean running;
+    private Thread watcherThread;
+    private BsonDocument resumeToken;
+    private long tokenPersistedAt;
+
+    public ChangeStreamInvalidator(MongoTemplate mongoTemplate, CacheResumeTokenDao resumeTokenDao,
+            CacheInvalidationDispatcher dispatcher,
+            @Value("${cache.invalidation.mode:auto}") String mode,
+            @Value("${cache.invalidation.node-id:}") String nodeId,
+            @Value("${cache.invalidation.token-persist-interval-ms:1000}") long tokenPersistIntervalMs,
+            @Value("${cache.invalidation.poll-interval-ms:2000}") long pollIntervalMs,
+            @Value("${cache.invalidation.poll-overlap-ms:1000}") long pollOverlapMs,
+            @Value("${cache.invalidation.retry-backoff-ms:5000}") long retryBackoffMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.resumeTokenDao = resumeTokenDao;
+        this.dispatcher = dispatcher;
+        this.mode = mode;
+        this.nodeId = nodeId.isBlank() ? hostName() : nodeId;
+        this.tokenPersistIntervalMs = tokenPersistIntervalMs;
+        this.pollIntervalMs = pollIntervalMs;
+        this.pollOverlapMs = pollOverlapMs;
+        this.retryBackoffMs = retryBackoffMs;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running || dispatcher.collections().isEmpty()) {
+            return;
+        }
+        boolean changeStreams = "change-stream".equals(mode) || ("auto".equals(mode) && supportsChangeStreams());
+        running = true;
+        watcherThread = new Thread(changeStreams ? this::watchLoop : this::pollLoop, "cache-invalidation");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+        logger.info("Cache invalidation for {} started using {}", dispatcher.collections(),
+                changeStreams ? "change streams" : "polling");
+    }
+
+    @Override
+    public void stop() {
+        Thread thread;
+        synchronized (this) {
+            running = false;
+            thread = watcherThread;
+            watcherThread = null;
+        }
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private boolean supportsChangeStreams() {
+        try {
+            Document hello = mongoTemplate.getDb().runCommand(new Document("hello", 1));
+            return hello.containsKey("setName") || "isdbgrid".equals(hello.getString("msg"));
+        } catch (MongoException e) {
+            logger.warn("Could not detect the Mongo topology, falling back to polling", e);
+            return false;
+        }
+    }
+
+    private void watchLoop() {
+        CacheResumeTokenPojo stored = resumeTokenDao.findByNodeId(nodeId);
+        resumeToken = stored != null ? BsonDocument.parse(stored.getToken()) : null;
+
+        while (running) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = openChangeStream().cursor()) {
+                while (running) {
+                    ChangeStreamDocument<Document> change = cursor.tryNext();
+                    if (change != null) {
+                        dispatch(change);
+                    }
+                    if (cursor.getResumeToken() != null) {
+                        resumeToken = cursor.getResumeToken();
+                    }
+                    persistToken(false);
+                }
+            } catch (MongoCommandException e) {
+                if (e.getErrorCode() == CHANGE_STREAM_HISTORY_LOST || e.getErrorCode() == INVALID_RESUME_TOKEN) {
+                    // Events between the stored token and now are gone, so nothing cached can be trusted
+                    logger.warn("Change stream cannot resume for node {}, invalidating all caches", nodeId);
+                    resumeToken = null;
+                    dispatcher.invalidateAll();
+                    continue;
+                }
+                backOff(e);
+            } catch (MongoException e) {
+                if (running) {
+                    backOff(e);
+                }
+            }
+        }
+        persistToken(true);
+    }
+
+    private ChangeStreamIterable<Document> openChangeStream() {
+        ChangeStreamIterable<Document> changeStream = mongoTemplate.getDb()
+                .watch(List.of(Aggregates.match(Filters.in("ns.coll", new ArrayList<>(dispatcher.collections())))))
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .maxAwaitTime(1, TimeUnit.SECONDS);
+        return resumeToken != null ? changeStream.startAfter(resumeToken) : changeStream;
+    }
+
+    private void dispatch(ChangeStreamDocument<Document> change) {
+        if (change.getNamespace() == null || change.getDocumentKey() == null) {
+            // drop, rename or invalidate: the whole collection may have changed
+            dispatcher.invalidateAll();
+            return;
+        }
+        dispatcher.dispatch(new CacheInvalidationEvent(change.getNamespace().getCollectionName(),
+                idOf(change.getDocumentKey().get("_id")), change.getOperationTypeString(), change.getFullDocument()));
+    }
+
+    private void persistToken(boolean force) {
+        long now = System.currentTimeMillis();
+        if (resumeToken == null || (!force && now - tokenPersistedAt < tokenPersistIntervalMs)) {
+            return;
+        }
+        try {
+            resumeTokenDao.saveToken(nodeId, resumeToken.toJson());
+            tokenPersistedAt = now;
+        } catch (MongoException e) {
+            logger.warn("Failed to persist change stream resume token for node {}", nodeId, e);
+        }
+    }
+
+    // Documents are re-read with an overlap so writes committed late within the same instant are not skipped;
+    // an invalidation seen twice is harmless
+    private void pollLoop() {
+        Map<String, Date> lastSeen = new HashMap<>();
+        Date start = new Date();
+        for (String collection : dispatcher.collections()) {
+            lastSeen.put(collection, start);
+        }
+
+        while (running) {
+            try {
+                Thread.sleep(pollIntervalMs);
+            } catch (InterruptedException e) {
+                break;
+            }
+            try {
+                for (Map.Entry<String, Date> entry : lastSeen.entrySet()) {
+                    entry.setValue(poll(entry.getKey(), entry.getValue()));
+                }
+            } catch (MongoException e) {
+                logger.warn("Cache invalidation poll failed", e);
+            }
+        }
+    }
+
+    private Date poll(String collection, Date since) {
+        Date latest = since;
+        Date from = new Date(since.getTime() - pollOverlapMs);
+        try (MongoCursor<Document> cursor = mongoTemplate.getCollection(collection)
+                .find(Filters.gt("updatedAt", from))
+                .sort(Sorts.ascending("updatedAt"))
+                .iterator()) {
+            while (cursor.hasNext()) {
+                Document document = cursor.next();
+                dispatcher.dispatch(new CacheInvalidationEvent(collection, String.valueOf(document.get("_id")),
+                        "update", document));
+                Date updatedAt = document.getDate("updatedAt");
+                if (updatedAt != null && updatedAt.after(latest)) {
+                    latest = updatedAt;
+                }
+            }
+        }
+        return latest;
+    }
+
+    private void backOff(MongoException e) {
+        logger.warn("Change stream interrupted, reopening in {} ms", retryBackoffMs, e);
+        try {
+            Thread.sleep(retryBackoffMs);
+        } catch (InterruptedException interrupted) {
+            running = false;
+        }
+    }
+
+    private static String idOf(BsonValue id) {
+        if (id == null) {
+            return null;
+        }
+        if (id.isObjectId()) {
+            return id.asObjectId().getValue().toHexString();
+        }
+        return id.isString() ? id.asString().getValue() : id.toString();
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "local";
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.increff.pos.cache;
+
+import com.increff.pos.dao.ClientDao;
+import com.increff.pos.db.ClientPojo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// The whole clients collection held as two immutable maps, keyed by clientId and by _id. Readers never lock; writers
+// copy the maps and swap them in. A lookup that misses falls through to Mongo, so a client created on another node
+// is picked up on first use even before the next reconcile. Locks are ReentrantLocks rather than monitors, so a
+// virtual thread waiting on a reload does not pin its carrier.
+@Component
+public class ClientCache implements CacheInvalidationListener {
+
+    private final ClientDao clientDao;
+    private final Counter hits;
+    private final Counter misses;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+    // Changes made while a reload reads the collection, replayed onto the loaded maps before they are swapped in
+    private List<Consumer<Snapshot>> pendingWrites;
+    private boolean reloadInvalidated;
+
+    public ClientCache(ClientDao clientDao, MeterRegistry meterRegistry) {
+        this.clientDao = clientDao;
+        this.hits = Counter.builder("client.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("client.cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("client.cache.size", this, cache -> {
+            Snapshot current = cache.snapshot;
+            return current == null ? 0 : current.byId.size();
+        }).register(meterRegistry);
+    }
+
+    public ClientPojo getByClientId(String clientId) {
+        ClientPojo client = loaded().byClientId.get(clientId);
+        if (client != null) {
+            hits.increment();
+            return client;
+        }
+        misses.increment();
+        client = clientDao.findByClientId(clientId);
+        if (client != null) {
+            fill(client);
+        }
+        return client;
+    }
+
+    // Clients missing from memory are read in one query
+    public Map<String, ClientPojo> getByClientIds(Collection<String> clientIds) {
+        Snapshot current = loaded();
+        Map<String, ClientPojo> clients = new HashMap<>();
+        Set<String> missing = new HashSet<>();
+        for (String clientId : clientIds) {
+            ClientPojo client = current.byClientId.get(clientId);
+            if (client != null) {
+                hits.increment();
+                clients.put(clientId, client);
+            } else if (missing.add(clientId)) {
+                misses.increment();
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (ClientPojo client : clientDao.findByClientIds(new ArrayList<>(missing))) {
+                fill(client);
+                clients.put(client.getClientId(), client);
+            }
+        }
+        return clients;
+    }
+
+    public ClientPojo getById(String id) {
+        ClientPojo client = loaded().byId.get(id);
+        if (client != null) {
+            hits.increment();
+            return client;
+        }
+        misses.increment();
+        client = clientDao.findById(id).orElse(null);
+        if (client != null) {
+            fill(client);
+        }
+        return client;
+    }
+
+    public void put(ClientPojo client) {
+        write(current -> current.put(client));
+    }
+
+    // A client read on a miss may already be older than one put while the read was in flight, so it never replaces
+    // an entry
+    private void fill(ClientPojo client) {
+        write(current -> current.putIfAbsent(client));
+    }
+
+    // Reads the collection without holding the write lock, so lookups and puts carry on against the old maps. Puts
+    // made meanwhile are replayed onto the loaded maps before they are swapped in.
+    public int reload() {
+        return load().byId.size();
+    }
+
+    @Override
+    public Set<String> collections() {
+        return Set.of("clients");
+    }
+
+    // The changed client is dropped and re-read from Mongo on its next lookup
+    @Override
+    public void onInvalidation(CacheInvalidationEvent event) {
+        write(current -> current.remove(event.getDocumentId()));
+    }
+
+    @Override
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            snapshot = null;
+            reloadInvalidated = pendingWrites != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Snapshot loaded() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        reloadLock.lock();
+        try {
+            current = snapshot;
+            return current != null ? current : load();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private Snapshot load() {
+        reloadLock.lock();
+        try {
+            lock.lock();
+            try {
+                pendingWrites = new ArrayList<>();
+                reloadInvalidated = false;
+            } finally {
+                lock.unlock();
+            }
+
+            Snapshot loaded;
+            try {
+                loaded = Snapshot.of(clientDao.findAll());
+            } catch (RuntimeException e) {
+                lock.lock();
+                try {
+                    pendingWrites = null;
+                } finally {
+                    lock.unlock();
+                }
+                throw e;
+            }
+
+            lock.lock();
+            try {
+                pendingWrites.forEach(change -> change.accept(loaded));
+                pendingWrites = null;
+                // An invalidateAll during the read means the loaded maps may already be stale; serve them to this
+                // caller only and load again on the next lookup
+                if (!reloadInvalidated) {
+                    snapshot = loaded;
+                }
+            } finally {
+                lock.unlock();
+            }
+            return loaded;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void write(Consumer<Snapshot> change) {
+        lock.lock();
+        try {
+            if (snapshot != null) {
+                Snapshot copy = snapshot.copy();
+                change.accept(copy);
+                snapshot = copy;
+            }
+            if (pendingWrites != null) {
+                pendingWrites.add(change);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Only ever changed while unpublished: either a private copy or maps still being loaded
+    private static final class Snapshot {
+        private final Map<String, ClientPojo> byId;
+        private final Map<String, ClientPojo> byClientId;
+
+        private Snapshot(Map<String, ClientPojo> byId, Map<String, ClientPojo> byClientId) {
+            this.byId = byId;
+            this.byClientId = byClientId;
+        }
+
+        private static Snapshot of(List<ClientPojo> clients) {
+            Snapshot snapshot = new Snapshot(new HashMap<>(), new HashMap<>());
+            clients.forEach(snapshot::put);
+            return snapshot;
+        }
+
+        private Snapshot copy() {
+            return new Snapshot(new HashMap<>(byId), new HashMap<>(byClientId));
+        }
+
+        private void put(ClientPojo client) {
+            ClientPojo previous = byId.put(client.getId(), client);
+            if (previous != null) {
+                byClientId.remove(previous.getClientId());
+            }
+            byClientId.put(client.getClientId(), client);
+        }
+
+        private void putIfAbsent(ClientPojo client) {
+            if (!byId.containsKey(client.getId()) && !byClientId.containsKey(client.getClientId())) {
+                put(client);
+            }
+        }
+
+        private void remove(String id) {
+            ClientPojo previous = byId.remove(id);
+            if (previous != null) {
+                byClientId.remove(previous.getClientId());
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.increff.pos.config;
+
+import com.increff.pos.util.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class AuthConfig {
+
+    @Bean
+    public BCryptPasswordEncoder passwordEncoder(@Value("${auth.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    @Bean
+    public ThreadPoolExecutor passwordHashExecutor(@Value("${auth.login.pool-size:4}") int poolSize,
+            @Value("${auth.login.queue-capacity:100}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(executor, "passwordHash", Tags.empty()).bindTo(meterRegistry);
+        return executor;
+    }
+
+    @Bean
+    public TokenBucketRateLimiter loginEmailRateLimiter(
+            @Value("${auth.login.email-rate-limit.capacity:5}") long capacity,
+            @Value("${auth.login.email-rate-limit.refill-per-minute:5}") long refillPerMinute) {
+        return new TokenBucketRateLimiter(capacity, refillPerMinute, 100_000);
+    }
+
+    @Bean
+    public TokenBucketRateLimiter loginIpRateLimiter(
+            @Value("${auth.login.ip-rate-limit.capacity:50}") long capacity,
+            @Value("${auth.login.ip-rate-limit.refill-per-minute:100}") long refillPerMinute) {
+        return new TokenBucketRateLimiter(capacity, refillPerMinute, 100_000);
+    }
+}
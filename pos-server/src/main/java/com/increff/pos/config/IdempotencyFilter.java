@@ -0,0 +1,184 @@
+package com.increff.pos.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.increff.pos.api.IdempotencyApi;
+import com.increff.pos.db.IdempotencyKeyPojo;
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.helper.IdempotencyHelper;
+import com.increff.pos.model.data.AuthData;
+import com.increff.pos.model.data.MessageData;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+// Runs after the security chain, so the operator is known and unauthenticated requests never reach it
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Pattern IDEMPOTENT_PATHS = Pattern.compile(
+            "/api/order/(create|create-batch|update/[^/]+|retry/[^/]+)|/api/invoice/generate/[^/]+");
+
+    @Autowired
+    private IdempotencyApi idempotencyApi;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return request.getHeader(HEADER) == null
+                || !("POST".equals(method) || "PUT".equals(method))
+                || !IDEMPOTENT_PATHS.matcher(request.getRequestURI()).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key;
+        try {
+            key = IdempotencyHelper.scopeKey(operatorEmail(), request.getHeader(HEADER));
+        } catch (ApiException e) {
+            record("invalid");
+            writeError(response, HttpStatus.BAD_REQUEST, e.getMessage());
+            return;
+        }
+
+        byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+        IdempotencyKeyPojo entry;
+        try {
+            entry = idempotencyApi.begin(key, IdempotencyHelper.requestHash(request.getMethod(),
+                    request.getRequestURI(), body));
+        } catch (ApiException e) {
+            record("conflict");
+            writeError(response, HttpStatus.CONFLICT, e.getMessage());
+            return;
+        }
+
+        if (IdempotencyHelper.isCompleted(entry)) {
+            record("replayed");
+            replay(entry, response);
+            return;
+        }
+
+        record("executed");
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(new CachedBodyRequest(request, body), cachingResponse);
+            // Only successful responses are kept; a failed attempt frees the key so the terminal can retry
+            if (cachingResponse.getStatus() / 100 == 2) {
+                idempotencyApi.complete(entry, cachingResponse.getStatus(), cachingResponse.getContentType(),
+                        new String(cachingResponse.getContentAsByteArray(), StandardCharsets.UTF_8));
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                idempotencyApi.release(entry);
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    private String operatorEmail() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthData authData) {
+            return authData.getEmail();
+        }
+        return null;
+    }
+
+    private void replay(IdempotencyKeyPojo entry, HttpServletResponse response) throws IOException {
+        response.setStatus(entry.getResponseStatus());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (entry.getContentType() != null) {
+            response.setContentType(entry.getContentType());
+        }
+        if (entry.getResponseBody() != null) {
+            byte[] bytes = entry.getResponseBody().getBytes(StandardCharsets.UTF_8);
+            response.setContentLength(bytes.length);
+            response.getOutputStream().write(bytes);
+        }
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new MessageData(message));
+    }
+
+    private void record(String outcome) {
+        meterRegistry.counter("idempotency.requests", "outcome", outcome).increment();
+    }
+
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
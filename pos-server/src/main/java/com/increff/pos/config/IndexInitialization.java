@@ -0,0 +1,55 @@
+package com.increff.pos.config;
+
+import com.increff.pos.db.AbstractPojo;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Runs once every singleton exists but before the web server starts listening, so with auto-index-creation off no
+// request can reach a collection whose indexes are still missing
+@Component
+public class IndexInitialization implements SmartInitializingSingleton {
+
+    private final MongoTemplate mongoTemplate;
+
+    public IndexInitialization(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        ensureIndexes();
+    }
+
+    public void ensureIndexes() {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(
+                mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> documentType : findDocumentTypes()) {
+            IndexOperations indexOps = mongoTemplate.indexOps(documentType);
+            resolver.resolveIndexFor(documentType).forEach(indexOps::ensureIndex);
+        }
+    }
+
+    private List<Class<?>> findDocumentTypes() {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Document.class));
+
+        List<Class<?>> documentTypes = new ArrayList<>();
+        for (BeanDefinition candidate : scanner.findCandidateComponents(AbstractPojo.class.getPackageName())) {
+            documentTypes.add(ClassUtils.resolveClassName(candidate.getBeanClassName(),
+                    IndexInitialization.class.getClassLoader()));
+        }
+        return documentTypes;
+    }
+}
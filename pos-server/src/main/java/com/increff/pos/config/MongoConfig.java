@@ -1,5 +1,7 @@
 package com.increff.pos.config;
 
+import com.increff.pos.metrics.MongoCommandMetricsListener;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
@@ -22,4 +24,9 @@ public class MongoConfig {
                 new MongoConverters.DateToLocalDateConverter(),
                 new MongoConverters.LocalDateToDateConverter()));
     }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer commandMetricsCustomizer(MongoCommandMetricsListener listener) {
+        return builder -> builder.addCommandListener(listener);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.increff.pos.config;
+
+import com.increff.pos.db.ClientPojo;
+import com.increff.pos.db.OrderPojo;
+import com.increff.pos.helper.ClientHelper;
+import com.increff.pos.helper.OrderHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Documents written before search keys existed cannot be found by search until they get keys. Runs, like
+// IndexInitialization, before the web server starts listening so no search sees a half-backfilled collection
+@Component
+public class SearchKeyBackfill implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchKeyBackfill.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final int batchSize;
+
+    public SearchKeyBackfill(MongoTemplate mongoTemplate,
+            @Value("${search.backfill.batch-size:1000}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        backfill(ClientPojo.class, ClientPojo::getId, ClientHelper::searchKeys);
+        backfill(OrderPojo.class, OrderPojo::getId, OrderHelper::searchKeys);
+    }
+
+    private <T> void backfill(Class<T> type, Function<T, String> id, Function<T, List<String>> searchKeys) {
+        Query missing = Query.query(Criteria.where("searchKeys").exists(false));
+        long updated = 0;
+        BulkOperations bulkOps = null;
+        int pending = 0;
+        try (Stream<T> stream = mongoTemplate.stream(missing, type)) {
+            Iterator<T> documents = stream.iterator();
+            while (documents.hasNext()) {
+                T document = documents.next();
+                if (bulkOps == null) {
+                    bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+                }
+                bulkOps.updateOne(Query.query(Criteria.where("_id").is(id.apply(document))),
+                        new Update().set("searchKeys", searchKeys.apply(document)));
+                if (++pending == batchSize) {
+                    bulkOps.execute();
+                    updated += pending;
+                    bulkOps = null;
+                    pending = 0;
+                }
+            }
+        }
+        if (pending > 0) {
+            bulkOps.execute();
+            updated += pending;
+        }
+        if (updated > 0) {
+            logger.info("Backfilled search keys on {} {} documents", updated, type.getSimpleName());
+        }
+    }
+}
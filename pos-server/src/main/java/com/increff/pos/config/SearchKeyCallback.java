@@ -0,0 +1,23 @@
+package com.increff.pos.config;
+
+import com.increff.pos.db.ClientPojo;
+import com.increff.pos.db.OrderPojo;
+import com.increff.pos.helper.ClientHelper;
+import com.increff.pos.helper.OrderHelper;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+// Recomputes search keys on every save or insert, so no write path can leave them stale
+@Component
+public class SearchKeyCallback implements BeforeConvertCallback<Object> {
+
+    @Override
+    public Object onBeforeConvert(Object entity, String collection) {
+        if (entity instanceof ClientPojo client) {
+            client.setSearchKeys(ClientHelper.searchKeys(client));
+        } else if (entity instanceof OrderPojo order) {
+            order.setSearchKeys(OrderHelper.searchKeys(order));
+        }
+        return entity;
+    }
+}
@@ -29,6 +29,8 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-resources/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("SUPERVISOR")
                         .requestMatchers("/api/user/**").hasRole("SUPERVISOR")
                         .requestMatchers("/api/report/**").hasRole("SUPERVISOR")
                         .requestMatchers("/api/audit-log/**").hasRole("SUPERVISOR")
@@ -38,6 +40,7 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.PUT, "/api/product/update/**").hasRole("SUPERVISOR")
                         .requestMatchers(HttpMethod.PUT, "/api/product/update-inventory/**").hasRole("SUPERVISOR")
                         .requestMatchers("/api/product/upload-**").hasRole("SUPERVISOR")
+                        .requestMatchers("/api/product/import-job/**").hasRole("SUPERVISOR")
                         .requestMatchers("/api/order/**").hasAnyRole("USER", "SUPERVISOR")
                         .requestMatchers("/api/invoice/**").hasAnyRole("USER", "SUPERVISOR")
                         .requestMatchers(HttpMethod.POST, "/api/client/get-all-paginated")
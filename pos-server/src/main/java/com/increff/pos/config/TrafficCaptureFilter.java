@@ -0,0 +1,65 @@
+package com.increff.pos.config;
+
+import com.increff.pos.helper.TrafficCaptureHelper;
+import com.increff.pos.writer.TrafficCaptureWriter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+@Component
+@ConditionalOnProperty(name = "capture.enabled", havingValue = "true")
+public class TrafficCaptureFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private TrafficCaptureWriter trafficCaptureWriter;
+
+    @Value("${capture.max-body-bytes:65536}")
+    private int maxBodyBytes = 65536;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        String contentType = request.getContentType();
+        // Streaming uploads are skipped so their responses are not buffered in memory
+        return !path.startsWith("/api/") || path.startsWith("/api/auth/")
+                || (contentType != null && contentType.startsWith("multipart/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingRequestWrapper cachingRequest = new ContentCachingRequestWrapper(request, maxBodyBytes);
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        long timestamp = System.currentTimeMillis();
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(cachingRequest, cachingResponse);
+        } finally {
+            double durationMs = (System.nanoTime() - start) / 1_000_000.0;
+            byte[] requestBody = cachingRequest.getContentAsByteArray();
+            boolean truncated = request.getContentLengthLong() > requestBody.length;
+            trafficCaptureWriter.enqueue(TrafficCaptureHelper.createExchange(timestamp, request.getMethod(),
+                    request.getRequestURI(), request.getQueryString(), request.getContentType(), requestBody, truncated,
+                    cachingResponse.getStatus(), capturedResponseBody(cachingResponse), durationMs));
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    private byte[] capturedResponseBody(ContentCachingResponseWrapper response) {
+        String contentType = response.getContentType();
+        if (contentType == null || !contentType.contains("json") || response.getContentSize() > maxBodyBytes) {
+            return null;
+        }
+        return response.getContentAsByteArray();
+    }
+}
@@ -0,0 +1,35 @@
+package com.increff.pos.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class UploadConfig {
+
+    @Bean
+    public ExecutorService productUploadExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${upload.tsv.pool-size:4}") int poolSize,
+            @Value("${upload.tsv.queue-capacity:100}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+        // ProductDto already caps chunks in flight at upload.tsv.pool-size, so virtual threads need no pool bound
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("product-upload-", 0).factory());
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("product-upload-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        new ExecutorServiceMetrics(executor, "productUpload", Tags.empty()).bindTo(meterRegistry);
+        return executor;
+    }
+}
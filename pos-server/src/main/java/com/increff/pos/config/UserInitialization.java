@@ -1,7 +1,6 @@
 package com.increff.pos.config;
 
 import com.increff.pos.api.UserApi;
-import com.increff.pos.dao.UserDao;
 import com.increff.pos.db.UserPojo;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
@@ -13,8 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 public class UserInitialization implements CommandLineRunner {
 
     private final UserApi userApi;
-    private final UserDao userDao;
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final BCryptPasswordEncoder passwordEncoder;
 
     @Value("${supervisor.email}")
     private String supervisorEmail;
@@ -25,9 +23,9 @@ public class UserInitialization implements CommandLineRunner {
     @Value("${supervisor.name}")
     private String supervisorName;
 
-    public UserInitialization(UserApi userApi, UserDao userDao) {
+    public UserInitialization(UserApi userApi, BCryptPasswordEncoder passwordEncoder) {
         this.userApi = userApi;
-        this.userDao = userDao;
+        this.passwordEncoder = passwordEncoder;
     }
 
     @Override
@@ -49,7 +47,7 @@ public class UserInitialization implements CommandLineRunner {
                     needsUpdate = true;
                 }
                 if (needsUpdate) {
-                    userDao.save(existingUser);
+                    userApi.update(existingUser.getId(), existingUser);
                 }
                 return;
             }
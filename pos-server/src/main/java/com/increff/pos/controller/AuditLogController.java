@@ -2,6 +2,8 @@ package com.increff.pos.controller;
 
 import com.increff.pos.dto.AuditLogDto;
 import com.increff.pos.model.data.AuditLogData;
+import com.increff.pos.model.data.AuditLogPageData;
+import com.increff.pos.model.form.AuditLogSearchForm;
 import com.increff.pos.model.form.PageForm;
 import com.increff.pos.exception.ApiException;
 import org.springframework.data.domain.Page;
@@ -25,10 +27,10 @@ public class AuditLogController {
         return auditLogDto.getAll(form);
     }
 
-    @Operation(summary = "Get all audit logs (Supervisor only)")
-    @GetMapping("/get-all")
-    public List<AuditLogData> getAll() throws ApiException {
-        return auditLogDto.getAll();
+    @Operation(summary = "Get audit logs in a time window, newest first, with cursor pagination (Supervisor only)")
+    @PostMapping("/get-all")
+    public AuditLogPageData getAll(@RequestBody AuditLogSearchForm form) throws ApiException {
+        return auditLogDto.getWindow(form);
     }
 
     @Operation(summary = "Get audit logs by operator email (Supervisor only)")
@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import java.util.Map;
 
 @Tag(name = "Authentication", description = "APIs for user authentication")
@@ -18,10 +19,11 @@ public class AuthController {
     @Autowired
     private AuthDto authDto;
 
+    // The remote address is the X-Forwarded-For client when the request came through a trusted proxy
     @Operation(summary = "Login user")
     @RequestMapping(path = "/login", method = RequestMethod.POST)
-    public AuthData login(@RequestBody LoginForm loginForm) throws ApiException {
-        return authDto.login(loginForm);
+    public AuthData login(@RequestBody LoginForm loginForm, HttpServletRequest request) throws ApiException {
+        return authDto.login(loginForm, request.getRemoteAddr());
     }
 
     @Operation(summary = "Validate token")
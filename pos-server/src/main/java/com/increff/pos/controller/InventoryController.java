@@ -4,9 +4,16 @@ import com.increff.pos.dto.InventoryDto;
 import com.increff.pos.exception.ApiException;
 import com.increff.pos.model.data.InventoryData;
 import com.increff.pos.model.form.InventoryForm;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
 @RestController
 @RequestMapping("/api/inventory")
 public class InventoryController {
@@ -25,4 +32,14 @@ public class InventoryController {
     public String uploadInventoryTsv(@RequestBody String base64Content) throws ApiException {
         return inventoryDto.uploadInventoryTsv(base64Content);
     }
+
+    @PostMapping(value = "/upload-inventory-tsv-stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public void uploadInventoryTsvStream(@RequestParam("file") MultipartFile file, HttpServletResponse response)
+            throws ApiException, IOException {
+        response.setContentType("text/tab-separated-values");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        try (InputStream inputStream = file.getInputStream()) {
+            inventoryDto.uploadInventoryTsv(inputStream, response.getWriter());
+        }
+    }
 }
@@ -1,7 +1,9 @@
 package com.increff.pos.controller;
 
 import com.increff.pos.dto.OrderDto;
+import com.increff.pos.model.data.OrderCreationResult;
 import com.increff.pos.model.data.OrderData;
+import com.increff.pos.model.form.OrderBatchForm;
 import com.increff.pos.model.form.OrderForm;
 import com.increff.pos.model.form.OrderSearchForm;
 import com.increff.pos.exception.ApiException;
@@ -11,6 +13,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.List;
+
 @Tag(name = "Order Management", description = "APIs for managing orders")
 @RestController
 @RequestMapping("/api/order")
@@ -25,6 +29,12 @@ public class OrderController {
         return orderDto.create(form);
     }
 
+    @Operation(summary = "Create many orders at once, e.g. when an offline terminal syncs")
+    @PostMapping("/create-batch")
+    public List<OrderCreationResult> createBatch(@RequestBody OrderBatchForm form) throws ApiException {
+        return orderDto.createBatch(form);
+    }
+
     @Operation(summary = "Get all orders with pagination and filters")
     @PostMapping("/get-all-paginated")
     public Page<OrderData> getAll(@RequestBody OrderSearchForm form) throws ApiException {
@@ -1,16 +1,24 @@
 package com.increff.pos.controller;
 
 import com.increff.pos.dto.ProductDto;
+import com.increff.pos.model.data.ImportJobData;
 import com.increff.pos.model.data.ProductData;
 import com.increff.pos.model.form.PageForm;
 import com.increff.pos.model.form.ProductForm;
+import com.increff.pos.model.form.ProductSearchForm;
 import com.increff.pos.exception.ApiException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
 @Tag(name = "Product Management", description = "APIs for managing products and inventory")
 @RestController
 @RequestMapping("/api/product")
@@ -43,6 +51,12 @@ public class ProductController {
         return productDto.getAll(form);
     }
 
+    @Operation(summary = "Searches products by name words, barcode prefix and client, best matches first")
+    @PostMapping("/search")
+    public Page<ProductData> search(@RequestBody ProductSearchForm form) throws ApiException {
+        return productDto.search(form);
+    }
+
     @Operation(summary = "Updates a product")
     @PutMapping("/update/{id}")
     public ProductData update(@PathVariable String id, @RequestBody ProductForm form) throws ApiException {
@@ -54,4 +68,21 @@ public class ProductController {
     public String uploadProductsTsv(@RequestBody String base64Content) throws ApiException {
         return productDto.uploadProductsTsv(base64Content);
     }
+
+    @Operation(summary = "Uploads a products TSV file and streams back status for each row")
+    @PostMapping(value = "/upload-products-tsv-stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public void uploadProductsTsvStream(@RequestParam("file") MultipartFile file, HttpServletResponse response)
+            throws ApiException, IOException {
+        ImportJobData job = productDto.startProductImport(file);
+        response.setHeader("X-Import-Job-Id", job.getId());
+        response.setContentType("text/tab-separated-values");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        productDto.importProducts(job.getId(), file, response.getWriter());
+    }
+
+    @Operation(summary = "Gets the progress of a product import job")
+    @GetMapping("/import-job/{id}")
+    public ImportJobData getImportJob(@PathVariable String id) throws ApiException {
+        return productDto.getImportJob(id);
+    }
 }
@@ -7,9 +7,10 @@ import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Repository;
-import org.springframework.beans.factory.annotation.Autowired;
 
+import java.time.ZonedDateTime;
 import java.util.List;
 
 @Repository
@@ -24,7 +25,7 @@ public class AuditLogDao extends AbstractDao<AuditLogPojo> {
 
     public List<AuditLogPojo> findByOperatorEmail(String operatorEmail) {
         Query query = Query.query(Criteria.where("operatorEmail").is(operatorEmail));
-        query.with(org.springframework.data.domain.Sort.by(org.springframework.data.domain.Sort.Direction.DESC, "timestamp"));
+        query.with(Sort.by(Sort.Direction.DESC, "timestamp"));
         return mongoOperations.find(query, AuditLogPojo.class);
     }
 
@@ -32,9 +33,32 @@ public class AuditLogDao extends AbstractDao<AuditLogPojo> {
         return super.findAll(pageable);
     }
 
-    public List<AuditLogPojo> findAll() {
-        Query query = new Query();
-        query.with(org.springframework.data.domain.Sort.by(org.springframework.data.domain.Sort.Direction.DESC, "timestamp"));
+    public List<AuditLogPojo> findWindow(ZonedDateTime fromDate, ZonedDateTime toDate,
+            ZonedDateTime cursorTimestamp, String cursorId, int limit) {
+        Criteria criteria = Criteria.where("timestamp").gte(fromDate).lte(toDate);
+        if (cursorTimestamp != null && cursorId != null) {
+            criteria = criteria.orOperator(
+                    Criteria.where("timestamp").lt(cursorTimestamp),
+                    new Criteria().andOperator(
+                            Criteria.where("timestamp").is(cursorTimestamp),
+                            Criteria.where("id").lt(cursorId)));
+        }
+
+        Query query = Query.query(criteria);
+        query.with(Sort.by(Sort.Direction.DESC, "timestamp", "id"));
+        query.limit(limit);
+        return mongoOperations.find(query, AuditLogPojo.class);
+    }
+
+    public List<AuditLogPojo> findOlderThan(ZonedDateTime cutoff, int limit) {
+        Query query = Query.query(Criteria.where("timestamp").lt(cutoff));
+        query.with(Sort.by(Sort.Direction.ASC, "timestamp"));
+        query.limit(limit);
         return mongoOperations.find(query, AuditLogPojo.class);
     }
+
+    public long deleteByIds(List<String> ids) {
+        Query query = Query.query(Criteria.where("id").in(ids));
+        return mongoOperations.remove(query, AuditLogPojo.class).getDeletedCount();
+    }
 }
@@ -0,0 +1,35 @@
+package com.increff.pos.dao;
+
+import com.increff.pos.db.CacheResumeTokenPojo;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+
+@Repository
+public class CacheResumeTokenDao extends AbstractDao<CacheResumeTokenPojo> {
+
+    public CacheResumeTokenDao(MongoOperations mongoOperations) {
+        super(
+                new MongoRepositoryFactory(mongoOperations)
+                        .getEntityInformation(CacheResumeTokenPojo.class),
+                mongoOperations);
+    }
+
+    public CacheResumeTokenPojo findByNodeId(String nodeId) {
+        return mongoOperations.findOne(Query.query(Criteria.where("nodeId").is(nodeId)), CacheResumeTokenPojo.class);
+    }
+
+    public void saveToken(String nodeId, String token) {
+        Query query = Query.query(Criteria.where("nodeId").is(nodeId));
+        Update update = new Update()
+                .set("token", token)
+                .set("updatedAt", ZonedDateTime.now())
+                .setOnInsert("createdAt", ZonedDateTime.now());
+        mongoOperations.upsert(query, update, CacheResumeTokenPojo.class);
+    }
+}
@@ -1,7 +1,11 @@
 package com.increff.pos.dao;
 
 import com.increff.pos.db.ClientPojo;
+import com.increff.pos.util.SearchKeyUtil;
+import org.bson.Document;
 import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
@@ -13,11 +17,14 @@ import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Repository
 public class ClientDao extends AbstractDao<ClientPojo> {
 
+    private static final String SEARCH_RANK = "searchRank";
+
     public ClientDao(MongoOperations mongoOperations) {
         super(
                 new MongoRepositoryFactory(mongoOperations)
@@ -63,30 +70,66 @@ public class ClientDao extends AbstractDao<ClientPojo> {
         return mongoOperations.find(query, ClientPojo.class);
     }
 
+    // Ranked in Mongo so only the requested page leaves the server: exact matches first, then whole-field prefixes,
+    // then matches on a later word, newest first within a rank. The $sort before $skip/$limit keeps only the top
+    // offset + size documents while sorting.
     public Page<ClientPojo> findWithFilters(String clientId, String name, String email, Pageable pageable) {
-        Query query = buildFilterQuery(clientId, name, email);
-        query.with(Sort.by(Sort.Direction.DESC, "createdAt"));
-
-        long total = mongoOperations.count(query, ClientPojo.class);
-        query.with(pageable);
-        List<ClientPojo> clients = mongoOperations.find(query, ClientPojo.class);
+        if (clientId == null && name == null && email == null) {
+            Query query = new Query().with(Sort.by(Sort.Direction.DESC, "createdAt"));
+            long total = mongoOperations.count(query, ClientPojo.class);
+            query.with(pageable);
+            return new PageImpl<>(mongoOperations.find(query, ClientPojo.class), pageable, total);
+        }
 
+        Criteria criteria = buildFilterCriteria(clientId, name, email);
+        List<Document> ranks = new ArrayList<>();
+        addRank(ranks, "clientId", clientId);
+        addRank(ranks, "name", name);
+        addRank(ranks, "email", email);
+        AggregationExpression searchRank = context -> new Document("$add", ranks);
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.addFields().addFieldWithValue(SEARCH_RANK, searchRank).build(),
+                Aggregation.sort(Sort.by(Sort.Direction.ASC, SEARCH_RANK)
+                        .and(Sort.by(Sort.Direction.DESC, "createdAt"))),
+                Aggregation.skip(pageable.getOffset()),
+                Aggregation.limit(pageable.getPageSize()));
+        List<ClientPojo> clients = mongoOperations.aggregate(aggregation, ClientPojo.class, ClientPojo.class)
+                .getMappedResults();
+        long total = mongoOperations.count(Query.query(criteria), ClientPojo.class);
         return new PageImpl<>(clients, pageable, total);
     }
 
-    private Query buildFilterQuery(String clientId, String name, String email) {
-        Criteria criteria = new Criteria();
+    private Criteria buildFilterCriteria(String clientId, String name, String email) {
+        List<Object> prefixes = new ArrayList<>();
 
         if (clientId != null) {
-            criteria = criteria.and("clientId").regex(clientId, "i");
+            prefixes.add(SearchKeyUtil.prefixPattern("id", clientId));
         }
         if (name != null) {
-            criteria = criteria.and("name").regex(name, "i");
+            prefixes.add(SearchKeyUtil.prefixPattern("name", name));
         }
         if (email != null) {
-            criteria = criteria.and("email").regex(email, "i");
+            prefixes.add(SearchKeyUtil.prefixPattern("email", email));
+        }
+
+        return Criteria.where("searchKeys").all(prefixes);
+    }
+
+    private static void addRank(List<Document> ranks, String field, String query) {
+        if (query == null) {
+            return;
         }
+        Document prefixRank = new Document("$cond", List.of(valueMatches(field, query, false),
+                SearchKeyUtil.RANK_PREFIX, SearchKeyUtil.RANK_WORD_PREFIX));
+        ranks.add(new Document("$cond", List.of(valueMatches(field, query, true),
+                SearchKeyUtil.RANK_EXACT, prefixRank)));
+    }
 
-        return Query.query(criteria);
+    private static Document valueMatches(String field, String query, boolean exact) {
+        return new Document("$regexMatch", new Document("input", "$" + field)
+                .append("regex", SearchKeyUtil.valuePattern(query, exact))
+                .append("options", "i"));
     }
 }
@@ -0,0 +1,75 @@
+package com.increff.pos.dao;
+
+import com.increff.pos.db.IdempotencyKeyPojo;
+import com.increff.pos.util.IdempotencyStatus;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.Map;
+
+@Repository
+public class IdempotencyKeyDao extends AbstractDao<IdempotencyKeyPojo> {
+    public IdempotencyKeyDao(MongoOperations mongoOperations) {
+        super(
+            new MongoRepositoryFactory(mongoOperations)
+                .getEntityInformation(IdempotencyKeyPojo.class),
+            mongoOperations
+        );
+    }
+
+    public IdempotencyKeyPojo findByKey(String key) {
+        return mongoOperations.findOne(Query.query(Criteria.where("key").is(key)), IdempotencyKeyPojo.class);
+    }
+
+    public IdempotencyKeyPojo claimStale(String id, String owner, ZonedDateTime now, ZonedDateTime lockedUntil) {
+        Query query = Query.query(Criteria.where("id").is(id)
+                .and("status").is(IdempotencyStatus.IN_PROGRESS.getValue())
+                .and("lockedUntil").lt(now));
+        Update update = new Update()
+                .set("owner", owner)
+                .set("lockedUntil", lockedUntil)
+                .set("updatedAt", now);
+        FindAndModifyOptions options = FindAndModifyOptions.options().returnNew(true);
+        return mongoOperations.findAndModify(query, update, options, IdempotencyKeyPojo.class);
+    }
+
+    // Only locks still held by the given owner move, so a key already taken over stays with its new owner
+    public int extendLocks(Map<String, String> ownersById, ZonedDateTime now, ZonedDateTime lockedUntil) {
+        BulkOperations bulkOps = mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, IdempotencyKeyPojo.class);
+        ownersById.forEach((id, owner) -> bulkOps.updateOne(owned(id, owner),
+                new Update().set("lockedUntil", lockedUntil).set("updatedAt", now)));
+        return bulkOps.execute().getModifiedCount();
+    }
+
+    public void complete(String id, String owner, int responseStatus, String contentType, String responseBody,
+            ZonedDateTime expiresAt) {
+        Query query = owned(id, owner);
+        Update update = new Update()
+                .set("status", IdempotencyStatus.COMPLETED.getValue())
+                .set("responseStatus", responseStatus)
+                .set("contentType", contentType)
+                .set("responseBody", responseBody)
+                .set("expiresAt", expiresAt)
+                .set("updatedAt", ZonedDateTime.now())
+                .unset("lockedUntil")
+                .unset("owner");
+        mongoOperations.updateFirst(query, update, IdempotencyKeyPojo.class);
+    }
+
+    public void deleteOwned(String id, String owner) {
+        mongoOperations.remove(owned(id, owner), IdempotencyKeyPojo.class);
+    }
+
+    private static Query owned(String id, String owner) {
+        return Query.query(Criteria.where("id").is(id)
+                .and("status").is(IdempotencyStatus.IN_PROGRESS.getValue())
+                .and("owner").is(owner));
+    }
+}
@@ -0,0 +1,65 @@
+package com.increff.pos.dao;
+
+import com.increff.pos.db.ImportJobPojo;
+import com.increff.pos.util.ImportJobStatus;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+
+@Repository
+public class ImportJobDao extends AbstractDao<ImportJobPojo> {
+    public ImportJobDao(MongoOperations mongoOperations) {
+        super(
+            new MongoRepositoryFactory(mongoOperations)
+                .getEntityInformation(ImportJobPojo.class),
+            mongoOperations
+        );
+    }
+
+    public ImportJobPojo findByTypeAndContentHash(String type, String contentHash) {
+        Query query = Query.query(Criteria.where("type").is(type).and("contentHash").is(contentHash));
+        return mongoOperations.findOne(query, ImportJobPojo.class);
+    }
+
+    public ImportJobPojo claimResumable(String id, ZonedDateTime staleBefore) {
+        Query query = Query.query(Criteria.where("id").is(id).orOperator(
+                Criteria.where("status").is(ImportJobStatus.FAILED.getValue()),
+                new Criteria().andOperator(
+                        Criteria.where("status").is(ImportJobStatus.RUNNING.getValue()),
+                        Criteria.where("updatedAt").lt(staleBefore))));
+        Update update = new Update()
+                .set("status", ImportJobStatus.RUNNING.getValue())
+                .set("updatedAt", ZonedDateTime.now())
+                .unset("errorMessage");
+        FindAndModifyOptions options = FindAndModifyOptions.options().returnNew(true);
+        return mongoOperations.findAndModify(query, update, options, ImportJobPojo.class);
+    }
+
+    public void updateProgress(String id, int committedChunks, long processedRows, long successCount,
+            long failedCount, long skippedCount) {
+        Query query = Query.query(Criteria.where("id").is(id));
+        Update update = new Update()
+                .set("committedChunks", committedChunks)
+                .set("updatedAt", ZonedDateTime.now())
+                .inc("processedRows", processedRows)
+                .inc("successCount", successCount)
+                .inc("failedCount", failedCount)
+                .inc("skippedCount", skippedCount);
+        mongoOperations.updateFirst(query, update, ImportJobPojo.class);
+    }
+
+    public void updateStatus(String id, String status, String errorMessage) {
+        Query query = Query.query(Criteria.where("id").is(id));
+        Update update = new Update()
+                .set("status", status)
+                .set("updatedAt", ZonedDateTime.now())
+                .set("errorMessage", errorMessage);
+        mongoOperations.updateFirst(query, update, ImportJobPojo.class);
+    }
+}
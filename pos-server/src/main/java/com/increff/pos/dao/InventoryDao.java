@@ -1,6 +1,7 @@
 package com.increff.pos.dao;
 
 import com.increff.pos.db.InventoryPojo;
+import com.mongodb.client.result.UpdateResult;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
@@ -62,4 +63,60 @@ public class InventoryDao extends AbstractDao<InventoryPojo> {
 
         bulkOps.execute();
     }
+
+    // Each decrement is a guarded update without upsert, so a product that is short, or has no inventory document,
+    // simply matches nothing and is reported back instead of being driven negative. That costs one round-trip per
+    // product rather than one bulk: a bulk write only reports how many updates matched, not which, so telling the
+    // short products apart would need upserts colliding on the productId index as the signal.
+    public java.util.Set<String> reserveQuantities(java.util.Map<String, Integer> productIdToQuantity) {
+        java.util.Set<String> failed = new java.util.HashSet<>();
+        for (java.util.Map.Entry<String, Integer> entry : productIdToQuantity.entrySet()) {
+            Query query = Query.query(Criteria.where("productId").is(entry.getKey())
+                    .and("quantity").gte(entry.getValue()));
+            UpdateResult result = mongoOperations.updateFirst(query, new Update().inc("quantity", -entry.getValue()),
+                    InventoryPojo.class);
+            if (result.getMatchedCount() == 0) {
+                failed.add(entry.getKey());
+            }
+        }
+        return failed;
+    }
+
+    // Upserts that only ever insert, so running them again for a product that already has stock changes nothing
+    public void insertMissing(java.util.List<String> productIds) {
+        BulkOperations bulkOps = mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, InventoryPojo.class);
+        for (String productId : productIds) {
+            Query query = Query.query(Criteria.where("productId").is(productId));
+            bulkOps.upsert(query, new Update().setOnInsert("quantity", 0));
+        }
+        bulkOps.execute();
+    }
+
+    public void incrementQuantities(java.util.Map<String, Integer> productIdToQuantity) {
+        BulkOperations bulkOps = mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, InventoryPojo.class);
+        for (java.util.Map.Entry<String, Integer> entry : productIdToQuantity.entrySet()) {
+            Query query = Query.query(Criteria.where("productId").is(entry.getKey()));
+            bulkOps.updateOne(query, new Update().inc("quantity", entry.getValue()));
+        }
+        bulkOps.execute();
+    }
+
+    public java.util.stream.Stream<InventoryPojo> streamAll() {
+        Query query = new Query();
+        query.fields().include("productId", "quantity", "ledgerSeq");
+        return mongoOperations.stream(query, InventoryPojo.class);
+    }
+
+    // Every document takes a journal segment's deltas at most once, so a partially applied batch can be re-run
+    public void applyLedgerDeltas(long seq, java.util.Map<String, Integer> productIdToDelta) {
+        if (productIdToDelta.isEmpty()) {
+            return;
+        }
+        BulkOperations bulkOps = mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, InventoryPojo.class);
+        for (java.util.Map.Entry<String, Integer> entry : productIdToDelta.entrySet()) {
+            Query query = Query.query(Criteria.where("productId").is(entry.getKey()).and("ledgerSeq").not().gte(seq));
+            bulkOps.updateOne(query, new Update().inc("quantity", entry.getValue()).set("ledgerSeq", seq));
+        }
+        bulkOps.execute();
+    }
 }
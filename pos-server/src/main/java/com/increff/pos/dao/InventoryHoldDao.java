@@ -0,0 +1,95 @@
+package com.increff.pos.dao;
+
+import com.increff.pos.db.InventoryHoldPojo;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Repository
+public class InventoryHoldDao extends AbstractDao<InventoryHoldPojo> {
+
+    public InventoryHoldDao(MongoOperations mongoOperations) {
+        super(
+                new MongoRepositoryFactory(mongoOperations)
+                        .getEntityInformation(InventoryHoldPojo.class),
+                mongoOperations);
+    }
+
+    // Marking the hold is the claim: whoever gets the document back owns the held stock until it deletes the hold
+    public InventoryHoldPojo claimByOrderId(String orderId, String owner, ZonedDateTime now,
+            ZonedDateTime staleBefore) {
+        Query query = Query.query(new Criteria().andOperator(
+                Criteria.where("orderId").is(orderId).and("state").is(null), claimable(staleBefore)));
+        return mongoOperations.findAndModify(query, claim(owner, now), returnNew(), InventoryHoldPojo.class);
+    }
+
+    public InventoryHoldPojo claimExpired(String id, String owner, ZonedDateTime now, ZonedDateTime staleBefore) {
+        Query query = Query.query(new Criteria().andOperator(
+                Criteria.where("id").is(id), expired(now, staleBefore)));
+        return mongoOperations.findAndModify(query, claim(owner, now), returnNew(), InventoryHoldPojo.class);
+    }
+
+    // Expired holds nobody is working on, plus claims whose owner did not finish in time
+    public List<String> findExpiredIds(ZonedDateTime now, ZonedDateTime staleBefore, int limit) {
+        Query query = Query.query(expired(now, staleBefore))
+                .with(Sort.by(Sort.Direction.ASC, "expiresAt"))
+                .limit(limit);
+        query.fields().include("id");
+        return mongoOperations.find(query, InventoryHoldPojo.class).stream()
+                .map(InventoryHoldPojo::getId)
+                .collect(Collectors.toList());
+    }
+
+    // Succeeds only while the caller's claim stands and no stock has been moved for the hold yet
+    public boolean markClaimed(String id, String owner, String state) {
+        Query query = Query.query(Criteria.where("id").is(id).and("claimedBy").is(owner).and("state").is(null));
+        return mongoOperations.updateFirst(query, new Update().set("state", state), InventoryHoldPojo.class)
+                .getMatchedCount() > 0;
+    }
+
+    public boolean deleteClaimed(String id, String owner) {
+        Query query = Query.query(Criteria.where("id").is(id).and("claimedBy").is(owner));
+        return mongoOperations.remove(query, InventoryHoldPojo.class).getDeletedCount() > 0;
+    }
+
+    public boolean replaceClaimed(String id, String owner, Map<String, Integer> quantities, ZonedDateTime expiresAt) {
+        Query query = Query.query(Criteria.where("id").is(id).and("claimedBy").is(owner));
+        Update update = new Update()
+                .set("quantities", quantities)
+                .set("expiresAt", expiresAt)
+                .unset("claimedBy")
+                .unset("claimedAt")
+                .unset("state");
+        return mongoOperations.updateFirst(query, update, InventoryHoldPojo.class).getMatchedCount() > 0;
+    }
+
+    private static Criteria claimable(ZonedDateTime staleBefore) {
+        return new Criteria().orOperator(
+                Criteria.where("claimedBy").is(null),
+                Criteria.where("claimedAt").lte(staleBefore));
+    }
+
+    private static Criteria expired(ZonedDateTime now, ZonedDateTime staleBefore) {
+        return new Criteria().orOperator(
+                Criteria.where("expiresAt").lte(now).and("claimedBy").is(null),
+                Criteria.where("claimedAt").lte(staleBefore));
+    }
+
+    private static Update claim(String owner, ZonedDateTime now) {
+        return new Update().set("claimedBy", owner).set("claimedAt", now);
+    }
+
+    private static FindAndModifyOptions returnNew() {
+        return FindAndModifyOptions.options().returnNew(true);
+    }
+}
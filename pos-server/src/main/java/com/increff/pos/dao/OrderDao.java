@@ -1,7 +1,10 @@
 package com.increff.pos.dao;
 
 import com.increff.pos.db.OrderPojo;
+import com.increff.pos.util.SearchKeyUtil;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
@@ -17,6 +20,11 @@ import java.util.List;
 
 @Repository
 public class OrderDao extends AbstractDao<OrderPojo> {
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "orderDate");
+
+    @Value("${order.search.max-candidates:1000}")
+    private int maxSearchCandidates;
+
     public OrderDao(MongoOperations mongoOperations) {
         super(
                 new MongoRepositoryFactory(mongoOperations)
@@ -37,16 +45,23 @@ public class OrderDao extends AbstractDao<OrderPojo> {
 
     public List<OrderPojo> findWithFilters(String orderId, String status, ZonedDateTime fromDate,
             ZonedDateTime toDate) {
-        Query query = buildFilterQuery(orderId, status, fromDate, toDate);
-        query.with(Sort.by(Sort.Direction.DESC, "orderDate"));
-        return mongoOperations.find(query, OrderPojo.class);
+        Criteria criteria = buildFilterCriteria(orderId, status, fromDate, toDate);
+        if (orderId != null) {
+            return findSearchCandidates(criteria, 0, maxSearchCandidates);
+        }
+        return mongoOperations.find(Query.query(criteria).with(NEWEST_FIRST), OrderPojo.class);
     }
 
     public Page<OrderPojo> findWithFilters(String orderId, String status, ZonedDateTime fromDate,
             ZonedDateTime toDate, Pageable pageable) {
-        Query query = buildFilterQuery(orderId, status, fromDate, toDate);
-        query.with(Sort.by(Sort.Direction.DESC, "orderDate"));
+        Criteria criteria = buildFilterCriteria(orderId, status, fromDate, toDate);
+        if (orderId != null) {
+            long total = mongoOperations.count(Query.query(criteria).limit(maxSearchCandidates), OrderPojo.class);
+            List<OrderPojo> orders = findSearchCandidates(criteria, pageable.getOffset(), pageable.getPageSize());
+            return new PageImpl<>(orders, pageable, total);
+        }
 
+        Query query = Query.query(criteria).with(NEWEST_FIRST);
         long total = mongoOperations.count(query, OrderPojo.class);
         query.with(pageable);
         List<OrderPojo> orders = mongoOperations.find(query, OrderPojo.class);
@@ -54,11 +69,26 @@ public class OrderDao extends AbstractDao<OrderPojo> {
         return new PageImpl<>(orders, pageable, total);
     }
 
-    private Query buildFilterQuery(String orderId, String status, ZonedDateTime fromDate, ZonedDateTime toDate) {
+    // A short order-id prefix can match most of the collection, and a regex over the multikey searchKeys cannot return
+    // documents in orderDate order, so the matches are sorted in memory. search_keys_order_date_idx keeps each key's
+    // orders newest first; limiting before the sort keeps the newest matches and bounds the sort to
+    // maxSearchCandidates documents, which is also the most an order-id search reports.
+    private List<OrderPojo> findSearchCandidates(Criteria criteria, long offset, int pageSize) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.limit(maxSearchCandidates),
+                Aggregation.sort(NEWEST_FIRST),
+                Aggregation.skip(offset),
+                Aggregation.limit(pageSize));
+        return mongoOperations.aggregate(aggregation, OrderPojo.class, OrderPojo.class).getMappedResults();
+    }
+
+    private Criteria buildFilterCriteria(String orderId, String status, ZonedDateTime fromDate,
+            ZonedDateTime toDate) {
         Criteria criteria = new Criteria();
 
         if (orderId != null) {
-            criteria = criteria.and("orderId").regex(orderId, "i");
+            criteria = criteria.and("searchKeys").regex(SearchKeyUtil.prefixPattern("id", orderId));
         }
         if (status != null) {
             criteria = criteria.and("status").is(status);
@@ -71,7 +101,7 @@ public class OrderDao extends AbstractDao<OrderPojo> {
             criteria = criteria.and("orderDate").lte(toDate);
         }
 
-        return Query.query(criteria);
+        return criteria;
     }
 
     @Override
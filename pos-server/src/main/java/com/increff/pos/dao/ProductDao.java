@@ -12,6 +12,7 @@ import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,7 +33,7 @@ public class ProductDao extends AbstractDao<ProductPojo> {
 
     public ProductPojo updateFieldsById(String id, String clientId, String name, Double mrp, String imageUrl) {
         Query query = Query.query(Criteria.where("_id").is(id));
-        Update update = new Update();
+        Update update = new Update().set("updatedAt", ZonedDateTime.now());
         if (clientId != null) {
             update.set("clientId", clientId);
         }
@@ -71,4 +72,10 @@ public class ProductDao extends AbstractDao<ProductPojo> {
         Query query = Query.query(Criteria.where("barcode").in(barcodes));
         return mongoOperations.find(query, ProductPojo.class);
     }
+
+    public java.util.stream.Stream<ProductPojo> streamSearchFields() {
+        Query query = new Query();
+        query.fields().include("barcode", "clientId", "name");
+        return mongoOperations.stream(query, ProductPojo.class);
+    }
 }
@@ -2,6 +2,8 @@ package com.increff.pos.db;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -10,6 +12,10 @@ import java.time.ZonedDateTime;
 @Getter
 @Setter
 @Document(collection = "audit_logs")
+@CompoundIndexes({
+        @CompoundIndex(name = "operator_timestamp_idx", def = "{'operatorEmail': 1, 'timestamp': -1}"),
+        @CompoundIndex(name = "timestamp_id_idx", def = "{'timestamp': -1, '_id': -1}")
+})
 public class AuditLogPojo extends AbstractPojo {
 
     @Field("operatorEmail")
@@ -0,0 +1,21 @@
+package com.increff.pos.db;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+@Getter
+@Setter
+@Document(collection = "cache_resume_tokens")
+public class CacheResumeTokenPojo extends AbstractPojo {
+
+    @Indexed(unique = true)
+    @Field("nodeId")
+    private String nodeId;
+
+    // Change stream resume token as extended JSON
+    @Field("token")
+    private String token;
+}
@@ -4,11 +4,15 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 
+import java.util.List;
+
 @Getter
 @Setter
 @Document(collection = "clients")
+@CompoundIndex(name = "updated_at_idx", def = "{'updatedAt': 1}")
 public class ClientPojo extends AbstractPojo {
 
     @Indexed(unique = true)
@@ -27,4 +31,8 @@ public class ClientPojo extends AbstractPojo {
     @Field("email")
     private String email;
 
+    @Indexed
+    @Field("searchKeys")
+    private List<String> searchKeys;
+
 }
@@ -0,0 +1,46 @@
+package com.increff.pos.db;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.ZonedDateTime;
+
+@Getter
+@Setter
+@Document(collection = "idempotency_keys")
+public class IdempotencyKeyPojo extends AbstractPojo {
+
+    @Indexed(unique = true)
+    @Field("key")
+    private String key;
+
+    @Field("requestHash")
+    private String requestHash;
+
+    @Field("status")
+    private String status;
+
+    @Field("lockedUntil")
+    private ZonedDateTime lockedUntil;
+
+    // Token of the request currently running under the key; a takeover replaces it, so the request it replaced can
+    // no longer complete or release the key
+    @Field("owner")
+    private String owner;
+
+    @Field("responseStatus")
+    private int responseStatus;
+
+    @Field("contentType")
+    private String contentType;
+
+    @Field("responseBody")
+    private String responseBody;
+
+    @Indexed(expireAfter = "0s")
+    @Field("expiresAt")
+    private ZonedDateTime expiresAt;
+}
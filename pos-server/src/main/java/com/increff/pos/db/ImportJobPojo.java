@@ -0,0 +1,44 @@
+package com.increff.pos.db;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+@Getter
+@Setter
+@Document(collection = "import_jobs")
+@CompoundIndex(name = "type_content_hash_idx", def = "{'type': 1, 'contentHash': 1}", unique = true)
+public class ImportJobPojo extends AbstractPojo {
+
+    @Field("type")
+    private String type;
+
+    @Field("contentHash")
+    private String contentHash;
+
+    @Field("status")
+    private String status;
+
+    @Field("chunkSize")
+    private int chunkSize;
+
+    @Field("committedChunks")
+    private int committedChunks;
+
+    @Field("processedRows")
+    private long processedRows;
+
+    @Field("successCount")
+    private long successCount;
+
+    @Field("failedCount")
+    private long failedCount;
+
+    @Field("skippedCount")
+    private long skippedCount;
+
+    @Field("errorMessage")
+    private String errorMessage;
+}
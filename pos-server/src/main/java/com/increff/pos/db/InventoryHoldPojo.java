@@ -0,0 +1,44 @@
+package com.increff.pos.db;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.ZonedDateTime;
+import java.util.Map;
+
+// Stock set aside for an UNFULFILLABLE order. The held quantities are already taken out of inventory, so the
+// inventory quantity is the available-to-sell figure; expired holds are returned by the sweeper, not by a TTL index.
+// Whoever works on a hold first marks it claimed and deletes it only once the stock is moved, so a claim left behind
+// by a failed request goes stale and is picked up again by the sweeper. Before moving any held stock the owner sets
+// the state (RELEASING back to inventory, CONVERTED into an order) while its claim still stands; a hold taken over
+// with a state set has had its stock moved already, so the sweeper only deletes it. Stock is moved at most once: a
+// crash between setting the state and the move loses that stock rather than crediting it twice.
+@Getter
+@Setter
+@Document(collection = "inventory_holds")
+public class InventoryHoldPojo extends AbstractPojo {
+
+    @Indexed(unique = true)
+    @Field("orderId")
+    private String orderId;
+
+    @Field("quantities")
+    private Map<String, Integer> quantities;
+
+    @Indexed
+    @Field("expiresAt")
+    private ZonedDateTime expiresAt;
+
+    @Field("claimedBy")
+    private String claimedBy;
+
+    @Field("state")
+    private String state;
+
+    @Indexed(sparse = true)
+    @Field("claimedAt")
+    private ZonedDateTime claimedAt;
+}
@@ -17,4 +17,8 @@ public class InventoryPojo extends AbstractPojo {
 
     @Field("quantity")
     private Integer quantity;
+
+    // Last inventory ledger journal segment applied to this document
+    @Field("ledgerSeq")
+    private Long ledgerSeq;
 }
@@ -24,6 +24,7 @@ public class InvoicePojo extends AbstractPojo {
     @Field("pdfPath")
     private String pdfPath;
 
+    @Indexed
     @Field("invoiceDate")
     private ZonedDateTime invoiceDate;
 }
@@ -4,12 +4,14 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.index.Indexed;
 
 @Getter
 @Setter
 @Document(collection = "order_items")
 public class OrderItemPojo extends AbstractPojo {
 
+    @Indexed
     @Field("orderId")
     private String orderId;
     @Field("productId")
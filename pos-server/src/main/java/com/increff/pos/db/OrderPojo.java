@@ -4,13 +4,20 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 
 import java.time.ZonedDateTime;
+import java.util.List;
 
 @Getter
 @Setter
 @Document(collection = "orders")
+@CompoundIndexes({
+        @CompoundIndex(name = "status_order_date_idx", def = "{'status': 1, 'orderDate': -1}"),
+        @CompoundIndex(name = "search_keys_order_date_idx", def = "{'searchKeys': 1, 'orderDate': -1}")
+})
 public class OrderPojo extends AbstractPojo {
 
     @Indexed(unique = true)
@@ -26,6 +33,10 @@ public class OrderPojo extends AbstractPojo {
     @Field("totalAmount")
     private Double totalAmount;
 
+    @Indexed
     @Field("orderDate")
     private ZonedDateTime orderDate;
+
+    @Field("searchKeys")
+    private List<String> searchKeys;
 }
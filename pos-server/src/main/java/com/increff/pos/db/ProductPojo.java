@@ -4,17 +4,20 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 
 @Getter
 @Setter
 @Document(collection = "products")
+@CompoundIndex(name = "updated_at_idx", def = "{'updatedAt': 1}")
 public class ProductPojo extends AbstractPojo {
 
     @Indexed(unique = true)
     @Field("barcode")
     private String barcode;
 
+    @Indexed
     @Field("clientId")
     private String clientId;
 
@@ -1,6 +1,7 @@
 package com.increff.pos.db;
 
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Field;
 import lombok.Getter;
@@ -9,6 +10,7 @@ import lombok.Setter;
 @Getter
 @Setter
 @Document(collection = "users")
+@CompoundIndex(name = "updated_at_idx", def = "{'updatedAt': 1}")
 public class UserPojo extends AbstractPojo {
 
     @Indexed(unique = true)
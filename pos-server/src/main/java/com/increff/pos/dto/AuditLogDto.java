@@ -1,17 +1,38 @@
 package com.increff.pos.dto;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.increff.pos.api.AuditLogApi;
 import com.increff.pos.helper.AuditLogHelper;
+import com.increff.pos.helper.OrderHelper;
 import com.increff.pos.model.data.AuditLogData;
+import com.increff.pos.model.data.AuditLogPageData;
+import com.increff.pos.model.form.AuditLogSearchForm;
 import com.increff.pos.model.form.PageForm;
 import com.increff.pos.util.ValidationUtil;
 import com.increff.pos.db.AuditLogPojo;
 import com.increff.pos.exception.ApiException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 @Service
 public class AuditLogDto {
@@ -19,6 +40,21 @@ public class AuditLogDto {
     @Autowired
     private AuditLogApi auditLogApi;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${audit.retention.days:90}")
+    private int retentionDays;
+
+    @Value("${audit.archive.path:./audit-archive}")
+    private String archivePath;
+
+    @Value("${audit.archive.batch-size:1000}")
+    private int archiveBatchSize;
+
+    @Value("${audit.search.default-window-days:30}")
+    private int defaultWindowDays;
+
     public List<AuditLogData> getByOperatorEmail(String operatorEmail) {
         List<AuditLogPojo> pojoList = auditLogApi.getByOperatorEmail(operatorEmail);
         return AuditLogHelper.convertToDataList(pojoList);
@@ -30,8 +66,68 @@ public class AuditLogDto {
         return pojoPage.map(AuditLogHelper::convertToData);
     }
 
-    public List<AuditLogData> getAll() {
-        List<AuditLogPojo> pojoList = auditLogApi.getAll();
-        return AuditLogHelper.convertToDataList(pojoList);
+    public AuditLogPageData getWindow(AuditLogSearchForm form) throws ApiException {
+        ValidationUtil.validate(form);
+
+        ZonedDateTime toDate = OrderHelper.parseEndDate(form.getToDate());
+        if (toDate == null) {
+            toDate = ZonedDateTime.now();
+        }
+        ZonedDateTime fromDate = OrderHelper.parseStartDate(form.getFromDate());
+        if (fromDate == null) {
+            fromDate = toDate.minusDays(defaultWindowDays);
+        }
+        if (fromDate.isAfter(toDate)) {
+            throw new ApiException("Start date must be before or equal to end date");
+        }
+
+        AuditLogHelper.Cursor cursor = AuditLogHelper.decodeCursor(form.getCursor());
+        List<AuditLogPojo> pojoList = auditLogApi.getWindow(fromDate, toDate,
+                cursor != null ? cursor.timestamp : null,
+                cursor != null ? cursor.id : null,
+                form.getSize() + 1);
+        return AuditLogHelper.createPageData(pojoList, form.getSize());
+    }
+
+    public long archiveExpired() throws ApiException {
+        ZonedDateTime cutoff = ZonedDateTime.now().minusDays(retentionDays);
+        long archived = 0;
+
+        List<AuditLogPojo> batch = auditLogApi.getOlderThan(cutoff, archiveBatchSize);
+        while (!batch.isEmpty()) {
+            writeArchive(batch);
+            auditLogApi.deleteByIds(batch.stream().map(AuditLogPojo::getId).collect(Collectors.toList()));
+            archived += batch.size();
+            batch = auditLogApi.getOlderThan(cutoff, archiveBatchSize);
+        }
+        return archived;
+    }
+
+    private void writeArchive(List<AuditLogPojo> batch) throws ApiException {
+        Map<LocalDate, List<AuditLogPojo>> byDay = batch.stream()
+                .collect(Collectors.groupingBy(pojo -> pojo.getTimestamp().toLocalDate(), TreeMap::new,
+                        Collectors.toList()));
+
+        try {
+            Path archiveDir = Paths.get(archivePath);
+            if (!Files.exists(archiveDir)) {
+                Files.createDirectories(archiveDir);
+            }
+
+            for (Map.Entry<LocalDate, List<AuditLogPojo>> entry : byDay.entrySet()) {
+                Path filePath = archiveDir.resolve("audit-" + entry.getKey() + ".jsonl.gz");
+                try (OutputStream out = Files.newOutputStream(filePath, StandardOpenOption.CREATE,
+                        StandardOpenOption.APPEND);
+                        Writer writer = new BufferedWriter(
+                                new OutputStreamWriter(new GZIPOutputStream(out), StandardCharsets.UTF_8))) {
+                    for (AuditLogPojo pojo : entry.getValue()) {
+                        writer.write(objectMapper.writeValueAsString(AuditLogHelper.convertToData(pojo)));
+                        writer.write('\n');
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new ApiException("Failed to archive audit logs: " + e.getMessage());
+        }
     }
 }
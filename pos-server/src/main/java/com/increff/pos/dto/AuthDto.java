@@ -1,115 +1,175 @@
-package com.increff.pos.dto;
-
-import com.increff.pos.api.UserApi;
-import com.increff.pos.api.AuditLogApi;
-import com.increff.pos.db.UserPojo;
-import com.increff.pos.db.AuditLogPojo;
-import com.increff.pos.exception.ApiException;
-import com.increff.pos.model.data.AuthData;
-import com.increff.pos.model.form.LoginForm;
-import com.increff.pos.util.ValidationUtil;
-import com.increff.pos.helper.AuthHelper;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.stereotype.Service;
-
-import java.util.Base64;
-
-@Service
-public class AuthDto {
-
-    @Autowired
-    private UserApi userApi;
-
-    @Autowired
-    private AuditLogApi auditLogApi;
-
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
-    private static final String SERVER_INSTANCE_ID = java.util.UUID.randomUUID().toString();
-
-    @Value("${supervisor.email}")
-    private String supervisorEmail;
-
-    public AuthData login(LoginForm loginForm) throws ApiException {
-        ValidationUtil.validate(loginForm);
-
-        String email = loginForm.getEmail().trim();
-        boolean isSupervisorEmail = supervisorEmail != null && supervisorEmail.equalsIgnoreCase(email);
-
-        UserPojo user = userApi.getByEmail(email);
-        if (user == null) {
-            String errorMsg = isSupervisorEmail ? "Invalid email or password"
-                    : "Operator not found. Please contact supervisor.";
-            throw new ApiException(errorMsg);
-        }
-
-        if (user.getPassword() == null || !passwordEncoder.matches(loginForm.getPassword(), user.getPassword())) {
-            throw new ApiException("Invalid email or password");
-        }
-
-        String role = isSupervisorEmail ? (user.getRole() != null ? user.getRole() : "USER") : "USER";
-        if (isSupervisorEmail && !"SUPERVISOR".equals(role)) {
-            throw new ApiException("Invalid email or password");
-        }
-
-        String token = Base64.getEncoder()
-                .encodeToString((user.getEmail() + ":" + role + ":" + SERVER_INSTANCE_ID).getBytes());
-        AuthData authData = AuthHelper.createAuthData(token, user.getEmail(), user.getName(), role);
-
-        logActivity(user.getEmail(), user.getName(), "LOGIN");
-        return authData;
-    }
-
-    public AuthData validateToken(String token) throws ApiException {
-        try {
-            String decoded = new String(Base64.getDecoder().decode(token));
-            String[] parts = decoded.split(":");
-            if (parts.length != 3) {
-                throw new ApiException("Invalid token");
-            }
-
-            String email = parts[0];
-            String role = parts[1];
-            String serverId = parts[2];
-
-            if (!SERVER_INSTANCE_ID.equals(serverId)) {
-                throw new ApiException("Session expired or server restarted. Please login again.");
-            }
-
-            UserPojo user = userApi.getByEmail(email);
-            if (user == null) {
-                throw new ApiException("User not found");
-            }
-
-            String userRole = user.getRole() != null ? user.getRole() : "USER";
-            if (!userRole.equals(role)) {
-                throw new ApiException("Invalid token");
-            }
-
-            AuthData authData = AuthHelper.createAuthData(token, user.getEmail(), user.getName(), userRole);
-
-            return authData;
-        } catch (ApiException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new ApiException("Invalid token");
-        }
-    }
-
-    public void logLogout(String email) {
-        UserPojo user = userApi.getByEmail(email);
-        if (user != null) {
-            logActivity(user.getEmail(), user.getName(), "LOGOUT");
-        }
-    }
-
-    private void logActivity(String email, String name, String action) {
-        try {
-            AuditLogPojo auditLog = com.increff.pos.helper.AuthHelper.createAuditLog(
-                    email, name, action, java.time.ZonedDateTime.now());
-            auditLogApi.add(auditLog);
-        } catch (Exception e) {
-        }
-    }
-}
+package com.increff.pos.dto;
+
+import com.increff.pos.api.UserApi;
+import com.increff.pos.cache.AuthTokenCache;
+import com.increff.pos.db.UserPojo;
+import com.increff.pos.db.AuditLogPojo;
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.model.data.AuthData;
+import com.increff.pos.model.form.LoginForm;
+import com.increff.pos.util.TokenBucketRateLimiter;
+import com.increff.pos.util.ValidationUtil;
+import com.increff.pos.writer.AuditLogWriter;
+import com.increff.pos.helper.AuthHelper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.Base64;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Service
+public class AuthDto {
+
+    @Autowired
+    private UserApi userApi;
+
+    @Autowired
+    private AuditLogWriter auditLogWriter;
+
+    @Autowired
+    private AuthTokenCache authTokenCache;
+
+    @Autowired
+    private BCryptPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ThreadPoolExecutor passwordHashExecutor;
+
+    @Autowired
+    @Qualifier("loginEmailRateLimiter")
+    private TokenBucketRateLimiter loginEmailRateLimiter;
+
+    @Autowired
+    @Qualifier("loginIpRateLimiter")
+    private TokenBucketRateLimiter loginIpRateLimiter;
+
+    @Value("${auth.login.hash-timeout-ms:5000}")
+    private long hashTimeoutMs;
+
+    private static final String SERVER_INSTANCE_ID = java.util.UUID.randomUUID().toString();
+
+    @Value("${supervisor.email}")
+    private String supervisorEmail;
+
+    public AuthData login(LoginForm loginForm, String clientIp) throws ApiException {
+        ValidationUtil.validate(loginForm);
+
+        String email = loginForm.getEmail().trim();
+        checkLoginRateLimit(email, clientIp);
+        boolean isSupervisorEmail = supervisorEmail != null && supervisorEmail.equalsIgnoreCase(email);
+
+        UserPojo user = userApi.getByEmail(email);
+        if (user == null) {
+            String errorMsg = isSupervisorEmail ? "Invalid email or password"
+                    : "Operator not found. Please contact supervisor.";
+            throw new ApiException(errorMsg);
+        }
+
+        if (user.getPassword() == null || !passwordMatches(loginForm.getPassword(), user.getPassword())) {
+            throw new ApiException("Invalid email or password");
+        }
+
+        String role = isSupervisorEmail ? (user.getRole() != null ? user.getRole() : "USER") : "USER";
+        if (isSupervisorEmail && !"SUPERVISOR".equals(role)) {
+            throw new ApiException("Invalid email or password");
+        }
+
+        String token = Base64.getEncoder()
+                .encodeToString((user.getEmail() + ":" + role + ":" + SERVER_INSTANCE_ID).getBytes());
+        AuthData authData = AuthHelper.createAuthData(token, user.getEmail(), user.getName(), role);
+
+        logActivity(user.getEmail(), user.getName(), "LOGIN");
+        return authData;
+    }
+
+    public AuthData validateToken(String token) throws ApiException {
+        AuthData cached = authTokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        long cacheGeneration = authTokenCache.generation();
+
+        try {
+            String decoded = new String(Base64.getDecoder().decode(token));
+            String[] parts = decoded.split(":");
+            if (parts.length != 3) {
+                throw new ApiException("Invalid token");
+            }
+
+            String email = parts[0];
+            String role = parts[1];
+            String serverId = parts[2];
+
+            if (!SERVER_INSTANCE_ID.equals(serverId)) {
+                throw new ApiException("Session expired or server restarted. Please login again.");
+            }
+
+            UserPojo user = userApi.getByEmail(email);
+            if (user == null) {
+                throw new ApiException("User not found");
+            }
+
+            String userRole = user.getRole() != null ? user.getRole() : "USER";
+            if (!userRole.equals(role)) {
+                throw new ApiException("Invalid token");
+            }
+
+            AuthData authData = AuthHelper.createAuthData(token, user.getEmail(), user.getName(), userRole);
+            authTokenCache.put(token, authData, cacheGeneration);
+
+            return authData;
+        } catch (ApiException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ApiException("Invalid token");
+        }
+    }
+
+    public void logLogout(String email) {
+        UserPojo user = userApi.getByEmail(email);
+        if (user != null) {
+            logActivity(user.getEmail(), user.getName(), "LOGOUT");
+        }
+    }
+
+    private void checkLoginRateLimit(String email, String clientIp) throws ApiException {
+        if (!loginEmailRateLimiter.tryAcquire(email.toLowerCase())
+                || !loginIpRateLimiter.tryAcquire(clientIp)) {
+            throw new ApiException("Too many login attempts. Please try again later.");
+        }
+    }
+
+    private boolean passwordMatches(String rawPassword, String encodedPassword) throws ApiException {
+        Future<Boolean> result;
+        try {
+            result = passwordHashExecutor.submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+        } catch (RejectedExecutionException e) {
+            throw new ApiException("Login service is busy. Please try again.");
+        }
+
+        try {
+            return result.get(hashTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            throw new ApiException("Login service is busy. Please try again.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException("Login interrupted");
+        } catch (ExecutionException e) {
+            throw new ApiException("Invalid email or password");
+        }
+    }
+
+    private void logActivity(String email, String name, String action) {
+        AuditLogPojo auditLog = AuthHelper.createAuditLog(email, name, action, java.time.ZonedDateTime.now());
+        auditLogWriter.enqueue(auditLog);
+    }
+}
@@ -57,4 +57,8 @@ public class ClientDto {
         ClientPojo pojo = ClientHelper.convertToEntity(form);
         return ClientHelper.convertToData(clientApi.update(id, pojo));
     }
+
+    public int refreshCache() {
+        return clientApi.refreshCache();
+    }
 }
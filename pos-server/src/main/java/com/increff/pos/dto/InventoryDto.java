@@ -9,14 +9,22 @@ import com.increff.pos.model.data.InventoryData;
 import com.increff.pos.model.data.TsvUploadResult;
 import com.increff.pos.model.form.InventoryForm;
 import com.increff.pos.helper.InventoryHelper;
+import com.increff.pos.util.TsvChunkReader;
+import com.increff.pos.util.TsvChunkReader.TsvRow;
+import com.increff.pos.util.TsvLineTokenizer;
 import com.increff.pos.util.TsvUtil;
 import java.util.Map;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import com.increff.pos.util.ValidationUtil;
 import com.increff.pos.util.NormalizeUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -29,6 +37,12 @@ public class InventoryDto {
     @Autowired
     private ProductFlow productFlow;
 
+    @Value("${upload.tsv.chunk-size:1000}")
+    private int uploadChunkSize = 1000;
+
+    @Value("${inventory.hold.sweep-batch-size:100}")
+    private int holdSweepBatchSize = 100;
+
     public InventoryData updateInventory(String productId, InventoryForm form) throws ApiException {
         productId = NormalizeUtil.normalizeId(productId);
         ValidationUtil.validate(form);
@@ -43,61 +57,78 @@ public class InventoryDto {
 
     public String uploadInventoryTsv(String base64Content) throws ApiException {
         String content = TsvUtil.decode(base64Content);
-        String[] lines = TsvUtil.splitLines(content);
-        List<TsvUploadResult> results = new ArrayList<>();
+        StringWriter writer = new StringWriter();
+        // One chunk for the whole capped file, so an oversized upload is rejected before any row is applied
+        TsvChunkReader reader = new TsvChunkReader(new StringReader(content), TsvUtil.MAX_UPLOAD_ROWS);
+        processInventoryTsv(reader, writer, TsvUtil.MAX_UPLOAD_ROWS);
+        return TsvUtil.encode(writer.toString());
+    }
 
-        validateInventoryHeader(lines);
+    public void uploadInventoryTsv(InputStream inputStream, Writer writer) throws ApiException {
+        processInventoryTsv(new TsvChunkReader(inputStream), writer, uploadChunkSize);
+    }
 
-        Map<String, Integer> quantityByProductId = parseAndAggregateInventory(lines, results);
-        List<InventoryPojo> validInventories = createInventoryUpdates(quantityByProductId);
-        performBulkInventoryUpdate(validInventories);
+    // Quantities are added to stock, so each chunk applies only its own rows' sums
+    private void processInventoryTsv(TsvChunkReader reader, Writer writer, int chunkSize) throws ApiException {
+        validateInventoryHeader(reader.readHeader());
+        TsvUtil.writeResultHeader(writer);
 
-        return TsvUtil.encode(InventoryHelper.buildResultTsv(results));
+        List<TsvLineTokenizer> columns = new ArrayList<>();
+        List<TsvRow> chunk;
+        while (!(chunk = reader.nextChunk(chunkSize)).isEmpty()) {
+            List<TsvUploadResult> results = new ArrayList<>();
+
+            tokenize(chunk, columns);
+            Map<String, Integer> quantityByProductId = parseAndAggregateInventory(chunk, columns, results);
+            List<InventoryPojo> validInventories = createInventoryUpdates(quantityByProductId);
+            performBulkInventoryUpdate(validInventories);
+
+            TsvUtil.writeResults(writer, results);
+        }
     }
 
-    private void validateInventoryHeader(String[] lines) throws ApiException {
-        if (!InventoryHelper.isHeader(lines[0])) {
+    private void validateInventoryHeader(String header) throws ApiException {
+        if (!InventoryHelper.isHeader(header)) {
             throw new ApiException(
                     "Invalid TSV format: Missing required header row. " +
                             "First line must contain: barcode, quantity (in any order, tab-separated)");
         }
     }
 
-    private Map<String, Integer> parseAndAggregateInventory(String[] lines, List<TsvUploadResult> results)
-            throws ApiException {
-        List<String> barcodes = extractBarcodes(lines);
-        Map<String, ProductPojo> productMap = productFlow.getByBarcodes(barcodes);
-        Map<String, Integer> quantityByProductId = new HashMap<>();
+    private void tokenize(List<TsvRow> rows, List<TsvLineTokenizer> columns) {
+        for (int i = 0; i < rows.size(); i++) {
+            if (i == columns.size()) {
+                columns.add(new TsvLineTokenizer());
+            }
+            columns.get(i).reset(rows.get(i).getLine());
+        }
+    }
 
-        for (int i = 1; i < lines.length; i++) {
-            String line = lines[i].trim();
-            if (line.isEmpty())
-                continue;
+    private Map<String, Integer> parseAndAggregateInventory(List<TsvRow> rows, List<TsvLineTokenizer> columns,
+            List<TsvUploadResult> results) throws ApiException {
+        List<String> barcodes = extractBarcodes(rows.size(), columns);
+        Map<String, ProductPojo> productMap = productFlow.getByBarcodes(barcodes);
+        Map<String, Integer> quantityByProductId = new LinkedHashMap<>();
 
+        for (int i = 0; i < rows.size(); i++) {
+            TsvRow row = rows.get(i);
             try {
-                InventoryPojo pojo = InventoryHelper.parseInventory(line, i + 1, productMap);
-                String productId = pojo.getProductId();
-                quantityByProductId.merge(productId, pojo.getQuantity(), Integer::sum);
-                results.add(new TsvUploadResult(i + 1, "SUCCESS", "Inventory updated", line));
+                InventoryPojo pojo = InventoryHelper.parseInventory(columns.get(i), row.getRowNumber(), productMap);
+                quantityByProductId.merge(pojo.getProductId(), pojo.getQuantity(), Integer::sum);
+                results.add(new TsvUploadResult(row.getRowNumber(), "SUCCESS", "Inventory updated", row.getLine()));
             } catch (ApiException e) {
-                results.add(new TsvUploadResult(i + 1, "FAILED", e.getMessage(), line));
+                results.add(new TsvUploadResult(row.getRowNumber(), "FAILED", e.getMessage(), row.getLine()));
             }
         }
 
         return quantityByProductId;
     }
 
-    private List<String> extractBarcodes(String[] lines) {
-        List<String> barcodes = new ArrayList<>();
-        for (int i = 1; i < lines.length; i++) {
-            String line = lines[i].trim();
-            if (line.isEmpty())
-                continue;
-
-            String[] columns = line.split("\t");
-            if (columns.length > 0) {
-                String barcode = columns[0].trim().toLowerCase();
-                barcodes.add(barcode);
+    private List<String> extractBarcodes(int rowCount, List<TsvLineTokenizer> columns) {
+        List<String> barcodes = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            if (columns.get(i).columnCount() > 0) {
+                barcodes.add(InventoryHelper.parseBarcode(columns.get(i)));
             }
         }
         return barcodes;
@@ -119,4 +150,8 @@ public class InventoryDto {
             inventoryFlow.updateBulk(inventories);
         }
     }
+
+    public int releaseExpiredHolds() {
+        return inventoryFlow.releaseExpiredHolds(holdSweepBatchSize);
+    }
 }
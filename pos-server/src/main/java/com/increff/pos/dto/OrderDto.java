@@ -4,14 +4,17 @@ import com.increff.pos.db.OrderItemPojo;
 import com.increff.pos.db.OrderPojo;
 import com.increff.pos.exception.ApiException;
 import com.increff.pos.flow.OrderFlow;
+import com.increff.pos.flow.OrderResult;
 import com.increff.pos.helper.OrderHelper;
 import com.increff.pos.model.data.OrderData;
+import com.increff.pos.model.form.OrderBatchForm;
 import com.increff.pos.model.form.OrderForm;
 import com.increff.pos.model.form.OrderSearchForm;
 import com.increff.pos.model.data.OrderCreationResult;
 import com.increff.pos.util.ValidationUtil;
 import com.increff.pos.util.NormalizeUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import com.increff.pos.model.form.PageForm;
 import org.springframework.data.domain.PageImpl;
@@ -20,6 +23,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -29,22 +33,33 @@ public class OrderDto {
     @Autowired
     private OrderFlow orderFlow;
 
+    @Value("${order.batch.max-size:500}")
+    private int maxBatchSize = 500;
+
     public OrderData create(OrderForm form) throws ApiException {
         ValidationUtil.validate(form);
         List<OrderItemPojo> orderItems = convertToOrderItems(form);
-        OrderCreationResult creationResult = orderFlow.createOrder(orderItems);
-
-        String orderId = creationResult.getOrderId();
-        OrderPojo order = orderFlow.getOrderWithItems(orderId);
-        List<OrderItemPojo> savedItems = orderFlow.getOrderItems(orderId);
+        OrderResult result = orderFlow.createOrder(orderItems);
 
-        OrderData orderData = OrderHelper.convertToData(order, false);
-        orderData.setItems(OrderHelper.convertItemsToDtoList(savedItems));
-        orderData.setFulfillable(creationResult.isFulfillable());
-        orderData.setUnfulfillableItems(creationResult.getUnfulfillableItems());
+        OrderData orderData = convertToData(result);
+        orderData.setFulfillable(result.isFulfillable());
+        orderData.setUnfulfillableItems(result.getUnfulfillableItems());
         return orderData;
     }
 
+    public List<OrderCreationResult> createBatch(OrderBatchForm form) throws ApiException {
+        ValidationUtil.validate(form);
+        if (form.getOrders().size() > maxBatchSize) {
+            throw new ApiException("Maximum " + maxBatchSize + " orders allowed per batch");
+        }
+        List<List<OrderItemPojo>> orders = new ArrayList<>(form.getOrders().size());
+        for (OrderForm orderForm : form.getOrders()) {
+            ValidationUtil.validate(orderForm);
+            orders.add(convertToOrderItems(orderForm));
+        }
+        return orderFlow.createOrders(orders);
+    }
+
     public OrderData getById(String orderId) throws ApiException {
         orderId = NormalizeUtil.normalizeOrderId(orderId);
         OrderPojo order = orderFlow.getOrderWithItems(orderId);
@@ -94,23 +109,13 @@ public class OrderDto {
     }
 
     public OrderData cancel(String orderId) throws ApiException {
-        OrderPojo cancelled = orderFlow.cancelOrder(orderId);
-        List<OrderItemPojo> items = orderFlow.getOrderItems(cancelled.getOrderId());
-
-        OrderData orderData = OrderHelper.convertToData(cancelled, false);
-        orderData.setItems(OrderHelper.convertItemsToDtoList(items));
-        return orderData;
+        return convertToData(orderFlow.cancelOrder(orderId));
     }
 
     public OrderData update(String orderId, OrderForm form) throws ApiException {
         ValidationUtil.validate(form);
         List<OrderItemPojo> orderItems = convertToOrderItems(form);
-        OrderPojo order = orderFlow.updateOrder(orderId, orderItems);
-        List<OrderItemPojo> savedItems = orderFlow.getOrderItems(order.getOrderId());
-
-        OrderData orderData = OrderHelper.convertToData(order, false);
-        orderData.setItems(OrderHelper.convertItemsToDtoList(savedItems));
-        return orderData;
+        return convertToData(orderFlow.updateOrder(orderId, orderItems));
     }
 
     public OrderData retry(String orderId, OrderForm form) throws ApiException {
@@ -120,15 +125,17 @@ public class OrderDto {
             orderItems = convertToOrderItems(form);
         }
 
-        OrderCreationResult creationResult = orderFlow.retryOrder(orderId, orderItems);
-        String resultOrderId = creationResult.getOrderId();
-        OrderPojo order = orderFlow.getOrderWithItems(resultOrderId);
-        List<OrderItemPojo> savedItems = orderFlow.getOrderItems(resultOrderId);
+        OrderResult result = orderFlow.retryOrder(orderId, orderItems);
+
+        OrderData orderData = convertToData(result);
+        orderData.setFulfillable(result.isFulfillable());
+        orderData.setUnfulfillableItems(result.getUnfulfillableItems());
+        return orderData;
+    }
 
-        OrderData orderData = OrderHelper.convertToData(order, false);
-        orderData.setItems(OrderHelper.convertItemsToDtoList(savedItems));
-        orderData.setFulfillable(creationResult.isFulfillable());
-        orderData.setUnfulfillableItems(creationResult.getUnfulfillableItems());
+    private OrderData convertToData(OrderResult result) {
+        OrderData orderData = OrderHelper.convertToData(result.getOrder(), false);
+        orderData.setItems(OrderHelper.convertItemsToDtoList(result.getItems()));
         return orderData;
     }
 
@@ -1,35 +1,77 @@
 package com.increff.pos.dto;
 
+import com.increff.pos.api.ImportJobApi;
 import com.increff.pos.db.ClientPojo;
+import com.increff.pos.db.ImportJobPojo;
 import com.increff.pos.db.InventoryPojo;
 import com.increff.pos.db.ProductPojo;
 import com.increff.pos.flow.ProductFlow;
 import com.increff.pos.exception.ApiException;
+import com.increff.pos.helper.ImportJobHelper;
 import com.increff.pos.helper.ProductHelper;
+import com.increff.pos.metrics.DbCallContext;
+import com.increff.pos.model.data.ImportJobData;
 import com.increff.pos.model.data.ProductData;
 import com.increff.pos.model.data.TsvUploadResult;
 import com.increff.pos.model.form.PageForm;
 import com.increff.pos.model.form.ProductForm;
+import com.increff.pos.model.form.ProductSearchForm;
+import com.increff.pos.util.ImportJobStatus;
+import com.increff.pos.util.TsvChunkReader;
+import com.increff.pos.util.TsvChunkReader.TsvRow;
+import com.increff.pos.util.TsvLineTokenizer;
 import com.increff.pos.util.TsvUtil;
 import com.increff.pos.util.ValidationUtil;
 import com.increff.pos.util.NormalizeUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashSet;
-
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 @Service
 public class ProductDto {
 
+    private static final String PRODUCT_IMPORT = "PRODUCT";
+
     @Autowired
     private ProductFlow productFlow;
 
+    @Autowired
+    private ImportJobApi importJobApi;
+
+    @Autowired
+    private ExecutorService productUploadExecutor;
+
+    @Value("${upload.tsv.chunk-size:1000}")
+    private int uploadChunkSize = 1000;
+
+    @Value("${upload.tsv.pool-size:4}")
+    private int uploadParallelism = 4;
+
     public ProductData create(ProductForm form) throws ApiException {
         NormalizeUtil.normalizeProductForm(form);
         ValidationUtil.validate(form);
@@ -65,6 +107,23 @@ public class ProductDto {
         });
     }
 
+    public Page<ProductData> search(ProductSearchForm form) throws ApiException {
+        ValidationUtil.validate(form);
+        String query = NormalizeUtil.normalizeSearchString(form.getQuery());
+        String clientId = NormalizeUtil.normalizeSearchString(form.getClientId());
+        if (query == null && clientId == null) {
+            throw new ApiException("Search query or clientId is required");
+        }
+        Page<ProductPojo> pojoPage = productFlow.search(query, clientId, form.getPage(), form.getSize());
+        return pojoPage.map(product -> {
+            try {
+                return toDataWithRelations(product);
+            } catch (ApiException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
     public ProductData update(String id, ProductForm form) throws ApiException {
         id = NormalizeUtil.normalizeId(id);
         NormalizeUtil.normalizeProductForm(form);
@@ -76,19 +135,54 @@ public class ProductDto {
 
     public String uploadProductsTsv(String base64Content) throws ApiException {
         String content = TsvUtil.decode(base64Content);
-        String[] lines = TsvUtil.splitLines(content);
-        List<TsvUploadResult> results = new ArrayList<>();
+        ByteArrayResource source = new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8));
+        // One chunk for the whole capped file, so an oversized upload is rejected before any product is inserted
+        ImportJobData job = startProductImport(source, TsvUtil.MAX_UPLOAD_ROWS);
+        StringWriter writer = new StringWriter();
+        importProducts(job.getId(), source, writer, TsvUtil.MAX_UPLOAD_ROWS);
+        return TsvUtil.encode(writer.toString());
+    }
 
-        Map<String, Integer> columnMap = validateProductHeader(lines);
+    public ImportJobData startProductImport(InputStreamSource source) throws ApiException {
+        return startProductImport(source, uploadChunkSize);
+    }
+
+    private ImportJobData startProductImport(InputStreamSource source, int chunkSize) throws ApiException {
+        try (InputStream inputStream = source.getInputStream()) {
+            validateProductHeader(new TsvChunkReader(inputStream).readHeader());
+        } catch (IOException e) {
+            throw new ApiException("Failed to read TSV content: " + e.getMessage());
+        }
+
+        String contentHash;
+        try (InputStream inputStream = source.getInputStream()) {
+            contentHash = TsvUtil.contentHash(inputStream);
+        } catch (IOException e) {
+            throw new ApiException("Failed to read TSV content: " + e.getMessage());
+        }
+        ImportJobPojo job = importJobApi.start(PRODUCT_IMPORT, contentHash, chunkSize);
+        return ImportJobHelper.convertToData(job);
+    }
 
-        ParsedProductsData parsedData = parseProducts(lines, columnMap, results);
-        List<ProductPojo> productsToInsert = filterExistingProducts(parsedData.products, parsedData.rowNumbers, lines,
-                results);
-        performBulkProductInsert(productsToInsert, parsedData.rowNumbers, lines, results);
+    public void importProducts(String jobId, InputStreamSource source, Writer writer) throws ApiException {
+        importProducts(jobId, source, writer, Integer.MAX_VALUE);
+    }
 
-        results.sort((a, b) -> Integer.compare(a.getRowNumber(), b.getRowNumber()));
+    private void importProducts(String jobId, InputStreamSource source, Writer writer, int maxLines)
+            throws ApiException {
+        ImportJobPojo job = importJobApi.getCheck(jobId);
+        try (InputStream inputStream = source.getInputStream()) {
+            TsvChunkReader reader = new TsvChunkReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8),
+                    maxLines);
+            processProductsTsv(job, reader, writer);
+        } catch (IOException e) {
+            throw new ApiException("Failed to read TSV content: " + e.getMessage());
+        }
+    }
 
-        return TsvUtil.encode(ProductHelper.buildResultTsv(results));
+    public ImportJobData getImportJob(String id) throws ApiException {
+        id = NormalizeUtil.normalizeId(id);
+        return ImportJobHelper.convertToData(importJobApi.getCheck(id));
     }
 
     private ProductData toDataWithRelations(ProductPojo product) throws ApiException {
@@ -97,94 +191,213 @@ public class ProductDto {
         return ProductHelper.convertToData(product, client.getName(), inventory.getQuantity());
     }
 
-    private Map<String, Integer> validateProductHeader(String[] lines) throws ApiException {
-        if (!ProductHelper.isHeader(lines[0])) {
-            throw new ApiException(
-                    "Invalid TSV format: Missing required header row. " +
-                            "First line must contain: barcode, clientid, name, mrp (in any order, tab-separated)");
+    private void processProductsTsv(ImportJobPojo job, TsvChunkReader reader, Writer writer) throws ApiException {
+        Map<String, Integer> columnMap = validateProductHeader(reader.readHeader());
+        TsvUtil.writeResultHeader(writer);
+        if (ImportJobStatus.COMPLETED.getValue().equals(job.getStatus())) {
+            return;
+        }
+
+        try {
+            if (importChunks(job, reader, columnMap, writer)) {
+                importJobApi.complete(job.getId());
+            }
+        } catch (ApiException | RuntimeException e) {
+            importJobApi.fail(job.getId(), e.getMessage());
+            throw e;
         }
-        return ProductHelper.parseHeader(lines[0]);
     }
 
-    private ParsedProductsData parseProducts(String[] lines, Map<String, Integer> columnMap,
-            List<TsvUploadResult> results) {
-        List<ProductPojo> validProducts = new ArrayList<>();
-        List<Integer> validProductRows = new ArrayList<>();
+    private boolean importChunks(ImportJobPojo job, TsvChunkReader reader, Map<String, Integer> columnMap,
+            Writer writer) throws ApiException {
+        int chunkSize = job.getChunkSize();
+        int committedChunks = 0;
+        while (committedChunks < job.getCommittedChunks() && !reader.nextChunk(chunkSize).isEmpty()) {
+            committedChunks++;
+        }
 
-        for (int i = 1; i < lines.length; i++) {
-            String line = lines[i].trim();
-            if (line.isEmpty())
-                continue;
+        Map<String, Integer> firstRowByBarcode = new ConcurrentHashMap<>();
+        Deque<Future<ValidatedChunk>> inFlight = new ArrayDeque<>();
+        try {
+            List<TsvRow> chunk;
+            while (!(chunk = reader.nextChunk(chunkSize)).isEmpty()) {
+                List<TsvRow> rows = chunk;
+                inFlight.add(productUploadExecutor.submit(DbCallContext.withCurrentRequest(
+                        () -> validateChunk(rows, columnMap, firstRowByBarcode))));
+                if (inFlight.size() >= uploadParallelism && !insertChunk(job.getId(), ++committedChunks,
+                        awaitChunk(inFlight.poll()), firstRowByBarcode, writer)) {
+                    return false;
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                if (!insertChunk(job.getId(), ++committedChunks, awaitChunk(inFlight.poll()), firstRowByBarcode,
+                        writer)) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+    }
 
-            int rowNum = i + 1;
+    private ValidatedChunk validateChunk(List<TsvRow> rows, Map<String, Integer> columnMap,
+            Map<String, Integer> firstRowByBarcode) {
+        List<TsvUploadResult> results = new ArrayList<>();
+        ParsedProductsData parsedData = parseProducts(rows, columnMap, results);
 
-            try {
-                ProductPojo pojo = ProductHelper.parseProduct(line, rowNum, columnMap);
-                validProducts.add(pojo);
-                validProductRows.add(rowNum);
-            } catch (ApiException e) {
-                results.add(new TsvUploadResult(rowNum, "FAILED", e.getMessage(), line));
+        List<String> validBarcodes = new ArrayList<>(parsedData.products.size());
+        for (int i = 0; i < parsedData.products.size(); i++) {
+            String barcode = parsedData.products.get(i).getBarcode();
+            firstRowByBarcode.merge(barcode, parsedData.rows.get(i).getRowNumber(), Math::min);
+            validBarcodes.add(barcode);
+        }
+
+        Set<String> existingBarcodes = new HashSet<>(productFlow.getExistingBarcodes(validBarcodes));
+        return new ValidatedChunk(parsedData, existingBarcodes, results);
+    }
+
+    private ValidatedChunk awaitChunk(Future<ValidatedChunk> future) throws ApiException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException("Upload was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
             }
+            throw new ApiException("Failed to validate upload: " + e.getCause().getMessage());
+        }
+    }
+
+    private boolean insertChunk(String jobId, int chunkNumber, ValidatedChunk chunk,
+            Map<String, Integer> firstRowByBarcode, Writer writer) throws ApiException {
+        List<TsvUploadResult> results = chunk.results;
+
+        ParsedProductsData productsToInsert = filterExistingProducts(chunk, firstRowByBarcode);
+        if (!chunk.existingBarcodes.isEmpty()) {
+            productFlow.ensureInventory(new ArrayList<>(chunk.existingBarcodes));
         }
+        String insertError = performBulkProductInsert(productsToInsert, results);
+
+        results.sort(Comparator.comparingInt(TsvUploadResult::getRowNumber));
+        TsvUtil.writeResults(writer, results);
 
-        return new ParsedProductsData(validProducts, validProductRows);
+        if (insertError != null) {
+            importJobApi.fail(jobId, "Chunk " + chunkNumber + " failed: " + insertError);
+            return false;
+        }
+        importJobApi.checkpoint(jobId, chunkNumber, results.size(), countByStatus(results, "SUCCESS"),
+                countByStatus(results, "FAILED"), countByStatus(results, "SKIPPED"));
+        return true;
     }
 
-    private List<ProductPojo> filterExistingProducts(List<ProductPojo> products, List<Integer> rowNumbers,
-            String[] lines, List<TsvUploadResult> results) {
-        List<String> validBarcodes = products.stream()
-                .map(ProductPojo::getBarcode)
-                .toList();
+    private long countByStatus(List<TsvUploadResult> results, String status) {
+        return results.stream().filter(result -> status.equals(result.getStatus())).count();
+    }
 
-        List<String> existingBarcodes = productFlow.getExistingBarcodes(validBarcodes);
-        Set<String> existingBarcodesSet = new HashSet<>(existingBarcodes);
+    private Map<String, Integer> validateProductHeader(String header) throws ApiException {
+        if (!ProductHelper.isHeader(header)) {
+            throw new ApiException(
+                    "Invalid TSV format: Missing required header row. " +
+                            "First line must contain: barcode, clientid, name, mrp (in any order, tab-separated)");
+        }
+        return ProductHelper.parseHeader(header);
+    }
+
+    private ParsedProductsData parseProducts(List<TsvRow> rows, Map<String, Integer> columnMap,
+            List<TsvUploadResult> results) {
+        ParsedProductsData parsedData = new ParsedProductsData();
+        TsvLineTokenizer columns = new TsvLineTokenizer();
 
-        List<ProductPojo> productsToInsert = new ArrayList<>();
+        for (TsvRow row : rows) {
+            try {
+                ProductPojo pojo = ProductHelper.parseProduct(columns.reset(row.getLine()), row.getRowNumber(),
+                        columnMap);
+                parsedData.add(pojo, row);
+            } catch (ApiException e) {
+                results.add(new TsvUploadResult(row.getRowNumber(), "FAILED", e.getMessage(), row.getLine()));
+            }
+        }
 
-        for (int i = 0; i < products.size(); i++) {
-            ProductPojo pojo = products.get(i);
-            int rowNum = rowNumbers.get(i);
-            String line = lines[rowNum - 1];
+        return parsedData;
+    }
 
-            if (existingBarcodesSet.contains(pojo.getBarcode())) {
-                results.add(new TsvUploadResult(rowNum, "SKIPPED", "Product already exists", line));
+    private ParsedProductsData filterExistingProducts(ValidatedChunk chunk,
+            Map<String, Integer> firstRowByBarcode) {
+        ParsedProductsData parsedData = chunk.parsedData;
+        List<TsvUploadResult> results = chunk.results;
+        ParsedProductsData productsToInsert = new ParsedProductsData();
+
+        for (int i = 0; i < parsedData.products.size(); i++) {
+            ProductPojo pojo = parsedData.products.get(i);
+            TsvRow row = parsedData.rows.get(i);
+
+            if (chunk.existingBarcodes.contains(pojo.getBarcode())) {
+                results.add(new TsvUploadResult(row.getRowNumber(), "SKIPPED", "Product already exists",
+                        row.getLine()));
+            } else if (firstRowByBarcode.get(pojo.getBarcode()) != row.getRowNumber()) {
+                results.add(new TsvUploadResult(row.getRowNumber(), "SKIPPED", "Duplicate barcode in file",
+                        row.getLine()));
             } else {
-                productsToInsert.add(pojo);
+                productsToInsert.add(pojo, row);
             }
         }
 
         return productsToInsert;
     }
 
-    private void performBulkProductInsert(List<ProductPojo> productsToInsert, List<Integer> allRowNumbers,
-            String[] lines, List<TsvUploadResult> results) {
-        if (productsToInsert.isEmpty()) {
-            return;
+    // A failed bulk insert may have stopped part way; rows whose product exists afterwards did land and get their
+    // inventory here, so only the rest are reported FAILED
+    private String performBulkProductInsert(ParsedProductsData productsToInsert, List<TsvUploadResult> results)
+            throws ApiException {
+        if (productsToInsert.products.isEmpty()) {
+            return null;
         }
 
+        String insertError = null;
+        Set<String> landed = Collections.emptySet();
         try {
-            List<ProductPojo> savedProducts = productFlow.addBulk(productsToInsert);
-            for (int i = 0; i < savedProducts.size(); i++) {
-                int rowNum = allRowNumbers.get(i);
-                String line = lines[rowNum - 1];
-                results.add(new TsvUploadResult(rowNum, "SUCCESS", "Product created", line));
-            }
-        } catch (ApiException e) {
-            for (int i = 0; i < productsToInsert.size(); i++) {
-                int rowNum = allRowNumbers.get(i);
-                String line = lines[rowNum - 1];
-                results.add(new TsvUploadResult(rowNum, "FAILED", "Bulk insert failed: " + e.getMessage(), line));
+            productFlow.addBulk(productsToInsert.products);
+        } catch (ApiException | DataAccessException e) {
+            insertError = e.getMessage();
+            landed = productFlow.ensureInventory(productsToInsert.products.stream()
+                    .map(ProductPojo::getBarcode)
+                    .collect(Collectors.toList()));
+        }
+
+        for (int i = 0; i < productsToInsert.rows.size(); i++) {
+            TsvRow row = productsToInsert.rows.get(i);
+            if (insertError == null || landed.contains(productsToInsert.products.get(i).getBarcode())) {
+                results.add(new TsvUploadResult(row.getRowNumber(), "SUCCESS", "Product created", row.getLine()));
+            } else {
+                results.add(new TsvUploadResult(row.getRowNumber(), "FAILED", "Bulk insert failed: " + insertError,
+                        row.getLine()));
             }
         }
+        return insertError;
     }
 
     private static class ParsedProductsData {
-        final List<ProductPojo> products;
-        final List<Integer> rowNumbers;
+        final List<ProductPojo> products = new ArrayList<>();
+        final List<TsvRow> rows = new ArrayList<>();
+
+        void add(ProductPojo product, TsvRow row) {
+            products.add(product);
+            rows.add(row);
+        }
+    }
+
+    private static class ValidatedChunk {
+        final ParsedProductsData parsedData;
+        final Set<String> existingBarcodes;
+        final List<TsvUploadResult> results;
 
-        ParsedProductsData(List<ProductPojo> products, List<Integer> rowNumbers) {
-            this.products = products;
-            this.rowNumbers = rowNumbers;
+        ValidatedChunk(ParsedProductsData parsedData, Set<String> existingBarcodes, List<TsvUploadResult> results) {
+            this.parsedData = parsedData;
+            this.existingBarcodes = existingBarcodes;
+            this.results = results;
         }
     }
 }
@@ -20,7 +20,8 @@ public class UserDto {
     @Autowired
     private UserApi userApi;
 
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    @Autowired
+    private BCryptPasswordEncoder passwordEncoder;
 
     public UserData create(UserForm userForm) throws ApiException {
         NormalizeUtil.normalizeUserForm(userForm);
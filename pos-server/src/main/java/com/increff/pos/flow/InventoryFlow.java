@@ -1,7 +1,9 @@
 package com.increff.pos.flow;
 
 import com.increff.pos.api.InventoryApi;
+import com.increff.pos.api.InventoryHoldApi;
 import com.increff.pos.api.ProductApi;
+import com.increff.pos.db.InventoryHoldPojo;
 import com.increff.pos.db.InventoryPojo;
 import com.increff.pos.db.ProductPojo;
 import com.increff.pos.exception.ApiException;
@@ -9,7 +11,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.time.ZonedDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class InventoryFlow {
@@ -18,6 +23,8 @@ public class InventoryFlow {
     private InventoryApi inventoryApi;
     @Autowired
     private ProductApi productApi;
+    @Autowired
+    private InventoryHoldApi inventoryHoldApi;
 
     @Transactional(readOnly = true)
     public InventoryPojo getCheck(String id) throws ApiException {
@@ -40,4 +47,27 @@ public class InventoryFlow {
     public List<InventoryPojo> updateBulk(List<InventoryPojo> pojos) throws ApiException {
         return inventoryApi.updateBulk(pojos);
     }
+
+    // Returns the stock of holds that expired before now, one claimed batch per release. A hold is deleted only after
+    // its stock is back, so a batch that fails half way is claimed again once its claims go stale. A stale claim whose
+    // owner had already started moving the stock is only deleted.
+    public int releaseExpiredHolds(int batchSize) {
+        ZonedDateTime now = ZonedDateTime.now();
+        int released = 0;
+        List<InventoryHoldPojo> holds;
+        do {
+            holds = inventoryHoldApi.claimExpired(now, batchSize);
+            Map<String, Integer> releases = new HashMap<>();
+            for (InventoryHoldPojo hold : holds) {
+                if (hold.getState() == null && inventoryHoldApi.startRelease(hold)) {
+                    hold.getQuantities()
+                            .forEach((productId, quantity) -> releases.merge(productId, quantity, Integer::sum));
+                }
+            }
+            inventoryApi.releaseBulk(releases);
+            holds.forEach(inventoryHoldApi::complete);
+            released += holds.size();
+        } while (holds.size() == batchSize);
+        return released;
+    }
 }
@@ -8,6 +8,7 @@ import com.increff.pos.db.OrderItemPojo;
 import com.increff.pos.db.OrderPojo;
 import com.increff.pos.exception.ApiException;
 import com.increff.pos.helper.InvoiceHelper;
+import com.increff.pos.metrics.FlowOperation;
 import com.increff.pos.util.OrderStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,6 +27,7 @@ public class InvoiceFlow {
     @Autowired
     private OrderItemApi orderItemApi;
 
+    @FlowOperation("validate-invoice")
     public OrderWithItems validateAndGetOrderForInvoice(String orderId) throws ApiException {
         OrderPojo order = orderApi.getCheckByOrderId(orderId);
 
@@ -47,6 +49,7 @@ public class InvoiceFlow {
         return new OrderWithItems(order, orderItems);
     }
 
+    @FlowOperation("invoice")
     @Transactional(rollbackFor = ApiException.class)
     public InvoicePojo saveInvoiceAndUpdateOrder(String invoiceId, String orderId, String pdfPath) throws ApiException {
         InvoicePojo invoice = InvoiceHelper.createInvoice(invoiceId, orderId, pdfPath, ZonedDateTime.now());
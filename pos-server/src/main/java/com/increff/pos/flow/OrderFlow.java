@@ -4,6 +4,8 @@ import com.increff.pos.api.*;
 import com.increff.pos.db.*;
 import com.increff.pos.exception.ApiException;
 import com.increff.pos.helper.OrderHelper;
+import com.increff.pos.metrics.DbCallContext;
+import com.increff.pos.metrics.FlowOperation;
 import com.increff.pos.model.data.InventoryCheckResult;
 import com.increff.pos.model.data.OrderCreationResult;
 import com.increff.pos.model.data.UnfulfillableItemData;
@@ -15,16 +17,27 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 @Service
 public class OrderFlow {
 
+    private static final int BATCH_RESERVE_ATTEMPTS = 3;
+
     @Autowired
     private OrderApi orderApi;
     @Autowired
@@ -32,12 +45,17 @@ public class OrderFlow {
     @Autowired
     private InventoryApi inventoryApi;
     @Autowired
+    private InventoryHoldApi inventoryHoldApi;
+    @Autowired
     private ProductApi productApi;
     @Autowired
     private SequenceGenerator sequenceGenerator;
+    @Autowired
+    private ExecutorService fanOutExecutor;
 
+    @FlowOperation("create")
     @Transactional(rollbackFor = ApiException.class)
-    public OrderCreationResult createOrder(List<OrderItemPojo> orderItems) throws ApiException {
+    public OrderResult createOrder(List<OrderItemPojo> orderItems) throws ApiException {
         String orderId = generateOrderId();
 
         // Extract barcodes from order items
@@ -49,19 +67,89 @@ public class OrderFlow {
 
         // Extract productIds for bulk data fetch
         List<String> productIds = OrderHelper.extractProductIds(orderItems);
-        BulkData bulkData = fetchBulkData(productIds);
+        BulkData bulkData = fetchBulkData(productIds, productsByBarcode);
         InventoryCheckResult checkResult = checkAllInventoryAvailable(orderItems, bulkData);
         OrderCalculator totals = new OrderCalculator();
+        List<OrderItemPojo> savedItems = new ArrayList<>();
 
-        String orderStatus = processOrderCreation(orderId, orderItems, checkResult, bulkData, totals);
+        String orderStatus = processOrderCreation(orderId, orderItems, checkResult, bulkData, savedItems, totals);
         OrderPojo savedOrder = saveNewOrder(orderId, orderStatus, totals);
 
-        return OrderHelper.createOrderCreationResult(
-                savedOrder.getOrderId(),
-                checkResult.isAllAvailable(),
+        return new OrderResult(savedOrder, savedItems, checkResult.isAllAvailable(),
                 checkResult.getUnfulfillableItems());
     }
 
+    // An order with an unknown barcode fails on its own; the rest of the batch is still placed
+    @FlowOperation("create-batch")
+    @Transactional(rollbackFor = ApiException.class)
+    public List<OrderCreationResult> createOrders(List<List<OrderItemPojo>> orders) throws ApiException {
+        List<String> barcodes = orders.stream()
+                .flatMap(List::stream)
+                .map(OrderItemPojo::getBarcode)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<String, ProductPojo> productsByBarcode = productApi.getByBarcodes(barcodes);
+        List<OrderCreationResult> results = new ArrayList<>(Collections.nCopies(orders.size(), null));
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+            try {
+                resolveProductIds(orders.get(i), productsByBarcode);
+                valid.add(i);
+            } catch (ApiException e) {
+                results.set(i, OrderHelper.createFailedOrderCreationResult(e.getMessage()));
+            }
+        }
+        if (valid.isEmpty()) {
+            return results;
+        }
+        Map<String, ProductPojo> productMap = new HashMap<>();
+        addProducts(productMap, productsByBarcode.values());
+
+        long firstOrderNumber = sequenceGenerator.getNextSequenceBlock("order", valid.size());
+        BatchAllocation allocation = new BatchAllocation(orders.size());
+        List<Integer> pending = new ArrayList<>(valid);
+        for (int attempt = 0; attempt < BATCH_RESERVE_ATTEMPTS && !pending.isEmpty(); attempt++) {
+            pending = reserveInSubmissionOrder(orders, pending, productMap, allocation);
+        }
+
+        List<OrderPojo> newOrders = new ArrayList<>(valid.size());
+        List<OrderItemPojo> newItems = new ArrayList<>();
+        Map<String, Integer> reserved = new HashMap<>();
+        for (int n = 0; n < valid.size(); n++) {
+            int i = valid.get(n);
+            String orderId = formatOrderId(firstOrderNumber + n);
+            boolean placed = allocation.placed[i];
+            if (placed) {
+                OrderHelper.sumQuantitiesByProduct(orders.get(i))
+                        .forEach((productId, quantity) -> reserved.merge(productId, quantity, Integer::sum));
+            }
+            OrderCalculator totals = new OrderCalculator();
+            for (OrderItemPojo item : orders.get(i)) {
+                ProductPojo product = productMap.get(item.getProductId());
+                item.setOrderId(orderId);
+                item.setBarcode(product.getBarcode());
+                item.setProductName(product.getName());
+                item.setLineTotal(item.getQuantity() * item.getMrp());
+                totals.addItem(item.getQuantity(), item.getLineTotal());
+                newItems.add(item);
+            }
+            newOrders.add(createOrder(orderId,
+                    placed ? OrderStatus.PLACED.getValue() : OrderStatus.UNFULFILLABLE.getValue(), totals));
+            results.set(i, OrderHelper.createOrderCreationResult(orderId, placed,
+                    placed ? new ArrayList<>() : allocation.unfulfillableItems.get(i)));
+        }
+
+        // Nothing rolls the reservations back on its own, so a failed insert hands the stock back before it surfaces
+        try {
+            orderApi.addBulk(newOrders);
+            orderItemApi.addBulk(newItems);
+        } catch (ApiException | RuntimeException e) {
+            inventoryApi.releaseBulk(reserved);
+            throw e;
+        }
+        return results;
+    }
+
     public OrderPojo getOrderWithItems(String orderId) throws ApiException {
         orderId = OrderHelper.validateOrderId(orderId);
         return orderApi.getCheckByOrderId(orderId);
@@ -81,41 +169,58 @@ public class OrderFlow {
         return orderApi.getWithFilters(orderId, status, fromDate, toDate, pageable);
     }
 
+    @FlowOperation("cancel")
     @Transactional(rollbackFor = ApiException.class)
-    public OrderPojo cancelOrder(String orderId) throws ApiException {
+    public OrderResult cancelOrder(String orderId) throws ApiException {
         orderId = OrderHelper.validateOrderId(orderId);
         OrderPojo order = validateCancellableOrder(orderId);
-        restoreInventoryForCancelledOrder(order.getOrderId());
-        return updateOrderStatus(order.getId(), OrderStatus.CANCELLED);
+        List<OrderItemPojo> items = orderItemApi.getByOrderId(order.getOrderId());
+        if (OrderStatus.PLACED.getValue().equals(order.getStatus())) {
+            inventoryApi.releaseBulk(OrderHelper.sumQuantitiesByProduct(items));
+        } else {
+            InventoryHoldPojo hold = inventoryHoldApi.claim(order.getOrderId());
+            if (hold != null && inventoryHoldApi.startRelease(hold)) {
+                inventoryApi.releaseBulk(hold.getQuantities());
+                inventoryHoldApi.complete(hold);
+            }
+        }
+        OrderPojo cancelled = updateOrderStatus(order.getId(), OrderStatus.CANCELLED);
+        return new OrderResult(cancelled, items, false, new ArrayList<>());
     }
 
+    @FlowOperation("retry")
     @Transactional(rollbackFor = ApiException.class)
-    public OrderCreationResult retryOrder(String orderId, List<OrderItemPojo> updatedItems)
+    public OrderResult retryOrder(String orderId, List<OrderItemPojo> updatedItems)
             throws ApiException {
         orderId = OrderHelper.validateOrderId(orderId);
         OrderPojo order = validateRetryableOrder(orderId);
 
         // Resolve barcodes to productIds for updated items
         List<String> barcodes = OrderHelper.extractBarcodes(updatedItems);
+        Map<String, ProductPojo> productsByBarcode = Collections.emptyMap();
         if (!barcodes.isEmpty()) {
-            Map<String, ProductPojo> productsByBarcode = productApi.getByBarcodes(barcodes);
+            productsByBarcode = productApi.getByBarcodes(barcodes);
             resolveProductIds(updatedItems, productsByBarcode);
         }
 
         List<OrderItemPojo> itemsToCheck = prepareItemsForRetry(orderId, updatedItems);
         List<String> productIds = OrderHelper.extractProductIds(itemsToCheck);
-        BulkData bulkData = fetchBulkData(productIds);
+        BulkData bulkData = fetchBulkData(productIds, productsByBarcode);
+        bulkData.claim(inventoryHoldApi.claim(orderId));
         InventoryCheckResult checkResult = checkAllInventoryAvailable(itemsToCheck, bulkData);
+        convertHold(bulkData);
 
-        if (checkResult.isAllAvailable()) {
+        if (checkResult.isAllAvailable() && reserveInventory(itemsToCheck, checkResult, bulkData)) {
             return processFulfillableRetry(order, itemsToCheck, bulkData);
         } else {
-            return processUnfulfillableRetry(order, updatedItems, checkResult, bulkData);
+            holdInventory(orderId, itemsToCheck, bulkData);
+            return processUnfulfillableRetry(order, updatedItems, itemsToCheck, checkResult, bulkData);
         }
     }
 
+    @FlowOperation("update")
     @Transactional(rollbackFor = ApiException.class)
-    public OrderPojo updateOrder(String orderId, List<OrderItemPojo> newOrderItems) throws ApiException {
+    public OrderResult updateOrder(String orderId, List<OrderItemPojo> newOrderItems) throws ApiException {
         orderId = OrderHelper.validateOrderId(orderId);
         OrderPojo order = validateUpdatableOrder(orderId);
 
@@ -128,45 +233,113 @@ public class OrderFlow {
 
         OrderCalculator totals = new OrderCalculator();
         List<String> newProductIds = OrderHelper.extractProductIds(newOrderItems);
-        BulkData bulkData = fetchBulkData(newProductIds);
+        BulkData bulkData = fetchBulkData(newProductIds, productsByBarcode);
         InventoryCheckResult checkResult = checkAllInventoryAvailable(newOrderItems, bulkData);
 
         return processOrderUpdate(order, orderId, newOrderItems, checkResult, bulkData, totals);
     }
 
     private String generateOrderId() {
-        long orderNumber = sequenceGenerator.getNextSequence("order");
+        return formatOrderId(sequenceGenerator.getNextSequence("order"));
+    }
+
+    private String formatOrderId(long orderNumber) {
         return "ORD-" + String.format("%06d", orderNumber);
     }
 
-    private String processOrderCreation(String orderId, List<OrderItemPojo> orderItems,
-            InventoryCheckResult checkResult, BulkData bulkData, OrderCalculator totals) throws ApiException {
-        List<OrderItemPojo> savedItems = new ArrayList<>();
+    // Allocates stock to the pending orders in submission order and reserves it with one guarded bulk write.
+    // Orders that lost a race on some product get their other reservations back and are returned for a retry.
+    private List<Integer> reserveInSubmissionOrder(List<List<OrderItemPojo>> orders, List<Integer> pending,
+            Map<String, ProductPojo> productMap, BatchAllocation allocation) {
+        Map<Integer, Map<String, Integer>> demands = new HashMap<>();
+        Set<String> productIds = new HashSet<>();
+        for (int index : pending) {
+            Map<String, Integer> demand = OrderHelper.sumQuantitiesByProduct(orders.get(index));
+            demands.put(index, demand);
+            productIds.addAll(demand.keySet());
+        }
+
+        Map<String, Integer> stock = new HashMap<>();
+        for (InventoryPojo inventory : inventoryApi.getByProductIds(new ArrayList<>(productIds))) {
+            stock.put(inventory.getProductId(), inventory.getQuantity() != null ? inventory.getQuantity() : 0);
+        }
+        Map<String, Integer> stockRead = new HashMap<>(stock);
+
+        Map<String, Integer> reservations = new HashMap<>();
+        List<Integer> candidates = new ArrayList<>();
+        for (int index : pending) {
+            List<UnfulfillableItemData> unfulfillable = new ArrayList<>();
+            for (Map.Entry<String, Integer> line : demands.get(index).entrySet()) {
+                int available = stock.getOrDefault(line.getKey(), 0);
+                if (available < line.getValue()) {
+                    ProductPojo product = productMap.get(line.getKey());
+                    unfulfillable.add(OrderHelper.createUnfulfillableItem(product.getBarcode(), product.getName(),
+                            line.getValue(), available, available == 0 ? "OUT_OF_STOCK" : "INSUFFICIENT_QUANTITY"));
+                }
+            }
+            allocation.unfulfillableItems.set(index, unfulfillable);
+            if (unfulfillable.isEmpty()) {
+                demands.get(index).forEach((productId, quantity) -> {
+                    stock.merge(productId, -quantity, Integer::sum);
+                    reservations.merge(productId, quantity, Integer::sum);
+                });
+                candidates.add(index);
+            }
+        }
 
-        if (checkResult.isAllAvailable()) {
-            Map<String, Integer> inventoryUpdates = OrderHelper.prepareInventoryDeduct(orderItems,
-                    bulkData.inventoryMap);
+        Set<String> failedProducts = inventoryApi.reserveBulk(reservations);
+        List<Integer> conflicted = new ArrayList<>();
+        Map<String, Integer> releases = new HashMap<>();
+        for (int index : candidates) {
+            Map<String, Integer> demand = demands.get(index);
+            if (Collections.disjoint(demand.keySet(), failedProducts)) {
+                allocation.placed[index] = true;
+                continue;
+            }
+            conflicted.add(index);
+            List<UnfulfillableItemData> contended = new ArrayList<>();
+            for (Map.Entry<String, Integer> line : demand.entrySet()) {
+                if (failedProducts.contains(line.getKey())) {
+                    ProductPojo product = productMap.get(line.getKey());
+                    contended.add(OrderHelper.createUnfulfillableItem(product.getBarcode(), product.getName(),
+                            line.getValue(), stockRead.get(line.getKey()), "INSUFFICIENT_QUANTITY"));
+                } else {
+                    releases.merge(line.getKey(), line.getValue(), Integer::sum);
+                }
+            }
+            allocation.unfulfillableItems.set(index, contended);
+        }
+        inventoryApi.releaseBulk(releases);
+        return conflicted;
+    }
+
+    private OrderPojo createOrder(String orderId, String orderStatus, OrderCalculator totals) {
+        OrderPojo order = new OrderPojo();
+        order.setOrderId(orderId);
+        order.setStatus(orderStatus);
+        order.setTotalItems(totals.getTotalItems());
+        order.setTotalAmount(totals.getTotalAmount());
+        order.setOrderDate(ZonedDateTime.now());
+        return order;
+    }
 
+    private String processOrderCreation(String orderId, List<OrderItemPojo> orderItems,
+            InventoryCheckResult checkResult, BulkData bulkData, List<OrderItemPojo> savedItems,
+            OrderCalculator totals) throws ApiException {
+        if (checkResult.isAllAvailable() && reserveInventory(orderItems, checkResult, bulkData)) {
             processOrderItems(orderItems, orderId, bulkData.productMap, savedItems, totals);
-            inventoryApi.bulkUpdateQuantities(inventoryUpdates);
 
             return OrderStatus.PLACED.getValue();
         } else {
             processOrderItems(orderItems, orderId, bulkData.productMap, savedItems, totals);
+            holdInventory(orderId, orderItems, bulkData);
 
             return OrderStatus.UNFULFILLABLE.getValue();
         }
     }
 
     private OrderPojo saveNewOrder(String orderId, String orderStatus, OrderCalculator totals) throws ApiException {
-        OrderPojo order = new OrderPojo();
-        order.setOrderId(orderId);
-        order.setStatus(orderStatus);
-        order.setTotalItems(totals.getTotalItems());
-        order.setTotalAmount(totals.getTotalAmount());
-        order.setOrderDate(ZonedDateTime.now());
-
-        return orderApi.add(order);
+        return orderApi.add(createOrder(orderId, orderStatus, totals));
     }
 
     private InventoryCheckResult checkAllInventoryAvailable(List<OrderItemPojo> orderItems, BulkData bulkData)
@@ -180,8 +353,7 @@ public class OrderFlow {
                 throw new ApiException("Product with ID " + item.getProductId() + " does not exist");
             }
 
-            InventoryPojo inventory = bulkData.inventoryMap.get(item.getProductId());
-            int availableQty = (inventory != null && inventory.getQuantity() != null) ? inventory.getQuantity() : 0;
+            int availableQty = bulkData.available(item.getProductId());
 
             if (availableQty < item.getQuantity()) {
                 String reason = availableQty == 0 ? "OUT_OF_STOCK" : "INSUFFICIENT_QUANTITY";
@@ -200,6 +372,104 @@ public class OrderFlow {
         return result;
     }
 
+    // Stock is taken as guarded deltas, so a concurrent order can still win a product between the availability check
+    // and this write. The order then gets its other products back and becomes unfulfillable. Held stock is already
+    // deducted, so only the rest is reserved and a hold larger than the order is returned.
+    private boolean reserveInventory(List<OrderItemPojo> orderItems, InventoryCheckResult checkResult,
+            BulkData bulkData) {
+        Map<String, Integer> demand = OrderHelper.sumQuantitiesByProduct(orderItems);
+        Map<String, Integer> toReserve = new HashMap<>();
+        demand.forEach((productId, quantity) -> {
+            int remaining = quantity - bulkData.heldQuantities.getOrDefault(productId, 0);
+            if (remaining > 0) {
+                toReserve.put(productId, remaining);
+            }
+        });
+        Set<String> failedProducts = inventoryApi.reserveBulk(toReserve);
+        if (failedProducts.isEmpty()) {
+            inventoryApi.releaseBulk(surplusHeld(demand, bulkData.heldQuantities));
+            // A converted hold taken over meanwhile is deleted without moving stock, so a lost claim changes nothing
+            if (bulkData.claimedHold != null) {
+                inventoryHoldApi.complete(bulkData.claimedHold);
+            }
+            return true;
+        }
+
+        Map<String, Integer> releases = new HashMap<>();
+        List<UnfulfillableItemData> unfulfillableItems = new ArrayList<>();
+        for (Map.Entry<String, Integer> line : toReserve.entrySet()) {
+            if (!failedProducts.contains(line.getKey())) {
+                releases.put(line.getKey(), line.getValue());
+                continue;
+            }
+            ProductPojo product = bulkData.productMap.get(line.getKey());
+            unfulfillableItems.add(OrderHelper.createUnfulfillableItem(product.getBarcode(), product.getName(),
+                    demand.get(line.getKey()), bulkData.available(line.getKey()), "INSUFFICIENT_QUANTITY"));
+        }
+        inventoryApi.releaseBulk(releases);
+        checkResult.setAllAvailable(false);
+        checkResult.setUnfulfillableItems(unfulfillableItems);
+        return false;
+    }
+
+    // Holds whatever part of an unfulfillable order is in stock, so a retry only has to find the rest. Stock the
+    // order already held is kept, topped up where more is available, and returned where the order no longer needs it.
+    private void holdInventory(String orderId, List<OrderItemPojo> orderItems, BulkData bulkData) {
+        if (bulkData.holdLost) {
+            // The order's hold still exists until whoever took it over returns its stock; nothing new is held
+            return;
+        }
+        Map<String, Integer> demand = OrderHelper.sumQuantitiesByProduct(orderItems);
+        Map<String, Integer> hold = new HashMap<>();
+        Map<String, Integer> topUps = new HashMap<>();
+        demand.forEach((productId, quantity) -> {
+            int kept = Math.min(bulkData.heldQuantities.getOrDefault(productId, 0), quantity);
+            if (kept > 0) {
+                hold.put(productId, kept);
+            }
+            int topUp = Math.min(quantity - kept, bulkData.available(productId) - kept);
+            if (topUp > 0) {
+                topUps.put(productId, topUp);
+            }
+        });
+
+        Set<String> failedProducts = inventoryApi.reserveBulk(topUps);
+        topUps.forEach((productId, quantity) -> {
+            if (!failedProducts.contains(productId)) {
+                hold.merge(productId, quantity, Integer::sum);
+            }
+        });
+        inventoryApi.releaseBulk(surplusHeld(demand, bulkData.heldQuantities));
+        if (bulkData.claimedHold != null) {
+            if (!inventoryHoldApi.rehold(bulkData.claimedHold, hold)) {
+                // The converted hold was taken over and is dropped without returning its stock, so nothing would
+                // track what this order kept
+                inventoryApi.releaseBulk(hold);
+            }
+        } else {
+            inventoryHoldApi.hold(orderId, hold);
+        }
+    }
+
+    // From here on the flow moves the held stock itself, so the hold is marked converted first. If the claim was lost
+    // already, whoever took it over returns the held stock and the order goes on as if it had no hold.
+    private void convertHold(BulkData bulkData) {
+        if (bulkData.claimedHold != null && !inventoryHoldApi.convert(bulkData.claimedHold)) {
+            bulkData.loseHold();
+        }
+    }
+
+    private Map<String, Integer> surplusHeld(Map<String, Integer> demand, Map<String, Integer> heldQuantities) {
+        Map<String, Integer> surplus = new HashMap<>();
+        heldQuantities.forEach((productId, quantity) -> {
+            int extra = quantity - demand.getOrDefault(productId, 0);
+            if (extra > 0) {
+                surplus.put(productId, extra);
+            }
+        });
+        return surplus;
+    }
+
     private OrderPojo validateCancellableOrder(String orderId) throws ApiException {
         OrderPojo order = orderApi.getCheckByOrderId(orderId);
 
@@ -212,14 +482,6 @@ public class OrderFlow {
         return order;
     }
 
-    private void restoreInventoryForCancelledOrder(String orderId) {
-        List<OrderItemPojo> items = orderItemApi.getByOrderId(orderId);
-        List<String> productIds = OrderHelper.extractProductIds(items);
-        Map<String, InventoryPojo> inventoryMap = OrderHelper.fetchInventoriesMap(inventoryApi, productIds);
-        Map<String, Integer> inventoryUpdates = OrderHelper.prepareInventoryRestore(items, inventoryMap);
-        inventoryApi.bulkUpdateQuantities(inventoryUpdates);
-    }
-
     private OrderPojo updateOrderStatus(String orderId, OrderStatus status) throws ApiException {
         return orderApi.update(orderId, OrderHelper.createOrderPatch(status.getValue()));
     }
@@ -234,33 +496,28 @@ public class OrderFlow {
 
     private void restoreAndClearExistingItems(String orderId) throws ApiException {
         List<OrderItemPojo> existingItems = orderItemApi.getByOrderId(orderId);
-        List<String> existingProductIds = OrderHelper.extractProductIds(existingItems);
-        Map<String, InventoryPojo> inventoryMap = OrderHelper.fetchInventoriesMap(inventoryApi, existingProductIds);
-        Map<String, Integer> restoreUpdates = OrderHelper.prepareInventoryRestore(existingItems, inventoryMap);
-
-        inventoryApi.bulkUpdateQuantities(restoreUpdates);
+        inventoryApi.releaseBulk(OrderHelper.sumQuantitiesByProduct(existingItems));
 
         for (OrderItemPojo item : existingItems) {
             orderItemApi.delete(item.getId());
         }
     }
 
-    private OrderPojo processOrderUpdate(OrderPojo order, String orderId, List<OrderItemPojo> newOrderItems,
+    private OrderResult processOrderUpdate(OrderPojo order, String orderId, List<OrderItemPojo> newOrderItems,
             InventoryCheckResult checkResult, BulkData bulkData, OrderCalculator totals) throws ApiException {
         List<OrderItemPojo> savedItems = new ArrayList<>();
 
-        if (checkResult.isAllAvailable()) {
-            Map<String, Integer> deductUpdates = OrderHelper.prepareInventoryDeduct(newOrderItems,
-                    bulkData.inventoryMap);
-
+        if (checkResult.isAllAvailable() && reserveInventory(newOrderItems, checkResult, bulkData)) {
             processOrderItems(newOrderItems, orderId, bulkData.productMap, savedItems, totals);
-            inventoryApi.bulkUpdateQuantities(deductUpdates);
 
-            return updateOrderStatus(order.getId(), OrderStatus.PLACED, totals);
+            OrderPojo updated = updateOrderStatus(order.getId(), OrderStatus.PLACED, totals);
+            return new OrderResult(updated, savedItems, true, new ArrayList<>());
         } else {
             processOrderItems(newOrderItems, orderId, bulkData.productMap, savedItems, totals);
+            holdInventory(orderId, newOrderItems, bulkData);
 
-            return updateOrderStatus(order.getId(), OrderStatus.UNFULFILLABLE, totals);
+            OrderPojo updated = updateOrderStatus(order.getId(), OrderStatus.UNFULFILLABLE, totals);
+            return new OrderResult(updated, savedItems, false, checkResult.getUnfulfillableItems());
         }
     }
 
@@ -292,10 +549,8 @@ public class OrderFlow {
         }
     }
 
-    private OrderCreationResult processFulfillableRetry(OrderPojo order, List<OrderItemPojo> itemsToCheck,
+    private OrderResult processFulfillableRetry(OrderPojo order, List<OrderItemPojo> itemsToCheck,
             BulkData bulkData) throws ApiException {
-        Map<String, Integer> inventoryUpdates = OrderHelper.prepareInventoryDeduct(itemsToCheck, bulkData.inventoryMap);
-
         OrderCalculator totals = new OrderCalculator();
         List<OrderItemPojo> itemsToSave = new ArrayList<>();
 
@@ -317,36 +572,32 @@ public class OrderFlow {
             orderItemApi.addBulk(itemsToSave);
         }
 
-        inventoryApi.bulkUpdateQuantities(inventoryUpdates);
-
         OrderPojo updatedOrder = orderApi.update(order.getId(), OrderHelper.createOrderPatch(
                 OrderStatus.PLACED.getValue(),
                 totals.getTotalItems(),
                 totals.getTotalAmount()));
 
-        return OrderHelper.createOrderCreationResult(
-                updatedOrder.getOrderId(),
-                true,
-                new ArrayList<>());
+        return new OrderResult(updatedOrder, itemsToCheck, true, new ArrayList<>());
     }
 
-    private OrderCreationResult processUnfulfillableRetry(OrderPojo order, List<OrderItemPojo> updatedItems,
-            InventoryCheckResult checkResult, BulkData bulkData) throws ApiException {
+    private OrderResult processUnfulfillableRetry(OrderPojo order, List<OrderItemPojo> updatedItems,
+            List<OrderItemPojo> existingItems, InventoryCheckResult checkResult, BulkData bulkData)
+            throws ApiException {
         OrderCalculator totals = new OrderCalculator();
+        OrderPojo resultOrder = order;
+        List<OrderItemPojo> items = existingItems;
 
         if (updatedItems != null && !updatedItems.isEmpty()) {
-            processOrderItems(updatedItems, order.getOrderId(), bulkData.productMap, new ArrayList<>(), totals);
+            items = new ArrayList<>();
+            processOrderItems(updatedItems, order.getOrderId(), bulkData.productMap, items, totals);
 
-            orderApi.update(order.getId(), OrderHelper.createOrderPatch(
+            resultOrder = orderApi.update(order.getId(), OrderHelper.createOrderPatch(
                     OrderStatus.UNFULFILLABLE.getValue(),
                     totals.getTotalItems(),
                     totals.getTotalAmount()));
         }
 
-        return OrderHelper.createOrderCreationResult(
-                order.getOrderId(),
-                false,
-                checkResult.getUnfulfillableItems());
+        return new OrderResult(resultOrder, items, false, checkResult.getUnfulfillableItems());
     }
 
     private void resolveProductIds(List<OrderItemPojo> orderItems, Map<String, ProductPojo> productsByBarcode)
@@ -364,18 +615,56 @@ public class OrderFlow {
         }
     }
 
-    private BulkData fetchBulkData(List<String> productIds) throws ApiException {
-        List<ProductPojo> products = productApi.getByIds(productIds);
-        List<InventoryPojo> inventories = inventoryApi.getByProductIds(productIds);
+    // Products already resolved by barcode are reused; only the rest are fetched, alongside the inventory read
+    private BulkData fetchBulkData(List<String> productIds, Map<String, ProductPojo> productsByBarcode)
+            throws ApiException {
+        Map<String, ProductPojo> productMap = new HashMap<>();
+        addProducts(productMap, productsByBarcode.values());
+        List<String> missingIds = productIds.stream()
+                .filter(id -> !productMap.containsKey(id))
+                .distinct()
+                .collect(Collectors.toList());
+
+        List<InventoryPojo> inventories;
+        if (missingIds.isEmpty()) {
+            inventories = inventoryApi.getByProductIds(productIds);
+        } else if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // A transaction's session is bound to this thread, so reads inside one must stay on it
+            addProducts(productMap, productApi.getByIds(missingIds));
+            inventories = inventoryApi.getByProductIds(productIds);
+        } else {
+            Future<List<InventoryPojo>> inventoriesFuture = fanOutExecutor.submit(
+                    DbCallContext.withCurrentRequest(() -> inventoryApi.getByProductIds(productIds)));
+            addProducts(productMap, productApi.getByIds(missingIds));
+            inventories = await(inventoriesFuture);
+        }
 
-        Map<String, ProductPojo> productMap = products.stream()
-                .collect(Collectors.toMap(ProductPojo::getId, p -> p));
         Map<String, InventoryPojo> inventoryMap = inventories.stream()
                 .collect(Collectors.toMap(InventoryPojo::getProductId, i -> i));
 
         return new BulkData(productMap, inventoryMap);
     }
 
+    private void addProducts(Map<String, ProductPojo> productMap, Collection<ProductPojo> products) {
+        for (ProductPojo product : products) {
+            productMap.put(product.getId(), product);
+        }
+    }
+
+    private <T> T await(Future<T> future) throws ApiException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException("Order processing was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ApiException("Failed to fetch order data: " + e.getCause().getMessage());
+        }
+    }
+
     private void processOrderItems(
             List<OrderItemPojo> items,
             String orderId,
@@ -398,13 +687,46 @@ public class OrderFlow {
         }
     }
 
+    private static class BatchAllocation {
+        final boolean[] placed;
+        final List<List<UnfulfillableItemData>> unfulfillableItems;
+
+        BatchAllocation(int orderCount) {
+            this.placed = new boolean[orderCount];
+            this.unfulfillableItems = new ArrayList<>(Collections.nCopies(orderCount, null));
+        }
+    }
+
     private static class BulkData {
         final Map<String, ProductPojo> productMap;
         final Map<String, InventoryPojo> inventoryMap;
+        // Stock claimed from the order's hold; it is already deducted from inventory but counts as available here
+        InventoryHoldPojo claimedHold;
+        Map<String, Integer> heldQuantities = Collections.emptyMap();
+        boolean holdLost;
 
         BulkData(Map<String, ProductPojo> productMap, Map<String, InventoryPojo> inventoryMap) {
             this.productMap = productMap;
             this.inventoryMap = inventoryMap;
         }
+
+        void claim(InventoryHoldPojo hold) {
+            if (hold != null) {
+                claimedHold = hold;
+                heldQuantities = hold.getQuantities();
+            }
+        }
+
+        void loseHold() {
+            claimedHold = null;
+            heldQuantities = Collections.emptyMap();
+            holdLost = true;
+        }
+
+        int available(String productId) {
+            InventoryPojo inventory = inventoryMap.get(productId);
+            int quantity = (inventory != null && inventory.getQuantity() != null) ? inventory.getQuantity() : 0;
+            return quantity + heldQuantities.getOrDefault(productId, 0);
+        }
     }
 }
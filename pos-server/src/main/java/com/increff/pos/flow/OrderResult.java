@@ -0,0 +1,23 @@
+package com.increff.pos.flow;
+
+import com.increff.pos.db.OrderItemPojo;
+import com.increff.pos.db.OrderPojo;
+import com.increff.pos.model.data.UnfulfillableItemData;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// What an order write left behind, so callers can build the response without reading the order back
+@Getter
+@AllArgsConstructor
+public class OrderResult {
+    private final OrderPojo order;
+    private final List<OrderItemPojo> items;
+    private final boolean fulfillable;
+    private final List<UnfulfillableItemData> unfulfillableItems;
+
+    public String getOrderId() {
+        return order.getOrderId();
+    }
+}
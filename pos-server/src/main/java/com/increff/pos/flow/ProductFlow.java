@@ -16,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -64,6 +65,11 @@ public class ProductFlow {
         return productApi.getAll(form);
     }
 
+    @Transactional(readOnly = true)
+    public Page<ProductPojo> search(String query, String clientId, int page, int size) throws ApiException {
+        return productApi.search(query, clientId, page, size);
+    }
+
     @Transactional(rollbackFor = ApiException.class)
     public ProductPojo update(String id, ProductPojo updatePojo) throws ApiException {
         return productApi.update(id, updatePojo);
@@ -88,4 +94,13 @@ public class ProductFlow {
     public Map<String, ProductPojo> getByBarcodes(List<String> barcodes) throws ApiException {
         return productApi.getByBarcodes(barcodes);
     }
+
+    // Products and their inventory are separate writes, so a bulk insert that died between them, or part way through,
+    // leaves products without stock rows. Returns the barcodes that exist, now all with inventory.
+    @Transactional(rollbackFor = ApiException.class)
+    public Set<String> ensureInventory(List<String> barcodes) throws ApiException {
+        Map<String, ProductPojo> products = productApi.getByBarcodes(barcodes);
+        inventoryApi.addMissing(products.values().stream().map(ProductPojo::getId).collect(Collectors.toList()));
+        return products.keySet();
+    }
 }
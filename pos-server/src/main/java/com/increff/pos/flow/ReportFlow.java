@@ -3,6 +3,7 @@ package com.increff.pos.flow;
 import com.increff.pos.api.*;
 import com.increff.pos.db.*;
 import com.increff.pos.exception.ApiException;
+import com.increff.pos.metrics.FlowOperation;
 import com.increff.pos.model.data.ClientSalesReportData;
 import com.increff.pos.model.data.ProductSalesData;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +25,7 @@ public class ReportFlow {
     @Autowired
     private ClientApi clientApi;
 
+    @FlowOperation("report")
     public List<ClientSalesReportData> generateSalesReport(ZonedDateTime fromDate, ZonedDateTime toDate,
             String clientIdFilter) {
         List<OrderPojo> orders = orderApi.getWithFilters(null, "INVOICED", fromDate, toDate);
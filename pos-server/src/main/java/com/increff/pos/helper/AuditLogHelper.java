@@ -1,8 +1,15 @@
 package com.increff.pos.helper;
 
 import com.increff.pos.db.AuditLogPojo;
+import com.increff.pos.exception.ApiException;
 import com.increff.pos.model.data.AuditLogData;
+import com.increff.pos.model.data.AuditLogPageData;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Base64;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -20,4 +27,46 @@ public class AuditLogHelper {
     public static List<AuditLogData> convertToDataList(List<AuditLogPojo> pojoList) {
         return pojoList.stream().map(AuditLogHelper::convertToData).collect(Collectors.toList());
     }
+
+    public static AuditLogPageData createPageData(List<AuditLogPojo> pojoList, int size) {
+        AuditLogPageData pageData = new AuditLogPageData();
+        boolean hasMore = pojoList.size() > size;
+        List<AuditLogPojo> items = hasMore ? pojoList.subList(0, size) : pojoList;
+        pageData.setItems(convertToDataList(items));
+        pageData.setNextCursor(hasMore ? encodeCursor(items.get(items.size() - 1)) : null);
+        return pageData;
+    }
+
+    public static String encodeCursor(AuditLogPojo pojo) {
+        String raw = pojo.getTimestamp().toInstant().toEpochMilli() + ":" + pojo.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decodeCursor(String cursor) throws ApiException {
+        if (cursor == null || cursor.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            long epochMillis = Long.parseLong(raw.substring(0, separator));
+            String id = raw.substring(separator + 1);
+            if (id.isEmpty()) {
+                throw new ApiException("Invalid cursor");
+            }
+            return new Cursor(Instant.ofEpochMilli(epochMillis).atZone(ZoneId.systemDefault()), id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new ApiException("Invalid cursor");
+        }
+    }
+
+    public static class Cursor {
+        public final ZonedDateTime timestamp;
+        public final String id;
+
+        public Cursor(ZonedDateTime timestamp, String id) {
+            this.timestamp = timestamp;
+            this.id = id;
+        }
+    }
 }
@@ -3,6 +3,11 @@ package com.increff.pos.helper;
 import com.increff.pos.db.ClientPojo;
 import com.increff.pos.model.data.ClientData;
 import com.increff.pos.model.form.ClientForm;
+import com.increff.pos.util.SearchKeyUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
 
 public class ClientHelper {
 
@@ -23,4 +28,12 @@ public class ClientHelper {
         data.setPhone(pojo.getPhone());
         return data;
     }
+
+    public static List<String> searchKeys(ClientPojo pojo) {
+        TreeSet<String> keys = new TreeSet<>();
+        SearchKeyUtil.addKeys(keys, "id", pojo.getClientId());
+        SearchKeyUtil.addKeys(keys, "name", pojo.getName());
+        SearchKeyUtil.addKeys(keys, "email", pojo.getEmail());
+        return new ArrayList<>(keys);
+    }
 }
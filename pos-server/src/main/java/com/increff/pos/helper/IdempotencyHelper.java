@@ -0,0 +1,57 @@
+package com.increff.pos.helper;
+
+import com.increff.pos.db.IdempotencyKeyPojo;
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.util.IdempotencyStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZonedDateTime;
+import java.util.HexFormat;
+
+public class IdempotencyHelper {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    public static IdempotencyKeyPojo createKey(String key, String requestHash, String owner,
+            ZonedDateTime lockedUntil, ZonedDateTime expiresAt) {
+        IdempotencyKeyPojo pojo = new IdempotencyKeyPojo();
+        pojo.setKey(key);
+        pojo.setRequestHash(requestHash);
+        pojo.setStatus(IdempotencyStatus.IN_PROGRESS.getValue());
+        pojo.setOwner(owner);
+        pojo.setLockedUntil(lockedUntil);
+        pojo.setExpiresAt(expiresAt);
+        return pojo;
+    }
+
+    // Keys are scoped per operator so two terminals generating the same key never share a response
+    public static String scopeKey(String operatorEmail, String idempotencyKey) throws ApiException {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            throw new ApiException("Idempotency-Key cannot be empty");
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new ApiException("Idempotency-Key cannot exceed " + MAX_KEY_LENGTH + " characters");
+        }
+        return (operatorEmail != null ? operatorEmail.toLowerCase() : "") + ":" + idempotencyKey.trim();
+    }
+
+    public static String requestHash(String method, String path, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(method.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(path.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public static boolean isCompleted(IdempotencyKeyPojo pojo) {
+        return IdempotencyStatus.COMPLETED.getValue().equals(pojo.getStatus());
+    }
+}
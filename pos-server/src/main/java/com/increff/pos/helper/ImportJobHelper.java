@@ -0,0 +1,35 @@
+package com.increff.pos.helper;
+
+import com.increff.pos.db.ImportJobPojo;
+import com.increff.pos.model.data.ImportJobData;
+import com.increff.pos.util.ImportJobStatus;
+
+public class ImportJobHelper {
+
+    public static ImportJobPojo createJob(String type, String contentHash, int chunkSize) {
+        ImportJobPojo pojo = new ImportJobPojo();
+        pojo.setType(type);
+        pojo.setContentHash(contentHash);
+        pojo.setStatus(ImportJobStatus.RUNNING.getValue());
+        pojo.setChunkSize(chunkSize);
+        return pojo;
+    }
+
+    public static ImportJobData convertToData(ImportJobPojo pojo) {
+        ImportJobData data = new ImportJobData();
+        data.setId(pojo.getId());
+        data.setType(pojo.getType());
+        data.setContentHash(pojo.getContentHash());
+        data.setStatus(pojo.getStatus());
+        data.setChunkSize(pojo.getChunkSize());
+        data.setCommittedChunks(pojo.getCommittedChunks());
+        data.setProcessedRows(pojo.getProcessedRows());
+        data.setSuccessCount(pojo.getSuccessCount());
+        data.setFailedCount(pojo.getFailedCount());
+        data.setSkippedCount(pojo.getSkippedCount());
+        data.setErrorMessage(pojo.getErrorMessage());
+        data.setCreatedAt(pojo.getCreatedAt());
+        data.setUpdatedAt(pojo.getUpdatedAt());
+        return data;
+    }
+}
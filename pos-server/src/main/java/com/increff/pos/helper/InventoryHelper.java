@@ -5,9 +5,8 @@ import com.increff.pos.db.ProductPojo;
 import com.increff.pos.exception.ApiException;
 import com.increff.pos.flow.ProductFlow;
 import com.increff.pos.model.data.InventoryData;
-import com.increff.pos.model.data.TsvUploadResult;
+import com.increff.pos.util.TsvLineTokenizer;
 
-import java.util.List;
 import java.util.Map;
 
 public class InventoryHelper {
@@ -22,80 +21,58 @@ public class InventoryHelper {
     }
 
     public static InventoryPojo parseInventory(String line, int rowNum, ProductFlow productFlow) throws ApiException {
-        String[] columns = line.split("\t");
+        TsvLineTokenizer columns = new TsvLineTokenizer().reset(line);
+        checkInventoryColumns(columns, rowNum);
 
-        try {
-            String barcodeStr = columns[0].trim().toLowerCase();
-            String quantityStr = columns[1].trim();
-
-            ProductPojo product = productFlow.getByBarcode(barcodeStr);
-            InventoryPojo pojo = new InventoryPojo();
-            pojo.setProductId(product.getId());
-
-            try {
-                Integer quantity = Integer.parseInt(quantityStr);
-                if (quantity < 0) {
-                    throw new ApiException("Row " + rowNum + ": Quantity cannot be negative");
-                }
-                pojo.setQuantity(quantity);
-            } catch (NumberFormatException e) {
-                throw new ApiException("Row " + rowNum + ": Invalid quantity");
-            }
-
-            return pojo;
-        } catch (ArrayIndexOutOfBoundsException e) {
-            throw new ApiException("Row " + rowNum + ": Missing required columns. Expected: barcode, quantity");
-        }
+        ProductPojo product = productFlow.getByBarcode(parseBarcode(columns));
+        return createInventoryUpdate(product.getId(), parseQuantity(columns, rowNum));
     }
 
     public static InventoryPojo parseInventory(String line, int rowNum, Map<String, ProductPojo> productMap)
             throws ApiException {
-        String[] columns = line.split("\t");
-
-        try {
-            String barcodeStr = columns[0].trim().toLowerCase();
-            String quantityStr = columns[1].trim();
+        return parseInventory(new TsvLineTokenizer().reset(line), rowNum, productMap);
+    }
 
-            ProductPojo product = productMap.get(barcodeStr);
-            if (product == null) {
-                throw new ApiException("Row " + rowNum + ": Product with barcode " + barcodeStr + " does not exist");
-            }
+    public static InventoryPojo parseInventory(TsvLineTokenizer columns, int rowNum,
+            Map<String, ProductPojo> productMap) throws ApiException {
+        checkInventoryColumns(columns, rowNum);
 
-            InventoryPojo pojo = new InventoryPojo();
-            pojo.setProductId(product.getId());
+        String barcodeStr = parseBarcode(columns);
+        ProductPojo product = productMap.get(barcodeStr);
+        if (product == null) {
+            throw new ApiException("Row " + rowNum + ": Product with barcode " + barcodeStr + " does not exist");
+        }
+        return createInventoryUpdate(product.getId(), parseQuantity(columns, rowNum));
+    }
 
-            try {
-                Integer quantity = Integer.parseInt(quantityStr);
-                if (quantity < 0) {
-                    throw new ApiException("Row " + rowNum + ": Quantity cannot be negative");
-                }
-                pojo.setQuantity(quantity);
-            } catch (NumberFormatException e) {
-                throw new ApiException("Row " + rowNum + ": Invalid quantity");
-            }
+    public static String parseBarcode(TsvLineTokenizer columns) {
+        return columns.getLowerCase(0);
+    }
 
-            return pojo;
-        } catch (ArrayIndexOutOfBoundsException e) {
+    private static void checkInventoryColumns(TsvLineTokenizer columns, int rowNum) throws ApiException {
+        if (columns.columnCount() < 2) {
             throw new ApiException("Row " + rowNum + ": Missing required columns. Expected: barcode, quantity");
         }
     }
 
+    private static int parseQuantity(TsvLineTokenizer columns, int rowNum) throws ApiException {
+        int quantity;
+        try {
+            quantity = columns.getInt(1);
+        } catch (NumberFormatException e) {
+            throw new ApiException("Row " + rowNum + ": Invalid quantity");
+        }
+        if (quantity < 0) {
+            throw new ApiException("Row " + rowNum + ": Quantity cannot be negative");
+        }
+        return quantity;
+    }
+
     public static boolean isHeader(String firstLine) {
         String lower = firstLine.toLowerCase();
         return lower.contains("barcode") || lower.contains("quantity");
     }
 
-    public static String buildResultTsv(List<TsvUploadResult> results) {
-        StringBuilder sb = new StringBuilder("Row Number\tStatus\tError Message\tOriginal Data\n");
-        for (TsvUploadResult res : results) {
-            sb.append(res.getRowNumber()).append("\t")
-                    .append(res.getStatus()).append("\t")
-                    .append(res.getErrorMessage() != null ? res.getErrorMessage().replace("\t", " ") : "").append("\t")
-                    .append(res.getData()).append("\n");
-        }
-        return sb.toString();
-    }
-
     public static InventoryPojo createInventoryUpdate(String productId, Integer quantity) {
         InventoryPojo pojo = new InventoryPojo();
         pojo.setProductId(productId);
@@ -13,16 +13,20 @@ import com.increff.pos.model.data.OrderCreationResult;
 import com.increff.pos.model.data.UnfulfillableItemData;
 import org.springframework.util.StringUtils;
 import com.increff.pos.util.NormalizeUtil;
+import com.increff.pos.util.SearchKeyUtil;
 
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 public class OrderHelper {
@@ -98,6 +102,14 @@ public class OrderHelper {
                 .collect(Collectors.toMap(InventoryPojo::getProductId, i -> i));
     }
 
+    public static Map<String, Integer> sumQuantitiesByProduct(List<OrderItemPojo> items) {
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItemPojo item : items) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
     public static Map<String, Integer> prepareInventoryRestore(
             List<OrderItemPojo> items,
             Map<String, InventoryPojo> inventoryMap) {
@@ -149,6 +161,14 @@ public class OrderHelper {
         return result;
     }
 
+    public static OrderCreationResult createFailedOrderCreationResult(String error) {
+        OrderCreationResult result = new OrderCreationResult();
+        result.setFulfillable(false);
+        result.setUnfulfillableItems(new ArrayList<>());
+        result.setError(error);
+        return result;
+    }
+
     public static UnfulfillableItemData createUnfulfillableItem(String barcode, String productName,
             Integer requestedQuantity, Integer availableQuantity, String reason) {
         UnfulfillableItemData item = new UnfulfillableItemData();
@@ -200,4 +220,10 @@ public class OrderHelper {
         item.setMrp(mrp);
         return item;
     }
+
+    public static List<String> searchKeys(OrderPojo pojo) {
+        TreeSet<String> keys = new TreeSet<>();
+        SearchKeyUtil.addKeys(keys, "id", pojo.getOrderId());
+        return new ArrayList<>(keys);
+    }
 }
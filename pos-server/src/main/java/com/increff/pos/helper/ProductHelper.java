@@ -3,13 +3,12 @@ package com.increff.pos.helper;
 import com.increff.pos.db.ProductPojo;
 import com.increff.pos.exception.ApiException;
 import com.increff.pos.model.data.ProductData;
-import com.increff.pos.model.data.TsvUploadResult;
 import com.increff.pos.model.form.ProductForm;
 import com.increff.pos.db.InventoryPojo;
+import com.increff.pos.util.TsvLineTokenizer;
 
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -59,8 +58,11 @@ public class ProductHelper {
 
     public static ProductPojo parseProduct(String line, int rowNum, Map<String, Integer> columnMap)
             throws ApiException {
-        String[] columns = line.split("\t");
+        return parseProduct(new TsvLineTokenizer().reset(line), rowNum, columnMap);
+    }
 
+    public static ProductPojo parseProduct(TsvLineTokenizer columns, int rowNum, Map<String, Integer> columnMap)
+            throws ApiException {
         ProductPojo pojo = new ProductPojo();
 
         try {
@@ -69,25 +71,26 @@ public class ProductHelper {
             int nameIdx = columnMap.get("name");
             int mrpIdx = columnMap.get("mrp");
 
-            if (barcodeIdx >= columns.length || clientIdIdx >= columns.length ||
-                    nameIdx >= columns.length || mrpIdx >= columns.length) {
+            int columnCount = columns.columnCount();
+            if (barcodeIdx >= columnCount || clientIdIdx >= columnCount ||
+                    nameIdx >= columnCount || mrpIdx >= columnCount) {
                 throw new ApiException("Row " + rowNum + ": Missing required columns");
             }
 
-            pojo.setBarcode(columns[barcodeIdx].trim().toLowerCase());
-            pojo.setClientId(columns[clientIdIdx].trim());
-            pojo.setName(columns[nameIdx].trim().toLowerCase());
+            pojo.setBarcode(columns.getLowerCase(barcodeIdx));
+            pojo.setClientId(columns.get(clientIdIdx));
+            pojo.setName(columns.getLowerCase(nameIdx));
 
             try {
-                pojo.setMrp(Double.parseDouble(columns[mrpIdx].trim()));
+                pojo.setMrp(columns.getDouble(mrpIdx));
             } catch (NumberFormatException e) {
                 throw new ApiException("Row " + rowNum + ": Invalid MRP");
             }
 
             if (columnMap.containsKey("imageurl")) {
                 int imageUrlIdx = columnMap.get("imageurl");
-                if (imageUrlIdx < columns.length) {
-                    pojo.setImageUrl(columns[imageUrlIdx].trim());
+                if (imageUrlIdx < columnCount) {
+                    pojo.setImageUrl(columns.get(imageUrlIdx));
                 }
             }
         } catch (NullPointerException e) {
@@ -109,17 +112,6 @@ public class ProductHelper {
                 columnSet.contains("name") && columnSet.contains("mrp");
     }
 
-    public static String buildResultTsv(List<TsvUploadResult> results) {
-        StringBuilder sb = new StringBuilder("Row Number\tStatus\tError Message\tOriginal Data\n");
-        for (TsvUploadResult res : results) {
-            sb.append(res.getRowNumber()).append("\t")
-                    .append(res.getStatus()).append("\t")
-                    .append(res.getErrorMessage() != null ? res.getErrorMessage().replace("\t", " ") : "").append("\t")
-                    .append(res.getData()).append("\n");
-        }
-        return sb.toString();
-    }
-
     public static InventoryPojo createInitialInventory(String productId) {
         InventoryPojo inventory = new InventoryPojo();
         inventory.setProductId(productId);
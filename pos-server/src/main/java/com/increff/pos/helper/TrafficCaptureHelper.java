@@ -0,0 +1,87 @@
+package com.increff.pos.helper;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.increff.pos.model.data.CapturedExchangeData;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class TrafficCaptureHelper {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    public static CapturedExchangeData createExchange(long timestamp, String method, String path, String query,
+            String contentType, byte[] requestBody, boolean truncated, int status, byte[] responseBody,
+            double durationMs) {
+        CapturedExchangeData exchange = new CapturedExchangeData();
+        exchange.setTimestamp(timestamp);
+        exchange.setMethod(method);
+        exchange.setPath(path);
+        exchange.setQuery(query);
+        exchange.setContentType(contentType);
+        exchange.setRequestBody(sanitize(toText(requestBody)));
+        exchange.setTruncated(truncated);
+        exchange.setStatus(status);
+        exchange.setResponseBody(sanitize(toText(responseBody)));
+        exchange.setDurationMs(durationMs);
+        return exchange;
+    }
+
+    public static String sanitize(String body) {
+        if (body == null || body.isEmpty() || (body.charAt(0) != '{' && body.charAt(0) != '[')) {
+            return body;
+        }
+        try {
+            JsonNode node = objectMapper.readTree(body);
+            sanitizeNode(node);
+            return objectMapper.writeValueAsString(node);
+        } catch (JsonProcessingException e) {
+            return body;
+        }
+    }
+
+    private static void sanitizeNode(JsonNode node) {
+        if (node.isArray()) {
+            node.forEach(TrafficCaptureHelper::sanitizeNode);
+            return;
+        }
+        if (!node.isObject()) {
+            return;
+        }
+        ObjectNode object = (ObjectNode) node;
+        List<Map.Entry<String, JsonNode>> fields = new ArrayList<>();
+        object.fields().forEachRemaining(fields::add);
+        for (Map.Entry<String, JsonNode> field : fields) {
+            JsonNode value = field.getValue();
+            if (!value.isTextual()) {
+                sanitizeNode(value);
+                continue;
+            }
+            // Masks keep the original format so replayed forms still pass validation
+            switch (field.getKey().toLowerCase()) {
+                case "password", "token", "authorization" -> object.put(field.getKey(), "***");
+                case "email", "operatoremail" -> object.put(field.getKey(), maskEmail(value.asText()));
+                case "phone" -> object.put(field.getKey(), maskPhone(value.asText()));
+                default -> {
+                }
+            }
+        }
+    }
+
+    private static String maskEmail(String email) {
+        return "user" + Integer.toHexString(email.toLowerCase().hashCode()) + "@example.com";
+    }
+
+    private static String maskPhone(String phone) {
+        return String.format("9%09d", Math.floorMod(phone.hashCode(), 1_000_000_000));
+    }
+
+    private static String toText(byte[] body) {
+        return body == null || body.length == 0 ? null : new String(body, StandardCharsets.UTF_8);
+    }
+}
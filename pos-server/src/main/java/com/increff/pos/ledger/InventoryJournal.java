@@ -0,0 +1,145 @@
+package com.increff.pos.ledger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+// Append-only delta log split into numbered segments. A segment is rolled on every flush and deleted once its
+// deltas are in Mongo, so after a crash only the segments still on disk have to be replayed.
+public class InventoryJournal implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "inventory-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private final Path directory;
+    private final boolean fsync;
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    private FileChannel channel;
+    private long segment;
+    private volatile boolean dirty;
+
+    public InventoryJournal(Path directory, boolean fsync) {
+        this.directory = directory;
+        this.fsync = fsync;
+    }
+
+    public void open(long segment) throws IOException {
+        Files.createDirectories(directory);
+        appendLock.lock();
+        try {
+            this.segment = segment;
+            this.channel = FileChannel.open(segmentPath(segment),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            this.dirty = false;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    public void append(String records) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(records.getBytes(StandardCharsets.UTF_8));
+        appendLock.lock();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+            dirty = true;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    // Closes the active segment and returns its number; later appends go to the next segment
+    public long roll() throws IOException {
+        appendLock.lock();
+        try {
+            long closed = segment;
+            channel.close();
+            open(closed + 1);
+            return closed;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    public void deleteThrough(long seq) throws IOException {
+        for (long existing : listSegments()) {
+            if (existing <= seq && existing != segment) {
+                Files.deleteIfExists(segmentPath(existing));
+            }
+        }
+    }
+
+    // Replays every segment on disk in order and returns the highest segment number seen, or 0 when there is none.
+    // Only newline-terminated records count, so a record torn by a crash mid-append is dropped.
+    public long replay(RecordHandler handler) throws IOException {
+        long lastSegment = 0;
+        for (long existing : listSegments()) {
+            String content = Files.readString(segmentPath(existing), StandardCharsets.UTF_8);
+            int start = 0;
+            int end;
+            while ((end = content.indexOf('\n', start)) >= 0) {
+                int tab = content.indexOf('\t', start);
+                if (tab > start && tab < end) {
+                    handler.apply(existing, content.substring(start, tab),
+                            Integer.parseInt(content, tab + 1, end, 10));
+                }
+                start = end + 1;
+            }
+            lastSegment = existing;
+        }
+        return lastSegment;
+    }
+
+    @Override
+    public void close() throws IOException {
+        appendLock.lock();
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private List<Long> listSegments() throws IOException {
+        List<Long> segments = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return segments;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .forEach(name -> segments.add(Long.parseLong(
+                            name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()))));
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    private Path segmentPath(long seq) {
+        return directory.resolve(SEGMENT_PREFIX + String.format("%012d", seq) + SEGMENT_SUFFIX);
+    }
+
+    public interface RecordHandler {
+        void apply(long segment, String productId, int delta);
+    }
+}
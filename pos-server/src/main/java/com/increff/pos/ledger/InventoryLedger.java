@@ -0,0 +1,395 @@
+package com.increff.pos.ledger;
+
+import com.increff.pos.dao.InventoryDao;
+import com.increff.pos.db.InventoryPojo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// Single-node inventory engine. Quantities live in int pages indexed by a per-product slot and change through CAS,
+// every change is journaled before it is acknowledged, and the accumulated deltas reach Mongo as $inc batches.
+// Only one application instance may run with the ledger enabled, since Mongo is no longer the source of truth.
+@Component
+@ConditionalOnProperty(name = "inventory.ledger.enabled", havingValue = "true")
+public class InventoryLedger implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryLedger.class);
+
+    private static final int PAGE_BITS = 12;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    private static final int MAX_PAGES = 4096;
+
+    private final InventoryDao inventoryDao;
+    private final InventoryJournal journal;
+    private final long flushIntervalMs;
+
+    private final Map<String, Integer> slots = new ConcurrentHashMap<>();
+    private final Page[] pages = new Page[MAX_PAGES];
+    private final ReentrantLock registerLock = new ReentrantLock();
+    private int slotCount;
+
+    // Changes hold the read lock so a flush can cut the pending deltas and the journal segment at the same point
+    private final ReentrantReadWriteLock flushBarrier = new ReentrantReadWriteLock();
+    private final ConcurrentLinkedQueue<Integer> dirtySlots = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Deque<FlushBatch> unflushed = new ArrayDeque<>();
+
+    private final Counter flushedCounter;
+    private final Counter flushFailureCounter;
+
+    private volatile boolean running;
+    private Thread flusherThread;
+
+    public InventoryLedger(InventoryDao inventoryDao, MeterRegistry meterRegistry,
+            @Value("${inventory.ledger.journal-path:./inventory-journal}") String journalPath,
+            @Value("${inventory.ledger.fsync:false}") boolean fsync,
+            @Value("${inventory.ledger.flush-interval-ms:500}") long flushIntervalMs) {
+        this.inventoryDao = inventoryDao;
+        this.journal = new InventoryJournal(Paths.get(journalPath), fsync);
+        this.flushIntervalMs = flushIntervalMs;
+
+        this.flushedCounter = meterRegistry.counter("inventory.ledger.flushed");
+        this.flushFailureCounter = meterRegistry.counter("inventory.ledger.flush.failures");
+        Gauge.builder("inventory.ledger.products", slots, Map::size).register(meterRegistry);
+        Gauge.builder("inventory.ledger.unflushed.batches", this, ledger -> ledger.unflushed.size())
+                .register(meterRegistry);
+    }
+
+    public boolean contains(String productId) {
+        return slots.containsKey(productId);
+    }
+
+    public Integer getQuantity(String productId) {
+        Integer slot = slots.get(productId);
+        return slot == null ? null : page(slot).quantities.get(slot & PAGE_MASK);
+    }
+
+    public InventoryPojo get(String productId) {
+        Integer slot = slots.get(productId);
+        if (slot == null) {
+            return null;
+        }
+        Page page = page(slot);
+        InventoryPojo inventory = new InventoryPojo();
+        inventory.setId(page.inventoryIds[slot & PAGE_MASK]);
+        inventory.setProductId(productId);
+        inventory.setQuantity(page.quantities.get(slot & PAGE_MASK));
+        return inventory;
+    }
+
+    public void register(InventoryPojo inventory) {
+        registerLock.lock();
+        try {
+            if (slots.containsKey(inventory.getProductId())) {
+                return;
+            }
+            int slot = slotCount;
+            if ((slot >>> PAGE_BITS) >= MAX_PAGES) {
+                throw new IllegalStateException("Inventory ledger is full");
+            }
+            if (pages[slot >>> PAGE_BITS] == null) {
+                pages[slot >>> PAGE_BITS] = new Page();
+            }
+            Page page = pages[slot >>> PAGE_BITS];
+            page.inventoryIds[slot & PAGE_MASK] = inventory.getId();
+            page.productIds[slot & PAGE_MASK] = inventory.getProductId();
+            page.quantities.set(slot & PAGE_MASK, inventory.getQuantity() != null ? inventory.getQuantity() : 0);
+            slotCount++;
+            slots.put(inventory.getProductId(), slot);
+        } finally {
+            registerLock.unlock();
+        }
+    }
+
+    // Takes each quantity only while enough stock is left and returns the products that could not be reserved
+    // or are not in the ledger
+    public Set<String> reserve(Map<String, Integer> productIdToQuantity) {
+        Set<String> failed = new HashSet<>();
+        Map<Integer, Integer> applied = new HashMap<>();
+        flushBarrier.readLock().lock();
+        try {
+            for (Map.Entry<String, Integer> entry : productIdToQuantity.entrySet()) {
+                Integer slot = slots.get(entry.getKey());
+                if (slot == null || !tryTake(slot, entry.getValue())) {
+                    failed.add(entry.getKey());
+                    continue;
+                }
+                applied.put(slot, -entry.getValue());
+            }
+            record(applied);
+        } finally {
+            flushBarrier.readLock().unlock();
+        }
+        return failed;
+    }
+
+    // Adds each delta and returns the products that are not in the ledger
+    public Set<String> adjust(Map<String, Integer> productIdToDelta) {
+        Set<String> missing = new HashSet<>();
+        Map<Integer, Integer> applied = new HashMap<>();
+        flushBarrier.readLock().lock();
+        try {
+            for (Map.Entry<String, Integer> entry : productIdToDelta.entrySet()) {
+                Integer slot = slots.get(entry.getKey());
+                if (slot == null) {
+                    missing.add(entry.getKey());
+                    continue;
+                }
+                page(slot).quantities.addAndGet(slot & PAGE_MASK, entry.getValue());
+                applied.put(slot, entry.getValue());
+            }
+            record(applied);
+        } finally {
+            flushBarrier.readLock().unlock();
+        }
+        return missing;
+    }
+
+    // Overwrites each quantity, journaling the difference, and returns the products that are not in the ledger
+    public Set<String> set(Map<String, Integer> productIdToQuantity) {
+        Set<String> missing = new HashSet<>();
+        Map<Integer, Integer> applied = new HashMap<>();
+        flushBarrier.readLock().lock();
+        try {
+            for (Map.Entry<String, Integer> entry : productIdToQuantity.entrySet()) {
+                Integer slot = slots.get(entry.getKey());
+                if (slot == null) {
+                    missing.add(entry.getKey());
+                    continue;
+                }
+                int previous = page(slot).quantities.getAndSet(slot & PAGE_MASK, entry.getValue());
+                applied.put(slot, entry.getValue() - previous);
+            }
+            record(applied);
+        } finally {
+            flushBarrier.readLock().unlock();
+        }
+        return missing;
+    }
+
+    // Cuts the pending deltas at a journal segment boundary and writes every unflushed batch to Mongo in order.
+    // A failed batch stays queued with its segment number and is retried as is on the next flush.
+    public void flush() {
+        flushLock.lock();
+        try {
+            cutBatch();
+            while (!unflushed.isEmpty()) {
+                FlushBatch batch = unflushed.peek();
+                try {
+                    inventoryDao.applyLedgerDeltas(batch.seq, batch.deltas);
+                    journal.deleteThrough(batch.seq);
+                } catch (RuntimeException | IOException e) {
+                    flushFailureCounter.increment();
+                    logger.error("Failed to flush inventory ledger segment {}", batch.seq, e);
+                    return;
+                }
+                unflushed.poll();
+                flushedCounter.increment(batch.deltas.size());
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (running) {
+            return;
+        }
+        try {
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to recover inventory ledger", e);
+        }
+        running = true;
+        flusherThread = new Thread(this::runLoop, "inventory-ledger-flusher");
+        flusherThread.setDaemon(true);
+        flusherThread.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread thread = flusherThread;
+        running = false;
+        flusherThread = null;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+        try {
+            journal.close();
+        } catch (IOException e) {
+            logger.error("Failed to close inventory journal", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Loaded before the web server starts taking requests
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 4096;
+    }
+
+    void recover() throws IOException {
+        Map<String, Long> appliedSeqByProduct = new HashMap<>();
+        long maxAppliedSeq = 0;
+        try (Stream<InventoryPojo> inventories = inventoryDao.streamAll()) {
+            for (InventoryPojo inventory : (Iterable<InventoryPojo>) inventories::iterator) {
+                register(inventory);
+                if (inventory.getLedgerSeq() != null) {
+                    appliedSeqByProduct.put(inventory.getProductId(), inventory.getLedgerSeq());
+                    maxAppliedSeq = Math.max(maxAppliedSeq, inventory.getLedgerSeq());
+                }
+            }
+        }
+
+        int[] replayed = new int[1];
+        long lastSegment = journal.replay((segment, productId, delta) -> {
+            Integer slot = slots.get(productId);
+            if (slot == null || segment <= appliedSeqByProduct.getOrDefault(productId, 0L)) {
+                return;
+            }
+            Page page = page(slot);
+            page.quantities.addAndGet(slot & PAGE_MASK, delta);
+            addPending(slot, delta);
+            replayed[0]++;
+        });
+        journal.open(Math.max(lastSegment, maxAppliedSeq) + 1);
+        if (replayed[0] == 0) {
+            journal.deleteThrough(lastSegment);
+        }
+        logger.info("Inventory ledger loaded {} products and replayed {} journal records", slots.size(), replayed[0]);
+    }
+
+    private void runLoop() {
+        while (running) {
+            try {
+                Thread.sleep(flushIntervalMs);
+            } catch (InterruptedException e) {
+                break;
+            }
+            flush();
+        }
+    }
+
+    private void cutBatch() {
+        flushBarrier.writeLock().lock();
+        try {
+            if (dirtySlots.isEmpty() && !journal.isDirty()) {
+                return;
+            }
+            Map<String, Integer> deltas = new HashMap<>();
+            Integer slot;
+            while ((slot = dirtySlots.poll()) != null) {
+                Page page = page(slot);
+                page.dirty.set(slot & PAGE_MASK, 0);
+                int delta = page.pending.getAndSet(slot & PAGE_MASK, 0);
+                if (delta != 0) {
+                    deltas.put(page.productIds[slot & PAGE_MASK], delta);
+                }
+            }
+            unflushed.add(new FlushBatch(journal.roll(), deltas));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to roll inventory journal", e);
+        } finally {
+            flushBarrier.writeLock().unlock();
+        }
+    }
+
+    private boolean tryTake(int slot, int quantity) {
+        AtomicIntegerArray quantities = page(slot).quantities;
+        int index = slot & PAGE_MASK;
+        while (true) {
+            int current = quantities.get(index);
+            if (current < quantity) {
+                return false;
+            }
+            if (quantities.compareAndSet(index, current, current - quantity)) {
+                return true;
+            }
+        }
+    }
+
+    // Journals the applied deltas and queues them for the next flush. If the journal cannot be written the
+    // in-memory change is undone, so nothing is acknowledged that a restart would lose.
+    private void record(Map<Integer, Integer> deltaBySlot) {
+        if (deltaBySlot.isEmpty()) {
+            return;
+        }
+        StringBuilder records = new StringBuilder();
+        for (Map.Entry<Integer, Integer> entry : deltaBySlot.entrySet()) {
+            int slot = entry.getKey();
+            records.append(page(slot).productIds[slot & PAGE_MASK]).append('\t').append(entry.getValue()).append('\n');
+        }
+        try {
+            journal.append(records.toString());
+        } catch (IOException e) {
+            deltaBySlot.forEach((slot, delta) -> page(slot).quantities.addAndGet(slot & PAGE_MASK, -delta));
+            throw new UncheckedIOException("Failed to write inventory journal", e);
+        }
+        deltaBySlot.forEach(this::addPending);
+    }
+
+    private void addPending(int slot, int delta) {
+        Page page = page(slot);
+        page.pending.addAndGet(slot & PAGE_MASK, delta);
+        if (page.dirty.compareAndSet(slot & PAGE_MASK, 0, 1)) {
+            dirtySlots.add(slot);
+        }
+    }
+
+    private Page page(int slot) {
+        return pages[slot >>> PAGE_BITS];
+    }
+
+    private static class Page {
+        final AtomicIntegerArray quantities = new AtomicIntegerArray(PAGE_SIZE);
+        final AtomicIntegerArray pending = new AtomicIntegerArray(PAGE_SIZE);
+        final AtomicIntegerArray dirty = new AtomicIntegerArray(PAGE_SIZE);
+        final String[] inventoryIds = new String[PAGE_SIZE];
+        final String[] productIds = new String[PAGE_SIZE];
+    }
+
+    private static class FlushBatch {
+        final long seq;
+        final Map<String, Integer> deltas;
+
+        FlushBatch(long seq, Map<String, Integer> deltas) {
+            this.seq = seq;
+            this.deltas = deltas;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.increff.pos.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Aspect
+@Component
+public class DaoMetricsAspect {
+
+    public static final String DAO_TIMER = "db.dao.call";
+
+    private static final String DAO_PACKAGE = "com.increff.pos.dao";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, String> daoNames = new ConcurrentHashMap<>();
+
+    public DaoMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.increff.pos.dao..*(..))")
+    public Object timeDaoCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        String method = daoName(joinPoint.getTarget()) + "." + joinPoint.getSignature().getName();
+        boolean outermost = DbCallContext.enterDaoMethod(method);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "SUCCESS";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = "FAILURE";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(DAO_TIMER)
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry));
+            if (outermost) {
+                DbCallContext.exitDaoMethod();
+            }
+        }
+    }
+
+    private String daoName(Object target) {
+        return daoNames.computeIfAbsent(AopUtils.getTargetClass(target), targetClass -> {
+            // Spring Data repositories are JDK proxies; name them after their DAO interface
+            if (Proxy.isProxyClass(targetClass)) {
+                for (Class<?> iface : targetClass.getInterfaces()) {
+                    if (iface.getPackageName().equals(DAO_PACKAGE)) {
+                        return iface.getSimpleName();
+                    }
+                }
+            }
+            return targetClass.getSimpleName();
+        });
+    }
+}
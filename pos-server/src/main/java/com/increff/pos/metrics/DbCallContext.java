@@ -0,0 +1,80 @@
+package com.increff.pos.metrics;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class DbCallContext {
+
+    private static final ThreadLocal<String> daoMethod = new ThreadLocal<>();
+    private static final ThreadLocal<RequestStats> requestStats = new ThreadLocal<>();
+
+    public static boolean enterDaoMethod(String method) {
+        if (daoMethod.get() != null) {
+            return false;
+        }
+        daoMethod.set(method);
+        return true;
+    }
+
+    public static void exitDaoMethod() {
+        daoMethod.remove();
+    }
+
+    public static String currentDaoMethod() {
+        String method = daoMethod.get();
+        return method != null ? method : "none";
+    }
+
+    public static void startRequest() {
+        requestStats.set(new RequestStats());
+    }
+
+    public static RequestStats currentRequest() {
+        return requestStats.get();
+    }
+
+    public static void endRequest() {
+        requestStats.remove();
+    }
+
+    // Calls made by a task handed to another thread still count towards the request that submitted it
+    public static <T> Callable<T> withCurrentRequest(Callable<T> task) {
+        RequestStats stats = requestStats.get();
+        if (stats == null) {
+            return task;
+        }
+        return () -> {
+            RequestStats previous = requestStats.get();
+            requestStats.set(stats);
+            try {
+                return task.call();
+            } finally {
+                if (previous != null) {
+                    requestStats.set(previous);
+                } else {
+                    requestStats.remove();
+                }
+            }
+        };
+    }
+
+    public static class RequestStats {
+
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicLong nanos = new AtomicLong();
+
+        public void record(long elapsedNanos) {
+            calls.incrementAndGet();
+            nanos.addAndGet(elapsedNanos);
+        }
+
+        public int getCalls() {
+            return calls.get();
+        }
+
+        public double getMillis() {
+            return nanos.get() / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.increff.pos.metrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Locale;
+
+@ControllerAdvice
+@ConditionalOnProperty(name = "db.metrics.request-summary.enabled", havingValue = "true")
+public class DbCallSummaryAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String HEADER = "X-DB-Calls";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        DbCallContext.RequestStats stats = DbCallContext.currentRequest();
+        if (stats != null) {
+            response.getHeaders().set(HEADER,
+                    String.format(Locale.ROOT, "calls=%d; time=%.1fms", stats.getCalls(), stats.getMillis()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,27 @@
+package com.increff.pos.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Component
+@ConditionalOnProperty(name = "db.metrics.request-summary.enabled", havingValue = "true")
+public class DbCallSummaryFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        DbCallContext.startRequest();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            DbCallContext.endRequest();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.increff.pos.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "dbcalls")
+public class DbCallsEndpoint {
+
+    private final MeterRegistry meterRegistry;
+
+    public DbCallsEndpoint(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @ReadOperation
+    public Map<String, Object> dbCalls() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("daoMethods", daoMethods());
+        result.put("commands", commands());
+        return result;
+    }
+
+    private List<Map<String, Object>> daoMethods() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Timer timer : meterRegistry.find(DaoMetricsAspect.DAO_TIMER).timers()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("method", timer.getId().getTag("method"));
+            row.put("outcome", timer.getId().getTag("outcome"));
+            MeterSnapshots.putTimings(row, timer);
+            rows.add(row);
+        }
+        rows.sort(MeterSnapshots.byTotalTime());
+        return rows;
+    }
+
+    private List<Map<String, Object>> commands() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Timer timer : meterRegistry.find(MongoCommandMetricsListener.COMMAND_TIMER).timers()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("method", timer.getId().getTag("method"));
+            row.put("collection", timer.getId().getTag("collection"));
+            row.put("command", timer.getId().getTag("command"));
+            row.put("outcome", timer.getId().getTag("outcome"));
+            MeterSnapshots.putTimings(row, timer);
+            row.put("documents", total(MongoCommandMetricsListener.DOCUMENTS_SUMMARY, timer));
+            row.put("bytes", total(MongoCommandMetricsListener.BYTES_SUMMARY, timer));
+            rows.add(row);
+        }
+        rows.sort(MeterSnapshots.byTotalTime());
+        return rows;
+    }
+
+    private double total(String name, Timer timer) {
+        DistributionSummary summary = meterRegistry.find(name)
+                .tag("method", timer.getId().getTag("method"))
+                .tag("collection", timer.getId().getTag("collection"))
+                .tag("command", timer.getId().getTag("command"))
+                .summary();
+        return summary != null ? summary.totalAmount() : 0;
+    }
+}
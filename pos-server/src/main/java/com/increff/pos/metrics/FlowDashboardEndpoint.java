@@ -0,0 +1,72 @@
+package com.increff.pos.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Component
+@Endpoint(id = "flowdashboard")
+public class FlowDashboardEndpoint {
+
+    private final MeterRegistry meterRegistry;
+
+    public FlowDashboardEndpoint(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @ReadOperation
+    public Map<String, Object> dashboard() {
+        double uptimeSeconds = Math.max(1, ManagementFactory.getRuntimeMXBean().getUptime() / 1000.0);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("uptimeSeconds", uptimeSeconds);
+        result.put("operations", operations(uptimeSeconds));
+        result.put("orderOutcomes", orderOutcomes());
+        result.put("orderItems", orderItems());
+        return result;
+    }
+
+    private List<Map<String, Object>> operations(double uptimeSeconds) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Timer timer : meterRegistry.find(FlowMetricsAspect.OPERATION_TIMER).timers()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("flow", timer.getId().getTag("flow"));
+            row.put("operation", timer.getId().getTag("operation"));
+            row.put("outcome", timer.getId().getTag("outcome"));
+            MeterSnapshots.putTimings(row, timer);
+            row.put("perSecond", timer.count() / uptimeSeconds);
+            rows.add(row);
+        }
+        rows.sort(MeterSnapshots.byTotalTime());
+        return rows;
+    }
+
+    private Map<String, Map<String, Double>> orderOutcomes() {
+        Map<String, Map<String, Double>> outcomes = new TreeMap<>();
+        for (Counter counter : meterRegistry.find(FlowMetricsAspect.ORDER_OUTCOME_COUNTER).counters()) {
+            outcomes.computeIfAbsent(counter.getId().getTag("operation"), operation -> new TreeMap<>())
+                    .put(counter.getId().getTag("status"), counter.count());
+        }
+        return outcomes;
+    }
+
+    private Map<String, Map<String, Object>> orderItems() {
+        Map<String, Map<String, Object>> items = new TreeMap<>();
+        for (DistributionSummary summary : meterRegistry.find(FlowMetricsAspect.ORDER_ITEMS_SUMMARY).summaries()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            MeterSnapshots.putDistribution(row, summary);
+            items.put(summary.getId().getTag("operation"), row);
+        }
+        return items;
+    }
+}
@@ -0,0 +1,116 @@
+package com.increff.pos.metrics;
+
+import com.increff.pos.db.OrderItemPojo;
+import com.increff.pos.db.OrderPojo;
+import com.increff.pos.flow.OrderResult;
+import com.increff.pos.model.data.OrderCreationResult;
+import com.increff.pos.util.OrderStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Aspect
+@Component
+public class FlowMetricsAspect {
+
+    public static final String OPERATION_TIMER = "flow.operation";
+    public static final String ORDER_OUTCOME_COUNTER = "flow.order.outcome";
+    public static final String ORDER_ITEMS_SUMMARY = "flow.order.items";
+
+    private final MeterRegistry meterRegistry;
+
+    public FlowMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("@annotation(flowOperation)")
+    public Object timeOperation(ProceedingJoinPoint joinPoint, FlowOperation flowOperation) throws Throwable {
+        String flow = AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName();
+        String operation = flowOperation.value();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "SUCCESS";
+        try {
+            Object result = joinPoint.proceed();
+            recordOrder(operation, joinPoint.getArgs(), result);
+            return result;
+        } catch (Throwable e) {
+            outcome = "ERROR";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(OPERATION_TIMER)
+                    .tag("flow", flow)
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry));
+        }
+    }
+
+    private void recordOrder(String operation, Object[] args, Object result) {
+        if (result instanceof List<?> results && !results.isEmpty() && results.get(0) instanceof OrderCreationResult) {
+            results.forEach(each -> countOutcome(operation, orderStatus(each)));
+            return;
+        }
+        String status = orderStatus(result);
+        if (status == null) {
+            return;
+        }
+        countOutcome(operation, status);
+
+        List<?> items = orderItems(args);
+        if (items != null) {
+            DistributionSummary.builder(ORDER_ITEMS_SUMMARY)
+                    .tag("operation", operation)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry)
+                    .record(items.size());
+        }
+    }
+
+    private void countOutcome(String operation, String status) {
+        if (status == null) {
+            return;
+        }
+        Counter.builder(ORDER_OUTCOME_COUNTER)
+                .tag("operation", operation)
+                .tag("status", status)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private String orderStatus(Object result) {
+        if (result instanceof OrderCreationResult) {
+            if (((OrderCreationResult) result).getError() != null) {
+                return null;
+            }
+            return ((OrderCreationResult) result).isFulfillable()
+                    ? OrderStatus.PLACED.getValue()
+                    : OrderStatus.UNFULFILLABLE.getValue();
+        }
+        if (result instanceof OrderResult) {
+            return ((OrderResult) result).getOrder().getStatus();
+        }
+        if (result instanceof OrderPojo) {
+            return ((OrderPojo) result).getStatus();
+        }
+        return null;
+    }
+
+    private List<?> orderItems(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof List<?> list && !list.isEmpty() && list.get(0) instanceof OrderItemPojo) {
+                return list;
+            }
+        }
+        return null;
+    }
+}
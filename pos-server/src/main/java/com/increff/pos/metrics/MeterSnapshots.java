@@ -0,0 +1,35 @@
+package com.increff.pos.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+class MeterSnapshots {
+
+    static void putTimings(Map<String, Object> row, Timer timer) {
+        row.put("count", timer.count());
+        row.put("totalMs", timer.totalTime(TimeUnit.MILLISECONDS));
+        row.put("meanMs", timer.mean(TimeUnit.MILLISECONDS));
+        row.put("maxMs", timer.max(TimeUnit.MILLISECONDS));
+        for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+            row.put("p" + Math.round(percentile.percentile() * 100) + "Ms", percentile.value(TimeUnit.MILLISECONDS));
+        }
+    }
+
+    static void putDistribution(Map<String, Object> row, DistributionSummary summary) {
+        row.put("count", summary.count());
+        row.put("mean", summary.mean());
+        row.put("max", summary.max());
+        for (ValueAtPercentile percentile : summary.takeSnapshot().percentileValues()) {
+            row.put("p" + Math.round(percentile.percentile() * 100), percentile.value());
+        }
+    }
+
+    static Comparator<Map<String, Object>> byTotalTime() {
+        return Comparator.comparingDouble((Map<String, Object> row) -> (Double) row.get("totalMs")).reversed();
+    }
+}
@@ -0,0 +1,146 @@
+package com.increff.pos.metrics;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class MongoCommandMetricsListener implements CommandListener {
+
+    public static final String COMMAND_TIMER = "db.command";
+    public static final String DOCUMENTS_SUMMARY = "db.command.documents";
+    public static final String BYTES_SUMMARY = "db.command.bytes";
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoCommandMetricsListener.class);
+
+    private final MeterRegistry meterRegistry;
+    private final long slowQueryNanos;
+    private final Map<Integer, CommandStart> inFlight = new ConcurrentHashMap<>();
+    // The command document may not outlive commandStarted, so a shape has to be built up front, and building one
+    // decodes the filter. Only DAO method and command pairs that have already run slow pay for it; the first slow
+    // command from each pair is logged without a shape.
+    private final Set<String> slowCallSites = ConcurrentHashMap.newKeySet();
+
+    public MongoCommandMetricsListener(MeterRegistry meterRegistry,
+            @Value("${db.metrics.slow-query-ms:100}") long slowQueryMs) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryMs);
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        BsonDocument command = event.getCommand();
+        String daoMethod = DbCallContext.currentDaoMethod();
+        String shape = tracksShape(daoMethod, event.getCommandName())
+                ? QueryShape.of(event.getCommandName(), command)
+                : null;
+        inFlight.put(event.getRequestId(), new CommandStart(daoMethod, collectionName(event.getCommandName(), command),
+                shape, DbCallContext.currentRequest()));
+    }
+
+    boolean tracksShape(String daoMethod, String commandName) {
+        return slowQueryNanos > 0 && slowCallSites.contains(daoMethod + "/" + commandName);
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        CommandStart start = inFlight.remove(event.getRequestId());
+        if (start == null) {
+            return;
+        }
+        Tags tags = Tags.of("method", start.daoMethod, "collection", start.collection, "command", event.getCommandName());
+        record(start, event.getCommandName(), event.getElapsedTime(TimeUnit.NANOSECONDS), tags.and("outcome", "SUCCESS"));
+
+        BsonDocument response = event.getResponse();
+        DistributionSummary.builder(DOCUMENTS_SUMMARY)
+                .tags(tags)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(documentCount(response));
+        if (response instanceof RawBsonDocument) {
+            DistributionSummary.builder(BYTES_SUMMARY)
+                    .tags(tags)
+                    .baseUnit("bytes")
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry)
+                    .record(((RawBsonDocument) response).getByteBuffer().remaining());
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        CommandStart start = inFlight.remove(event.getRequestId());
+        if (start == null) {
+            return;
+        }
+        Tags tags = Tags.of("method", start.daoMethod, "collection", start.collection, "command", event.getCommandName(),
+                "outcome", "FAILURE");
+        record(start, event.getCommandName(), event.getElapsedTime(TimeUnit.NANOSECONDS), tags);
+    }
+
+    private void record(CommandStart start, String commandName, long elapsedNanos, Tags tags) {
+        Timer.builder(COMMAND_TIMER)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (start.requestStats != null) {
+            start.requestStats.record(elapsedNanos);
+        }
+        if (slowQueryNanos > 0 && elapsedNanos >= slowQueryNanos) {
+            slowCallSites.add(start.daoMethod + "/" + commandName);
+            logger.warn("Slow Mongo {} on {} from {} took {} ms: {}", commandName, start.collection, start.daoMethod,
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    start.shape != null ? start.shape : "shape logged from the next slow call");
+        }
+    }
+
+    static String collectionName(String commandName, BsonDocument command) {
+        String key = "getMore".equals(commandName) ? "collection" : commandName;
+        BsonValue value = command.get(key);
+        return value != null && value.isString() ? value.asString().getValue() : "none";
+    }
+
+    static int documentCount(BsonDocument response) {
+        BsonValue cursor = response.get("cursor");
+        if (cursor != null && cursor.isDocument()) {
+            BsonValue batch = cursor.asDocument().containsKey("firstBatch")
+                    ? cursor.asDocument().get("firstBatch")
+                    : cursor.asDocument().get("nextBatch");
+            return batch != null && batch.isArray() ? batch.asArray().size() : 0;
+        }
+        BsonValue n = response.get("n");
+        if (n != null && n.isNumber()) {
+            return n.asNumber().intValue();
+        }
+        BsonValue value = response.get("value");
+        return value != null && value.isDocument() ? 1 : 0;
+    }
+
+    @AllArgsConstructor
+    private static class CommandStart {
+        private final String daoMethod;
+        private final String collection;
+        private final String shape;
+        private final DbCallContext.RequestStats requestStats;
+    }
+}
@@ -0,0 +1,81 @@
+package com.increff.pos.metrics;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+
+import java.util.Map;
+
+public class QueryShape {
+
+    private static final BsonString PLACEHOLDER = new BsonString("?");
+
+    public static String of(String commandName, BsonDocument command) {
+        BsonDocument shape = new BsonDocument();
+        switch (commandName) {
+            case "find" -> {
+                copyMasked(command, "filter", shape);
+                copy(command, "sort", shape);
+            }
+            case "findAndModify" -> {
+                copyMasked(command, "query", shape);
+                copy(command, "sort", shape);
+            }
+            case "count", "distinct" -> copyMasked(command, "query", shape);
+            case "aggregate" -> copyMasked(command, "pipeline", shape);
+            case "update" -> copyFirstStatement(command, "updates", shape);
+            case "delete" -> copyFirstStatement(command, "deletes", shape);
+            default -> {
+            }
+        }
+        return shape.toJson();
+    }
+
+    static BsonValue mask(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument masked = new BsonDocument();
+            for (Map.Entry<String, BsonValue> entry : value.asDocument().entrySet()) {
+                masked.put(entry.getKey(), mask(entry.getValue()));
+            }
+            return masked;
+        }
+        if (value.isArray()) {
+            BsonArray array = value.asArray();
+            BsonArray masked = new BsonArray();
+            for (BsonValue element : array) {
+                if (!element.isDocument() && !element.isArray()) {
+                    // Scalar lists ($in, $nin) collapse so their length does not change the shape
+                    masked.add(PLACEHOLDER);
+                    break;
+                }
+                masked.add(mask(element));
+            }
+            return masked;
+        }
+        return PLACEHOLDER;
+    }
+
+    private static void copyMasked(BsonDocument command, String key, BsonDocument shape) {
+        if (command.containsKey(key)) {
+            shape.put(key, mask(command.get(key)));
+        }
+    }
+
+    private static void copy(BsonDocument command, String key, BsonDocument shape) {
+        if (command.containsKey(key)) {
+            shape.put(key, command.get(key));
+        }
+    }
+
+    private static void copyFirstStatement(BsonDocument command, String key, BsonDocument shape) {
+        BsonValue statements = command.get(key);
+        if (statements == null || !statements.isArray() || statements.asArray().isEmpty()) {
+            return;
+        }
+        BsonValue first = statements.asArray().get(0);
+        if (first.isDocument() && first.asDocument().containsKey("q")) {
+            shape.put("q", mask(first.asDocument().get("q")));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.increff.pos.scheduler;
+
+import com.increff.pos.dto.AuditLogDto;
+import com.increff.pos.exception.ApiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AuditLogRetentionScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogRetentionScheduler.class);
+
+    @Value("${scheduler.enabled:true}")
+    private boolean schedulerEnabled;
+    @Autowired
+    private Environment environment;
+    @Autowired
+    private AuditLogDto auditLogDto;
+
+    @Scheduled(cron = "${audit.retention.cron:0 30 2 * * *}")
+    public void archiveExpiredAuditLogs() {
+
+        if (shouldSkipExecution()) {
+            return;
+        }
+
+        try {
+            long archived = auditLogDto.archiveExpired();
+            logger.info("Archived {} expired audit log entries", archived);
+        } catch (ApiException e) {
+            logger.error("Audit log archival failed: {}", e.getMessage());
+        }
+    }
+
+    private boolean shouldSkipExecution() {
+        return !schedulerEnabled || isTestEnvironment();
+    }
+
+    private boolean isTestEnvironment() {
+        String[] profiles = environment.getActiveProfiles();
+        return profiles != null && profiles.length > 0 && profiles[0].equals("test");
+    }
+}
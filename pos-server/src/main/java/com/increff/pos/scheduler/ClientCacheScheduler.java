@@ -0,0 +1,45 @@
+package com.increff.pos.scheduler;
+
+import com.increff.pos.dto.ClientDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ClientCacheScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientCacheScheduler.class);
+
+    @Value("${scheduler.enabled:true}")
+    private boolean schedulerEnabled;
+    @Autowired
+    private Environment environment;
+    @Autowired
+    private ClientDto clientDto;
+
+    // Catches writes this node was not told about, e.g. when cache invalidation is disabled
+    @Scheduled(fixedDelayString = "${client.cache.reconcile-interval-ms:300000}",
+            initialDelayString = "${client.cache.reconcile-interval-ms:300000}")
+    public void reconcile() {
+
+        if (shouldSkipExecution()) {
+            return;
+        }
+
+        int clients = clientDto.refreshCache();
+        logger.debug("Reconciled client cache with {} clients", clients);
+    }
+
+    private boolean shouldSkipExecution() {
+        return !schedulerEnabled || isTestEnvironment();
+    }
+
+    private boolean isTestEnvironment() {
+        String[] profiles = environment.getActiveProfiles();
+        return profiles != null && profiles.length > 0 && profiles[0].equals("test");
+    }
+}
@@ -0,0 +1,44 @@
+package com.increff.pos.scheduler;
+
+import com.increff.pos.api.IdempotencyApi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class IdempotencyLockScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyLockScheduler.class);
+
+    @Value("${scheduler.enabled:true}")
+    private boolean schedulerEnabled;
+    @Autowired
+    private Environment environment;
+    @Autowired
+    private IdempotencyApi idempotencyApi;
+
+    // Runs well inside idempotency.lock-timeout-ms so a request still executing is never taken over
+    @Scheduled(fixedDelayString = "${idempotency.heartbeat-interval-ms:10000}")
+    public void extendLocks() {
+
+        if (shouldSkipExecution()) {
+            return;
+        }
+
+        int extended = idempotencyApi.extendLocks();
+        logger.debug("Extended {} idempotency key locks", extended);
+    }
+
+    private boolean shouldSkipExecution() {
+        return !schedulerEnabled || isTestEnvironment();
+    }
+
+    private boolean isTestEnvironment() {
+        String[] profiles = environment.getActiveProfiles();
+        return profiles != null && profiles.length > 0 && profiles[0].equals("test");
+    }
+}
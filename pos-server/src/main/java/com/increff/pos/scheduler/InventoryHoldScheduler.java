@@ -0,0 +1,45 @@
+package com.increff.pos.scheduler;
+
+import com.increff.pos.dto.InventoryDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class InventoryHoldScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryHoldScheduler.class);
+
+    @Value("${scheduler.enabled:true}")
+    private boolean schedulerEnabled;
+    @Autowired
+    private Environment environment;
+    @Autowired
+    private InventoryDto inventoryDto;
+
+    @Scheduled(fixedDelayString = "${inventory.hold.sweep-interval-ms:30000}")
+    public void releaseExpiredHolds() {
+
+        if (shouldSkipExecution()) {
+            return;
+        }
+
+        int released = inventoryDto.releaseExpiredHolds();
+        if (released > 0) {
+            logger.info("Released {} expired inventory holds", released);
+        }
+    }
+
+    private boolean shouldSkipExecution() {
+        return !schedulerEnabled || isTestEnvironment();
+    }
+
+    private boolean isTestEnvironment() {
+        String[] profiles = environment.getActiveProfiles();
+        return profiles != null && profiles.length > 0 && profiles[0].equals("test");
+    }
+}
@@ -0,0 +1,439 @@
+package com.increff.pos.search;
+
+import com.increff.pos.cache.CacheInvalidationEvent;
+import com.increff.pos.cache.CacheInvalidationListener;
+import com.increff.pos.dao.ProductDao;
+import com.increff.pos.db.ProductPojo;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// In-process inverted index over product name tokens, barcodes and clientIds. Products get an ordinal in insertion
+// order, so every postings list stays sorted by plain appends. An update tombstones the old ordinal and indexes the
+// product again under a new one; tombstones are dropped on the next rebuild, which is scheduled once they outnumber
+// half the live products.
+@Component
+@Order(2)
+public class ProductSearchIndex implements CommandLineRunner, CacheInvalidationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^a-z0-9]+");
+    private static final int EXACT_TOKEN_SCORE = 2;
+    private static final int PREFIX_TOKEN_SCORE = 1;
+    private static final int EXACT_BARCODE_SCORE = 10;
+    private static final int PREFIX_BARCODE_SCORE = 3;
+    private static final double COMPACTION_TOMBSTONE_RATIO = 0.5;
+    private static final int COMPACTION_MIN_TOMBSTONES = 1000;
+
+    private final ProductDao productDao;
+    private final Timer buildTimer;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Held while the collection streams, so a monitor would pin a virtual thread's carrier for the whole rebuild
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    // A full rebuild streams the whole collection, so it never runs on the invalidation thread
+    private Executor rebuildExecutor = task -> {
+        Thread thread = new Thread(task, "product-search-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    };
+
+    private volatile Index index;
+    // Writes made while a rebuild streams the collection, replayed onto the new index before it is swapped in
+    private List<Consumer<Index>> pendingWrites;
+
+    public ProductSearchIndex(ProductDao productDao, MeterRegistry meterRegistry) {
+        this.productDao = productDao;
+        this.buildTimer = Timer.builder("product.search.index.build").register(meterRegistry);
+        Gauge.builder("product.search.index.products", this, search -> search.read(Index::liveCount))
+                .register(meterRegistry);
+        Gauge.builder("product.search.index.bytes", this, search -> {
+            Index current = search.index;
+            return current == null ? 0 : current.bytes;
+        }).baseUnit("bytes").register(meterRegistry);
+    }
+
+    @Override
+    public void run(String... args) {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            // Search stays unavailable until a rebuild succeeds; everything else can still serve
+            logger.error("Failed to build product search index", e);
+        }
+    }
+
+    public boolean isReady() {
+        return index != null;
+    }
+
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                pendingWrites = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            long start = System.nanoTime();
+            Index fresh = new Index();
+            try (Stream<ProductPojo> products = productDao.streamSearchFields()) {
+                products.forEach(fresh::put);
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    pendingWrites = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+
+            lock.writeLock().lock();
+            try {
+                pendingWrites.forEach(write -> write.accept(fresh));
+                pendingWrites = null;
+                index = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            long elapsedNanos = System.nanoTime() - start;
+            buildTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            logger.info("Built product search index with {} products in {} ms, about {} KB",
+                    fresh.liveCount(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos), fresh.bytes / 1024);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public void put(ProductPojo product) {
+        write(current -> current.put(product));
+    }
+
+    public void remove(String productId) {
+        write(current -> current.remove(productId));
+    }
+
+    // Matches products whose name has a word starting with every query token, or whose barcode starts with the
+    // query. Ranked by score, then name; only the top (page + 1) * size are kept while scoring.
+    public Page<String> search(String query, String clientId, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(page, size);
+        lock.readLock().lock();
+        try {
+            Index current = index;
+            if (current == null) {
+                return new PageImpl<>(List.of(), pageRequest, 0);
+            }
+            Map<Integer, Integer> scores = current.score(normalize(query), clientId);
+            int limit = (int) Math.min((long) (page + 1) * size, scores.size());
+            Comparator<Map.Entry<Integer, Integer>> ranking = current.ranking();
+            PriorityQueue<Map.Entry<Integer, Integer>> top = new PriorityQueue<>(Math.max(limit, 1),
+                    ranking.reversed());
+            for (Map.Entry<Integer, Integer> scored : scores.entrySet()) {
+                top.offer(scored);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<Map.Entry<Integer, Integer>> ranked = new ArrayList<>(top);
+            ranked.sort(ranking);
+
+            List<String> productIds = new ArrayList<>();
+            for (int i = (int) Math.min(pageRequest.getOffset(), ranked.size()); i < ranked.size(); i++) {
+                productIds.add(current.entries.get(ranked.get(i).getKey()).productId);
+            }
+            return new PageImpl<>(productIds, pageRequest, scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Set<String> collections() {
+        return Set.of("products");
+    }
+
+    // Another node changed a product; re-read it rather than trust a partial change event
+    @Override
+    public void onInvalidation(CacheInvalidationEvent event) {
+        ProductPojo product = productDao.findById(event.getDocumentId()).orElse(null);
+        if (product != null) {
+            put(product);
+        } else {
+            remove(event.getDocumentId());
+        }
+    }
+
+    // The current index keeps serving until the rebuild swaps in a fresh one. Invalidations arriving before a
+    // scheduled rebuild starts share it; one arriving while it streams schedules another.
+    @Override
+    public void invalidateAll() {
+        if (!rebuildScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        rebuildExecutor.execute(() -> {
+            rebuildScheduled.set(false);
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                logger.error("Failed to rebuild product search index", e);
+            }
+        });
+    }
+
+    // A rebuild already under way drops the tombstones, so compaction is only scheduled outside one
+    private void write(Consumer<Index> write) {
+        boolean compact;
+        lock.writeLock().lock();
+        try {
+            if (index != null) {
+                write.accept(index);
+            }
+            if (pendingWrites != null) {
+                pendingWrites.add(write);
+            }
+            compact = index != null && pendingWrites == null && index.needsCompaction();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (compact) {
+            invalidateAll();
+        }
+    }
+
+    private long read(ToLongFunction<Index> metric) {
+        lock.readLock().lock();
+        try {
+            return index == null ? 0 : metric.applyAsLong(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> tokenize(String normalized) {
+        List<String> tokens = new ArrayList<>();
+        if (normalized == null) {
+            return tokens;
+        }
+        for (String token : TOKEN_SEPARATOR.split(normalized)) {
+            if (!token.isEmpty() && !tokens.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static NavigableMap<String, ?> prefixRange(NavigableMap<String, ?> map, String prefix) {
+        return map.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private static final class Entry {
+        private final String productId;
+        private final String barcode;
+        private final String clientId;
+        private final String name;
+        private boolean removed;
+
+        private Entry(String productId, String barcode, String clientId, String name) {
+            this.productId = productId;
+            this.barcode = barcode;
+            this.clientId = clientId;
+            this.name = name;
+        }
+
+        private boolean matches(String barcode, String clientId, String name) {
+            return Objects.equals(this.barcode, barcode) && Objects.equals(this.clientId, clientId)
+                    && this.name.equals(name == null ? "" : name);
+        }
+    }
+
+    private static final class Postings {
+        private int[] ordinals = new int[2];
+        private int size;
+
+        // Returns the bytes the postings grew by
+        private long add(int ordinal) {
+            long grown = 0;
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                grown = 4L * size;
+            }
+            ordinals[size++] = ordinal;
+            return grown;
+        }
+
+        private long bytes() {
+            return 24 + 16 + 4L * ordinals.length;
+        }
+    }
+
+    private static final class Index {
+        private final List<Entry> entries = new ArrayList<>();
+        private final Map<String, Integer> ordinalByProductId = new HashMap<>();
+        private final TreeMap<String, Postings> nameTokens = new TreeMap<>();
+        private final TreeMap<String, Integer> barcodes = new TreeMap<>();
+        private final Map<String, Postings> clients = new HashMap<>();
+        // Rough heap estimate kept up to date by every change, so the gauge never walks the index: 16-byte headers,
+        // compressed references, Latin-1 strings and ~40 bytes per map node. Written only by one thread at a time.
+        private volatile long bytes;
+
+        private void put(ProductPojo product) {
+            String barcode = normalize(product.getBarcode());
+            String name = normalize(product.getName());
+            Integer existing = ordinalByProductId.get(product.getId());
+            if (existing != null && entries.get(existing).matches(barcode, product.getClientId(), name)) {
+                return;
+            }
+            remove(product.getId());
+            int ordinal = entries.size();
+            Entry entry = new Entry(product.getId(), barcode, product.getClientId(), name == null ? "" : name);
+            entries.add(entry);
+            ordinalByProductId.put(product.getId(), ordinal);
+            long added = 32 + stringBytes(entry.productId) + stringBytes(entry.barcode) + stringBytes(entry.name) + 56;
+            for (String token : tokenize(name)) {
+                Postings postings = nameTokens.get(token);
+                if (postings == null) {
+                    postings = new Postings();
+                    nameTokens.put(token, postings);
+                    added += 40 + stringBytes(token) + postings.bytes();
+                }
+                added += postings.add(ordinal);
+            }
+            if (barcode != null && barcodes.put(barcode, ordinal) == null) {
+                added += 56;
+            }
+            if (product.getClientId() != null) {
+                Postings postings = clients.get(product.getClientId());
+                if (postings == null) {
+                    postings = new Postings();
+                    clients.put(product.getClientId(), postings);
+                    added += 56 + postings.bytes();
+                }
+                added += postings.add(ordinal);
+            }
+            bytes += added;
+        }
+
+        private void remove(String productId) {
+            Integer ordinal = ordinalByProductId.remove(productId);
+            if (ordinal == null) {
+                return;
+            }
+            // The tombstoned entry and its postings stay on the heap until the next rebuild
+            Entry entry = entries.get(ordinal);
+            entry.removed = true;
+            long removed = 56;
+            if (entry.barcode != null && barcodes.remove(entry.barcode, ordinal)) {
+                removed += 56;
+            }
+            bytes -= removed;
+        }
+
+        private Map<Integer, Integer> score(String query, String clientId) {
+            List<String> tokens = tokenize(query);
+            Map<Integer, Integer> scores;
+            if (tokens.isEmpty()) {
+                scores = new HashMap<>();
+                Postings clientPostings = clientId != null ? clients.get(clientId) : null;
+                for (int i = 0; clientPostings != null && i < clientPostings.size; i++) {
+                    scores.put(clientPostings.ordinals[i], 0);
+                }
+            } else {
+                scores = scoreTokens(tokens);
+                for (Map.Entry<String, ?> barcode : prefixRange(barcodes, query).entrySet()) {
+                    int score = barcode.getKey().equals(query) ? EXACT_BARCODE_SCORE : PREFIX_BARCODE_SCORE;
+                    scores.merge((Integer) barcode.getValue(), score, Integer::sum);
+                }
+            }
+            scores.keySet().removeIf(ordinal -> {
+                Entry entry = entries.get(ordinal);
+                return entry.removed || (clientId != null && !clientId.equals(entry.clientId));
+            });
+            return scores;
+        }
+
+        // A product must match every token; an exact word counts more than a word that only starts with it
+        private Map<Integer, Integer> scoreTokens(List<String> tokens) {
+            Map<Integer, Integer> scores = null;
+            for (String token : tokens) {
+                Map<Integer, Integer> tokenScores = new HashMap<>();
+                for (Map.Entry<String, ?> indexed : prefixRange(nameTokens, token).entrySet()) {
+                    int score = indexed.getKey().equals(token) ? EXACT_TOKEN_SCORE : PREFIX_TOKEN_SCORE;
+                    Postings postings = (Postings) indexed.getValue();
+                    for (int i = 0; i < postings.size; i++) {
+                        tokenScores.merge(postings.ordinals[i], score, Math::max);
+                    }
+                }
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((ordinal, score) -> score + tokenScores.get(ordinal));
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+            return scores == null ? new HashMap<>() : scores;
+        }
+
+        private Comparator<Map.Entry<Integer, Integer>> ranking() {
+            return Comparator.<Map.Entry<Integer, Integer>>comparingInt(Map.Entry::getValue).reversed()
+                    .thenComparing(scored -> entries.get(scored.getKey()).name)
+                    .thenComparing(scored -> entries.get(scored.getKey()).productId);
+        }
+
+        private long liveCount() {
+            return ordinalByProductId.size();
+        }
+
+        private boolean needsCompaction() {
+            long tombstones = entries.size() - liveCount();
+            return tombstones >= COMPACTION_MIN_TOMBSTONES && tombstones > liveCount() * COMPACTION_TOMBSTONE_RATIO;
+        }
+
+        private static long stringBytes(String value) {
+            return value == null ? 0 : 40 + value.length();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.increff.pos.util;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS("IN_PROGRESS"),
+    COMPLETED("COMPLETED");
+
+    private final String value;
+
+    IdempotencyStatus(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -0,0 +1,22 @@
+package com.increff.pos.util;
+
+public enum ImportJobStatus {
+    RUNNING("RUNNING"),
+    FAILED("FAILED"),
+    COMPLETED("COMPLETED");
+
+    private final String value;
+
+    ImportJobStatus(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -0,0 +1,21 @@
+package com.increff.pos.util;
+
+public enum InventoryHoldState {
+    RELEASING("RELEASING"),
+    CONVERTED("CONVERTED");
+
+    private final String value;
+
+    InventoryHoldState(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
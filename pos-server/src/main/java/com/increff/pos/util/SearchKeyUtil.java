@@ -0,0 +1,77 @@
+package com.increff.pos.util;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// Search keys are lowercase "field:value" strings kept in an indexed array, so a search box prefix becomes an
+// anchored, case-sensitive regex that Mongo answers with an index range scan instead of a collection scan
+public class SearchKeyUtil {
+
+    public static final int RANK_EXACT = 0;
+    public static final int RANK_PREFIX = 1;
+    public static final int RANK_WORD_PREFIX = 2;
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^a-z0-9]+");
+
+    // A value is findable by its whole text, by each word in it and by each number without leading zeros,
+    // e.g. "ORD-000123" by "ord-0001", "0001" and "12"
+    public static void addKeys(Collection<String> keys, String field, String value) {
+        String normalized = normalize(value);
+        if (normalized == null) {
+            return;
+        }
+        keys.add(field + ":" + normalized);
+        for (String word : WORD_SEPARATOR.split(normalized)) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            keys.add(field + ":" + word);
+            String number = stripLeadingZeros(word);
+            if (number != null) {
+                keys.add(field + ":" + number);
+            }
+        }
+    }
+
+    public static Pattern prefixPattern(String field, String query) {
+        return Pattern.compile("^" + field + ":" + escape(normalize(query)));
+    }
+
+    // Case-insensitive regex over the raw field value: matching it with exact set means RANK_EXACT, matching it
+    // without means RANK_PREFIX, and any other search hit is a RANK_WORD_PREFIX
+    public static String valuePattern(String query, boolean exact) {
+        return "^\\s*" + escape(normalize(query)) + (exact ? "\\s*$" : "");
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String escape(String normalized) {
+        StringBuilder regex = new StringBuilder();
+        for (char c : (normalized == null ? "" : normalized).toCharArray()) {
+            if (!Character.isLetterOrDigit(c)) {
+                regex.append('\\');
+            }
+            regex.append(c);
+        }
+        return regex.toString();
+    }
+
+    private static String stripLeadingZeros(String word) {
+        if (word.length() < 2 || word.charAt(0) != '0') {
+            return null;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (!Character.isDigit(word.charAt(i))) {
+                return null;
+            }
+        }
+        String stripped = word.replaceFirst("^0+", "");
+        return stripped.isEmpty() ? null : stripped;
+    }
+}
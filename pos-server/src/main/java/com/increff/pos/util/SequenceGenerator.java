@@ -32,4 +32,21 @@ public class SequenceGenerator {
 
         return counter.getSequence();
     }
+
+    // Reserves size consecutive numbers in one round-trip and returns the first of them
+    public long getNextSequenceBlock(String key, int size) {
+        Query query = new Query(where("_id").is(key));
+        Update update = new Update().inc("sequence", size);
+
+        CounterPojo counter = mongoOperations.findAndModify(
+                query,
+                update,
+                FindAndModifyOptions.options()
+                        .returnNew(true)
+                        .upsert(true),
+                CounterPojo.class
+        );
+
+        return counter.getSequence() - size + 1;
+    }
 }
@@ -0,0 +1,50 @@
+package com.increff.pos.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+public class TokenBucketRateLimiter {
+
+    private final long capacity;
+    private final double refillPerNano;
+    private final Cache<String, Bucket> buckets;
+
+    public TokenBucketRateLimiter(long capacity, long refillPerMinute, long maxKeys) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerMinute / (double) Duration.ofMinutes(1).toNanos();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+    }
+
+    public boolean tryAcquire(String key) {
+        if (key == null) {
+            return true;
+        }
+        Bucket bucket = buckets.get(key, k -> new Bucket(capacity, System.nanoTime()));
+        return bucket.tryConsume(System.nanoTime());
+    }
+
+    private class Bucket {
+        private double tokens;
+        private long lastRefillNanos;
+
+        Bucket(double tokens, long lastRefillNanos) {
+            this.tokens = tokens;
+            this.lastRefillNanos = lastRefillNanos;
+        }
+
+        synchronized boolean tryConsume(long nowNanos) {
+            tokens = Math.min(capacity, tokens + (nowNanos - lastRefillNanos) * refillPerNano);
+            lastRefillNanos = nowNanos;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+    }
+}
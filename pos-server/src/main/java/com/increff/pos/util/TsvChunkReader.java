@@ -0,0 +1,74 @@
+package com.increff.pos.util;
+
+import com.increff.pos.exception.ApiException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TsvChunkReader {
+
+    private final BufferedReader reader;
+    private final int maxLines;
+    private int lineNumber;
+
+    public TsvChunkReader(InputStream inputStream) {
+        this(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    public TsvChunkReader(Reader reader) {
+        this(reader, Integer.MAX_VALUE);
+    }
+
+    // Lines are counted as they are read, header included, so a capped upload never needs splitting up front
+    public TsvChunkReader(Reader reader, int maxLines) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        this.maxLines = maxLines;
+    }
+
+    public String readHeader() throws ApiException {
+        String header = readLine();
+        if (header == null) {
+            throw new ApiException("Content is empty");
+        }
+        return header;
+    }
+
+    public List<TsvRow> nextChunk(int chunkSize) throws ApiException {
+        List<TsvRow> rows = new ArrayList<>(chunkSize);
+        String line;
+        while (rows.size() < chunkSize && (line = readLine()) != null) {
+            String trimmed = line.trim();
+            if (!trimmed.isEmpty()) {
+                rows.add(new TsvRow(lineNumber, trimmed));
+            }
+        }
+        return rows;
+    }
+
+    private String readLine() throws ApiException {
+        try {
+            String line = reader.readLine();
+            if (line != null && ++lineNumber > maxLines) {
+                throw new ApiException("Maximum " + maxLines + " rows allowed");
+            }
+            return line;
+        } catch (IOException e) {
+            throw new ApiException("Failed to read TSV content: " + e.getMessage());
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class TsvRow {
+        private final int rowNumber;
+        private final String line;
+    }
+}
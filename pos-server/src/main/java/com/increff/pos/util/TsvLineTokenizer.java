@@ -0,0 +1,87 @@
+package com.increff.pos.util;
+
+import java.util.Arrays;
+
+public class TsvLineTokenizer {
+
+    private String line;
+    private int[] starts = new int[8];
+    private int[] ends = new int[8];
+    private int columnCount;
+
+    public TsvLineTokenizer reset(String line) {
+        this.line = line;
+        columnCount = 0;
+
+        int start = 0;
+        int tab;
+        while ((tab = line.indexOf('\t', start)) >= 0) {
+            addColumn(start, tab);
+            start = tab + 1;
+        }
+        addColumn(start, line.length());
+
+        // Same column count as String.split("\t"): trailing empty columns are dropped
+        if (columnCount > 1) {
+            while (columnCount > 0 && starts[columnCount - 1] == ends[columnCount - 1]) {
+                columnCount--;
+            }
+        }
+
+        for (int i = 0; i < columnCount; i++) {
+            trim(i);
+        }
+        return this;
+    }
+
+    public int columnCount() {
+        return columnCount;
+    }
+
+    public String get(int column) {
+        checkColumn(column);
+        return line.substring(starts[column], ends[column]);
+    }
+
+    public String getLowerCase(int column) {
+        return get(column).toLowerCase();
+    }
+
+    public int getInt(int column) {
+        checkColumn(column);
+        return Integer.parseInt(line, starts[column], ends[column], 10);
+    }
+
+    public double getDouble(int column) {
+        return Double.parseDouble(get(column));
+    }
+
+    private void addColumn(int start, int end) {
+        if (columnCount == starts.length) {
+            starts = Arrays.copyOf(starts, columnCount * 2);
+            ends = Arrays.copyOf(ends, columnCount * 2);
+        }
+        starts[columnCount] = start;
+        ends[columnCount] = end;
+        columnCount++;
+    }
+
+    private void trim(int column) {
+        int start = starts[column];
+        int end = ends[column];
+        while (start < end && line.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && line.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        starts[column] = start;
+        ends[column] = end;
+    }
+
+    private void checkColumn(int column) {
+        if (column < 0 || column >= columnCount) {
+            throw new ArrayIndexOutOfBoundsException(column);
+        }
+    }
+}
@@ -1,10 +1,23 @@
 package com.increff.pos.util;
 
 import com.increff.pos.exception.ApiException;
+import com.increff.pos.model.data.TsvUploadResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
 
 public class TsvUtil {
 
+    public static final int MAX_UPLOAD_ROWS = 5000;
+
+    private static final String RESULT_HEADER = "Row Number\tStatus\tError Message\tOriginal Data\n";
+
     public static String decode(String base64Content) throws ApiException {
         try {
             return new String(Base64.getDecoder().decode(base64Content));
@@ -13,18 +26,45 @@ public class TsvUtil {
         }
     }
 
-    public static String[] splitLines(String content) throws ApiException {
-        if (content == null || content.isEmpty()) {
-            throw new ApiException("Content is empty");
+    public static String encode(String content) {
+        return Base64.getEncoder().encodeToString(content.getBytes());
+    }
+
+    public static void writeResultHeader(Writer writer) throws ApiException {
+        write(writer, RESULT_HEADER);
+    }
+
+    public static void writeResults(Writer writer, List<TsvUploadResult> results) throws ApiException {
+        StringBuilder sb = new StringBuilder();
+        for (TsvUploadResult res : results) {
+            sb.append(res.getRowNumber()).append("\t")
+                    .append(res.getStatus()).append("\t")
+                    .append(res.getErrorMessage() != null ? res.getErrorMessage().replace("\t", " ") : "").append("\t")
+                    .append(res.getData()).append("\n");
         }
-        String[] lines = content.split("\\r?\\n");
-        if (lines.length > 5000) {
-            throw new ApiException("Maximum 5000 rows allowed");
+        write(writer, sb.toString());
+    }
+
+    public static String contentHash(InputStream inputStream) throws ApiException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new ApiException("Failed to read TSV content: " + e.getMessage());
         }
-        return lines;
     }
 
-    public static String encode(String content) {
-        return Base64.getEncoder().encodeToString(content.getBytes());
+    private static void write(Writer writer, String content) throws ApiException {
+        try {
+            writer.write(content);
+            writer.flush();
+        } catch (IOException e) {
+            throw new ApiException("Failed to write TSV result: " + e.getMessage());
+        }
     }
 }
@@ -0,0 +1,177 @@
+package com.increff.pos.writer;
+
+import com.increff.pos.api.AuditLogApi;
+import com.increff.pos.db.AuditLogPojo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class AuditLogWriter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogWriter.class);
+    private static final long STOP_CHECK_INTERVAL_MS = 100;
+
+    private final AuditLogApi auditLogApi;
+    private final BlockingQueue<AuditLogPojo> buffer;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+    private final Timer flushTimer;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public AuditLogWriter(AuditLogApi auditLogApi, MeterRegistry meterRegistry,
+            @Value("${audit.writer.buffer-capacity:10000}") int bufferCapacity,
+            @Value("${audit.writer.batch-size:200}") int batchSize,
+            @Value("${audit.writer.flush-interval-ms:1000}") long flushIntervalMs,
+            @Value("${audit.writer.offer-timeout-ms:50}") long offerTimeoutMs) {
+        this.auditLogApi = auditLogApi;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+
+        this.writtenCounter = meterRegistry.counter("audit.writer.written");
+        this.droppedCounter = meterRegistry.counter("audit.writer.dropped");
+        this.failedCounter = meterRegistry.counter("audit.writer.failed");
+        this.flushTimer = meterRegistry.timer("audit.writer.flush");
+        Gauge.builder("audit.writer.pending", buffer, BlockingQueue::size).register(meterRegistry);
+        Gauge.builder("audit.writer.lag.seconds", this, AuditLogWriter::lagSeconds).register(meterRegistry);
+    }
+
+    public boolean enqueue(AuditLogPojo auditLog) {
+        try {
+            if (buffer.offer(auditLog, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        droppedCounter.increment();
+        logger.warn("Audit log buffer full, dropped {} entry for {}", auditLog.getAction(),
+                auditLog.getOperatorEmail());
+        return false;
+    }
+
+    public int pendingCount() {
+        return buffer.size();
+    }
+
+    public double droppedCount() {
+        return droppedCounter.count();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        writerThread = new Thread(this::runLoop, "audit-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread thread;
+        synchronized (this) {
+            running = false;
+            thread = writerThread;
+            writerThread = null;
+        }
+        // The loop notices the flag within STOP_CHECK_INTERVAL_MS; interrupting it could abort an insert half way
+        if (thread != null) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flushAll();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stopped after the web server has drained its in-flight requests, so their audit entries are still written
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 4096;
+    }
+
+    private void runLoop() {
+        List<AuditLogPojo> batch = new ArrayList<>(batchSize);
+        long deadline = System.currentTimeMillis() + flushIntervalMs;
+        while (running) {
+            try {
+                long waitMs = Math.min(STOP_CHECK_INTERVAL_MS, Math.max(0, deadline - System.currentTimeMillis()));
+                AuditLogPojo next = buffer.poll(waitMs, TimeUnit.MILLISECONDS);
+                if (next != null) {
+                    batch.add(next);
+                    buffer.drainTo(batch, batchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                break;
+            }
+
+            if (batch.size() >= batchSize || System.currentTimeMillis() >= deadline) {
+                write(batch);
+                batch = new ArrayList<>(batchSize);
+                deadline = System.currentTimeMillis() + flushIntervalMs;
+            }
+        }
+        write(batch);
+    }
+
+    void flushAll() {
+        List<AuditLogPojo> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    private void write(List<AuditLogPojo> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            flushTimer.record(() -> auditLogApi.addBulk(batch));
+            writtenCounter.increment(batch.size());
+        } catch (RuntimeException e) {
+            failedCounter.increment(batch.size());
+            logger.error("Failed to write {} audit log entries", batch.size(), e);
+        }
+    }
+
+    private double lagSeconds() {
+        AuditLogPojo oldest = buffer.peek();
+        if (oldest == null || oldest.getTimestamp() == null) {
+            return 0.0;
+        }
+        return Duration.between(oldest.getTimestamp(), ZonedDateTime.now()).toMillis() / 1000.0;
+    }
+}
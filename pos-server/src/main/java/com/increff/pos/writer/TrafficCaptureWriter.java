@@ -0,0 +1,158 @@
+package com.increff.pos.writer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.increff.pos.model.data.CapturedExchangeData;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@ConditionalOnProperty(name = "capture.enabled", havingValue = "true")
+public class TrafficCaptureWriter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrafficCaptureWriter.class);
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+    private final BlockingQueue<CapturedExchangeData> buffer;
+    private final int batchSize;
+    private final long flushIntervalMs;
+
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public TrafficCaptureWriter(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${capture.path:./traffic/capture.jsonl}") String path,
+            @Value("${capture.buffer-capacity:10000}") int bufferCapacity,
+            @Value("${capture.batch-size:200}") int batchSize,
+            @Value("${capture.flush-interval-ms:1000}") long flushIntervalMs) {
+        this.objectMapper = objectMapper;
+        this.path = Paths.get(path);
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+
+        this.writtenCounter = meterRegistry.counter("capture.writer.written");
+        this.droppedCounter = meterRegistry.counter("capture.writer.dropped");
+        Gauge.builder("capture.writer.pending", buffer, BlockingQueue::size).register(meterRegistry);
+    }
+
+    public boolean enqueue(CapturedExchangeData exchange) {
+        if (buffer.offer(exchange)) {
+            return true;
+        }
+        droppedCounter.increment();
+        return false;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        writerThread = new Thread(this::runLoop, "traffic-capture-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread thread;
+        synchronized (this) {
+            running = false;
+            thread = writerThread;
+            writerThread = null;
+        }
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flushAll();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runLoop() {
+        List<CapturedExchangeData> batch = new ArrayList<>(batchSize);
+        long deadline = System.currentTimeMillis() + flushIntervalMs;
+        while (running) {
+            try {
+                long waitMs = Math.max(0, deadline - System.currentTimeMillis());
+                CapturedExchangeData next = buffer.poll(waitMs, TimeUnit.MILLISECONDS);
+                if (next != null) {
+                    batch.add(next);
+                    buffer.drainTo(batch, batchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                break;
+            }
+
+            if (batch.size() >= batchSize || System.currentTimeMillis() >= deadline) {
+                write(batch);
+                batch = new ArrayList<>(batchSize);
+                deadline = System.currentTimeMillis() + flushIntervalMs;
+            }
+        }
+        write(batch);
+    }
+
+    void flushAll() {
+        List<CapturedExchangeData> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    private void write(List<CapturedExchangeData> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (CapturedExchangeData exchange : batch) {
+                    writer.write(objectMapper.writeValueAsString(exchange));
+                    writer.newLine();
+                }
+            }
+            writtenCounter.increment(batch.size());
+        } catch (IOException e) {
+            droppedCounter.increment(batch.size());
+            logger.error("Failed to write {} captured exchanges to {}", batch.size(), path, e);
+        }
+    }
+}
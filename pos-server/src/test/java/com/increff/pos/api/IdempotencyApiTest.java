@@ -0,0 +1,151 @@
+package com.increff.pos.api;
+
+import com.increff.pos.db.IdempotencyKeyPojo;
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.test.AbstractUnitTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyApiTest extends AbstractUnitTest {
+
+    @Autowired
+    private IdempotencyApi idempotencyApi;
+
+    @Test
+    void testBegin_NewKeyIsOwnedByCaller() throws ApiException {
+        // When
+        IdempotencyKeyPojo entry = idempotencyApi.begin("op:key1", "hash1");
+
+        // Then
+        assertNotNull(entry.getId());
+        assertEquals("IN_PROGRESS", entry.getStatus());
+        assertNotNull(entry.getLockedUntil());
+        assertNotNull(entry.getExpiresAt());
+    }
+
+    @Test
+    void testBegin_CompletedKeyIsReplayed() throws ApiException {
+        // Given
+        IdempotencyKeyPojo entry = idempotencyApi.begin("op:key2", "hash2");
+        idempotencyApi.complete(entry, 200, "application/json", "{\"orderId\":\"ORD-000001\"}");
+
+        // When
+        IdempotencyKeyPojo replay = idempotencyApi.begin("op:key2", "hash2");
+
+        // Then
+        assertEquals(entry.getId(), replay.getId());
+        assertEquals("COMPLETED", replay.getStatus());
+        assertEquals(200, replay.getResponseStatus());
+        assertEquals("{\"orderId\":\"ORD-000001\"}", replay.getResponseBody());
+    }
+
+    @Test
+    void testBegin_DifferentRequestWithSameKeyIsRejected() throws ApiException {
+        // Given
+        idempotencyApi.begin("op:key3", "hash3");
+
+        // When/Then
+        ApiException exception = assertThrows(ApiException.class, () -> idempotencyApi.begin("op:key3", "other"));
+        assertTrue(exception.getMessage().contains("different request"));
+    }
+
+    @Test
+    void testBegin_InFlightKeyTimesOut() throws ApiException {
+        // Given
+        ReflectionTestUtils.setField(idempotencyApi, "waitTimeoutMs", 100L);
+        idempotencyApi.begin("op:key4", "hash4");
+
+        // When/Then
+        try {
+            ApiException exception = assertThrows(ApiException.class, () -> idempotencyApi.begin("op:key4", "hash4"));
+            assertTrue(exception.getMessage().contains("still in progress"));
+        } finally {
+            ReflectionTestUtils.setField(idempotencyApi, "waitTimeoutMs", 10000L);
+        }
+    }
+
+    @Test
+    void testBegin_StaleLockIsTakenOver() throws ApiException {
+        // Given
+        ReflectionTestUtils.setField(idempotencyApi, "lockTimeoutMs", 0L);
+        IdempotencyKeyPojo first;
+        try {
+            first = idempotencyApi.begin("op:key5", "hash5");
+        } finally {
+            ReflectionTestUtils.setField(idempotencyApi, "lockTimeoutMs", 30000L);
+        }
+
+        // When
+        IdempotencyKeyPojo second = idempotencyApi.begin("op:key5", "hash5");
+
+        // Then
+        assertEquals(first.getId(), second.getId());
+        assertEquals("IN_PROGRESS", second.getStatus());
+        assertTrue(second.getLockedUntil().isAfter(first.getLockedUntil()));
+        assertNotEquals(first.getOwner(), second.getOwner());
+    }
+
+    @Test
+    void testExtendLocks_RunningRequestIsNotTakenOver() throws ApiException {
+        // Given - The lock has run out but the request is still executing on this node
+        ReflectionTestUtils.setField(idempotencyApi, "lockTimeoutMs", 0L);
+        try {
+            idempotencyApi.begin("op:key8", "hash8");
+        } finally {
+            ReflectionTestUtils.setField(idempotencyApi, "lockTimeoutMs", 30000L);
+        }
+        ReflectionTestUtils.setField(idempotencyApi, "waitTimeoutMs", 100L);
+
+        // When
+        idempotencyApi.extendLocks();
+
+        // Then
+        try {
+            ApiException exception = assertThrows(ApiException.class, () -> idempotencyApi.begin("op:key8", "hash8"));
+            assertTrue(exception.getMessage().contains("still in progress"));
+        } finally {
+            ReflectionTestUtils.setField(idempotencyApi, "waitTimeoutMs", 10000L);
+        }
+    }
+
+    @Test
+    void testTakenOverRequestCannotCompleteOrReleaseKey() throws ApiException {
+        // Given - The original request ran past its lock and a duplicate took the key over
+        ReflectionTestUtils.setField(idempotencyApi, "lockTimeoutMs", 0L);
+        IdempotencyKeyPojo original;
+        try {
+            original = idempotencyApi.begin("op:key7", "hash7");
+        } finally {
+            ReflectionTestUtils.setField(idempotencyApi, "lockTimeoutMs", 30000L);
+        }
+        IdempotencyKeyPojo takeover = idempotencyApi.begin("op:key7", "hash7");
+
+        // When
+        idempotencyApi.release(original);
+        idempotencyApi.complete(original, 500, "application/json", "{}");
+        idempotencyApi.complete(takeover, 200, "application/json", "{\"orderId\":\"ORD-000007\"}");
+
+        // Then
+        IdempotencyKeyPojo replay = idempotencyApi.begin("op:key7", "hash7");
+        assertEquals("COMPLETED", replay.getStatus());
+        assertEquals(200, replay.getResponseStatus());
+        assertEquals("{\"orderId\":\"ORD-000007\"}", replay.getResponseBody());
+    }
+
+    @Test
+    void testRelease_FreesKeyForRetry() throws ApiException {
+        // Given
+        IdempotencyKeyPojo entry = idempotencyApi.begin("op:key6", "hash6");
+        idempotencyApi.release(entry);
+
+        // When
+        IdempotencyKeyPojo retried = idempotencyApi.begin("op:key6", "hash6");
+
+        // Then
+        assertNotEquals(entry.getId(), retried.getId());
+        assertEquals("IN_PROGRESS", retried.getStatus());
+    }
+}
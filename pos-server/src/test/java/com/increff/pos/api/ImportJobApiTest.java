@@ -0,0 +1,76 @@
+package com.increff.pos.api;
+
+import com.increff.pos.db.ImportJobPojo;
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.test.AbstractUnitTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImportJobApiTest extends AbstractUnitTest {
+
+    @Autowired
+    private ImportJobApi importJobApi;
+
+    @Test
+    void testStart_CreatesRunningJob() throws ApiException {
+        // When
+        ImportJobPojo job = importJobApi.start("PRODUCT", "hash1", 1000);
+
+        // Then
+        assertNotNull(job.getId());
+        assertEquals("RUNNING", job.getStatus());
+        assertEquals(1000, job.getChunkSize());
+        assertEquals(0, job.getCommittedChunks());
+    }
+
+    @Test
+    void testStart_RunningJobIsRejected() throws ApiException {
+        // Given
+        importJobApi.start("PRODUCT", "hash2", 1000);
+
+        // When/Then
+        ApiException exception = assertThrows(ApiException.class,
+                () -> importJobApi.start("PRODUCT", "hash2", 1000));
+        assertTrue(exception.getMessage().contains("already in progress"));
+    }
+
+    @Test
+    void testStart_FailedJobResumesFromCheckpoint() throws ApiException {
+        // Given
+        ImportJobPojo job = importJobApi.start("PRODUCT", "hash3", 100);
+        importJobApi.checkpoint(job.getId(), 2, 200, 190, 5, 5);
+        importJobApi.fail(job.getId(), "Chunk 3 failed");
+
+        // When
+        ImportJobPojo resumed = importJobApi.start("PRODUCT", "hash3", 500);
+
+        // Then
+        assertEquals(job.getId(), resumed.getId());
+        assertEquals("RUNNING", resumed.getStatus());
+        assertEquals(100, resumed.getChunkSize());
+        assertEquals(2, resumed.getCommittedChunks());
+        assertEquals(200, resumed.getProcessedRows());
+        assertNull(resumed.getErrorMessage());
+    }
+
+    @Test
+    void testStart_CompletedJobIsReturnedAsIs() throws ApiException {
+        // Given
+        ImportJobPojo job = importJobApi.start("PRODUCT", "hash4", 100);
+        importJobApi.complete(job.getId());
+
+        // When
+        ImportJobPojo again = importJobApi.start("PRODUCT", "hash4", 100);
+
+        // Then
+        assertEquals(job.getId(), again.getId());
+        assertEquals("COMPLETED", again.getStatus());
+    }
+
+    @Test
+    void testGetCheck_NotFound() {
+        assertThrows(ApiException.class, () -> importJobApi.getCheck("nonexistent"));
+    }
+}
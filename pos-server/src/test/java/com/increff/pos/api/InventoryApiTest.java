@@ -8,6 +8,10 @@ import com.increff.pos.test.AbstractUnitTest;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class InventoryApiTest extends AbstractUnitTest {
@@ -180,4 +184,86 @@ class InventoryApiTest extends AbstractUnitTest {
         // When/Then
         assertThrows(ApiException.class, () -> inventoryApi.update("nonexistent", inventory));
     }
+
+    @Test
+    void testReserveBulk_OnlyProductsWithEnoughStockAreDecremented() throws ApiException {
+        // Given
+        ProductPojo plenty = createTestProduct("BC_INV_RES1");
+        ProductPojo scarce = createTestProduct("BC_INV_RES2");
+        inventoryApi.add(createInventory(plenty.getId(), 10));
+        inventoryApi.add(createInventory(scarce.getId(), 2));
+
+        // When
+        Set<String> failed = inventoryApi.reserveBulk(Map.of(plenty.getId(), 4, scarce.getId(), 3));
+
+        // Then
+        assertEquals(Set.of(scarce.getId()), failed);
+        assertEquals(6, inventoryApi.getByProductId(plenty.getId()).getQuantity());
+        assertEquals(2, inventoryApi.getByProductId(scarce.getId()).getQuantity());
+    }
+
+    @Test
+    void testReserveBulk_ProductWithoutInventoryFailsWithoutCreatingStock() throws ApiException {
+        // Given
+        ProductPojo product = createTestProduct("BC_INV_RES3");
+
+        // When
+        Set<String> failed = inventoryApi.reserveBulk(Map.of(product.getId(), 1));
+
+        // Then
+        assertEquals(Set.of(product.getId()), failed);
+        assertNull(inventoryApi.getByProductId(product.getId()));
+    }
+
+    @Test
+    void testReleaseBulk_IncrementsQuantities() throws ApiException {
+        // Given
+        ProductPojo product = createTestProduct("BC_INV_REL1");
+        inventoryApi.add(createInventory(product.getId(), 5));
+
+        // When
+        inventoryApi.releaseBulk(Map.of(product.getId(), 3));
+
+        // Then
+        assertEquals(8, inventoryApi.getByProductId(product.getId()).getQuantity());
+    }
+
+    @Test
+    void testUpdateBulk_AddsToExistingAndCreatesMissing() throws ApiException {
+        // Given
+        ProductPojo stocked = createTestProduct("BC_INV_UPD1");
+        ProductPojo unstocked = createTestProduct("BC_INV_UPD2");
+        inventoryApi.add(createInventory(stocked.getId(), 5));
+
+        // When
+        List<InventoryPojo> updated = inventoryApi.updateBulk(List.of(createInventory(stocked.getId(), 3),
+                createInventory(unstocked.getId(), 4)));
+
+        // Then
+        assertEquals(2, updated.size());
+        assertEquals(8, inventoryApi.getByProductId(stocked.getId()).getQuantity());
+        assertEquals(4, inventoryApi.getByProductId(unstocked.getId()).getQuantity());
+    }
+
+    @Test
+    void testAddMissing_KeepsExistingStock() throws ApiException {
+        // Given
+        ProductPojo stocked = createTestProduct("BC_INV_MISS1");
+        ProductPojo unstocked = createTestProduct("BC_INV_MISS2");
+        inventoryApi.add(createInventory(stocked.getId(), 7));
+
+        // When
+        inventoryApi.addMissing(List.of(stocked.getId(), unstocked.getId()));
+
+        // Then
+        assertEquals(7, inventoryApi.getByProductId(stocked.getId()).getQuantity());
+        assertEquals(0, inventoryApi.getByProductId(unstocked.getId()).getQuantity());
+    }
+
+    private InventoryPojo createInventory(String productId, int quantity) {
+        InventoryPojo inventory = new InventoryPojo();
+        inventory.setProductId(productId);
+        inventory.setQuantity(quantity);
+        return inventory;
+    }
 }
@@ -0,0 +1,147 @@
+package com.increff.pos.api;
+
+import com.increff.pos.dao.InventoryHoldDao;
+import com.increff.pos.db.InventoryHoldPojo;
+import com.increff.pos.test.AbstractUnitTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryHoldApiTest extends AbstractUnitTest {
+
+    @Autowired
+    private InventoryHoldApi inventoryHoldApi;
+
+    @Autowired
+    private InventoryHoldDao inventoryHoldDao;
+
+    @Test
+    void testClaim_ReturnsHoldOnlyOnce() {
+        // Given
+        inventoryHoldApi.hold("ORD-000001", Map.of("p1", 3));
+
+        // When
+        InventoryHoldPojo first = inventoryHoldApi.claim("ORD-000001");
+        InventoryHoldPojo second = inventoryHoldApi.claim("ORD-000001");
+
+        // Then
+        assertEquals(Map.of("p1", 3), first.getQuantities());
+        assertNotNull(first.getClaimedBy());
+        assertNull(second);
+    }
+
+    @Test
+    void testClaim_HoldStaysUntilCompleted() {
+        // Given
+        inventoryHoldApi.hold("ORD-000004", Map.of("p1", 2));
+        InventoryHoldPojo claimed = inventoryHoldApi.claim("ORD-000004");
+
+        // When
+        long beforeComplete = inventoryHoldDao.count();
+        inventoryHoldApi.complete(claimed);
+
+        // Then
+        assertEquals(1, beforeComplete);
+        assertEquals(0, inventoryHoldDao.count());
+    }
+
+    @Test
+    void testRehold_ReplacesQuantitiesAndReleasesClaim() {
+        // Given
+        inventoryHoldApi.hold("ORD-000005", Map.of("p1", 2));
+        InventoryHoldPojo claimed = inventoryHoldApi.claim("ORD-000005");
+
+        // When
+        inventoryHoldApi.rehold(claimed, Map.of("p1", 2, "p2", 1));
+
+        // Then
+        InventoryHoldPojo reclaimed = inventoryHoldApi.claim("ORD-000005");
+        assertEquals(Map.of("p1", 2, "p2", 1), reclaimed.getQuantities());
+        assertNotEquals(claimed.getClaimedBy(), reclaimed.getClaimedBy());
+    }
+
+    @Test
+    void testClaimExpired_SkipsActiveHolds() {
+        // Given
+        inventoryHoldApi.hold("ORD-000002", Map.of("p1", 1));
+        InventoryHoldPojo expired = new InventoryHoldPojo();
+        expired.setOrderId("ORD-000003");
+        expired.setQuantities(Map.of("p2", 4));
+        expired.setExpiresAt(ZonedDateTime.now().minusMinutes(1));
+        inventoryHoldDao.insert(expired);
+
+        // When
+        List<InventoryHoldPojo> claimed = inventoryHoldApi.claimExpired(ZonedDateTime.now(), 10);
+
+        // Then
+        assertEquals(1, claimed.size());
+        assertEquals(Map.of("p2", 4), claimed.get(0).getQuantities());
+        assertNull(inventoryHoldApi.claim("ORD-000003"));
+        assertEquals(Map.of("p1", 1), inventoryHoldApi.claim("ORD-000002").getQuantities());
+    }
+
+    @Test
+    void testClaimExpired_TakesOverStaleClaims() {
+        // Given - A retry claimed the hold and died before finishing
+        InventoryHoldPojo abandoned = new InventoryHoldPojo();
+        abandoned.setOrderId("ORD-000006");
+        abandoned.setQuantities(Map.of("p3", 5));
+        abandoned.setExpiresAt(ZonedDateTime.now().plusMinutes(10));
+        abandoned.setClaimedBy("crashed-request");
+        abandoned.setClaimedAt(ZonedDateTime.now().minusHours(1));
+        inventoryHoldDao.insert(abandoned);
+
+        // When
+        List<InventoryHoldPojo> claimed = inventoryHoldApi.claimExpired(ZonedDateTime.now(), 10);
+
+        // Then
+        assertEquals(1, claimed.size());
+        assertEquals(Map.of("p3", 5), claimed.get(0).getQuantities());
+        assertNotEquals("crashed-request", claimed.get(0).getClaimedBy());
+    }
+
+    @Test
+    void testStartRelease_FailsOnceTheClaimIsTakenOver() {
+        // Given - A slow request claimed the hold and the sweeper took over the stale claim
+        InventoryHoldPojo slow = new InventoryHoldPojo();
+        slow.setOrderId("ORD-000007");
+        slow.setQuantities(Map.of("p1", 4));
+        slow.setExpiresAt(ZonedDateTime.now().plusMinutes(10));
+        slow.setClaimedBy("slow-request");
+        slow.setClaimedAt(ZonedDateTime.now().minusHours(1));
+        inventoryHoldDao.insert(slow);
+        InventoryHoldPojo takenOver = inventoryHoldApi.claimExpired(ZonedDateTime.now(), 10).get(0);
+
+        // When
+        boolean slowMarked = inventoryHoldApi.convert(slow);
+        boolean sweeperMarked = inventoryHoldApi.startRelease(takenOver);
+
+        // Then
+        assertFalse(slowMarked);
+        assertFalse(inventoryHoldApi.complete(slow));
+        assertTrue(sweeperMarked);
+        assertTrue(inventoryHoldApi.complete(takenOver));
+    }
+
+    @Test
+    void testConvert_MarkedHoldIsNotClaimableUntilReheld() {
+        // Given
+        inventoryHoldApi.hold("ORD-000008", Map.of("p1", 2));
+        InventoryHoldPojo claimed = inventoryHoldApi.claim("ORD-000008");
+
+        // When
+        assertTrue(inventoryHoldApi.convert(claimed));
+        assertFalse(inventoryHoldApi.startRelease(claimed));
+        assertTrue(inventoryHoldApi.rehold(claimed, Map.of("p1", 1)));
+
+        // Then
+        InventoryHoldPojo reclaimed = inventoryHoldApi.claim("ORD-000008");
+        assertNull(reclaimed.getState());
+        assertEquals(Map.of("p1", 1), reclaimed.getQuantities());
+    }
+}
@@ -7,6 +7,8 @@ import com.increff.pos.test.AbstractUnitTest;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import org.springframework.data.domain.Page;
+
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -221,4 +223,28 @@ class ProductApiTest extends AbstractUnitTest {
         assertEquals(saved.getId(), results.get(0).getId());
     }
 
+    @Test
+    void testSearch_RanksExactWordBeforePrefix() throws ApiException {
+        // Given
+        ClientPojo client = createTestClient("testclient12", "test12@example.com");
+        ProductPojo prefix = new ProductPojo();
+        prefix.setBarcode("BC_SEARCH1");
+        prefix.setClientId(client.getClientId());
+        prefix.setName("teapot large");
+        prefix.setMrp(100.0);
+        productApi.add(prefix);
+        ProductPojo exact = new ProductPojo();
+        exact.setBarcode("BC_SEARCH2");
+        exact.setClientId(client.getClientId());
+        exact.setName("tea leaves");
+        exact.setMrp(50.0);
+        ProductPojo savedExact = productApi.add(exact);
+
+        // When
+        Page<ProductPojo> results = productApi.search("tea", null, 0, 10);
+
+        // Then
+        assertEquals(2, results.getTotalElements());
+        assertEquals(savedExact.getId(), results.getContent().get(0).getId());
+    }
 }
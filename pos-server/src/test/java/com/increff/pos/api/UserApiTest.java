@@ -72,4 +72,27 @@ class UserApiTest extends AbstractUnitTest {
         assertNotNull(result);
         assertEquals("email@example.com", result.getEmail());
     }
+
+    @Test
+    void testUpdate_ChangesRoleAndPassword() throws ApiException {
+        // Given
+        UserPojo user = new UserPojo();
+        user.setEmail("update@example.com");
+        user.setPassword("password123");
+        user.setName("Update User");
+        user.setRole("USER");
+        UserPojo saved = userApi.add(user);
+
+        UserPojo patch = new UserPojo();
+        patch.setRole("SUPERVISOR");
+        patch.setPassword("newpassword");
+
+        // When
+        UserPojo result = userApi.update(saved.getId(), patch);
+
+        // Then
+        assertEquals("SUPERVISOR", result.getRole());
+        assertEquals("newpassword", result.getPassword());
+        assertEquals("update@example.com", result.getEmail());
+    }
 }
@@ -0,0 +1,110 @@
+package com.increff.pos.cache;
+
+import com.increff.pos.helper.AuthHelper;
+import com.increff.pos.model.data.AuthData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthTokenCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AuthTokenCache authTokenCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        authTokenCache = new AuthTokenCache(100, 60, meterRegistry);
+    }
+
+    @Test
+    void testPutAndGet() {
+        // Given
+        AuthData authData = AuthHelper.createAuthData("token1", "user@example.com", "User", "USER");
+
+        // When
+        authTokenCache.put("token1", authData);
+
+        // Then
+        assertSame(authData, authTokenCache.get("token1"));
+        assertNull(authTokenCache.get("token2"));
+    }
+
+    @Test
+    void testInvalidateByEmail_RemovesAllTokensForUser() {
+        // Given
+        authTokenCache.put("token1", AuthHelper.createAuthData("token1", "user@example.com", "User", "USER"));
+        authTokenCache.put("token2", AuthHelper.createAuthData("token2", "USER@example.com", "User", "USER"));
+        authTokenCache.put("token3", AuthHelper.createAuthData("token3", "other@example.com", "Other", "USER"));
+
+        // When
+        authTokenCache.invalidateByEmail("user@example.com");
+
+        // Then
+        assertNull(authTokenCache.get("token1"));
+        assertNull(authTokenCache.get("token2"));
+        assertNotNull(authTokenCache.get("token3"));
+    }
+
+    @Test
+    void testHitRate_IsRecordedAndExposed() {
+        // Given
+        authTokenCache.put("token1", AuthHelper.createAuthData("token1", "user@example.com", "User", "USER"));
+
+        // When
+        authTokenCache.get("token1");
+        authTokenCache.get("missing");
+
+        // Then
+        assertEquals(0.5, authTokenCache.hitRate(), 0.0001);
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", "authTokens").tag("result", "hit")
+                .functionCounter());
+    }
+
+    @Test
+    void testOnInvalidation_UserChangedOnAnotherNode() {
+        // Given
+        authTokenCache.put("token1", AuthHelper.createAuthData("token1", "user@example.com", "User", "USER"));
+        authTokenCache.put("token2", AuthHelper.createAuthData("token2", "other@example.com", "Other", "USER"));
+
+        // When
+        authTokenCache.onInvalidation(new CacheInvalidationEvent("users", "u1", "update",
+                new Document("email", "user@example.com")));
+
+        // Then
+        assertNull(authTokenCache.get("token1"));
+        assertNotNull(authTokenCache.get("token2"));
+    }
+
+    @Test
+    void testOnInvalidation_DeleteDropsAllTokens() {
+        // Given
+        authTokenCache.put("token1", AuthHelper.createAuthData("token1", "user@example.com", "User", "USER"));
+
+        // When
+        authTokenCache.onInvalidation(new CacheInvalidationEvent("users", "u1", "delete", null));
+
+        // Then
+        assertNull(authTokenCache.get("token1"));
+    }
+
+    @Test
+    void testPut_ReadBeforeAnInvalidationIsNotCached() {
+        // Given - The user was read, then changed and invalidated before the token was cached
+        long readGeneration = authTokenCache.generation();
+        authTokenCache.invalidateByEmail("user@example.com");
+
+        // When
+        authTokenCache.put("token1", AuthHelper.createAuthData("token1", "user@example.com", "User", "USER"),
+                readGeneration);
+        authTokenCache.put("token2", AuthHelper.createAuthData("token2", "user@example.com", "User", "USER"),
+                authTokenCache.generation());
+
+        // Then
+        assertNull(authTokenCache.get("token1"));
+        assertNotNull(authTokenCache.get("token2"));
+    }
+}
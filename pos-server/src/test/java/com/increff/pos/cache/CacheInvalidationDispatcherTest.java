@@ -0,0 +1,84 @@
+package com.increff.pos.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationDispatcherTest {
+
+    @Mock
+    private ObjectProvider<CacheInvalidationListener> listenerProvider;
+
+    @Mock
+    private CacheInvalidationListener userCache;
+
+    @Mock
+    private CacheInvalidationListener catalogCache;
+
+    private CacheInvalidationDispatcher createDispatcher() {
+        when(userCache.collections()).thenReturn(Set.of("users"));
+        when(catalogCache.collections()).thenReturn(Set.of("products", "clients"));
+        when(listenerProvider.orderedStream()).thenReturn(Stream.of(userCache, catalogCache));
+        return new CacheInvalidationDispatcher(listenerProvider, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testCollections_UnionOfListeners() {
+        // When
+        Set<String> collections = createDispatcher().collections();
+
+        // Then
+        assertEquals(Set.of("users", "products", "clients"), collections);
+    }
+
+    @Test
+    void testDispatch_OnlyReachesListenersOfTheCollection() {
+        // Given
+        CacheInvalidationDispatcher dispatcher = createDispatcher();
+        CacheInvalidationEvent event = new CacheInvalidationEvent("products", "p1", "update", null);
+
+        // When
+        dispatcher.dispatch(event);
+
+        // Then
+        verify(catalogCache).onInvalidation(event);
+        verify(userCache, never()).onInvalidation(any());
+    }
+
+    @Test
+    void testDispatch_FailingListenerIsFullyInvalidated() {
+        // Given
+        CacheInvalidationDispatcher dispatcher = createDispatcher();
+        doThrow(new IllegalStateException("boom")).when(userCache).onInvalidation(any());
+
+        // When
+        dispatcher.dispatch(new CacheInvalidationEvent("users", "u1", "update", null));
+
+        // Then
+        verify(userCache).invalidateAll();
+    }
+
+    @Test
+    void testInvalidateAll_CallsEachListenerOnce() {
+        // Given
+        CacheInvalidationDispatcher dispatcher = createDispatcher();
+
+        // When
+        dispatcher.invalidateAll();
+
+        // Then
+        verify(userCache, times(1)).invalidateAll();
+        verify(catalogCache, times(1)).invalidateAll();
+    }
+}
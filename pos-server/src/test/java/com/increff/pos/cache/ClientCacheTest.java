@@ -0,0 +1,181 @@
+package com.increff.pos.cache;
+
+import com.increff.pos.dao.ClientDao;
+import com.increff.pos.db.ClientPojo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClientCacheTest {
+
+    @Mock
+    private ClientDao clientDao;
+
+    private ClientCache clientCache;
+
+    @BeforeEach
+    void setUp() {
+        clientCache = new ClientCache(clientDao, new SimpleMeterRegistry());
+    }
+
+    private ClientPojo client(String id, String clientId, String name) {
+        ClientPojo client = new ClientPojo();
+        client.setId(id);
+        client.setClientId(clientId);
+        client.setName(name);
+        return client;
+    }
+
+    @Test
+    void testGetByClientId_LoadsCollectionOnceThenProbesMemory() {
+        // Given
+        when(clientDao.findAll()).thenReturn(List.of(client("c1", "C0001", "alpha"), client("c2", "C0002", "beta")));
+
+        // When
+        clientCache.getByClientId("C0001");
+        clientCache.getByClientId("C0002");
+        ClientPojo result = clientCache.getById("c1");
+
+        // Then
+        assertEquals("alpha", result.getName());
+        verify(clientDao, times(1)).findAll();
+        verify(clientDao, never()).findByClientId(any());
+    }
+
+    @Test
+    void testGetByClientId_MissFallsBackToMongo() {
+        // Given
+        when(clientDao.findAll()).thenReturn(List.of());
+        when(clientDao.findByClientId("C0003")).thenReturn(client("c3", "C0003", "gamma"));
+
+        // When
+        clientCache.getByClientId("C0003");
+        ClientPojo result = clientCache.getByClientId("C0003");
+
+        // Then
+        assertEquals("gamma", result.getName());
+        verify(clientDao, times(1)).findByClientId("C0003");
+    }
+
+    @Test
+    void testPut_ReplacesClientUnderBothKeys() {
+        // Given
+        when(clientDao.findAll()).thenReturn(List.of(client("c1", "C0001", "alpha")));
+        clientCache.getById("c1");
+
+        // When
+        clientCache.put(client("c1", "C0001", "renamed"));
+
+        // Then
+        assertEquals("renamed", clientCache.getById("c1").getName());
+        assertEquals("renamed", clientCache.getByClientId("C0001").getName());
+    }
+
+    @Test
+    void testOnInvalidation_ChangedClientIsReread() {
+        // Given
+        when(clientDao.findAll()).thenReturn(List.of(client("c1", "C0001", "alpha")));
+        when(clientDao.findById("c1")).thenReturn(Optional.of(client("c1", "C0001", "changed elsewhere")));
+        clientCache.getById("c1");
+
+        // When
+        clientCache.onInvalidation(new CacheInvalidationEvent("clients", "c1", "update", null));
+
+        // Then
+        assertEquals("changed elsewhere", clientCache.getById("c1").getName());
+    }
+
+    @Test
+    void testInvalidateAll_ReloadsOnNextLookup() {
+        // Given
+        when(clientDao.findAll()).thenReturn(List.of(client("c1", "C0001", "alpha")));
+        clientCache.getById("c1");
+
+        // When
+        clientCache.invalidateAll();
+        clientCache.getById("c1");
+
+        // Then
+        verify(clientDao, times(2)).findAll();
+    }
+
+    @Test
+    void testReload_KeepsPutsMadeWhileReading() {
+        // Given
+        when(clientDao.findAll()).thenReturn(List.of(client("c1", "C0001", "alpha")));
+        clientCache.getById("c1");
+        when(clientDao.findAll()).thenAnswer(invocation -> {
+            clientCache.put(client("c1", "C0001", "renamed"));
+            return List.of(client("c1", "C0001", "alpha"));
+        });
+
+        // When
+        clientCache.reload();
+
+        // Then
+        assertEquals("renamed", clientCache.getByClientId("C0001").getName());
+    }
+
+    @Test
+    void testInvalidateAll_DuringReloadIsNotOverwritten() {
+        // Given
+        when(clientDao.findAll()).thenAnswer(invocation -> {
+            clientCache.invalidateAll();
+            return List.of(client("c1", "C0001", "alpha"));
+        }).thenReturn(List.of(client("c1", "C0001", "beta")));
+
+        // When
+        clientCache.reload();
+        ClientPojo result = clientCache.getById("c1");
+
+        // Then
+        assertEquals("beta", result.getName());
+        verify(clientDao, times(2)).findAll();
+    }
+
+    @Test
+    void testGetByClientId_MissDoesNotOverwriteAPutMadeDuringTheRead() {
+        // Given
+        when(clientDao.findAll()).thenReturn(List.of());
+        when(clientDao.findByClientId("C0001")).thenAnswer(invocation -> {
+            clientCache.put(client("c1", "C0001", "renamed"));
+            return client("c1", "C0001", "alpha");
+        });
+
+        // When
+        clientCache.getByClientId("C0001");
+        ClientPojo result = clientCache.getById("c1");
+
+        // Then
+        assertEquals("renamed", result.getName());
+    }
+
+    @Test
+    void testGetByClientIds_ReadsAllMissesInOneQuery() {
+        // Given
+        when(clientDao.findAll()).thenReturn(List.of(client("c1", "C0001", "alpha")));
+        when(clientDao.findByClientIds(List.of("C0002"))).thenReturn(List.of(client("c2", "C0002", "beta")));
+
+        // When
+        Map<String, ClientPojo> result = clientCache.getByClientIds(List.of("C0001", "C0002", "C0002"));
+        clientCache.getByClientId("C0002");
+
+        // Then
+        assertEquals("alpha", result.get("C0001").getName());
+        assertEquals("beta", result.get("C0002").getName());
+        verify(clientDao, times(1)).findByClientIds(any());
+        verify(clientDao, never()).findByClientId(any());
+    }
+}
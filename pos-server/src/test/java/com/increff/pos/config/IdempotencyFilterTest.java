@@ -0,0 +1,184 @@
+package com.increff.pos.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.increff.pos.api.IdempotencyApi;
+import com.increff.pos.db.IdempotencyKeyPojo;
+import com.increff.pos.exception.ApiException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyFilterTest {
+
+    @Mock
+    private IdempotencyApi idempotencyApi;
+
+    @InjectMocks
+    private IdempotencyFilter idempotencyFilter;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(idempotencyFilter, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(idempotencyFilter, "meterRegistry", new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testFirstRequestExecutesAndStoresResponse() throws Exception {
+        // Given
+        IdempotencyKeyPojo entry = entry("IN_PROGRESS");
+        when(idempotencyApi.begin(anyString(), anyString())).thenReturn(entry);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain(new EchoServlet());
+
+        // When
+        idempotencyFilter.doFilter(createRequest(), response, chain);
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertEquals("{\"items\":[]}", response.getContentAsString());
+        verify(idempotencyApi).complete(entry, 200, "application/json", "{\"items\":[]}");
+        verify(idempotencyApi, never()).release(any());
+    }
+
+    @Test
+    void testCompletedKeyIsReplayedWithoutExecuting() throws Exception {
+        // Given
+        IdempotencyKeyPojo completed = entry("COMPLETED");
+        completed.setResponseStatus(200);
+        completed.setContentType("application/json");
+        completed.setResponseBody("{\"orderId\":\"ORD-000001\"}");
+        when(idempotencyApi.begin(anyString(), anyString())).thenReturn(completed);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        idempotencyFilter.doFilter(createRequest(), response, chain);
+
+        // Then
+        assertNull(chain.getRequest());
+        assertEquals(200, response.getStatus());
+        assertEquals("true", response.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals("{\"orderId\":\"ORD-000001\"}", response.getContentAsString());
+    }
+
+    @Test
+    void testFailedResponseReleasesKey() throws Exception {
+        // Given
+        IdempotencyKeyPojo entry = entry("IN_PROGRESS");
+        when(idempotencyApi.begin(anyString(), anyString())).thenReturn(entry);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                resp.setStatus(400);
+            }
+        });
+
+        // When
+        idempotencyFilter.doFilter(createRequest(), response, chain);
+
+        // Then
+        assertEquals(400, response.getStatus());
+        verify(idempotencyApi).release(entry);
+        verify(idempotencyApi, never()).complete(any(), anyInt(), any(), any());
+    }
+
+    @Test
+    void testConflictReturns409() throws Exception {
+        // Given
+        when(idempotencyApi.begin(anyString(), anyString()))
+                .thenThrow(new ApiException("A request with this Idempotency-Key is still in progress"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        idempotencyFilter.doFilter(createRequest(), response, new MockFilterChain());
+
+        // Then
+        assertEquals(409, response.getStatus());
+        assertTrue(response.getContentAsString().contains("still in progress"));
+    }
+
+    @Test
+    void testBlankOrOversizedKeyReturns400() throws Exception {
+        // Given
+        MockHttpServletRequest blank = createRequest();
+        blank.removeHeader(IdempotencyFilter.HEADER);
+        blank.addHeader(IdempotencyFilter.HEADER, " ");
+        MockHttpServletRequest oversized = createRequest();
+        oversized.removeHeader(IdempotencyFilter.HEADER);
+        oversized.addHeader(IdempotencyFilter.HEADER, "k".repeat(1000));
+        MockHttpServletResponse blankResponse = new MockHttpServletResponse();
+        MockHttpServletResponse oversizedResponse = new MockHttpServletResponse();
+
+        // When
+        idempotencyFilter.doFilter(blank, blankResponse, new MockFilterChain());
+        idempotencyFilter.doFilter(oversized, oversizedResponse, new MockFilterChain());
+
+        // Then
+        assertEquals(400, blankResponse.getStatus());
+        assertEquals(400, oversizedResponse.getStatus());
+        verifyNoInteractions(idempotencyApi);
+    }
+
+    @Test
+    void testRequestsWithoutKeyOrOutsideOrderWritesAreNotFiltered() {
+        // Given
+        MockHttpServletRequest withoutKey = new MockHttpServletRequest("POST", "/api/order/create");
+        MockHttpServletRequest read = new MockHttpServletRequest("GET", "/api/order/get-by-id/ORD-000001");
+        read.addHeader(IdempotencyFilter.HEADER, "k1");
+        MockHttpServletRequest cancel = new MockHttpServletRequest("POST", "/api/order/cancel/ORD-000001");
+        cancel.addHeader(IdempotencyFilter.HEADER, "k1");
+
+        // Then
+        assertTrue(idempotencyFilter.shouldNotFilter(withoutKey));
+        assertTrue(idempotencyFilter.shouldNotFilter(read));
+        assertTrue(idempotencyFilter.shouldNotFilter(cancel));
+        assertFalse(idempotencyFilter.shouldNotFilter(createRequest()));
+    }
+
+    private MockHttpServletRequest createRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/order/create");
+        request.addHeader(IdempotencyFilter.HEADER, "k1");
+        request.setContentType("application/json");
+        request.setContent("{\"items\":[]}".getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private IdempotencyKeyPojo entry(String status) {
+        IdempotencyKeyPojo entry = new IdempotencyKeyPojo();
+        entry.setId("entry1");
+        entry.setStatus(status);
+        entry.setOwner("owner1");
+        return entry;
+    }
+
+    private static class EchoServlet extends HttpServlet {
+        @Override
+        protected void service(HttpServletRequest req, HttpServletResponse resp)
+                throws IOException {
+            resp.setStatus(200);
+            resp.setContentType("application/json");
+            resp.getOutputStream().write(StreamUtils.copyToByteArray(req.getInputStream()));
+        }
+    }
+}
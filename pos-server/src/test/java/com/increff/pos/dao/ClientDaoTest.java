@@ -4,8 +4,12 @@ import com.increff.pos.db.ClientPojo;
 import com.increff.pos.test.AbstractUnitTest;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -189,4 +193,52 @@ class ClientDaoTest extends AbstractUnitTest {
         // Then
         assertFalse(found.isPresent());
     }
+
+    @Test
+    void testFindWithFilters_MatchesWordPrefixesAndRanksExactFirst() {
+        // Given
+        clientDao.save(createClient("CL101", "Big Acme Stores", "stores@example.com"));
+        clientDao.save(createClient("CL102", "Acme Corp", "corp@example.com"));
+        clientDao.save(createClient("CL103", "acme", "acme@example.com"));
+        clientDao.save(createClient("CL104", "Zenith Traders", "zenith@example.com"));
+
+        // When
+        Page<ClientPojo> page = clientDao.findWithFilters(null, "ACM", null, PageRequest.of(0, 10));
+        Page<ClientPojo> exact = clientDao.findWithFilters(null, "acme", null, PageRequest.of(0, 10));
+
+        // Then
+        assertEquals(3, page.getTotalElements());
+        assertEquals(List.of("CL103", "CL102", "CL101"), clientIds(exact.getContent()));
+        assertFalse(clientIds(page.getContent()).contains("CL104"));
+    }
+
+    @Test
+    void testFindWithFilters_PagesAfterRankingAndRequiresEveryFilter() {
+        // Given
+        clientDao.save(createClient("CL201", "Metro Mart", "metro@example.com"));
+        clientDao.save(createClient("CL202", "Metro", "hello@metro.com"));
+        clientDao.save(createClient("CL203", "Old Metro Goods", "metro@goods.com"));
+
+        // When
+        Page<ClientPojo> second = clientDao.findWithFilters(null, "metro", null, PageRequest.of(1, 1));
+        Page<ClientPojo> both = clientDao.findWithFilters(null, "metro", "metro@", PageRequest.of(0, 10));
+
+        // Then
+        assertEquals(3, second.getTotalElements());
+        assertEquals(List.of("CL201"), clientIds(second.getContent()));
+        assertEquals(List.of("CL201", "CL203"), clientIds(both.getContent()));
+    }
+
+    private ClientPojo createClient(String clientId, String name, String email) {
+        ClientPojo client = new ClientPojo();
+        client.setClientId(clientId);
+        client.setName(name);
+        client.setEmail(email);
+        client.setPhone(clientId.substring(2) + "0000000");
+        return client;
+    }
+
+    private List<String> clientIds(List<ClientPojo> clients) {
+        return clients.stream().map(ClientPojo::getClientId).collect(Collectors.toList());
+    }
 }
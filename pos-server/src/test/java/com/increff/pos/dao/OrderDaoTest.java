@@ -1,9 +1,13 @@
 package com.increff.pos.dao;
 
 import com.increff.pos.db.OrderPojo;
+import com.increff.pos.helper.OrderHelper;
 import com.increff.pos.test.AbstractUnitTest;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.ZonedDateTime;
 import java.util.List;
@@ -73,4 +77,33 @@ class OrderDaoTest extends AbstractUnitTest {
         // Then
         assertTrue(results.size() > 0);
     }
+
+    @Test
+    void testFindWithFilters_OrderIdSearchCapsCandidates() {
+        // Given
+        ZonedDateTime now = ZonedDateTime.now();
+        for (int i = 1; i <= 3; i++) {
+            OrderPojo order = new OrderPojo();
+            order.setOrderId("ORD-00000" + i);
+            order.setStatus("FULFILLED");
+            order.setOrderDate(now.minusDays(i));
+            order.setSearchKeys(OrderHelper.searchKeys(order));
+            orderDao.save(order);
+        }
+        int maxSearchCandidates = (int) ReflectionTestUtils.getField(orderDao, "maxSearchCandidates");
+        ReflectionTestUtils.setField(orderDao, "maxSearchCandidates", 2);
+
+        // When
+        Page<OrderPojo> page;
+        try {
+            page = orderDao.findWithFilters("ORD", null, null, null, PageRequest.of(0, 10));
+        } finally {
+            ReflectionTestUtils.setField(orderDao, "maxSearchCandidates", maxSearchCandidates);
+        }
+
+        // Then
+        assertEquals(2, page.getTotalElements());
+        assertEquals(2, page.getContent().size());
+        assertFalse(page.getContent().get(0).getOrderDate().isBefore(page.getContent().get(1).getOrderDate()));
+    }
 }
@@ -0,0 +1,115 @@
+package com.increff.pos.dao;
+
+import com.increff.pos.config.IndexInitialization;
+import com.increff.pos.test.AbstractUnitTest;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.Date;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryIndexTest extends AbstractUnitTest {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private IndexInitialization indexInitialization;
+
+    private final Date from = new Date(0);
+    private final Date to = new Date();
+
+    @BeforeEach
+    void setUp() {
+        indexInitialization.ensureIndexes();
+    }
+
+    @Test
+    void testProductQueries_UseIndexes() {
+        assertNoCollectionScan("products", new Document("barcode", "bc1"), null);
+        assertNoCollectionScan("products", new Document("barcode", in("bc1", "bc2")), null);
+        assertNoCollectionScan("products", new Document("clientId", "C001"), null);
+        assertNoCollectionScan("inventory", new Document("productId", "p1"), null);
+        assertNoCollectionScan("inventory", new Document("productId", in("p1", "p2")), null);
+    }
+
+    @Test
+    void testOrderQueries_UseIndexes() {
+        Document dateRange = new Document("$gte", from).append("$lte", to);
+        Document newestFirst = new Document("orderDate", -1);
+
+        assertNoCollectionScan("orders", new Document("orderId", "ORD-1"), null);
+        assertNoCollectionScan("orders", new Document("orderDate", dateRange), null);
+        assertNoCollectionScan("orders", new Document("status", "PLACED"), newestFirst);
+        assertNoCollectionScan("orders", new Document("status", "PLACED").append("orderDate", dateRange),
+                newestFirst);
+        assertNoCollectionScan("orders", new Document("orderDate", dateRange), newestFirst);
+        assertNoCollectionScan("order_items", new Document("orderId", "o1"), null);
+        assertNoCollectionScan("order_items", new Document("orderId", in("o1", "o2")), null);
+        assertNoCollectionScan("invoices", new Document("orderId", "o1"), null);
+        assertNoCollectionScan("invoices", new Document("invoiceId", "INV-000001"), null);
+        assertNoCollectionScan("invoices", new Document("invoiceDate", dateRange), null);
+    }
+
+    @Test
+    void testClientAndUserQueries_UseIndexes() {
+        assertNoCollectionScan("clients", new Document("clientId", "C001"), null);
+        assertNoCollectionScan("clients", new Document("clientId", in("C001", "C002")), null);
+        assertNoCollectionScan("clients", new Document("$or", List.of(new Document("name", "a"),
+                new Document("phone", "1"), new Document("email", "a@b.com"))), null);
+        assertNoCollectionScan("users", new Document("email", "a@b.com"), null);
+    }
+
+    @Test
+    void testPrefixSearchQueries_UseIndexes() {
+        assertNoCollectionScan("clients", new Document("searchKeys",
+                new Document("$all", List.of(Pattern.compile("^name:acme"), Pattern.compile("^email:a")))), null);
+        assertNoCollectionScan("orders", new Document("searchKeys", Pattern.compile("^id:ord\\-0001")),
+                new Document("orderDate", -1));
+    }
+
+    @Test
+    void testReportingQueries_UseIndexes() {
+        assertNoCollectionScan("daily_sales", new Document("date", from).append("clientId", "C001"), null);
+        assertNoCollectionScan("daily_sales", new Document("date", from), null);
+        assertNoCollectionScan("audit_logs", new Document("operatorEmail", "a@b.com"),
+                new Document("timestamp", -1));
+        assertNoCollectionScan("audit_logs", new Document("timestamp", new Document("$gte", from).append("$lte", to)),
+                new Document("timestamp", -1).append("_id", -1));
+        assertNoCollectionScan("audit_logs", new Document("timestamp", new Document("$lt", to)),
+                new Document("timestamp", 1));
+        assertNoCollectionScan("import_jobs", new Document("type", "PRODUCT").append("contentHash", "h"), null);
+    }
+
+    private Document in(Object... values) {
+        return new Document("$in", List.of(values));
+    }
+
+    private void assertNoCollectionScan(String collection, Document filter, Document sort) {
+        Document explain = mongoTemplate.getCollection(collection).find(filter)
+                .sort(sort)
+                .explain();
+        Document winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+        assertFalse(containsStage(winningPlan, "COLLSCAN"),
+                collection + " " + filter.toJson() + " does a collection scan: " + winningPlan.toJson());
+    }
+
+    private boolean containsStage(Object node, String stage) {
+        if (node instanceof Document document) {
+            if (stage.equals(document.get("stage"))) {
+                return true;
+            }
+            return document.values().stream().anyMatch(value -> containsStage(value, stage));
+        }
+        if (node instanceof List<?> list) {
+            return list.stream().anyMatch(value -> containsStage(value, stage));
+        }
+        return false;
+    }
+}
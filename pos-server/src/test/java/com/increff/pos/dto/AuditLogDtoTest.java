@@ -1,13 +1,22 @@
 package com.increff.pos.dto;
 
+import com.increff.pos.api.AuditLogApi;
+import com.increff.pos.helper.AuthHelper;
 import com.increff.pos.test.AbstractUnitTest;
 import com.increff.pos.exception.ApiException;
 import com.increff.pos.model.data.AuditLogData;
+import com.increff.pos.model.data.AuditLogPageData;
+import com.increff.pos.model.form.AuditLogSearchForm;
 import com.increff.pos.model.form.PageForm;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -17,6 +26,9 @@ public class AuditLogDtoTest extends AbstractUnitTest {
     @Autowired
     private AuditLogDto auditLogDto;
 
+    @Autowired
+    private AuditLogApi auditLogApi;
+
     @Test
     public void testGetByOperatorEmail_EmptyResult() {
         // When
@@ -124,4 +136,60 @@ public class AuditLogDtoTest extends AbstractUnitTest {
         // Then
         assertNotNull(result);
     }
+
+    @Test
+    public void testGetWindow_CursorPagination() throws ApiException {
+        // Given
+        ZonedDateTime now = ZonedDateTime.now();
+        auditLogApi.addBulk(Arrays.asList(
+                AuthHelper.createAuditLog("a@example.com", "A", "LOGIN", now.minusMinutes(3)),
+                AuthHelper.createAuditLog("b@example.com", "B", "LOGIN", now.minusMinutes(2)),
+                AuthHelper.createAuditLog("c@example.com", "C", "LOGIN", now.minusMinutes(1))));
+
+        AuditLogSearchForm form = new AuditLogSearchForm();
+        form.setSize(2);
+
+        // When
+        AuditLogPageData firstPage = auditLogDto.getWindow(form);
+        form.setCursor(firstPage.getNextCursor());
+        AuditLogPageData secondPage = auditLogDto.getWindow(form);
+
+        // Then
+        assertEquals(2, firstPage.getItems().size());
+        assertEquals("c@example.com", firstPage.getItems().get(0).getOperatorEmail());
+        assertNotNull(firstPage.getNextCursor());
+        assertEquals(1, secondPage.getItems().size());
+        assertEquals("a@example.com", secondPage.getItems().get(0).getOperatorEmail());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    public void testGetWindow_InvalidRange() {
+        // Given
+        AuditLogSearchForm form = new AuditLogSearchForm();
+        form.setFromDate("2024-02-01");
+        form.setToDate("2024-01-01");
+
+        // When/Then
+        assertThrows(ApiException.class, () -> auditLogDto.getWindow(form));
+    }
+
+    @Test
+    public void testArchiveExpired_MovesOldEntriesToArchive(@TempDir Path archiveDir) throws ApiException {
+        // Given
+        ReflectionTestUtils.setField(auditLogDto, "archivePath", archiveDir.toString());
+        ZonedDateTime now = ZonedDateTime.now();
+        auditLogApi.addBulk(Arrays.asList(
+                AuthHelper.createAuditLog("old@example.com", "Old", "LOGIN", now.minusDays(400)),
+                AuthHelper.createAuditLog("new@example.com", "New", "LOGIN", now)));
+
+        // When
+        long archived = auditLogDto.archiveExpired();
+
+        // Then
+        assertEquals(1, archived);
+        assertTrue(auditLogDto.getByOperatorEmail("old@example.com").isEmpty());
+        assertEquals(1, auditLogDto.getByOperatorEmail("new@example.com").size());
+        assertEquals(1, archiveDir.toFile().listFiles().length);
+    }
 }
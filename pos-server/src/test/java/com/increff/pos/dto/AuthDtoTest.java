@@ -40,7 +40,7 @@ public class AuthDtoTest extends AbstractUnitTest {
         LoginForm loginForm = new LoginForm();
         loginForm.setEmail("test@example.com");
         loginForm.setPassword("testpass123");
-        AuthData authData = authDto.login(loginForm);
+        AuthData authData = authDto.login(loginForm, "127.0.0.1");
 
         assertNotNull(authData.getToken());
         assertEquals("test@example.com", authData.getEmail());
@@ -84,7 +84,7 @@ public class AuthDtoTest extends AbstractUnitTest {
         loginForm.setEmail("wrongpass@example.com");
         loginForm.setPassword("wrongpassword");
 
-        ApiException exception = assertThrows(ApiException.class, () -> authDto.login(loginForm));
+        ApiException exception = assertThrows(ApiException.class, () -> authDto.login(loginForm, "127.0.0.1"));
         assertTrue(exception.getMessage().contains("Invalid email or password"));
     }
 
@@ -94,7 +94,7 @@ public class AuthDtoTest extends AbstractUnitTest {
         loginForm.setEmail("nonexistent@example.com");
         loginForm.setPassword("anypassword");
 
-        ApiException exception = assertThrows(ApiException.class, () -> authDto.login(loginForm));
+        ApiException exception = assertThrows(ApiException.class, () -> authDto.login(loginForm, "127.0.0.1"));
         assertTrue(exception.getMessage().contains("not found") || exception.getMessage().contains("Invalid"));
     }
 
@@ -128,7 +128,7 @@ public class AuthDtoTest extends AbstractUnitTest {
         LoginForm loginForm = new LoginForm();
         loginForm.setEmail("tobedeleted@example.com");
         loginForm.setPassword("password123");
-        AuthData authData = authDto.login(loginForm);
+        AuthData authData = authDto.login(loginForm, "127.0.0.1");
 
         // Note: We can't actually delete the user in this test setup,
         // but we can test with a token for a non-existent user
@@ -145,7 +145,7 @@ public class AuthDtoTest extends AbstractUnitTest {
         loginForm.setEmail("");
         loginForm.setPassword("password");
 
-        ApiException exception = assertThrows(ApiException.class, () -> authDto.login(loginForm));
+        ApiException exception = assertThrows(ApiException.class, () -> authDto.login(loginForm, "127.0.0.1"));
         assertTrue(exception.getMessage().contains("Email"));
     }
 
@@ -155,7 +155,7 @@ public class AuthDtoTest extends AbstractUnitTest {
         loginForm.setEmail("test@example.com");
         loginForm.setPassword("");
 
-        ApiException exception = assertThrows(ApiException.class, () -> authDto.login(loginForm));
+        ApiException exception = assertThrows(ApiException.class, () -> authDto.login(loginForm, "127.0.0.1"));
         assertTrue(exception.getMessage().contains("Password"));
     }
 
@@ -13,7 +13,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
 import java.util.Arrays;
 import java.util.List;
 
@@ -303,4 +306,41 @@ class InventoryDtoTest {
         verify(inventoryFlow, times(1)).updateBulk(anyList());
     }
 
+    @Test
+    void testUploadInventoryStream_AppliesEachChunkAsDelta() throws ApiException {
+        // Given - same barcode split across two chunks
+        ReflectionTestUtils.setField(inventoryDto, "uploadChunkSize", 2);
+        String tsvContent = "barcode\tquantity\nbc123\t100\nbc456\t5\nbc123\t50";
+        ByteArrayInputStream inputStream = new ByteArrayInputStream(tsvContent.getBytes());
+
+        ProductPojo product2 = new ProductPojo();
+        product2.setId("prod2");
+        product2.setBarcode("bc456");
+
+        when(productFlow.getByBarcodes(Arrays.asList("bc123", "bc456")))
+                .thenReturn(java.util.Map.of("bc123", productPojo, "bc456", product2));
+        when(productFlow.getByBarcodes(Arrays.asList("bc123")))
+                .thenReturn(java.util.Map.of("bc123", productPojo));
+        StringWriter writer = new StringWriter();
+
+        // When
+        inventoryDto.uploadInventoryTsv(inputStream, writer);
+
+        // Then - second chunk adds only its own rows, not the running total for the file
+        verify(inventoryFlow, times(2)).updateBulk(anyList());
+        verify(inventoryFlow).updateBulk(argThat(list -> list.size() == 1
+                && list.get(0).getProductId().equals("prod1") && list.get(0).getQuantity() == 50));
+        String[] lines = writer.toString().split("\n");
+        assertEquals(4, lines.length);
+        assertTrue(lines[3].startsWith("4\tSUCCESS"));
+    }
+
+    @Test
+    void testUploadInventoryStream_WithoutHeader() {
+        ByteArrayInputStream inputStream = new ByteArrayInputStream("bc123\t75".getBytes());
+
+        ApiException exception = assertThrows(ApiException.class,
+                () -> inventoryDto.uploadInventoryTsv(inputStream, new StringWriter()));
+        assertTrue(exception.getMessage().contains("Missing required header row"));
+    }
 }
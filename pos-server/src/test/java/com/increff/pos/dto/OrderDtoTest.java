@@ -2,8 +2,10 @@ package com.increff.pos.dto;
 
 import com.increff.pos.exception.ApiException;
 import com.increff.pos.flow.OrderFlow;
+import com.increff.pos.flow.OrderResult;
 import com.increff.pos.model.data.OrderCreationResult;
 import com.increff.pos.model.data.OrderData;
+import com.increff.pos.model.form.OrderBatchForm;
 import com.increff.pos.model.form.OrderForm;
 import com.increff.pos.model.form.OrderLineForm;
 import com.increff.pos.db.OrderPojo;
@@ -14,6 +16,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.ZonedDateTime;
 import java.util.Arrays;
@@ -36,6 +39,7 @@ class OrderDtoTest {
     private OrderForm validForm;
     private OrderPojo orderPojo;
     private OrderCreationResult creationResult;
+    private OrderResult orderResult;
 
     @BeforeEach
     void setUp() {
@@ -56,21 +60,24 @@ class OrderDtoTest {
         creationResult = new OrderCreationResult();
         creationResult.setOrderId("ORD001");
         creationResult.setFulfillable(true);
+
+        orderResult = new OrderResult(orderPojo, new ArrayList<>(), true, new ArrayList<>());
     }
 
     @Test
     void testCreate_Success() throws ApiException {
         // Given
-        when(orderFlow.createOrder(anyList())).thenReturn(creationResult);
-        when(orderFlow.getOrderWithItems(anyString())).thenReturn(orderPojo);
-        when(orderFlow.getOrderItems(anyString())).thenReturn(new ArrayList<>());
+        when(orderFlow.createOrder(anyList())).thenReturn(orderResult);
 
         // When
         OrderData result = orderDto.create(validForm);
 
         // Then
         assertNotNull(result);
+        assertEquals("ORD001", result.getOrderId());
         verify(orderFlow, times(1)).createOrder(anyList());
+        verify(orderFlow, never()).getOrderWithItems(anyString());
+        verify(orderFlow, never()).getOrderItems(anyString());
     }
 
     @Test
@@ -99,8 +106,7 @@ class OrderDtoTest {
     @Test
     void testCancel_Success() throws ApiException {
         // Given
-        when(orderFlow.cancelOrder("ORD001")).thenReturn(orderPojo);
-        when(orderFlow.getOrderItems(anyString())).thenReturn(new ArrayList<>());
+        when(orderFlow.cancelOrder("ORD001")).thenReturn(orderResult);
 
         // When
         OrderData result = orderDto.cancel("ORD001");
@@ -113,8 +119,7 @@ class OrderDtoTest {
     @Test
     void testUpdate_Success() throws ApiException {
         // Given
-        when(orderFlow.updateOrder(anyString(), anyList())).thenReturn(orderPojo);
-        when(orderFlow.getOrderItems(anyString())).thenReturn(new ArrayList<>());
+        when(orderFlow.updateOrder(anyString(), anyList())).thenReturn(orderResult);
 
         // When
         OrderData result = orderDto.update("ORD001", validForm);
@@ -136,9 +141,7 @@ class OrderDtoTest {
     @Test
     void testRetry_Success() throws ApiException {
         // Given
-        when(orderFlow.retryOrder(anyString(), anyList())).thenReturn(creationResult);
-        when(orderFlow.getOrderWithItems(anyString())).thenReturn(orderPojo);
-        when(orderFlow.getOrderItems(anyString())).thenReturn(new ArrayList<>());
+        when(orderFlow.retryOrder(anyString(), anyList())).thenReturn(orderResult);
 
         // When
         OrderData result = orderDto.retry("ORD001", validForm);
@@ -151,9 +154,7 @@ class OrderDtoTest {
     @Test
     void testRetry_WithoutForm() throws ApiException {
         // Given
-        when(orderFlow.retryOrder(anyString(), isNull())).thenReturn(creationResult);
-        when(orderFlow.getOrderWithItems(anyString())).thenReturn(orderPojo);
-        when(orderFlow.getOrderItems(anyString())).thenReturn(new ArrayList<>());
+        when(orderFlow.retryOrder(anyString(), isNull())).thenReturn(orderResult);
 
         // When
         OrderData result = orderDto.retry("ORD001", null);
@@ -187,9 +188,7 @@ class OrderDtoTest {
 
         validForm.setLines(Arrays.asList(line1, line2));
 
-        when(orderFlow.createOrder(anyList())).thenReturn(creationResult);
-        when(orderFlow.getOrderWithItems(anyString())).thenReturn(orderPojo);
-        when(orderFlow.getOrderItems(anyString())).thenReturn(new ArrayList<>());
+        when(orderFlow.createOrder(anyList())).thenReturn(orderResult);
 
         // When
         OrderData result = orderDto.create(validForm);
@@ -217,4 +216,44 @@ class OrderDtoTest {
         assertThrows(ApiException.class, () -> orderDto.cancel("ORD001"));
     }
 
+    @Test
+    void testCreateBatch_Success() throws ApiException {
+        // Given
+        OrderBatchForm batchForm = new OrderBatchForm();
+        batchForm.setOrders(Arrays.asList(validForm, validForm));
+        when(orderFlow.createOrders(anyList())).thenReturn(Arrays.asList(creationResult, creationResult));
+
+        // When
+        List<OrderCreationResult> results = orderDto.createBatch(batchForm);
+
+        // Then
+        assertEquals(2, results.size());
+        verify(orderFlow, times(1)).createOrders(argThat(orders -> orders.size() == 2
+                && "PROD001".equals(orders.get(0).get(0).getBarcode())));
+    }
+
+    @Test
+    void testCreateBatch_TooManyOrders() {
+        // Given
+        ReflectionTestUtils.setField(orderDto, "maxBatchSize", 1);
+        OrderBatchForm batchForm = new OrderBatchForm();
+        batchForm.setOrders(Arrays.asList(validForm, validForm));
+
+        // When/Then
+        assertThrows(ApiException.class, () -> orderDto.createBatch(batchForm));
+        verifyNoInteractions(orderFlow);
+    }
+
+    @Test
+    void testCreateBatch_InvalidOrderRejectsBatch() {
+        // Given
+        OrderForm emptyForm = new OrderForm();
+        emptyForm.setLines(new ArrayList<>());
+        OrderBatchForm batchForm = new OrderBatchForm();
+        batchForm.setOrders(Arrays.asList(validForm, emptyForm));
+
+        // When/Then
+        assertThrows(ApiException.class, () -> orderDto.createBatch(batchForm));
+        verifyNoInteractions(orderFlow);
+    }
 }
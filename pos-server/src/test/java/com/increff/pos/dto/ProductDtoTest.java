@@ -1,27 +1,45 @@
 package com.increff.pos.dto;
 
+import com.increff.pos.api.ImportJobApi;
 import com.increff.pos.db.ClientPojo;
+import com.increff.pos.db.ImportJobPojo;
 import com.increff.pos.db.InventoryPojo;
 import com.increff.pos.db.ProductPojo;
 import com.increff.pos.exception.ApiException;
 import com.increff.pos.flow.ProductFlow;
+import com.increff.pos.model.data.ImportJobData;
 import com.increff.pos.model.data.ProductData;
 import com.increff.pos.model.form.PageForm;
 import com.increff.pos.model.form.ProductForm;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.StringWriter;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -31,6 +49,9 @@ class ProductDtoTest {
     @Mock
     private ProductFlow productFlow;
 
+    @Mock
+    private ImportJobApi importJobApi;
+
     @InjectMocks
     private ProductDto productDto;
 
@@ -38,6 +59,7 @@ class ProductDtoTest {
     private ProductPojo productPojo;
     private InventoryPojo inventoryPojo;
     private ClientPojo clientPojo;
+    private ThreadPoolExecutor productUploadExecutor;
 
     @BeforeEach
     void setUp() {
@@ -61,6 +83,14 @@ class ProductDtoTest {
         clientPojo = new ClientPojo();
         clientPojo.setId("C001");
         clientPojo.setName("Test Client");
+
+        productUploadExecutor = new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        ReflectionTestUtils.setField(productDto, "productUploadExecutor", productUploadExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productUploadExecutor.shutdownNow();
     }
 
     @Test
@@ -303,4 +333,198 @@ class ProductDtoTest {
         assertThrows(ApiException.class, () -> productDto.getById("invalid"));
     }
 
+    @Test
+    void testUploadProductsStream_ChunksAndOrdersResults() throws ApiException {
+        // Given - chunk size of 2 over three data rows
+        ReflectionTestUtils.setField(productDto, "uploadChunkSize", 2);
+        String tsvContent = "barcode\tclientid\tname\tmrp\n"
+                + "bc1\tC001\tp1\tabc\n"
+                + "bc2\tC001\tp2\t20\n"
+                + "bc3\tC001\tp3\t30\n";
+        stubImportJob();
+        when(productFlow.getExistingBarcodes(List.of("bc2"))).thenReturn(List.of());
+        when(productFlow.getExistingBarcodes(List.of("bc3"))).thenReturn(List.of("bc3"));
+
+        // When
+        String output = importProducts(tsvContent);
+
+        // Then - one lookup per chunk, one insert for the chunk with new barcodes
+        verify(productFlow, times(2)).getExistingBarcodes(anyList());
+        verify(productFlow, times(1)).addBulk(argThat(list -> list.size() == 1
+                && list.get(0).getBarcode().equals("bc2")));
+        String[] lines = output.split("\n");
+        assertEquals(4, lines.length);
+        assertTrue(lines[1].startsWith("2\tFAILED"));
+        assertTrue(lines[2].startsWith("3\tSUCCESS"));
+        assertTrue(lines[3].startsWith("4\tSKIPPED"));
+    }
+
+    @Test
+    void testUploadProductsTsv_DuplicateBarcodeInFile() throws ApiException {
+        // Given
+        String tsvContent = "barcode\tclientid\tname\tmrp\nbc1\tC001\tp1\t10\nbc1\tC001\tp1\t10";
+        String base64Content = java.util.Base64.getEncoder().encodeToString(tsvContent.getBytes());
+        stubImportJob();
+        when(productFlow.getExistingBarcodes(anyList())).thenReturn(List.of());
+
+        // When
+        String result = productDto.uploadProductsTsv(base64Content);
+
+        // Then
+        String decoded = new String(java.util.Base64.getDecoder().decode(result));
+        assertTrue(decoded.contains("3\tSKIPPED\tDuplicate barcode in file"));
+        verify(productFlow, times(1)).addBulk(argThat(list -> list.size() == 1));
+    }
+
+    @Test
+    void testUploadProductsStream_ParallelChunksKeepFirstDuplicate() throws ApiException {
+        // Given - one row per chunk, validated concurrently
+        ReflectionTestUtils.setField(productDto, "uploadChunkSize", 1);
+        ReflectionTestUtils.setField(productDto, "uploadParallelism", 3);
+        StringBuilder tsvContent = new StringBuilder("barcode\tclientid\tname\tmrp\n");
+        for (int i = 0; i < 20; i++) {
+            tsvContent.append("bc").append(i % 10).append("\tC001\tp\t10\n");
+        }
+        stubImportJob();
+        when(productFlow.getExistingBarcodes(anyList())).thenReturn(List.of());
+
+        // When
+        String output = importProducts(tsvContent.toString());
+
+        // Then - results stay in row order and later duplicates are skipped
+        String[] lines = output.split("\n");
+        assertEquals(21, lines.length);
+        for (int row = 2; row <= 21; row++) {
+            String expected = row <= 11 ? row + "\tSUCCESS" : row + "\tSKIPPED\tDuplicate barcode in file";
+            assertTrue(lines[row - 1].startsWith(expected), lines[row - 1]);
+        }
+        verify(productFlow, times(10)).addBulk(anyList());
+        verify(importJobApi).checkpoint(eq("job1"), eq(20), eq(1L), anyLong(), anyLong(), anyLong());
+        verify(importJobApi).complete("job1");
+    }
+
+    @Test
+    void testImportProducts_ResumesAfterCommittedChunks() throws ApiException {
+        // Given - first chunk was committed by an earlier run
+        ReflectionTestUtils.setField(productDto, "uploadChunkSize", 1);
+        ImportJobPojo job = stubImportJob();
+        job.setChunkSize(1);
+        job.setCommittedChunks(1);
+        String tsvContent = "barcode\tclientid\tname\tmrp\nbc1\tC001\tp1\t10\nbc2\tC001\tp2\t20\n";
+        when(productFlow.getExistingBarcodes(List.of("bc2"))).thenReturn(List.of());
+
+        // When
+        String output = importProducts(tsvContent);
+
+        // Then
+        String[] lines = output.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].startsWith("3\tSUCCESS"));
+        verify(productFlow, never()).getExistingBarcodes(List.of("bc1"));
+        verify(importJobApi).checkpoint("job1", 2, 1L, 1L, 0L, 0L);
+        verify(importJobApi).complete("job1");
+    }
+
+    @Test
+    void testImportProducts_CompletedJobIsNoOp() throws ApiException {
+        // Given
+        ImportJobPojo job = stubImportJob();
+        job.setStatus("COMPLETED");
+
+        // When
+        String output = importProducts("barcode\tclientid\tname\tmrp\nbc1\tC001\tp1\t10\n");
+
+        // Then
+        assertEquals(1, output.split("\n").length);
+        verify(productFlow, never()).addBulk(anyList());
+        verify(importJobApi, never()).complete(anyString());
+    }
+
+    @Test
+    void testImportProducts_BulkFailureStopsAtCheckpoint() throws ApiException {
+        // Given - second chunk hits a duplicate key
+        ReflectionTestUtils.setField(productDto, "uploadChunkSize", 1);
+        ReflectionTestUtils.setField(productDto, "uploadParallelism", 1);
+        stubImportJob();
+        String tsvContent = "barcode\tclientid\tname\tmrp\n"
+                + "bc1\tC001\tp1\t10\nbc2\tC001\tp2\t20\nbc3\tC001\tp3\t30\n";
+        when(productFlow.getExistingBarcodes(anyList())).thenReturn(List.of());
+        when(productFlow.addBulk(anyList())).thenAnswer(invocation -> {
+            List<ProductPojo> products = invocation.getArgument(0);
+            if (products.get(0).getBarcode().equals("bc2")) {
+                throw new DuplicateKeyException("duplicate key");
+            }
+            return products;
+        });
+
+        // When
+        String output = importProducts(tsvContent);
+
+        // Then
+        String[] lines = output.split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[2].startsWith("3\tFAILED\tBulk insert failed"));
+        verify(importJobApi).checkpoint("job1", 1, 1L, 1L, 0L, 0L);
+        verify(importJobApi).fail(eq("job1"), startsWith("Chunk 2 failed"));
+        verify(importJobApi, never()).complete(anyString());
+        verify(productFlow, never()).addBulk(argThat(list -> list.get(0).getBarcode().equals("bc3")));
+    }
+
+    @Test
+    void testImportProducts_PartialBulkFailureReportsLandedRows() throws ApiException {
+        // Given - the bulk insert wrote bc1 and then failed on bc2
+        stubImportJob();
+        String tsvContent = "barcode\tclientid\tname\tmrp\nbc1\tC001\tp1\t10\nbc2\tC001\tp2\t20\n";
+        when(productFlow.getExistingBarcodes(anyList())).thenReturn(List.of());
+        when(productFlow.addBulk(anyList())).thenThrow(new DuplicateKeyException("duplicate key"));
+        when(productFlow.ensureInventory(List.of("bc1", "bc2"))).thenReturn(Set.of("bc1"));
+
+        // When
+        String output = importProducts(tsvContent);
+
+        // Then
+        String[] lines = output.split("\n");
+        assertTrue(lines[1].startsWith("2\tSUCCESS\tProduct created"));
+        assertTrue(lines[2].startsWith("3\tFAILED\tBulk insert failed"));
+        verify(importJobApi).fail(eq("job1"), startsWith("Chunk 1 failed"));
+    }
+
+    @Test
+    void testImportProducts_ExistingProductsGetMissingInventory() throws ApiException {
+        // Given - a resumed chunk whose products were inserted before their inventory was
+        stubImportJob();
+        String tsvContent = "barcode\tclientid\tname\tmrp\nbc1\tC001\tp1\t10\n";
+        when(productFlow.getExistingBarcodes(List.of("bc1"))).thenReturn(List.of("bc1"));
+
+        // When
+        String output = importProducts(tsvContent);
+
+        // Then
+        assertTrue(output.contains("2\tSKIPPED\tProduct already exists"));
+        verify(productFlow).ensureInventory(List.of("bc1"));
+        verify(productFlow, never()).addBulk(anyList());
+    }
+
+    private ImportJobPojo stubImportJob() throws ApiException {
+        ImportJobPojo job = new ImportJobPojo();
+        job.setId("job1");
+        job.setStatus("RUNNING");
+        job.setChunkSize(1000);
+        when(importJobApi.start(eq("PRODUCT"), anyString(), anyInt())).thenAnswer(invocation -> {
+            if (job.getCommittedChunks() == 0) {
+                job.setChunkSize(invocation.getArgument(2));
+            }
+            return job;
+        });
+        when(importJobApi.getCheck("job1")).thenReturn(job);
+        return job;
+    }
+
+    private String importProducts(String tsvContent) throws ApiException {
+        ByteArrayResource source = new ByteArrayResource(tsvContent.getBytes());
+        ImportJobData job = productDto.startProductImport(source);
+        StringWriter writer = new StringWriter();
+        productDto.importProducts(job.getId(), source, writer);
+        return writer.toString();
+    }
 }
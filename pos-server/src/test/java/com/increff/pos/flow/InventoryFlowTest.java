@@ -1,11 +1,14 @@
 package com.increff.pos.flow;
 
 import com.increff.pos.api.InventoryApi;
+import com.increff.pos.api.InventoryHoldApi;
 import com.increff.pos.api.ProductApi;
+import com.increff.pos.db.InventoryHoldPojo;
 import com.increff.pos.db.InventoryPojo;
 import com.increff.pos.db.ProductPojo;
 import com.increff.pos.exception.ApiException;
 import com.increff.pos.model.data.InventoryData;
+import com.increff.pos.util.InventoryHoldState;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,6 +18,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -29,6 +33,9 @@ class InventoryFlowTest {
     @Mock
     private ProductApi productApi;
 
+    @Mock
+    private InventoryHoldApi inventoryHoldApi;
+
     @InjectMocks
     private InventoryFlow inventoryFlow;
 
@@ -172,4 +179,67 @@ class InventoryFlowTest {
         assertEquals(2, result.size());
         verify(inventoryApi, times(1)).updateBulk(anyList());
     }
+
+    @Test
+    void testReleaseExpiredHolds_ReturnsStockPerBatch() {
+        // Given
+        InventoryHoldPojo first = createHold(Map.of("prod1", 3));
+        InventoryHoldPojo second = createHold(Map.of("prod1", 2, "prod2", 1));
+        InventoryHoldPojo third = createHold(Map.of("prod2", 4));
+        when(inventoryHoldApi.claimExpired(any(), eq(2)))
+                .thenReturn(Arrays.asList(first, second))
+                .thenReturn(Arrays.asList(third));
+        when(inventoryHoldApi.startRelease(any())).thenReturn(true);
+
+        // When
+        int released = inventoryFlow.releaseExpiredHolds(2);
+
+        // Then
+        assertEquals(3, released);
+        verify(inventoryApi).releaseBulk(Map.of("prod1", 5, "prod2", 1));
+        verify(inventoryApi).releaseBulk(Map.of("prod2", 4));
+        verify(inventoryHoldApi, times(2)).claimExpired(any(), eq(2));
+        verify(inventoryHoldApi).complete(first);
+        verify(inventoryHoldApi).complete(second);
+        verify(inventoryHoldApi).complete(third);
+    }
+
+    @Test
+    void testReleaseExpiredHolds_FailedReleaseKeepsHoldsClaimed() {
+        // Given
+        InventoryHoldPojo hold = createHold(Map.of("prod1", 3));
+        when(inventoryHoldApi.claimExpired(any(), eq(2))).thenReturn(Arrays.asList(hold));
+        when(inventoryHoldApi.startRelease(hold)).thenReturn(true);
+        doThrow(new IllegalStateException("write failed")).when(inventoryApi).releaseBulk(Map.of("prod1", 3));
+
+        // When/Then
+        assertThrows(IllegalStateException.class, () -> inventoryFlow.releaseExpiredHolds(2));
+        verify(inventoryHoldApi, never()).complete(any());
+    }
+
+    @Test
+    void testReleaseExpiredHolds_MovedOrLostHoldsReturnNoStock() {
+        // Given - one stale claim whose owner had started releasing, one claim lost before it could be marked
+        InventoryHoldPojo releasing = createHold(Map.of("prod1", 3));
+        releasing.setState(InventoryHoldState.RELEASING.getValue());
+        InventoryHoldPojo lost = createHold(Map.of("prod2", 2));
+        InventoryHoldPojo free = createHold(Map.of("prod3", 1));
+        when(inventoryHoldApi.claimExpired(any(), eq(10))).thenReturn(Arrays.asList(releasing, lost, free));
+        when(inventoryHoldApi.startRelease(lost)).thenReturn(false);
+        when(inventoryHoldApi.startRelease(free)).thenReturn(true);
+
+        // When
+        inventoryFlow.releaseExpiredHolds(10);
+
+        // Then
+        verify(inventoryHoldApi, never()).startRelease(releasing);
+        verify(inventoryApi).releaseBulk(Map.of("prod3", 1));
+        verify(inventoryHoldApi).complete(releasing);
+    }
+
+    private InventoryHoldPojo createHold(Map<String, Integer> quantities) {
+        InventoryHoldPojo hold = new InventoryHoldPojo();
+        hold.setQuantities(quantities);
+        return hold;
+    }
 }
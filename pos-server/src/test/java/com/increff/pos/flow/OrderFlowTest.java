@@ -7,6 +7,7 @@ import com.increff.pos.model.data.OrderCreationResult;
 import com.increff.pos.test.AbstractUnitTest;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -14,6 +15,9 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class OrderFlowTest extends AbstractUnitTest {
 
@@ -83,13 +87,16 @@ class OrderFlowTest extends AbstractUnitTest {
         OrderItemPojo item = createOrderItem(product.getBarcode(), 10, 100.0);
 
         // When
-        OrderCreationResult result = orderFlow.createOrder(Arrays.asList(item));
+        OrderResult result = orderFlow.createOrder(Arrays.asList(item));
 
         // Then
         assertNotNull(result);
         assertNotNull(result.getOrderId());
         assertTrue(result.isFulfillable());
         assertTrue(result.getUnfulfillableItems().isEmpty());
+        assertEquals("PLACED", result.getOrder().getStatus());
+        assertEquals(1, result.getItems().size());
+        assertNotNull(result.getItems().get(0).getId());
 
         // Verify order was created
         OrderPojo order = orderFlow.getOrderWithItems(result.getOrderId());
@@ -114,7 +121,7 @@ class OrderFlowTest extends AbstractUnitTest {
         OrderItemPojo item = createOrderItem(product.getBarcode(), 10, 100.0);
 
         // When
-        OrderCreationResult result = orderFlow.createOrder(Arrays.asList(item));
+        OrderResult result = orderFlow.createOrder(Arrays.asList(item));
 
         // Then
         assertNotNull(result);
@@ -126,10 +133,9 @@ class OrderFlowTest extends AbstractUnitTest {
         assertNotNull(order);
         assertEquals("UNFULFILLABLE", order.getStatus());
 
-        // Verify inventory was NOT deducted (unfulfillable orders don't deduct
-        // inventory)
+        // Verify the available stock is held for the order instead of being sold to others
         InventoryPojo updatedInventory = inventoryApi.getCheckByProductId(product.getId());
-        assertEquals(5, updatedInventory.getQuantity());
+        assertEquals(0, updatedInventory.getQuantity());
     }
 
     @Test
@@ -146,7 +152,7 @@ class OrderFlowTest extends AbstractUnitTest {
         OrderItemPojo item2 = createOrderItem(product2.getBarcode(), 3, 200.0);
 
         // When
-        OrderCreationResult result = orderFlow.createOrder(Arrays.asList(item1, item2));
+        OrderResult result = orderFlow.createOrder(Arrays.asList(item1, item2));
 
         // Then
         assertNotNull(result);
@@ -171,18 +177,19 @@ class OrderFlowTest extends AbstractUnitTest {
 
         OrderItemPojo item = createOrderItem(product.getBarcode(), 10, 100.0);
 
-        OrderCreationResult createResult = orderFlow.createOrder(Arrays.asList(item));
+        OrderResult createResult = orderFlow.createOrder(Arrays.asList(item));
         String orderId = createResult.getOrderId();
 
         // Verify inventory was deducted
         assertEquals(90, inventoryApi.getCheckByProductId(product.getId()).getQuantity());
 
         // When - Cancel the order
-        OrderPojo cancelledOrder = orderFlow.cancelOrder(orderId);
+        OrderResult cancelled = orderFlow.cancelOrder(orderId);
 
         // Then
-        assertNotNull(cancelledOrder);
-        assertEquals("CANCELLED", cancelledOrder.getStatus());
+        assertNotNull(cancelled.getOrder());
+        assertEquals("CANCELLED", cancelled.getOrder().getStatus());
+        assertEquals(1, cancelled.getItems().size());
 
         // Verify inventory was restored
         InventoryPojo restoredInventory = inventoryApi.getCheckByProductId(product.getId());
@@ -198,7 +205,7 @@ class OrderFlowTest extends AbstractUnitTest {
 
         OrderItemPojo item = createOrderItem(product.getBarcode(), 20, 100.0);
 
-        OrderCreationResult createResult = orderFlow.createOrder(Arrays.asList(item));
+        OrderResult createResult = orderFlow.createOrder(Arrays.asList(item));
         String orderId = createResult.getOrderId();
 
         // Verify inventory was deducted
@@ -211,6 +218,24 @@ class OrderFlowTest extends AbstractUnitTest {
         assertEquals(100, inventoryApi.getCheckByProductId(product.getId()).getQuantity());
     }
 
+    @Test
+    void testCancelOrder_UnfulfillableReleasesHold() throws ApiException {
+        // Given - An order that only holds part of its stock
+        ClientPojo client = createTestClient("Test Client 5b", "test5b@example.com");
+        ProductPojo product = createTestProduct("BC_ORDER5B", client.getClientId());
+        addInventory(product.getId(), 5);
+
+        OrderItemPojo item = createOrderItem(product.getBarcode(), 20, 100.0);
+        OrderResult createResult = orderFlow.createOrder(Arrays.asList(item));
+        assertFalse(createResult.isFulfillable());
+
+        // When
+        orderFlow.cancelOrder(createResult.getOrderId());
+
+        // Then
+        assertEquals(5, inventoryApi.getCheckByProductId(product.getId()).getQuantity());
+    }
+
     @Test
     void testUpdateOrder_Success() throws ApiException {
         // Given - Create an order
@@ -220,16 +245,19 @@ class OrderFlowTest extends AbstractUnitTest {
 
         OrderItemPojo item = createOrderItem(product.getBarcode(), 10, 100.0);
 
-        OrderCreationResult createResult = orderFlow.createOrder(Arrays.asList(item));
+        OrderResult createResult = orderFlow.createOrder(Arrays.asList(item));
         String orderId = createResult.getOrderId();
 
         // When - Update the order with different quantity
         OrderItemPojo updatedItem = createOrderItem(product.getBarcode(), 15, 100.0); // Increase quantity
 
-        OrderPojo updatedOrder = orderFlow.updateOrder(orderId, Arrays.asList(updatedItem));
+        OrderResult updated = orderFlow.updateOrder(orderId, Arrays.asList(updatedItem));
+        OrderPojo updatedOrder = updated.getOrder();
 
         // Then
         assertNotNull(updatedOrder);
+        assertEquals(1, updated.getItems().size());
+        assertEquals(15, updated.getItems().get(0).getQuantity());
         assertEquals(15, updatedOrder.getTotalItems());
         assertEquals(1500.0, updatedOrder.getTotalAmount(), 0.01);
 
@@ -246,7 +274,7 @@ class OrderFlowTest extends AbstractUnitTest {
 
         OrderItemPojo item = createOrderItem(product.getBarcode(), 10, 100.0);
 
-        OrderCreationResult createResult = orderFlow.createOrder(Arrays.asList(item));
+        OrderResult createResult = orderFlow.createOrder(Arrays.asList(item));
         String orderId = createResult.getOrderId();
 
         // Manually set order status to INVOICED
@@ -269,7 +297,7 @@ class OrderFlowTest extends AbstractUnitTest {
 
         OrderItemPojo item = createOrderItem(product.getBarcode(), 10, 100.0);
 
-        OrderCreationResult createResult = orderFlow.createOrder(Arrays.asList(item));
+        OrderResult createResult = orderFlow.createOrder(Arrays.asList(item));
         String orderId = createResult.getOrderId();
         assertFalse(createResult.isFulfillable());
 
@@ -279,7 +307,7 @@ class OrderFlowTest extends AbstractUnitTest {
         inventoryApi.update(inventory.getId(), inventory);
 
         // When - Retry the order
-        OrderCreationResult retryResult = orderFlow.retryOrder(orderId, null);
+        OrderResult retryResult = orderFlow.retryOrder(orderId, null);
 
         // Then
         assertNotNull(retryResult);
@@ -304,7 +332,7 @@ class OrderFlowTest extends AbstractUnitTest {
         OrderItemPojo item = createOrderItem(product.getBarcode(), 20, 100.0); // More than available - will be
                                                                                // unfulfillable
 
-        OrderCreationResult createResult = orderFlow.createOrder(Arrays.asList(item));
+        OrderResult createResult = orderFlow.createOrder(Arrays.asList(item));
         String orderId = createResult.getOrderId();
 
         // Add more inventory
@@ -315,7 +343,7 @@ class OrderFlowTest extends AbstractUnitTest {
         // When - Retry with different quantity
         OrderItemPojo newItem = createOrderItem(product.getBarcode(), 20, 100.0); // Different quantity
 
-        OrderCreationResult retryResult = orderFlow.retryOrder(orderId, Arrays.asList(newItem));
+        OrderResult retryResult = orderFlow.retryOrder(orderId, Arrays.asList(newItem));
 
         // Then
         assertNotNull(retryResult);
@@ -324,6 +352,31 @@ class OrderFlowTest extends AbstractUnitTest {
         assertEquals(2000.0, newOrder.getTotalAmount(), 0.01);
     }
 
+    @Test
+    void testRetryOrder_ConvertsHoldAndReservesOnlyTheRest() throws ApiException {
+        // Given - The first order holds all 5 units, so the second one finds nothing
+        ClientPojo client = createTestClient("Test Client 9b", "test9b@example.com");
+        ProductPojo product = createTestProduct("BC_ORDER9B", client.getClientId());
+        addInventory(product.getId(), 5);
+
+        OrderResult first = orderFlow.createOrder(
+                Arrays.asList(createOrderItem(product.getBarcode(), 8, 100.0)));
+        OrderResult second = orderFlow.createOrder(
+                Arrays.asList(createOrderItem(product.getBarcode(), 2, 100.0)));
+        assertFalse(first.isFulfillable());
+        assertFalse(second.isFulfillable());
+        assertEquals(0, inventoryApi.getCheckByProductId(product.getId()).getQuantity());
+
+        // When - Only the missing 3 units arrive
+        inventoryApi.updateByProductId(product.getId(), 3);
+        OrderResult retryResult = orderFlow.retryOrder(first.getOrderId(), null);
+
+        // Then
+        assertTrue(retryResult.isFulfillable());
+        assertEquals("PLACED", orderFlow.getOrderWithItems(first.getOrderId()).getStatus());
+        assertEquals(0, inventoryApi.getCheckByProductId(product.getId()).getQuantity());
+    }
+
     @Test
     void testGetOrderWithFilters_ByOrderId() throws ApiException {
         // Given - Create an order
@@ -333,7 +386,7 @@ class OrderFlowTest extends AbstractUnitTest {
 
         OrderItemPojo item = createOrderItem(product.getBarcode(), 10, 100.0);
 
-        OrderCreationResult createResult = orderFlow.createOrder(Arrays.asList(item));
+        OrderResult createResult = orderFlow.createOrder(Arrays.asList(item));
         String orderId = createResult.getOrderId();
 
         // When - Filter by order ID
@@ -354,7 +407,7 @@ class OrderFlowTest extends AbstractUnitTest {
 
         OrderItemPojo item = createOrderItem(product.getBarcode(), 10, 100.0);
 
-        OrderCreationResult createResult = orderFlow.createOrder(Arrays.asList(item));
+        OrderResult createResult = orderFlow.createOrder(Arrays.asList(item));
         String orderId = createResult.getOrderId();
 
         // When - Filter by status
@@ -375,7 +428,7 @@ class OrderFlowTest extends AbstractUnitTest {
 
         OrderItemPojo item = createOrderItem(product.getBarcode(), 10, 100.0);
 
-        OrderCreationResult createResult = orderFlow.createOrder(Arrays.asList(item));
+        OrderResult createResult = orderFlow.createOrder(Arrays.asList(item));
 
         // When - Filter by date range
         ZonedDateTime yesterday = ZonedDateTime.now().minusDays(1);
@@ -396,7 +449,7 @@ class OrderFlowTest extends AbstractUnitTest {
 
         OrderItemPojo item = createOrderItem(product.getBarcode(), 10, 100.0);
 
-        OrderCreationResult createResult = orderFlow.createOrder(Arrays.asList(item));
+        OrderResult createResult = orderFlow.createOrder(Arrays.asList(item));
         String orderId = createResult.getOrderId();
 
         // When
@@ -407,4 +460,98 @@ class OrderFlowTest extends AbstractUnitTest {
         assertEquals(1, items.size());
         assertEquals(10, items.get(0).getQuantity());
     }
+
+    @Test
+    void testCreateOrders_AllocatesStockInSubmissionOrder() throws ApiException {
+        // Given
+        ClientPojo client = createTestClient("Batch Client", "batch@example.com");
+        ProductPojo product = createTestProduct("BC_BATCH1", client.getClientId());
+        addInventory(product.getId(), 5);
+
+        List<List<OrderItemPojo>> orders = Arrays.asList(
+                Arrays.asList(createOrderItem("BC_BATCH1", 3, 100.0)),
+                Arrays.asList(createOrderItem("BC_BATCH1", 3, 100.0)),
+                Arrays.asList(createOrderItem("BC_BATCH1", 2, 100.0)));
+
+        // When
+        List<OrderCreationResult> results = orderFlow.createOrders(orders);
+
+        // Then
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isFulfillable());
+        assertFalse(results.get(1).isFulfillable());
+        assertEquals(2, results.get(1).getUnfulfillableItems().get(0).getAvailableQuantity());
+        assertTrue(results.get(2).isFulfillable());
+        assertEquals(0, inventoryApi.getByProductId(product.getId()).getQuantity());
+
+        OrderPojo second = orderApi.getCheckByOrderId(results.get(1).getOrderId());
+        assertEquals("UNFULFILLABLE", second.getStatus());
+        assertEquals(1, orderItemApi.getByOrderId(results.get(1).getOrderId()).size());
+    }
+
+    @Test
+    void testCreateOrders_AllocatesConsecutiveOrderIds() throws ApiException {
+        // Given
+        ClientPojo client = createTestClient("Batch Client 2", "batch2@example.com");
+        createTestProduct("BC_BATCH2", client.getClientId());
+
+        List<List<OrderItemPojo>> orders = Arrays.asList(
+                Arrays.asList(createOrderItem("BC_BATCH2", 1, 50.0)),
+                Arrays.asList(createOrderItem("BC_BATCH2", 1, 50.0)));
+
+        // When
+        List<OrderCreationResult> results = orderFlow.createOrders(orders);
+
+        // Then
+        int first = Integer.parseInt(results.get(0).getOrderId().substring(4));
+        int second = Integer.parseInt(results.get(1).getOrderId().substring(4));
+        assertEquals(first + 1, second);
+        assertEquals(50.0, orderApi.getCheckByOrderId(results.get(0).getOrderId()).getTotalAmount());
+    }
+
+    @Test
+    void testCreateOrders_UnknownBarcodeFailsOnlyThatOrder() throws ApiException {
+        // Given
+        ClientPojo client = createTestClient("Batch Client 3", "batch3@example.com");
+        ProductPojo product = createTestProduct("BC_BATCH3", client.getClientId());
+        addInventory(product.getId(), 5);
+
+        List<List<OrderItemPojo>> orders = Arrays.asList(
+                Arrays.asList(createOrderItem("BC_BATCH_MISSING", 1, 50.0)),
+                Arrays.asList(createOrderItem("BC_BATCH3", 2, 50.0)));
+
+        // When
+        List<OrderCreationResult> results = orderFlow.createOrders(orders);
+
+        // Then
+        assertEquals(2, results.size());
+        assertNull(results.get(0).getOrderId());
+        assertFalse(results.get(0).isFulfillable());
+        assertTrue(results.get(0).getError().contains("BC_BATCH_MISSING"));
+        assertNull(results.get(1).getError());
+        assertTrue(results.get(1).isFulfillable());
+        assertEquals(3, inventoryApi.getByProductId(product.getId()).getQuantity());
+    }
+
+    @Test
+    void testCreateOrders_FailedInsertReleasesReservedStock() throws ApiException {
+        // Given
+        ClientPojo client = createTestClient("Batch Client 4", "batch4@example.com");
+        ProductPojo product = createTestProduct("BC_BATCH4", client.getClientId());
+        addInventory(product.getId(), 5);
+        OrderItemApi failingItems = mock(OrderItemApi.class);
+        when(failingItems.addBulk(anyList())).thenThrow(new IllegalStateException("insert failed"));
+        ReflectionTestUtils.setField(orderFlow, "orderItemApi", failingItems);
+
+        // When
+        try {
+            assertThrows(IllegalStateException.class, () -> orderFlow.createOrders(Arrays.asList(
+                    Arrays.asList(createOrderItem("BC_BATCH4", 4, 50.0)))));
+        } finally {
+            ReflectionTestUtils.setField(orderFlow, "orderItemApi", orderItemApi);
+        }
+
+        // Then
+        assertEquals(5, inventoryApi.getByProductId(product.getId()).getQuantity());
+    }
 }
@@ -1,7 +1,9 @@
 package com.increff.pos.helper;
 
 import com.increff.pos.db.AuditLogPojo;
+import com.increff.pos.exception.ApiException;
 import com.increff.pos.model.data.AuditLogData;
+import com.increff.pos.model.data.AuditLogPageData;
 import org.junit.jupiter.api.Test;
 
 import java.time.ZonedDateTime;
@@ -95,4 +97,69 @@ class AuditLogHelperTest {
         assertNotNull(data);
         assertNull(data.getTimestamp());
     }
+
+    @Test
+    void testCursor_RoundTrip() throws ApiException {
+        // Given
+        AuditLogPojo pojo = new AuditLogPojo();
+        pojo.setId("65a1b2c3d4e5f6a7b8c9d0e1");
+        pojo.setTimestamp(ZonedDateTime.now());
+
+        // When
+        AuditLogHelper.Cursor cursor = AuditLogHelper.decodeCursor(AuditLogHelper.encodeCursor(pojo));
+
+        // Then
+        assertEquals(pojo.getId(), cursor.id);
+        assertEquals(pojo.getTimestamp().toInstant().toEpochMilli(), cursor.timestamp.toInstant().toEpochMilli());
+    }
+
+    @Test
+    void testDecodeCursor_Blank() throws ApiException {
+        // When/Then
+        assertNull(AuditLogHelper.decodeCursor(null));
+        assertNull(AuditLogHelper.decodeCursor(" "));
+    }
+
+    @Test
+    void testDecodeCursor_Invalid() {
+        // When/Then
+        assertThrows(ApiException.class, () -> AuditLogHelper.decodeCursor("not-a-cursor"));
+    }
+
+    @Test
+    void testCreatePageData_HasMore() {
+        // Given - one row more than the page size was fetched
+        ZonedDateTime now = ZonedDateTime.now();
+        AuditLogPojo first = new AuditLogPojo();
+        first.setId("a");
+        first.setTimestamp(now);
+        AuditLogPojo second = new AuditLogPojo();
+        second.setId("b");
+        second.setTimestamp(now.minusMinutes(1));
+        AuditLogPojo third = new AuditLogPojo();
+        third.setId("c");
+        third.setTimestamp(now.minusMinutes(2));
+
+        // When
+        AuditLogPageData pageData = AuditLogHelper.createPageData(Arrays.asList(first, second, third), 2);
+
+        // Then
+        assertEquals(2, pageData.getItems().size());
+        assertEquals(AuditLogHelper.encodeCursor(second), pageData.getNextCursor());
+    }
+
+    @Test
+    void testCreatePageData_LastPage() {
+        // Given
+        AuditLogPojo only = new AuditLogPojo();
+        only.setId("a");
+        only.setTimestamp(ZonedDateTime.now());
+
+        // When
+        AuditLogPageData pageData = AuditLogHelper.createPageData(Arrays.asList(only), 2);
+
+        // Then
+        assertEquals(1, pageData.getItems().size());
+        assertNull(pageData.getNextCursor());
+    }
 }
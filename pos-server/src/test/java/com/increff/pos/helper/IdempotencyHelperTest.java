@@ -0,0 +1,62 @@
+package com.increff.pos.helper;
+
+import com.increff.pos.db.IdempotencyKeyPojo;
+import com.increff.pos.exception.ApiException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyHelperTest {
+
+    @Test
+    void testCreateKey() {
+        // Given
+        ZonedDateTime lockedUntil = ZonedDateTime.now().plusSeconds(30);
+        ZonedDateTime expiresAt = ZonedDateTime.now().plusHours(24);
+
+        // When
+        IdempotencyKeyPojo pojo = IdempotencyHelper.createKey("op@pos.com:k1", "hash", "owner1", lockedUntil,
+                expiresAt);
+
+        // Then
+        assertEquals("op@pos.com:k1", pojo.getKey());
+        assertEquals("hash", pojo.getRequestHash());
+        assertEquals("IN_PROGRESS", pojo.getStatus());
+        assertEquals("owner1", pojo.getOwner());
+        assertEquals(lockedUntil, pojo.getLockedUntil());
+        assertEquals(expiresAt, pojo.getExpiresAt());
+        assertFalse(IdempotencyHelper.isCompleted(pojo));
+    }
+
+    @Test
+    void testScopeKeyIsPerOperator() throws ApiException {
+        // Then
+        assertEquals("op@pos.com:abc", IdempotencyHelper.scopeKey("Op@POS.com", " abc "));
+        assertNotEquals(IdempotencyHelper.scopeKey("a@pos.com", "abc"), IdempotencyHelper.scopeKey("b@pos.com", "abc"));
+    }
+
+    @Test
+    void testScopeKeyRejectsBlankAndOversizedKeys() {
+        // Then
+        assertThrows(ApiException.class, () -> IdempotencyHelper.scopeKey("op@pos.com", " "));
+        assertThrows(ApiException.class, () -> IdempotencyHelper.scopeKey("op@pos.com", "k".repeat(256)));
+    }
+
+    @Test
+    void testRequestHashDependsOnMethodPathAndBody() {
+        // Given
+        byte[] body = "{\"items\":[]}".getBytes(StandardCharsets.UTF_8);
+
+        // When
+        String hash = IdempotencyHelper.requestHash("POST", "/api/order/create", body);
+
+        // Then
+        assertEquals(hash, IdempotencyHelper.requestHash("POST", "/api/order/create", body.clone()));
+        assertNotEquals(hash, IdempotencyHelper.requestHash("PUT", "/api/order/create", body));
+        assertNotEquals(hash, IdempotencyHelper.requestHash("POST", "/api/order/retry/ORD-000001", body));
+        assertNotEquals(hash, IdempotencyHelper.requestHash("POST", "/api/order/create", new byte[0]));
+    }
+}
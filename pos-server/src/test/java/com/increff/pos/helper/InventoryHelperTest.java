@@ -5,14 +5,12 @@ import com.increff.pos.db.ProductPojo;
 import com.increff.pos.exception.ApiException;
 import com.increff.pos.flow.ProductFlow;
 import com.increff.pos.model.data.InventoryData;
-import com.increff.pos.model.data.TsvUploadResult;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -203,53 +201,62 @@ class InventoryHelperTest {
     }
 
     @Test
-    void testBuildResultTsv_EmptyList() {
+    void testParseInventory_ParityWithSplitParser() {
         // Given
-        List<TsvUploadResult> results = new ArrayList<>();
-
-        // When
-        String tsv = InventoryHelper.buildResultTsv(results);
-
-        // Then
-        assertNotNull(tsv);
-        assertTrue(tsv.startsWith("Row Number\tStatus\tError Message\tOriginal Data"));
+        ProductPojo product = new ProductPojo();
+        product.setId("prod1");
+        product.setBarcode("bc001");
+        Map<String, ProductPojo> productMap = Map.of("bc001", product);
+        String[] lines = { "BC001\t10", " bc001 \t 7 ", "bc001\t10\textra", "bc001", "bc001\t", "\t5",
+                "bc001\t-1", "bc001\tabc", "bc001\t1.5", "missing\t3", "bc001\t\t3" };
+
+        for (String line : lines) {
+            // When
+            String expected = describe(() -> splitParseInventory(line, 2, productMap));
+            String actual = describe(() -> InventoryHelper.parseInventory(line, 2, productMap));
+
+            // Then
+            assertEquals(expected, actual, "line [" + line + "]");
+        }
     }
 
-    @Test
-    void testBuildResultTsv_WithResults() {
-        // Given
-        List<TsvUploadResult> results = new ArrayList<>();
-
-        TsvUploadResult result1 = new TsvUploadResult(1, "SUCCESS", "Inventory updated", "BC001\t100");
-        results.add(result1);
-
-        TsvUploadResult result2 = new TsvUploadResult(2, "FAILED", "Product not found", "BC999\t50");
-        results.add(result2);
-
-        // When
-        String tsv = InventoryHelper.buildResultTsv(results);
-
-        // Then
-        assertNotNull(tsv);
-        assertTrue(tsv.contains("1\tSUCCESS\tInventory updated"));
-        assertTrue(tsv.contains("2\tFAILED\tProduct not found"));
+    private static String describe(InventoryParser parser) {
+        try {
+            InventoryPojo pojo = parser.parse();
+            return pojo.getProductId() + ":" + pojo.getQuantity();
+        } catch (ApiException e) {
+            return e.getMessage();
+        }
     }
 
-    @Test
-    void testBuildResultTsv_WithTabsInErrorMessage() {
-        // Given
-        List<TsvUploadResult> results = new ArrayList<>();
-
-        TsvUploadResult result = new TsvUploadResult(1, "ERROR", "Error:\tInvalid\tdata", "BC001\t100");
-        results.add(result);
-
-        // When
-        String tsv = InventoryHelper.buildResultTsv(results);
+    private interface InventoryParser {
+        InventoryPojo parse() throws ApiException;
+    }
 
-        // Then
-        assertNotNull(tsv);
-        // Tabs in error message should be replaced with spaces
-        assertFalse(tsv.contains("Error:\tInvalid\tdata"));
-        assertTrue(tsv.contains("Error: Invalid data"));
+    private static InventoryPojo splitParseInventory(String line, int rowNum, Map<String, ProductPojo> productMap)
+            throws ApiException {
+        String[] columns = line.split("\t");
+        try {
+            String barcodeStr = columns[0].trim().toLowerCase();
+            String quantityStr = columns[1].trim();
+            ProductPojo product = productMap.get(barcodeStr);
+            if (product == null) {
+                throw new ApiException("Row " + rowNum + ": Product with barcode " + barcodeStr + " does not exist");
+            }
+            InventoryPojo pojo = new InventoryPojo();
+            pojo.setProductId(product.getId());
+            try {
+                int quantity = Integer.parseInt(quantityStr);
+                if (quantity < 0) {
+                    throw new ApiException("Row " + rowNum + ": Quantity cannot be negative");
+                }
+                pojo.setQuantity(quantity);
+            } catch (NumberFormatException e) {
+                throw new ApiException("Row " + rowNum + ": Invalid quantity");
+            }
+            return pojo;
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new ApiException("Row " + rowNum + ": Missing required columns. Expected: barcode, quantity");
+        }
     }
 }
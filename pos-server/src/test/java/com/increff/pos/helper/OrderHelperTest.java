@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -153,4 +154,26 @@ class OrderHelperTest {
         assertNotNull(dataList);
         assertEquals(0, dataList.size());
     }
+
+    @Test
+    void testSumQuantitiesByProduct_MergesRepeatedProducts() {
+        // Given
+        OrderItemPojo item1 = new OrderItemPojo();
+        item1.setProductId("p1");
+        item1.setQuantity(2);
+        OrderItemPojo item2 = new OrderItemPojo();
+        item2.setProductId("p2");
+        item2.setQuantity(3);
+        OrderItemPojo item3 = new OrderItemPojo();
+        item3.setProductId("p1");
+        item3.setQuantity(4);
+
+        // When
+        Map<String, Integer> quantities = OrderHelper.sumQuantitiesByProduct(Arrays.asList(item1, item2, item3));
+
+        // Then
+        assertEquals(2, quantities.size());
+        assertEquals(6, quantities.get("p1"));
+        assertEquals(3, quantities.get("p2"));
+    }
 }
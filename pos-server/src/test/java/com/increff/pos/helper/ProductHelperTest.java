@@ -3,12 +3,9 @@ package com.increff.pos.helper;
 import com.increff.pos.db.ProductPojo;
 import com.increff.pos.exception.ApiException;
 import com.increff.pos.model.data.ProductData;
-import com.increff.pos.model.data.TsvUploadResult;
 import org.junit.jupiter.api.Test;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -255,66 +252,61 @@ class ProductHelperTest {
     }
 
     @Test
-    void testBuildResultTsv_EmptyList() {
+    void testParseProduct_ParityWithSplitParser() throws ApiException {
         // Given
-        List<TsvUploadResult> results = new ArrayList<>();
-
-        // When
-        String tsv = ProductHelper.buildResultTsv(results);
-
-        // Then
-        assertNotNull(tsv);
-        assertTrue(tsv.startsWith("Row Number\tStatus\tError Message\tOriginal Data"));
+        Map<String, Integer> columnMap = ProductHelper.parseHeader("barcode\tclientid\tname\tmrp\timageurl");
+        String[] lines = { "BC001\tC001\tProduct A\t99.99", " bc001 \t C001 \t A \t 1e2 \t http://x ",
+                "bc001\tC001\tA\t10\t", "bc001\tC001\tA", "bc001\tC001\tA\tabc", "bc001\t\t\t5",
+                "bc001\tC001\tA\t10\t\t\t" };
+
+        for (String line : lines) {
+            // When
+            String expected = describe(() -> splitParseProduct(line, 2, columnMap));
+            String actual = describe(() -> ProductHelper.parseProduct(line, 2, columnMap));
+
+            // Then
+            assertEquals(expected, actual, "line [" + line + "]");
+        }
     }
 
-    @Test
-    void testBuildResultTsv_WithResults() {
-        // Given
-        List<TsvUploadResult> results = new ArrayList<>();
-
-        TsvUploadResult result1 = new TsvUploadResult();
-        result1.setRowNumber(1);
-        result1.setStatus("SUCCESS");
-        result1.setErrorMessage(null);
-        result1.setData("BC001\tC001\tProduct A\t99.99");
-        results.add(result1);
-
-        TsvUploadResult result2 = new TsvUploadResult();
-        result2.setRowNumber(2);
-        result2.setStatus("ERROR");
-        result2.setErrorMessage("Duplicate barcode");
-        result2.setData("BC001\tC001\tProduct B\t49.99");
-        results.add(result2);
-
-        // When
-        String tsv = ProductHelper.buildResultTsv(results);
-
-        // Then
-        assertNotNull(tsv);
-        assertTrue(tsv.contains("Row Number\tStatus\tError Message\tOriginal Data"));
-        assertTrue(tsv.contains("1\tSUCCESS"));
-        assertTrue(tsv.contains("2\tERROR\tDuplicate barcode"));
+    private static String describe(ProductParser parser) {
+        try {
+            ProductPojo pojo = parser.parse();
+            return pojo.getBarcode() + "|" + pojo.getClientId() + "|" + pojo.getName() + "|" + pojo.getMrp() + "|"
+                    + pojo.getImageUrl();
+        } catch (ApiException e) {
+            return e.getMessage();
+        }
     }
 
-    @Test
-    void testBuildResultTsv_WithTabsInErrorMessage() {
-        // Given
-        List<TsvUploadResult> results = new ArrayList<>();
-
-        TsvUploadResult result = new TsvUploadResult();
-        result.setRowNumber(1);
-        result.setStatus("ERROR");
-        result.setErrorMessage("Error:\tInvalid\tdata"); // Contains tabs
-        result.setData("BC001\tC001\tProduct A\t99.99");
-        results.add(result);
-
-        // When
-        String tsv = ProductHelper.buildResultTsv(results);
+    private interface ProductParser {
+        ProductPojo parse() throws ApiException;
+    }
 
-        // Then
-        assertNotNull(tsv);
-        // Tabs in error message should be replaced with spaces
-        assertFalse(tsv.contains("Error:\tInvalid\tdata"));
-        assertTrue(tsv.contains("Error: Invalid data"));
+    private static ProductPojo splitParseProduct(String line, int rowNum, Map<String, Integer> columnMap)
+            throws ApiException {
+        String[] columns = line.split("\t");
+        ProductPojo pojo = new ProductPojo();
+        int barcodeIdx = columnMap.get("barcode");
+        int clientIdIdx = columnMap.get("clientid");
+        int nameIdx = columnMap.get("name");
+        int mrpIdx = columnMap.get("mrp");
+        if (barcodeIdx >= columns.length || clientIdIdx >= columns.length ||
+                nameIdx >= columns.length || mrpIdx >= columns.length) {
+            throw new ApiException("Row " + rowNum + ": Missing required columns");
+        }
+        pojo.setBarcode(columns[barcodeIdx].trim().toLowerCase());
+        pojo.setClientId(columns[clientIdIdx].trim());
+        pojo.setName(columns[nameIdx].trim().toLowerCase());
+        try {
+            pojo.setMrp(Double.parseDouble(columns[mrpIdx].trim()));
+        } catch (NumberFormatException e) {
+            throw new ApiException("Row " + rowNum + ": Invalid MRP");
+        }
+        int imageUrlIdx = columnMap.get("imageurl");
+        if (imageUrlIdx < columns.length) {
+            pojo.setImageUrl(columns[imageUrlIdx].trim());
+        }
+        return pojo;
     }
 }
@@ -0,0 +1,74 @@
+package com.increff.pos.helper;
+
+import com.increff.pos.model.data.CapturedExchangeData;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrafficCaptureHelperTest {
+
+    @Test
+    void testSanitizeMasksCredentialsAndPersonalData() {
+        // Given
+        String body = "{\"email\":\"Jane@Shop.com\",\"password\":\"secret\",\"phone\":\"9876543210\",\"name\":\"Jane\"}";
+
+        // When
+        String sanitized = TrafficCaptureHelper.sanitize(body);
+
+        // Then
+        assertFalse(sanitized.contains("Jane@Shop.com"));
+        assertFalse(sanitized.contains("secret"));
+        assertFalse(sanitized.contains("9876543210"));
+        assertTrue(sanitized.contains("\"password\":\"***\""));
+        assertTrue(sanitized.contains("\"name\":\"Jane\""));
+        assertTrue(sanitized.matches(".*\"email\":\"user[0-9a-f]+@example\\.com\".*"));
+        assertTrue(sanitized.matches(".*\"phone\":\"9\\d{9}\".*"));
+    }
+
+    @Test
+    void testSanitizeIsStableAndCaseInsensitiveForEmails() {
+        // When
+        String first = TrafficCaptureHelper.sanitize("{\"email\":\"jane@shop.com\"}");
+        String second = TrafficCaptureHelper.sanitize("{\"email\":\"JANE@shop.com\"}");
+
+        // Then
+        assertEquals(first, second);
+    }
+
+    @Test
+    void testSanitizeNestedArrays() {
+        // When
+        String sanitized = TrafficCaptureHelper.sanitize("[{\"operatorEmail\":\"op@shop.com\",\"items\":[{\"token\":\"abc\"}]}]");
+
+        // Then
+        assertFalse(sanitized.contains("op@shop.com"));
+        assertTrue(sanitized.contains("\"token\":\"***\""));
+    }
+
+    @Test
+    void testSanitizeLeavesNonJsonBodiesUnchanged() {
+        // Then
+        assertEquals("barcode\tquantity", TrafficCaptureHelper.sanitize("barcode\tquantity"));
+        assertEquals("{not json", TrafficCaptureHelper.sanitize("{not json"));
+        assertNull(TrafficCaptureHelper.sanitize(null));
+    }
+
+    @Test
+    void testCreateExchange() {
+        // When
+        CapturedExchangeData exchange = TrafficCaptureHelper.createExchange(1000L, "POST", "/api/order/create", null,
+                "application/json", "{\"password\":\"x\"}".getBytes(StandardCharsets.UTF_8), false, 201,
+                new byte[0], 12.5);
+
+        // Then
+        assertEquals("POST", exchange.getMethod());
+        assertEquals("/api/order/create", exchange.getPath());
+        assertEquals("{\"password\":\"***\"}", exchange.getRequestBody());
+        assertNull(exchange.getResponseBody());
+        assertEquals(201, exchange.getStatus());
+        assertEquals(12.5, exchange.getDurationMs());
+        assertFalse(exchange.isTruncated());
+    }
+}
@@ -0,0 +1,150 @@
+package com.increff.pos.ledger;
+
+import com.increff.pos.dao.InventoryDao;
+import com.increff.pos.db.InventoryPojo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryLedgerTest {
+
+    @Mock
+    private InventoryDao inventoryDao;
+
+    @TempDir
+    Path journalDir;
+
+    private InventoryLedger createLedger(InventoryPojo... inventories) throws Exception {
+        when(inventoryDao.streamAll()).thenReturn(Stream.of(inventories));
+        InventoryLedger ledger = new InventoryLedger(inventoryDao, new SimpleMeterRegistry(),
+                journalDir.toString(), false, 60_000);
+        ledger.recover();
+        return ledger;
+    }
+
+    private InventoryPojo inventory(String productId, int quantity, Long ledgerSeq) {
+        InventoryPojo inventory = new InventoryPojo();
+        inventory.setId("inv-" + productId);
+        inventory.setProductId(productId);
+        inventory.setQuantity(quantity);
+        inventory.setLedgerSeq(ledgerSeq);
+        return inventory;
+    }
+
+    @Test
+    void testReserve_FailsOnlyProductsWithoutEnoughStock() throws Exception {
+        // Given
+        InventoryLedger ledger = createLedger(inventory("p1", 10, null), inventory("p2", 2, null));
+
+        // When
+        Set<String> failed = ledger.reserve(Map.of("p1", 4, "p2", 3, "p3", 1));
+
+        // Then
+        assertEquals(Set.of("p2", "p3"), failed);
+        assertEquals(6, ledger.getQuantity("p1"));
+        assertEquals(2, ledger.getQuantity("p2"));
+        assertNull(ledger.getQuantity("p3"));
+    }
+
+    @Test
+    void testReserve_ConcurrentOrdersNeverOversell() throws Exception {
+        // Given
+        InventoryLedger ledger = createLedger(inventory("p1", 100, null));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger reserved = new AtomicInteger();
+
+        // When
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            futures.add(executor.submit(() -> {
+                if (ledger.reserve(Map.of("p1", 1)).isEmpty()) {
+                    reserved.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(100, reserved.get());
+        assertEquals(0, ledger.getQuantity("p1"));
+    }
+
+    @Test
+    void testFlush_WritesNetDeltasOnce() throws Exception {
+        // Given
+        InventoryLedger ledger = createLedger(inventory("p1", 10, null), inventory("p2", 5, null));
+        ledger.reserve(Map.of("p1", 3));
+        ledger.adjust(Map.of("p1", 1, "p2", 2));
+        ledger.set(Map.of("p2", 20));
+
+        // When
+        ledger.flush();
+        ledger.flush();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Integer>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(inventoryDao, times(1)).applyLedgerDeltas(eq(1L), captor.capture());
+        assertEquals(Map.of("p1", -2, "p2", 15), captor.getValue());
+    }
+
+    @Test
+    void testFlush_RetriesFailedBatchWithSameSegment() throws Exception {
+        // Given
+        InventoryLedger ledger = createLedger(inventory("p1", 10, null));
+        ledger.reserve(Map.of("p1", 3));
+        doThrow(new RuntimeException("mongo down")).doNothing()
+                .when(inventoryDao).applyLedgerDeltas(anyLong(), anyMap());
+        ledger.flush();
+
+        // When
+        ledger.reserve(Map.of("p1", 2));
+        ledger.flush();
+
+        // Then
+        verify(inventoryDao, times(2)).applyLedgerDeltas(1L, Map.of("p1", -3));
+        verify(inventoryDao).applyLedgerDeltas(2L, Map.of("p1", -2));
+    }
+
+    @Test
+    void testRecover_ReplaysOnlySegmentsNotYetApplied() throws Exception {
+        // Given - two segments journaled but never flushed
+        InventoryLedger first = createLedger(inventory("p1", 10, null), inventory("p2", 10, null));
+        doThrow(new RuntimeException("mongo down")).when(inventoryDao).applyLedgerDeltas(anyLong(), anyMap());
+        first.reserve(Map.of("p1", 3, "p2", 1));
+        first.flush();
+        first.reserve(Map.of("p1", 2));
+
+        // When - p1 already took segment 1 before the crash, p2 did not
+        InventoryLedger recovered = createLedger(inventory("p1", 7, 1L), inventory("p2", 10, null));
+
+        // Then
+        assertEquals(5, recovered.getQuantity("p1"));
+        assertEquals(9, recovered.getQuantity("p2"));
+    }
+}
@@ -0,0 +1,115 @@
+package com.increff.pos.metrics;
+
+import com.increff.pos.db.OrderItemPojo;
+import com.increff.pos.db.OrderPojo;
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.model.data.OrderCreationResult;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlowMetricsAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SampleFlow flow;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new SampleFlow());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new FlowMetricsAspect(meterRegistry));
+        flow = factory.getProxy();
+    }
+
+    @Test
+    void testCreate_RecordsTimerOutcomeAndItems() throws ApiException {
+        // When
+        flow.create(List.of(new OrderItemPojo(), new OrderItemPojo(), new OrderItemPojo()), true);
+        flow.create(List.of(new OrderItemPojo()), false);
+
+        // Then
+        Timer timer = meterRegistry.find(FlowMetricsAspect.OPERATION_TIMER)
+                .tags("flow", "SampleFlow", "operation", "create", "outcome", "SUCCESS")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+        assertEquals(1, meterRegistry.find(FlowMetricsAspect.ORDER_OUTCOME_COUNTER)
+                .tags("operation", "create", "status", "PLACED").counter().count());
+        assertEquals(1, meterRegistry.find(FlowMetricsAspect.ORDER_OUTCOME_COUNTER)
+                .tags("operation", "create", "status", "UNFULFILLABLE").counter().count());
+        assertEquals(4, meterRegistry.find(FlowMetricsAspect.ORDER_ITEMS_SUMMARY).summary().totalAmount(), 0.001);
+    }
+
+    @Test
+    void testCancel_CountsReturnedOrderStatus() throws ApiException {
+        // When
+        flow.cancel();
+
+        // Then
+        assertEquals(1, meterRegistry.find(FlowMetricsAspect.ORDER_OUTCOME_COUNTER)
+                .tags("operation", "cancel", "status", "CANCELLED").counter().count());
+        assertNull(meterRegistry.find(FlowMetricsAspect.ORDER_ITEMS_SUMMARY).summary());
+    }
+
+    @Test
+    void testFailure_RecordsErrorOutcome() {
+        // When
+        assertThrows(ApiException.class, () -> flow.fail());
+
+        // Then
+        Timer timer = meterRegistry.find(FlowMetricsAspect.OPERATION_TIMER)
+                .tags("operation", "report", "outcome", "ERROR")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+        assertNull(meterRegistry.find(FlowMetricsAspect.ORDER_OUTCOME_COUNTER).counter());
+    }
+
+    @Test
+    void testDashboard_SummarizesOperations() throws ApiException {
+        // Given
+        flow.create(List.of(new OrderItemPojo()), true);
+
+        // When
+        Map<String, Object> dashboard = new FlowDashboardEndpoint(meterRegistry).dashboard();
+
+        // Then
+        List<?> operations = (List<?>) dashboard.get("operations");
+        assertEquals(1, operations.size());
+        Map<?, ?> row = (Map<?, ?>) operations.get(0);
+        assertEquals("create", row.get("operation"));
+        assertEquals(1L, row.get("count"));
+        assertTrue(row.containsKey("p99Ms"));
+        assertEquals(Map.of("create", Map.of("PLACED", 1.0)), dashboard.get("orderOutcomes"));
+    }
+
+    static class SampleFlow {
+
+        @FlowOperation("create")
+        public OrderCreationResult create(List<OrderItemPojo> items, boolean fulfillable) throws ApiException {
+            OrderCreationResult result = new OrderCreationResult();
+            result.setFulfillable(fulfillable);
+            return result;
+        }
+
+        @FlowOperation("cancel")
+        public OrderPojo cancel() throws ApiException {
+            OrderPojo order = new OrderPojo();
+            order.setStatus("CANCELLED");
+            return order;
+        }
+
+        @FlowOperation("report")
+        public void fail() throws ApiException {
+            throw new ApiException("failed");
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.increff.pos.metrics;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MongoCommandMetricsListenerTest {
+
+    private static final ConnectionDescription CONNECTION =
+            new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+
+    private SimpleMeterRegistry meterRegistry;
+    private MongoCommandMetricsListener listener;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        listener = new MongoCommandMetricsListener(meterRegistry, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        DbCallContext.exitDaoMethod();
+        DbCallContext.endRequest();
+    }
+
+    @Test
+    void testCommandSucceeded_RecordsLatencyDocumentsAndBytesPerDaoMethod() {
+        // Given
+        DbCallContext.enterDaoMethod("ProductDao.findByBarcodes");
+        BsonDocument find = BsonDocument.parse("{find: 'products', filter: {barcode: {$in: ['a', 'b']}}}");
+        RawBsonDocument response = new RawBsonDocument(
+                BsonDocument.parse("{cursor: {firstBatch: [{_id: 1}, {_id: 2}], id: 0}, ok: 1}"), new BsonDocumentCodec());
+
+        // When
+        listener.commandStarted(new CommandStartedEvent(null, 1, 7, CONNECTION, "pos", "find", find));
+        listener.commandSucceeded(new CommandSucceededEvent(null, 1, 7, CONNECTION, "pos", "find", response,
+                TimeUnit.MILLISECONDS.toNanos(5)));
+
+        // Then
+        Timer timer = meterRegistry.find(MongoCommandMetricsListener.COMMAND_TIMER)
+                .tags("method", "ProductDao.findByBarcodes", "collection", "products", "command", "find",
+                        "outcome", "SUCCESS")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+        assertEquals(5, timer.totalTime(TimeUnit.MILLISECONDS), 0.001);
+
+        DistributionSummary documents = meterRegistry.find(MongoCommandMetricsListener.DOCUMENTS_SUMMARY).summary();
+        assertNotNull(documents);
+        assertEquals(2, documents.totalAmount(), 0.001);
+
+        DistributionSummary bytes = meterRegistry.find(MongoCommandMetricsListener.BYTES_SUMMARY).summary();
+        assertNotNull(bytes);
+        assertEquals(response.getByteBuffer().remaining(), bytes.totalAmount(), 0.001);
+    }
+
+    @Test
+    void testCommandFailed_RecordsFailureOutcome() {
+        // Given
+        BsonDocument update = BsonDocument.parse("{update: 'inventory', updates: [{q: {productId: 'p1'}, u: {$inc: {quantity: -1}}}]}");
+
+        // When
+        listener.commandStarted(new CommandStartedEvent(null, 1, 8, CONNECTION, "pos", "update", update));
+        listener.commandFailed(new CommandFailedEvent(null, 1, 8, CONNECTION, "pos", "update",
+                TimeUnit.MILLISECONDS.toNanos(3), new RuntimeException("boom")));
+
+        // Then
+        Timer timer = meterRegistry.find(MongoCommandMetricsListener.COMMAND_TIMER)
+                .tags("method", "none", "collection", "inventory", "outcome", "FAILURE")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void testRequestStats_AccumulateCallsAndTime() {
+        // Given
+        DbCallContext.startRequest();
+        BsonDocument count = BsonDocument.parse("{count: 'orders', query: {status: 'PLACED'}}");
+        BsonDocument response = BsonDocument.parse("{n: 4, ok: 1}");
+
+        // When
+        for (int requestId = 1; requestId <= 3; requestId++) {
+            listener.commandStarted(new CommandStartedEvent(null, 1, requestId, CONNECTION, "pos", "count", count));
+            listener.commandSucceeded(new CommandSucceededEvent(null, 1, requestId, CONNECTION, "pos", "count",
+                    response, TimeUnit.MILLISECONDS.toNanos(2)));
+        }
+
+        // Then
+        DbCallContext.RequestStats stats = DbCallContext.currentRequest();
+        assertEquals(3, stats.getCalls());
+        assertEquals(6.0, stats.getMillis(), 0.001);
+        assertEquals(12, meterRegistry.find(MongoCommandMetricsListener.DOCUMENTS_SUMMARY).summary().totalAmount(), 0.001);
+    }
+
+    @Test
+    void testRequestStats_CountCallsMadeOnAnotherThread() throws Exception {
+        // Given
+        DbCallContext.startRequest();
+        BsonDocument find = BsonDocument.parse("{find: 'inventory', filter: {productId: 'p1'}}");
+        BsonDocument response = BsonDocument.parse("{cursor: {firstBatch: [], id: 0}, ok: 1}");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // When
+        try {
+            executor.submit(DbCallContext.withCurrentRequest(() -> {
+                listener.commandStarted(new CommandStartedEvent(null, 1, 10, CONNECTION, "pos", "find", find));
+                listener.commandSucceeded(new CommandSucceededEvent(null, 1, 10, CONNECTION, "pos", "find",
+                        response, TimeUnit.MILLISECONDS.toNanos(4)));
+                return null;
+            })).get();
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertEquals(1, DbCallContext.currentRequest().getCalls());
+    }
+
+    @Test
+    void testCommandStarted_BuildsShapesOnlyForCallSitesThatRanSlow() {
+        // Given
+        DbCallContext.enterDaoMethod("OrderDao.findWithFilters");
+        BsonDocument find = BsonDocument.parse("{find: 'orders', filter: {status: 'PLACED'}}");
+        BsonDocument response = BsonDocument.parse("{cursor: {firstBatch: [], id: 0}, ok: 1}");
+        assertFalse(listener.tracksShape("OrderDao.findWithFilters", "find"));
+
+        // When
+        listener.commandStarted(new CommandStartedEvent(null, 1, 9, CONNECTION, "pos", "find", find));
+        listener.commandSucceeded(new CommandSucceededEvent(null, 1, 9, CONNECTION, "pos", "find", response,
+                TimeUnit.MILLISECONDS.toNanos(150)));
+
+        // Then
+        assertTrue(listener.tracksShape("OrderDao.findWithFilters", "find"));
+        assertFalse(listener.tracksShape("OrderDao.findWithFilters", "count"));
+        assertFalse(listener.tracksShape("ProductDao.findByBarcodes", "find"));
+    }
+
+    @Test
+    void testEnterDaoMethod_OutermostMethodWins() {
+        assertTrue(DbCallContext.enterDaoMethod("OrderDao.findByOrderId"));
+        assertFalse(DbCallContext.enterDaoMethod("AbstractDao.findOne"));
+
+        assertEquals("OrderDao.findByOrderId", DbCallContext.currentDaoMethod());
+    }
+
+    @Test
+    void testCollectionName_GetMoreUsesCollectionField() {
+        BsonDocument getMore = BsonDocument.parse("{getMore: {$numberLong: '123'}, collection: 'orders'}");
+
+        assertEquals("orders", MongoCommandMetricsListener.collectionName("getMore", getMore));
+    }
+
+    @Test
+    void testQueryShape_MasksValuesAndKeepsSort() {
+        BsonDocument find = BsonDocument.parse("{find: 'orders', filter: {status: 'PLACED', orderDate: {$gte: 5},"
+                + " orderId: {$in: ['o1', 'o2', 'o3']}}, sort: {orderDate: -1}}");
+
+        assertEquals("{\"filter\": {\"status\": \"?\", \"orderDate\": {\"$gte\": \"?\"}, \"orderId\": {\"$in\": [\"?\"]}},"
+                + " \"sort\": {\"orderDate\": -1}}", QueryShape.of("find", find));
+    }
+
+    @Test
+    void testQueryShape_UpdateUsesFirstStatementFilter() {
+        BsonDocument update = BsonDocument.parse("{update: 'inventory', updates: [{q: {productId: 'p1'}, u: {$set: {quantity: 3}}},"
+                + " {q: {productId: 'p2'}, u: {$set: {quantity: 4}}}]}");
+
+        assertEquals("{\"q\": {\"productId\": \"?\"}}", QueryShape.of("update", update));
+    }
+}
@@ -0,0 +1,185 @@
+package com.increff.pos.search;
+
+import com.increff.pos.dao.ProductDao;
+import com.increff.pos.db.ProductPojo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSearchIndexTest {
+
+    @Mock
+    private ProductDao productDao;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ProductSearchIndex createIndex(ProductPojo... products) {
+        when(productDao.streamSearchFields()).thenReturn(Stream.of(products));
+        ProductSearchIndex index = new ProductSearchIndex(productDao, meterRegistry);
+        index.rebuild();
+        return index;
+    }
+
+    private ProductPojo product(String id, String barcode, String clientId, String name) {
+        ProductPojo product = new ProductPojo();
+        product.setId(id);
+        product.setBarcode(barcode);
+        product.setClientId(clientId);
+        product.setName(name);
+        return product;
+    }
+
+    @Test
+    void testSearch_EveryTokenMustMatchAWordPrefix() {
+        // Given
+        ProductSearchIndex index = createIndex(
+                product("p1", "bc1", "C0001", "green tea 100g"),
+                product("p2", "bc2", "C0001", "green apple"),
+                product("p3", "bc3", "C0002", "black tea"));
+
+        // When
+        Page<String> results = index.search("gre te", null, 0, 10);
+
+        // Then
+        assertEquals(List.of("p1"), results.getContent());
+    }
+
+    @Test
+    void testSearch_ExactBarcodeRanksFirst() {
+        // Given
+        ProductSearchIndex index = createIndex(
+                product("p1", "tea100", "C0001", "tea"),
+                product("p2", "tea", "C0001", "kettle"));
+
+        // When
+        Page<String> results = index.search("tea", null, 0, 10);
+
+        // Then
+        assertEquals(List.of("p2", "p1"), results.getContent());
+    }
+
+    @Test
+    void testSearch_TopKPagesWithTotal() {
+        // Given
+        ProductSearchIndex index = createIndex(
+                product("p1", "bc1", "C0001", "soap a"),
+                product("p2", "bc2", "C0001", "soap b"),
+                product("p3", "bc3", "C0001", "soap c"),
+                product("p4", "bc4", "C0002", "soap d"));
+
+        // When
+        Page<String> second = index.search("soap", null, 1, 2);
+        Page<String> byClient = index.search(null, "C0002", 0, 10);
+
+        // Then
+        assertEquals(List.of("p3", "p4"), second.getContent());
+        assertEquals(4, second.getTotalElements());
+        assertEquals(List.of("p4"), byClient.getContent());
+    }
+
+    @Test
+    void testPut_RenamedProductFoundOnlyByNewName() {
+        // Given
+        ProductSearchIndex index = createIndex(product("p1", "bc1", "C0001", "old name"));
+
+        // When
+        index.put(product("p1", "bc1", "C0001", "new name"));
+
+        // Then
+        assertTrue(index.search("old", null, 0, 10).getContent().isEmpty());
+        assertEquals(List.of("p1"), index.search("new", null, 0, 10).getContent());
+        assertEquals(1, index.search("name", null, 0, 10).getTotalElements());
+    }
+
+    @Test
+    void testRebuild_KeepsWritesMadeWhileStreaming() {
+        // Given
+        ProductSearchIndex index = createIndex();
+        when(productDao.streamSearchFields()).thenAnswer(invocation -> {
+            index.put(product("p2", "bc2", "C0001", "added during rebuild"));
+            return Stream.of(product("p1", "bc1", "C0001", "existing"));
+        });
+
+        // When
+        index.rebuild();
+
+        // Then
+        assertEquals(List.of("p2"), index.search("added", null, 0, 10).getContent());
+        assertEquals(List.of("p1"), index.search("existing", null, 0, 10).getContent());
+    }
+
+    @Test
+    void testInvalidateAll_RebuildsOffTheCallingThreadOnce() {
+        // Given
+        ProductSearchIndex index = createIndex(product("p1", "bc1", "C0001", "old"));
+        List<Runnable> scheduled = new ArrayList<>();
+        ReflectionTestUtils.setField(index, "rebuildExecutor", (Executor) scheduled::add);
+        when(productDao.streamSearchFields()).thenReturn(Stream.of(product("p2", "bc2", "C0001", "new")));
+
+        // When
+        index.invalidateAll();
+        index.invalidateAll();
+
+        // Then - the old index serves until the single scheduled rebuild runs
+        assertEquals(1, scheduled.size());
+        assertEquals(List.of("p1"), index.search("old", null, 0, 10).getContent());
+        scheduled.get(0).run();
+        assertTrue(index.search("old", null, 0, 10).getContent().isEmpty());
+        assertEquals(List.of("p2"), index.search("new", null, 0, 10).getContent());
+        verify(productDao, times(2)).streamSearchFields();
+    }
+
+    @Test
+    void testBytesGauge_TracksChangesWithoutRebuilding() {
+        // Given
+        ProductSearchIndex index = createIndex(product("p1", "bc1", "C0001", "green tea"));
+        double built = meterRegistry.get("product.search.index.bytes").gauge().value();
+
+        // When
+        index.put(product("p2", "bc2", "C0002", "black coffee"));
+        double grown = meterRegistry.get("product.search.index.bytes").gauge().value();
+        index.remove("p2");
+        double afterRemove = meterRegistry.get("product.search.index.bytes").gauge().value();
+
+        // Then - a removed product's entry and postings stay counted until the next rebuild
+        assertTrue(built > 0);
+        assertTrue(grown > built);
+        assertTrue(afterRemove < grown && afterRemove > built);
+    }
+
+    @Test
+    void testRemove_SchedulesCompactionOnceTombstonesOutnumberHalfTheLiveProducts() {
+        // Given
+        ProductPojo[] products = new ProductPojo[2500];
+        for (int i = 0; i < products.length; i++) {
+            products[i] = product("p" + i, "bc" + i, "C0001", "soap " + i);
+        }
+        ProductSearchIndex index = createIndex(products);
+        List<Runnable> scheduled = new ArrayList<>();
+        ReflectionTestUtils.setField(index, "rebuildExecutor", (Executor) scheduled::add);
+
+        // When
+        for (int i = 0; i < 999; i++) {
+            index.remove("p" + i);
+        }
+        int beforeThreshold = scheduled.size();
+        index.remove("p999");
+
+        // Then - 1000 tombstones against 1500 live products
+        assertEquals(0, beforeThreshold);
+        assertEquals(1, scheduled.size());
+    }
+}
@@ -1,5 +1,6 @@
 package com.increff.pos.test;
 
+import com.increff.pos.cache.CacheInvalidationListener;
 import com.increff.pos.config.TestConfig;
 import org.junit.jupiter.api.AfterEach;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,17 +8,22 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.List;
+
 @SpringBootTest(classes = TestConfig.class)
 @ActiveProfiles("test")
 public abstract class AbstractUnitTest {
 
     @Autowired
     private MongoTemplate mongoTemplate;
+    @Autowired
+    private List<CacheInvalidationListener> caches;
 
     @AfterEach
     public void cleanup() {
         // Drop all collections after each test
         mongoTemplate.getCollectionNames().forEach(collectionName -> 
             mongoTemplate.dropCollection(collectionName));
+        caches.forEach(CacheInvalidationListener::invalidateAll);
     }
 } 
\ No newline at end of file
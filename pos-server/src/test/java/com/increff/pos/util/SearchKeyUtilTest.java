@@ -0,0 +1,62 @@
+package com.increff.pos.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchKeyUtilTest {
+
+    @Test
+    void testAddKeys_WholeValueWordsAndNumbers() {
+        // Given
+        Set<String> keys = new TreeSet<>();
+
+        // When
+        SearchKeyUtil.addKeys(keys, "id", "  ORD-000123 ");
+
+        // Then
+        assertEquals(Set.of("id:ord-000123", "id:ord", "id:000123", "id:123"), keys);
+    }
+
+    @Test
+    void testAddKeys_NullValueAddsNothing() {
+        // Given
+        Set<String> keys = new TreeSet<>();
+
+        // When
+        SearchKeyUtil.addKeys(keys, "name", "   ");
+
+        // Then
+        assertTrue(keys.isEmpty());
+    }
+
+    @Test
+    void testPrefixPattern_AnchoredAndEscaped() {
+        // When
+        String regex = SearchKeyUtil.prefixPattern("email", "A.B+").pattern();
+
+        // Then
+        assertEquals("^email:a\\.b\\+", regex);
+        assertTrue(SearchKeyUtil.prefixPattern("email", "a.b").matcher("email:a.b@example.com").find());
+        assertFalse(SearchKeyUtil.prefixPattern("email", "a.b").matcher("email:axb@example.com").find());
+        assertFalse(SearchKeyUtil.prefixPattern("name", "acme").matcher("email:acme@example.com").find());
+    }
+
+    @Test
+    void testValuePattern_SeparatesExactFromPrefixMatches() {
+        // Given
+        Pattern exact = Pattern.compile(SearchKeyUtil.valuePattern(" Acme ", true), Pattern.CASE_INSENSITIVE);
+        Pattern prefix = Pattern.compile(SearchKeyUtil.valuePattern("acme", false), Pattern.CASE_INSENSITIVE);
+
+        // When/Then
+        assertTrue(exact.matcher("ACME").find());
+        assertFalse(exact.matcher("acme corp").find());
+        assertTrue(prefix.matcher("Acme Corp").find());
+        assertFalse(prefix.matcher("big acme").find());
+        assertEquals("^\\s*a\\.b", SearchKeyUtil.valuePattern("a.b", false));
+    }
+}
@@ -0,0 +1,54 @@
+package com.increff.pos.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    @Test
+    void testTryAcquire_AllowsUpToCapacity() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, 0, 100);
+
+        // When/Then
+        assertTrue(limiter.tryAcquire("user@example.com"));
+        assertTrue(limiter.tryAcquire("user@example.com"));
+        assertTrue(limiter.tryAcquire("user@example.com"));
+        assertFalse(limiter.tryAcquire("user@example.com"));
+    }
+
+    @Test
+    void testTryAcquire_KeysAreIndependent() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 0, 100);
+
+        // When/Then
+        assertTrue(limiter.tryAcquire("a@example.com"));
+        assertFalse(limiter.tryAcquire("a@example.com"));
+        assertTrue(limiter.tryAcquire("b@example.com"));
+    }
+
+    @Test
+    void testTryAcquire_RefillsOverTime() throws InterruptedException {
+        // Given - 6000 tokens per minute is one token every 10ms
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 6000, 100);
+        assertTrue(limiter.tryAcquire("user@example.com"));
+        assertFalse(limiter.tryAcquire("user@example.com"));
+
+        // When
+        Thread.sleep(50);
+
+        // Then
+        assertTrue(limiter.tryAcquire("user@example.com"));
+    }
+
+    @Test
+    void testTryAcquire_NullKeyIsNotLimited() {
+        // Given
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(0, 0, 100);
+
+        // When/Then
+        assertTrue(limiter.tryAcquire(null));
+    }
+}
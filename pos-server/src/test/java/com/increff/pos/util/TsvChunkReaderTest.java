@@ -0,0 +1,93 @@
+package com.increff.pos.util;
+
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.util.TsvChunkReader.TsvRow;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TsvChunkReaderTest {
+
+    @Test
+    void testReadHeader_EmptyContent() {
+        TsvChunkReader reader = new TsvChunkReader(new StringReader(""));
+
+        ApiException exception = assertThrows(ApiException.class, reader::readHeader);
+        assertEquals("Content is empty", exception.getMessage());
+    }
+
+    @Test
+    void testNextChunk_SplitsIntoFixedSizeChunks() throws ApiException {
+        TsvChunkReader reader = new TsvChunkReader(new StringReader("barcode\tquantity\na\t1\nb\t2\nc\t3"));
+
+        assertEquals("barcode\tquantity", reader.readHeader());
+        assertEquals(2, reader.nextChunk(2).size());
+        assertEquals(1, reader.nextChunk(2).size());
+        assertTrue(reader.nextChunk(2).isEmpty());
+    }
+
+    @Test
+    void testNextChunk_SkipsBlankLinesAndKeepsRowNumbers() throws ApiException {
+        String content = "barcode\tquantity\r\n\r\n  a\t1  \r\n\r\nb\t2\r\n";
+        TsvChunkReader reader = new TsvChunkReader(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+        reader.readHeader();
+
+        List<TsvRow> rows = reader.nextChunk(10);
+
+        assertEquals(2, rows.size());
+        assertEquals(3, rows.get(0).getRowNumber());
+        assertEquals("a\t1", rows.get(0).getLine());
+        assertEquals(5, rows.get(1).getRowNumber());
+        assertEquals("b\t2", rows.get(1).getLine());
+    }
+
+    @Test
+    void testNextChunk_NoRowLimit() throws ApiException {
+        StringBuilder sb = new StringBuilder("barcode\tquantity\n");
+        for (int i = 0; i < 12000; i++) {
+            sb.append("bc").append(i).append("\t1\n");
+        }
+        TsvChunkReader reader = new TsvChunkReader(new StringReader(sb.toString()));
+        reader.readHeader();
+
+        int total = 0;
+        List<TsvRow> chunk;
+        while (!(chunk = reader.nextChunk(1000)).isEmpty()) {
+            assertTrue(chunk.size() <= 1000);
+            total += chunk.size();
+        }
+
+        assertEquals(12000, total);
+    }
+
+    @Test
+    void testNextChunk_TooManyLines_ThrowsException() throws ApiException {
+        StringBuilder sb = new StringBuilder("barcode\tquantity\n");
+        for (int i = 0; i < 5000; i++) {
+            sb.append("bc").append(i).append("\t1\n");
+        }
+        TsvChunkReader reader = new TsvChunkReader(new StringReader(sb.toString()), 5000);
+        reader.readHeader();
+
+        ApiException exception = assertThrows(ApiException.class, () -> reader.nextChunk(10000));
+        assertEquals("Maximum 5000 rows allowed", exception.getMessage());
+    }
+
+    @Test
+    void testNextChunk_AtLineLimit() throws ApiException {
+        StringBuilder sb = new StringBuilder("barcode\tquantity\n");
+        for (int i = 0; i < 4999; i++) {
+            sb.append("bc").append(i).append("\t1\n");
+        }
+        TsvChunkReader reader = new TsvChunkReader(new StringReader(sb.toString()), 5000);
+        reader.readHeader();
+
+        assertEquals(4999, reader.nextChunk(10000).size());
+    }
+}
@@ -0,0 +1,76 @@
+package com.increff.pos.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TsvLineTokenizerTest {
+
+    private static final String[] LINES = {
+            "",
+            "bc1",
+            "bc1\t10",
+            "  BC1 \t 10 ",
+            "bc1\t\t10",
+            "bc1\t10\t",
+            "bc1\t10\t\t\t",
+            "bc1\t10\t ",
+            "\tbc1\t10",
+            "\t",
+            "\t\t",
+            "a\tb\tc\td\te\tf\tg\th\ti\tj\tk",
+            "Ünïcödé\tΣίσυφος\t3.5",
+    };
+
+    @Test
+    void testParity_WithSplitAndTrim() {
+        TsvLineTokenizer tokenizer = new TsvLineTokenizer();
+
+        for (String line : LINES) {
+            String[] expected = line.split("\t");
+            tokenizer.reset(line);
+
+            assertEquals(expected.length, tokenizer.columnCount(), "column count for [" + line + "]");
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i].trim(), tokenizer.get(i), "column " + i + " for [" + line + "]");
+                assertEquals(expected[i].trim().toLowerCase(), tokenizer.getLowerCase(i));
+            }
+        }
+    }
+
+    @Test
+    void testGetInt_ParsesTrimmedColumnInPlace() {
+        TsvLineTokenizer tokenizer = new TsvLineTokenizer().reset("bc1\t -42 \t+7");
+
+        assertEquals(-42, tokenizer.getInt(1));
+        assertEquals(7, tokenizer.getInt(2));
+    }
+
+    @Test
+    void testGetInt_Invalid() {
+        TsvLineTokenizer tokenizer = new TsvLineTokenizer().reset("bc1\tabc\t ");
+
+        assertThrows(NumberFormatException.class, () -> tokenizer.getInt(1));
+        assertThrows(NumberFormatException.class, () -> tokenizer.getInt(2));
+    }
+
+    @Test
+    void testGet_OutOfRange() {
+        TsvLineTokenizer tokenizer = new TsvLineTokenizer().reset("bc1\t10");
+
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> tokenizer.get(2));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> tokenizer.getInt(-1));
+    }
+
+    @Test
+    void testReset_ReusesInstance() {
+        TsvLineTokenizer tokenizer = new TsvLineTokenizer();
+
+        tokenizer.reset("a\tb\tc\td\te\tf\tg\th\ti\tj");
+        assertEquals(10, tokenizer.columnCount());
+
+        tokenizer.reset("x\ty");
+        assertEquals(2, tokenizer.columnCount());
+        assertEquals("y", tokenizer.get(1));
+    }
+}
@@ -1,8 +1,12 @@
 package com.increff.pos.util;
 
 import com.increff.pos.exception.ApiException;
+import com.increff.pos.model.data.TsvUploadResult;
 import org.junit.jupiter.api.Test;
 
+import java.io.StringWriter;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class TsvUtilTest {
@@ -55,66 +59,6 @@ class TsvUtilTest {
         assertEquals("Invalid base64 encoding", exception.getMessage());
     }
 
-    @Test
-    void testSplitLines_MultipleLines() throws ApiException {
-        // Given - Content with multiple lines
-        String content = "Line1\nLine2\nLine3";
-
-        // When - Split into lines
-        String[] lines = TsvUtil.splitLines(content);
-
-        // Then - Should have 3 lines
-        assertEquals(3, lines.length);
-        assertEquals("Line1", lines[0]);
-        assertEquals("Line2", lines[1]);
-        assertEquals("Line3", lines[2]);
-    }
-
-    @Test
-    void testSplitLines_SingleLine() throws ApiException {
-        // Given - Content with single line
-        String content = "SingleLine";
-
-        // When - Split into lines
-        String[] lines = TsvUtil.splitLines(content);
-
-        // Then - Should have 1 line
-        assertEquals(1, lines.length);
-        assertEquals("SingleLine", lines[0]);
-    }
-
-    @Test
-    void testSplitLines_Null_ThrowsException() {
-        // Given - Null content
-        // When/Then - Should throw exception
-        ApiException exception = assertThrows(ApiException.class,
-                () -> TsvUtil.splitLines(null));
-        assertEquals("Content is empty", exception.getMessage());
-    }
-
-    @Test
-    void testSplitLines_Empty_ThrowsException() {
-        // Given - Empty content
-        // When/Then - Should throw exception
-        ApiException exception = assertThrows(ApiException.class,
-                () -> TsvUtil.splitLines(""));
-        assertEquals("Content is empty", exception.getMessage());
-    }
-
-    @Test
-    void testSplitLines_TooManyRows_ThrowsException() {
-        // Given - Content with more than 5000 lines
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < 5001; i++) {
-            sb.append("Line").append(i).append("\n");
-        }
-
-        // When/Then - Should throw exception for exceeding max rows
-        ApiException exception = assertThrows(ApiException.class,
-                () -> TsvUtil.splitLines(sb.toString()));
-        assertEquals("Maximum 5000 rows allowed", exception.getMessage());
-    }
-
     @Test
     void testEncodeDecodeRoundTrip() throws ApiException {
         // Given - TSV content with multiple rows and columns
@@ -142,17 +86,18 @@ class TsvUtilTest {
     }
 
     @Test
-    void testSplitLines_WindowsLineEndings() throws ApiException {
-        // Given - Content with Windows-style line endings (\r\n)
-        String content = "Line1\r\nLine2\r\nLine3";
-
-        // When - Split into lines
-        String[] lines = TsvUtil.splitLines(content);
-
-        // Then - Should handle Windows line endings correctly
-        assertEquals(3, lines.length);
-        assertEquals("Line1", lines[0]);
-        assertEquals("Line2", lines[1]);
-        assertEquals("Line3", lines[2]);
+    void testWriteResults_ReplacesTabsInErrorMessage() throws ApiException {
+        // Given - Result whose error message contains tabs
+        List<TsvUploadResult> results = List.of(
+                new TsvUploadResult(1, "FAILED", "Error:\tInvalid\tdata", "BC001\t100"));
+        StringWriter writer = new StringWriter();
+
+        // When - Write header and results
+        TsvUtil.writeResultHeader(writer);
+        TsvUtil.writeResults(writer, results);
+
+        // Then - Tabs in the error message become spaces so the columns stay aligned
+        assertEquals("Row Number\tStatus\tError Message\tOriginal Data\n1\tFAILED\tError: Invalid data\tBC001\t100\n",
+                writer.toString());
     }
 }
@@ -0,0 +1,118 @@
+package com.increff.pos.writer;
+
+import com.increff.pos.api.AuditLogApi;
+import com.increff.pos.db.AuditLogPojo;
+import com.increff.pos.helper.AuthHelper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogWriterTest {
+
+    @Mock
+    private AuditLogApi auditLogApi;
+
+    private AuditLogPojo createLog(String email) {
+        return AuthHelper.createAuditLog(email, "User", "LOGIN", ZonedDateTime.now());
+    }
+
+    @Test
+    void testStop_FlushesPendingEntries() {
+        // Given
+        AuditLogWriter writer = new AuditLogWriter(auditLogApi, new SimpleMeterRegistry(), 100, 50, 60_000, 10);
+        writer.enqueue(createLog("a@example.com"));
+        writer.enqueue(createLog("b@example.com"));
+        writer.enqueue(createLog("c@example.com"));
+
+        // When
+        writer.stop();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<AuditLogPojo>> captor = ArgumentCaptor.forClass(List.class);
+        verify(auditLogApi).addBulk(captor.capture());
+        assertEquals(3, captor.getValue().size());
+        assertEquals(0, writer.pendingCount());
+    }
+
+    @Test
+    void testBackgroundWriter_FlushesWhenBatchIsFull() {
+        // Given
+        AuditLogWriter writer = new AuditLogWriter(auditLogApi, new SimpleMeterRegistry(), 100, 2, 60_000, 10);
+        writer.start();
+
+        // When
+        writer.enqueue(createLog("a@example.com"));
+        writer.enqueue(createLog("b@example.com"));
+
+        // Then
+        verify(auditLogApi, timeout(2000)).addBulk(anyList());
+        writer.stop();
+    }
+
+    @Test
+    void testEnqueue_DropsWhenBufferIsFull() {
+        // Given
+        AuditLogWriter writer = new AuditLogWriter(auditLogApi, new SimpleMeterRegistry(), 1, 10, 60_000, 1);
+        assertTrue(writer.enqueue(createLog("a@example.com")));
+
+        // When
+        boolean accepted = writer.enqueue(createLog("b@example.com"));
+
+        // Then
+        assertFalse(accepted);
+        assertEquals(1.0, writer.droppedCount());
+    }
+
+    @Test
+    void testWriteFailure_DoesNotPropagate() {
+        // Given
+        when(auditLogApi.addBulk(anyList())).thenThrow(new RuntimeException("mongo down"));
+        AuditLogWriter writer = new AuditLogWriter(auditLogApi, new SimpleMeterRegistry(), 100, 50, 60_000, 10);
+        writer.enqueue(createLog("a@example.com"));
+
+        // When/Then
+        assertDoesNotThrow(() -> writer.stop());
+    }
+
+    @Test
+    void testStop_WaitsForInFlightWriteWithoutInterrupting() throws InterruptedException {
+        // Given
+        CountDownLatch writing = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        when(auditLogApi.addBulk(anyList())).thenAnswer(invocation -> {
+            writing.countDown();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+            return invocation.getArgument(0);
+        });
+        AuditLogWriter writer = new AuditLogWriter(auditLogApi, new SimpleMeterRegistry(), 100, 1, 60_000, 10);
+        writer.start();
+        writer.enqueue(createLog("a@example.com"));
+        assertTrue(writing.await(2, TimeUnit.SECONDS));
+
+        // When
+        writer.stop();
+
+        // Then
+        assertFalse(interrupted.get());
+        assertTrue(writer.getPhase() < AuditLogWriter.DEFAULT_PHASE - 1024);
+    }
+}